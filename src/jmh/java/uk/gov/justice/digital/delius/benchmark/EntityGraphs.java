@@ -0,0 +1,99 @@
+package uk.gov.justice.digital.delius.benchmark;
+
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ContactOutcomeType;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderAddress;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderAlias;
+import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aContactType;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aCustodyEvent;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aKeyDate;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aProbationArea;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aStaff;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aTeam;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anOffenderManager;
+import static uk.gov.justice.digital.delius.util.OffenderHelper.anOffender;
+
+/**
+ * Synthetic entity graphs sized like the larger offender records seen in production, built from the same helpers
+ * the unit tests use. Dates are spread out so anything sorting by them has real work to do.
+ */
+public class EntityGraphs {
+    private static final LocalDate START = LocalDate.of(2000, 1, 1);
+
+    public static Offender anOffenderWith(int aliases, int addresses, int offenderManagers) {
+        final var offender = anOffender();
+        offender.setOffenderAliases(listOf(aliases, id -> OffenderAlias
+                .builder()
+                .aliasID(id)
+                .firstName("Bill")
+                .secondName("Arthur")
+                .thirdName("James")
+                .surname("Sykes" + id)
+                .dateOfBirth(START.minusDays(id))
+                .gender(StandardReference.builder().codeDescription("Male").build())
+                .build()));
+        offender.setOffenderAddresses(listOf(addresses, id -> OffenderAddress
+                .builder()
+                .offenderAddressID(id)
+                .addressNumber(String.valueOf(id))
+                .streetName("High Street")
+                .townCity("Sheffield")
+                .postcode("S1 2BX")
+                .noFixedAbode("N")
+                .startDate(START.plusDays(id))
+                .addressStatus(StandardReference.builder().codeValue("P").codeDescription("Previous").build())
+                .build()));
+        offender.setOffenderManagers(listOf(offenderManagers, id -> anOffenderManager(aStaff("STAFF" + id), aTeam("TEAM" + id))
+                .toBuilder()
+                .offenderManagerId(id)
+                .allocationDate(START.plusDays(id))
+                .build()));
+        return offender;
+    }
+
+    public static List<Event> custodyEvents(int count) {
+        return listOf(count, id -> aCustodyEvent(id, List.of(
+                aKeyDate("LED", "Licence Expiry Date", START.plusDays(id)),
+                aKeyDate("SED", "Sentence Expiry Date", START.plusDays(id + 1)),
+                aKeyDate("EXP", "Expected Release Date", START.plusDays(id + 2)))));
+    }
+
+    public static List<Contact> contacts(int count, int events) {
+        return listOf(count, id -> Contact
+                .builder()
+                .contactId(id)
+                .event(events == 0 ? null : Event.builder().eventId(id % events).build())
+                .contactDate(START.plusDays(id))
+                .contactStartTime(LocalTime.NOON)
+                .contactEndTime(LocalTime.NOON.plusHours(1))
+                .createdDateTime(LocalDateTime.of(START, LocalTime.MIDNIGHT).plusMinutes(count - id))
+                .lastUpdatedDateTime(LocalDateTime.of(START, LocalTime.MIDNIGHT).plusMinutes(count - id))
+                .contactType(aContactType())
+                .contactOutcomeType(ContactOutcomeType.builder().code("ATTC").description("Attended - Complied").build())
+                .notes("Some notes about how the appointment went " + id)
+                .staff(aStaff())
+                .team(aTeam())
+                .probationArea(aProbationArea())
+                .alertActive("N")
+                .attended("Y")
+                .complied("Y")
+                .softDeleted(0L)
+                .build());
+    }
+
+    public static <T> List<T> listOf(int count, LongFunction<T> item) {
+        return LongStream.rangeClosed(1, count).mapToObj(item).collect(toList());
+    }
+}
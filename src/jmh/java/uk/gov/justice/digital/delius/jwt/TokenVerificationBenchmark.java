@@ -0,0 +1,104 @@
+package uk.gov.justice.digital.delius.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import uk.gov.justice.digital.delius.config.CachingJwtDecoder;
+import uk.gov.justice.digital.delius.user.UserData;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares verifying the same bearer token on every request with taking it from the verified token cache, for both the
+ * RS256 tokens issued by HMPPS Auth and the legacy HS512 tokens issued by the logon endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerificationBenchmark {
+    private static final String SECRET = "ChangeMe!";
+
+    private String oauthToken;
+    private JwtDecoder decoder;
+    private JwtDecoder cachingDecoder;
+
+    private String legacyToken;
+    private Jwt jwt;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        final var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        final var keyPair = generator.generateKeyPair();
+
+        oauthToken = Jwts.builder()
+                .setClaims(Map.of(
+                        "user_name", "bobby.beans",
+                        "client_id", "community-api-client",
+                        "authorities", List.of("ROLE_COMMUNITY")))
+                .setExpiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .signWith(SignatureAlgorithm.RS256, keyPair.getPrivate())
+                .compact();
+        decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        cachingDecoder = new CachingJwtDecoder(decoder, new VerifiedTokenCache<>(
+                "oauthTokens",
+                CachingJwtDecoder::expiryOf,
+                Duration.ofHours(1),
+                10000,
+                new SimpleMeterRegistry()));
+
+        jwt = new Jwt(SECRET, 3600);
+        legacyToken = jwt.buildToken(UserData.builder()
+                .distinguishedName("cn=bobby.beans,cn=Users,dc=moj,dc=com")
+                .uid("bobby.beans")
+                .probationAreaCodes(List.of("N02"))
+                .build());
+    }
+
+    @Benchmark
+    public org.springframework.security.oauth2.jwt.Jwt decodeOAuthToken() {
+        return decoder.decode(oauthToken);
+    }
+
+    @Benchmark
+    public org.springframework.security.oauth2.jwt.Jwt decodeCachedOAuthToken() {
+        return cachingDecoder.decode(oauthToken);
+    }
+
+    @Benchmark
+    public Claims parseLegacyToken() {
+        return Jwts.parser()
+                .setSigningKey(SECRET)
+                .parseClaimsJws(legacyToken)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims parseCachedLegacyToken() {
+        return jwt.parseToken(legacyToken).orElseThrow();
+    }
+}
@@ -0,0 +1,126 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.mockito.ArgumentMatchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.data.api.OffenderDocuments;
+import uk.gov.justice.digital.delius.data.filters.DocumentFilter;
+import uk.gov.justice.digital.delius.jpa.national.repository.DocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.entity.CourtReportDocument;
+import uk.gov.justice.digital.delius.jpa.standard.repository.AddressAssessmentDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ApprovedPremisesReferralDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.AssessmentDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.CaseAllocationDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ContactDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.CourtReportDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.EventDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.EventRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.InstitutionReportDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.NsiDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.PersonalCircumstanceDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.PersonalContactDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ReferralDocumentRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.UPWAppointmentDocumentRepository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static uk.gov.justice.digital.delius.benchmark.EntityGraphs.listOf;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aContactDocument;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aCourtReportDocument;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aNsiDocument;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anEvent;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anEventDocument;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anInstitutionalReportDocument;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anOffenderDocument;
+import static uk.gov.justice.digital.delius.util.OffenderHelper.anOffender;
+
+/**
+ * Measures the in-memory grouping of an offender's documents by conviction in
+ * {@link DocumentService#offenderDocumentsFor(Long, DocumentFilter)}. The repositories are stubs that return
+ * <code>size</code> documents of each of the common types spread across <code>size / 10</code> convictions, so the
+ * figures include a small constant cost for the stubs but no database work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentServiceBenchmark {
+    @Param({"10", "100", "500"})
+    private int size;
+
+    private DocumentService documentService;
+
+    @Setup
+    public void setup() {
+        final var convictions = size / 10 + 1;
+        final var offenderRepository = stub(OffenderRepository.class);
+        final var offenderDocumentRepository = stub(OffenderDocumentRepository.class);
+        final var eventDocumentRepository = stub(EventDocumentRepository.class);
+        final var courtReportDocumentRepository = stub(CourtReportDocumentRepository.class);
+        final var institutionReportDocumentRepository = stub(InstitutionReportDocumentRepository.class);
+        final var eventRepository = stub(EventRepository.class);
+        final var nsiDocumentRepository = stub(NsiDocumentRepository.class);
+        final var contactDocumentRepository = stub(ContactDocumentRepository.class);
+
+        when(offenderRepository.findByOffenderId(any())).thenReturn(Optional.of(anOffender()));
+        when(eventRepository.findByOffenderId(any())).thenReturn(listOf(convictions, id -> anEvent(id)));
+        when(offenderDocumentRepository.findByOffenderId(any())).thenReturn(listOf(size, id -> anOffenderDocument()));
+        when(eventDocumentRepository.findByOffenderId(any())).thenReturn(listOf(size, id -> anEventDocument(id % convictions)));
+        when(courtReportDocumentRepository.findAll(ArgumentMatchers.<Specification<CourtReportDocument>>any())).thenReturn(listOf(size, id -> aCourtReportDocument(id % convictions)));
+        when(institutionReportDocumentRepository.findByOffenderId(any())).thenReturn(listOf(size, id -> anInstitutionalReportDocument(id % convictions)));
+        // half the contact and NSI documents belong to the offender rather than a conviction
+        when(nsiDocumentRepository.findByOffenderId(any())).thenReturn(listOf(size, id -> id % 2 == 0 ? aNsiDocument(id % convictions) : aNsiDocument()));
+        when(contactDocumentRepository.findByOffenderId(any())).thenReturn(listOf(size, id -> id % 2 == 0 ? aContactDocument(id % convictions) : aContactDocument()));
+
+        documentService = new DocumentService(
+                stub(DocumentRepository.class),
+                offenderRepository,
+                offenderDocumentRepository,
+                eventDocumentRepository,
+                courtReportDocumentRepository,
+                institutionReportDocumentRepository,
+                eventRepository,
+                stub(AddressAssessmentDocumentRepository.class),
+                stub(ApprovedPremisesReferralDocumentRepository.class),
+                stub(AssessmentDocumentRepository.class),
+                stub(CaseAllocationDocumentRepository.class),
+                stub(PersonalContactDocumentRepository.class),
+                stub(ReferralDocumentRepository.class),
+                nsiDocumentRepository,
+                stub(PersonalCircumstanceDocumentRepository.class),
+                stub(UPWAppointmentDocumentRepository.class),
+                contactDocumentRepository,
+                DocumentQueryRunner.sequential());
+    }
+
+    /*
+     * Stub only mocks do not record their invocations, which would otherwise grow for the whole run and be measured
+     */
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    @Benchmark
+    public OffenderDocuments offenderDocumentsFor() {
+        return documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
+    }
+}
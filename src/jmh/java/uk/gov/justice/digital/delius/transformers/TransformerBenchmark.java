@@ -0,0 +1,88 @@
+package uk.gov.justice.digital.delius.transformers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.justice.digital.delius.data.api.Contact;
+import uk.gov.justice.digital.delius.data.api.Conviction;
+import uk.gov.justice.digital.delius.data.api.OffenderDetail;
+import uk.gov.justice.digital.delius.data.api.OffenderDocumentDetail;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ContactDocument;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
+import uk.gov.justice.digital.delius.jpa.standard.entity.EventDocument;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.digital.delius.benchmark.EntityGraphs.anOffenderWith;
+import static uk.gov.justice.digital.delius.benchmark.EntityGraphs.contacts;
+import static uk.gov.justice.digital.delius.benchmark.EntityGraphs.custodyEvents;
+import static uk.gov.justice.digital.delius.benchmark.EntityGraphs.listOf;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aContactDocument;
+import static uk.gov.justice.digital.delius.util.EntityHelper.anEventDocument;
+
+/**
+ * Transformers run on every read, so these measure the cost of turning an entity graph of <code>size</code> events,
+ * contacts or documents into its API representation. Run with the gc profiler to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformerBenchmark {
+    @Param({"10", "100", "500"})
+    private int size;
+
+    private Offender offender;
+    private List<Event> events;
+    private List<uk.gov.justice.digital.delius.jpa.standard.entity.Contact> contacts;
+    private List<EventDocument> eventDocuments;
+    private List<ContactDocument> contactDocuments;
+
+    @Setup
+    public void setup() {
+        // offender records are wide rather than deep so aliases, addresses and managers scale more slowly
+        offender = anOffenderWith(size / 10 + 1, size / 5 + 1, size / 10 + 1);
+        events = custodyEvents(size);
+        contacts = contacts(size, size / 10 + 1);
+        eventDocuments = listOf(size, id -> anEventDocument(id % (size / 10 + 1)));
+        contactDocuments = listOf(size, id -> aContactDocument(id % (size / 10 + 1)));
+    }
+
+    @Benchmark
+    public OffenderDetail fullOffenderOf() {
+        return OffenderTransformer.fullOffenderOf(offender);
+    }
+
+    @Benchmark
+    public List<Conviction> convictionOf() {
+        return events.stream().map(ConvictionTransformer::convictionOf).collect(toList());
+    }
+
+    @Benchmark
+    public List<Contact> contactsOf() {
+        return ContactTransformer.contactsOf(contacts);
+    }
+
+    @Benchmark
+    public List<OffenderDocumentDetail> offenderDocumentsDetailsOfEventDocuments() {
+        return DocumentTransformer.offenderDocumentsDetailsOfEventDocuments(eventDocuments);
+    }
+
+    @Benchmark
+    public List<OffenderDocumentDetail> offenderDocumentsDetailsOfContactDocuments() {
+        return DocumentTransformer.offenderDocumentsDetailsOfContactDocuments(contactDocuments);
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.justice.digital.delius.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caches for reference data that only changes a few times a year. Cache names must also be listed in
+ * <code>spring.cache.cache-names</code> so that they are created up front and registered for metrics.
+ * <p>
+ * LDAP lookups are cached separately with a much shorter time to live since users and their roles are changed
+ * outside of this service; changes made through this service evict the affected entries straight away. User access
+ * profiles (exclusions and restrictions) are short lived for the same reason. The probation areas interested in an
+ * offender are only kept across requests when <code>spg.interested-crcs.cache.enabled</code> is set. Offender ids and
+ * CRNs never change once an offender has been created so the mappings between them are only bounded in size.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String STANDARD_REFERENCES = "standardReferences";
+    public static final String CONTACT_TYPES = "contactTypes";
+    public static final String TRANSFER_REASONS = "transferReasons";
+    public static final String PROBATION_AREA_IDS = "probationAreaIds";
+    public static final String BUSINESS_INTERACTIONS = "businessInteractions";
+    public static final String BUSINESS_INTERACTION_XML_MAPS = "businessInteractionXmlMaps";
+    public static final List<String> REFERENCE_DATA_CACHES = List.of(
+            STANDARD_REFERENCES,
+            CONTACT_TYPES,
+            TRANSFER_REASONS,
+            PROBATION_AREA_IDS,
+            BUSINESS_INTERACTIONS,
+            BUSINESS_INTERACTION_XML_MAPS);
+
+    public static final String LDAP_USERS = "ldapUsers";
+    public static final String LDAP_USERS_BY_EMAIL = "ldapUsersByEmail";
+    public static final String LDAP_ROLE_CATALOGUE = "ldapRoleCatalogue";
+    public static final String USER_ACCESS_PROFILES = "userAccessProfiles";
+    public static final String INTERESTED_CRCS = "interestedCRCs";
+    public static final String CRNS_BY_OFFENDER_ID = "crnsByOffenderId";
+    public static final String OFFENDER_IDS_BY_CRN = "offenderIdsByCrn";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> ldapCaches(@Value("${delius.ldap.cache.time-to-live:60s}") Duration timeToLive,
+                                                                   @Value("${delius.ldap.cache.maximum-size:1000}") long maximumSize) {
+        return cacheManager -> List.of(LDAP_USERS, LDAP_USERS_BY_EMAIL, LDAP_ROLE_CATALOGUE)
+            .forEach(name -> cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build()));
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userAccessProfileCache(@Value("${user-access.cache.time-to-live:60s}") Duration timeToLive,
+                                                                               @Value("${user-access.cache.maximum-size:10000}") long maximumSize) {
+        return cacheManager -> cacheManager.registerCustomCache(USER_ACCESS_PROFILES, Caffeine.newBuilder()
+            .expireAfterWrite(timeToLive)
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build());
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> interestedCRCsCache(@Value("${spg.interested-crcs.cache.time-to-live:30s}") Duration timeToLive,
+                                                                            @Value("${spg.interested-crcs.cache.maximum-size:10000}") long maximumSize) {
+        return cacheManager -> cacheManager.registerCustomCache(INTERESTED_CRCS, Caffeine.newBuilder()
+            .expireAfterWrite(timeToLive)
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build());
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> offenderIdentifierCaches(@Value("${offender.identifiers.cache.max-size:10000}") long maximumSize) {
+        return cacheManager -> List.of(CRNS_BY_OFFENDER_ID, OFFENDER_IDS_BY_CRN)
+            .forEach(name -> cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build()));
+    }
+}
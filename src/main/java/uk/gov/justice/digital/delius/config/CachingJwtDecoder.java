@@ -0,0 +1,32 @@
+package uk.gov.justice.digital.delius.config;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import uk.gov.justice.digital.delius.jwt.VerifiedTokenCache;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Decodes each distinct bearer token once, handing back the already verified {@link Jwt} when the same token is seen
+ * again before it expires.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final VerifiedTokenCache<Jwt> verifiedTokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, VerifiedTokenCache<Jwt> verifiedTokens) {
+        this.delegate = delegate;
+        this.verifiedTokens = verifiedTokens;
+    }
+
+    public static Optional<Instant> expiryOf(Jwt jwt) {
+        return Optional.ofNullable(jwt.getExpiresAt());
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return verifiedTokens.verify(token, delegate::decode);
+    }
+}
@@ -8,11 +8,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.text.ParseException;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -24,11 +27,12 @@ public class ClientTrackingInterceptor implements HandlerInterceptor {
         final var bearer = "Bearer ";
         if (StringUtils.startsWithIgnoreCase(token, bearer)) {
             try {
-                final var jwtBody = getClaimsFromJWT(token);
+                final var verifiedClaims = verifiedClaims();
+                final var claims = verifiedClaims.isPresent() ? verifiedClaims.get() : getClaimsFromJWT(token).getClaims();
                 final var properties = ThreadContext.getRequestTelemetryContext().getHttpRequestTelemetry().getProperties();
-                final var user = Optional.ofNullable(jwtBody.getClaim("user_name"));
+                final var user = Optional.ofNullable(claims.get("user_name"));
                 user.map(String::valueOf).ifPresent(u -> properties.put("username", u));
-                properties.put("clientId", String.valueOf(jwtBody.getClaim("client_id")));
+                properties.put("clientId", String.valueOf(claims.get("client_id")));
 
             } catch (final ParseException e) {
                 // we have a bearer token we don't understand.
@@ -38,6 +42,16 @@ public class ClientTrackingInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    /*
+     * Secure requests have already had their token decoded and verified by Spring Security so there is no need to parse
+     * it again
+     */
+    private Optional<Map<String, Object>> verifiedClaims() {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .filter(authentication -> authentication instanceof JwtAuthenticationToken)
+                .map(authentication -> ((JwtAuthenticationToken) authentication).getTokenAttributes());
+    }
+
     private JWTClaimsSet getClaimsFromJWT(final String token) throws ParseException {
         final var signedJWT = SignedJWT.parse(token.replace("Bearer ", ""));
         return signedJWT.getJWTClaimsSet();
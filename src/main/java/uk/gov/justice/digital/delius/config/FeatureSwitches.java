@@ -36,7 +36,12 @@ public class FeatureSwitches {
     public static class OffenderNumber {
         private boolean number;
     }
+    @Data
+    public static class Documents {
+        private boolean parallelQueries;
+    }
     private NomsFeatures noms = new NomsFeatures();
+    private Documents documents = new Documents();
     private boolean applyLimitedAccessMarkers;
 
     @PostConstruct
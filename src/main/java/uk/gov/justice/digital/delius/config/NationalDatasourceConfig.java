@@ -46,7 +46,8 @@ public class NationalDatasourceConfig {
 
     @Bean(name = "nationalDataSource")
     public DataSource nationalDataSource(DataSourceProperties dataSourceProperties) {
-        return dataSourceProperties.initializeDataSourceBuilder().build();
+        final var dataSource = dataSourceProperties.initializeDataSourceBuilder().build();
+        return env.getProperty("sql-statement-metrics.enabled", Boolean.class, true) ? SqlStatementRecording.instrument(dataSource, "national", env.getProperty("sql-statement-metrics.count-rows", Boolean.class, false)) : dataSource;
     }
 
     @Bean
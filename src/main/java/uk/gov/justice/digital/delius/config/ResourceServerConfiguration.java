@@ -1,16 +1,32 @@
 package uk.gov.justice.digital.delius.config;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import uk.gov.justice.digital.delius.jwt.VerifiedTokenCache;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
 @EnableGlobalMethodSecurity(prePostEnabled = true, proxyTargetClass = true)
 public class ResourceServerConfiguration extends WebSecurityConfigurerAdapter {
+    private final JwtDecoder jwtDecoder;
+
+    public ResourceServerConfiguration(JwtDecoder jwtDecoder,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${jwt.cache.maximum-time-to-live:1h}") Duration maximumTimeToLive,
+                                       @Value("${jwt.cache.maximum-size:10000}") long maximumSize) {
+        this.jwtDecoder = new CachingJwtDecoder(
+                jwtDecoder,
+                new VerifiedTokenCache<>("oauthTokens", CachingJwtDecoder::expiryOf, maximumTimeToLive, maximumSize, meterRegistry));
+    }
 
     @Override
     public void configure(final HttpSecurity http) throws Exception {
@@ -19,6 +35,6 @@ public class ResourceServerConfiguration extends WebSecurityConfigurerAdapter {
                 .authorizeRequests( auth ->
                         auth.antMatchers("/secure/**").authenticated()
                 )
-                .oauth2ResourceServer().jwt().jwtAuthenticationConverter(new AuthAwareTokenConverter());
+                .oauth2ResourceServer().jwt().decoder(jwtDecoder).jwtAuthenticationConverter(new AuthAwareTokenConverter());
     }
 }
@@ -0,0 +1,22 @@
+package uk.gov.justice.digital.delius.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Log4j2
+@AllArgsConstructor
+@ConditionalOnProperty(name = "sql-statement-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementMetricsConfiguration implements WebMvcConfigurer {
+    private final SqlStatementMetricsInterceptor sqlStatementMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        log.info("Adding SQL statement metrics interceptor");
+        registry.addInterceptor(sqlStatementMetricsInterceptor).addPathPatterns("/**");
+    }
+}
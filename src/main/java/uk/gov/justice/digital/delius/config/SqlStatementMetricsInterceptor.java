@@ -0,0 +1,117 @@
+package uk.gov.justice.digital.delius.config;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.web.internal.ThreadContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Records the SQL each controller method runs and reports it as Micrometer metrics tagged with the endpoint and as
+ * properties of the Application Insights request telemetry. Any statement run <code>n-plus-one-threshold</code> or
+ * more times in one request is logged and sent as a <code>SqlNPlusOne</code> event. Rows read are only reported when
+ * <code>count-rows</code> is switched on, otherwise they are not counted.
+ */
+@Component
+@Slf4j
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+    private static final int MAX_SQL_LENGTH = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final TelemetryClient telemetryClient;
+    private final long nPlusOneThreshold;
+    private final boolean countRows;
+
+    public SqlStatementMetricsInterceptor(MeterRegistry meterRegistry,
+                                          TelemetryClient telemetryClient,
+                                          @Value("${sql-statement-metrics.n-plus-one-threshold:20}") long nPlusOneThreshold,
+                                          @Value("${sql-statement-metrics.count-rows:false}") boolean countRows) {
+        this.meterRegistry = meterRegistry;
+        this.telemetryClient = telemetryClient;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.countRows = countRows;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, @NotNull final HttpServletResponse response, @NotNull final Object handler) {
+        // the async dispatch of a streamed response is part of a request that has already been recorded
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            SqlStatementRecording.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(final HttpServletRequest request, @NotNull final HttpServletResponse response, @NotNull final Object handler) {
+        report(handler);
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, @NotNull final HttpServletResponse response, @NotNull final Object handler, final Exception ex) {
+        report(handler);
+    }
+
+    private void report(Object handler) {
+        SqlStatementRecording.stop().ifPresent(recording -> {
+            final var endpoint = endpointOf(handler);
+
+            DistributionSummary.builder("sql.request.statements")
+                    .description("SQL statements run for each request")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(recording.getStatements());
+            if (countRows) {
+                DistributionSummary.builder("sql.request.rows")
+                        .description("Rows read from the database for each request")
+                        .tag("endpoint", endpoint)
+                        .register(meterRegistry)
+                        .record(recording.getRows());
+            }
+            Timer.builder("sql.request.time")
+                    .description("Time spent in JDBC calls for each request")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(Duration.ofMillis(recording.getElapsedMillis()));
+
+            Optional.ofNullable(ThreadContext.getRequestTelemetryContext()).ifPresent(context -> {
+                final var properties = context.getHttpRequestTelemetry().getProperties();
+                properties.put("sqlStatements", String.valueOf(recording.getStatements()));
+                properties.put("sqlTimeMillis", String.valueOf(recording.getElapsedMillis()));
+                if (countRows) {
+                    properties.put("sqlRows", String.valueOf(recording.getRows()));
+                }
+            });
+
+            recording.statementsRunAtLeast(nPlusOneThreshold).forEach((sql, executions) -> {
+                log.warn("Possible N+1 query in {}: statement run {} times out of {} for the request: {}", endpoint, executions, recording.getStatements(), sql);
+                telemetryClient.trackEvent("SqlNPlusOne", Map.of(
+                        "endpoint", endpoint,
+                        "executions", String.valueOf(executions),
+                        "statements", String.valueOf(recording.getStatements()),
+                        "sql", StringUtils.abbreviate(sql, MAX_SQL_LENGTH)), null);
+            });
+        });
+    }
+
+    private static String endpointOf(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            final var method = (HandlerMethod) handler;
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "unknown";
+    }
+}
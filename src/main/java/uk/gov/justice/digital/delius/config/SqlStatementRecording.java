@@ -0,0 +1,129 @@
+package uk.gov.justice.digital.delius.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * The SQL run on behalf of one request: how many statements were sent to the database, how long the JDBC calls took,
+ * how many rows were read back and how often each distinct statement was run. A recording is started for the current
+ * thread and filled in by data sources wrapped with {@link #instrument(DataSource, String, boolean)}; SQL run when
+ * there is no recording is not tracked.
+ * <p>
+ * The calls that set the VPD client identifier of a session are left out, they are made when a connection is handed out
+ * rather than by the request itself and are counted separately by <code>vpd.client.identifier</code>.
+ */
+public class SqlStatementRecording {
+    private static final ThreadLocal<SqlStatementRecording> currentRecording = new ThreadLocal<>();
+    private static final Pattern SESSION_CONTEXT_CALL = Pattern.compile("^\\s*call\\s+PKG_VPD_CTX\\.", Pattern.CASE_INSENSITIVE);
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder elapsedMillis = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final Map<String, LongAdder> executions = new ConcurrentHashMap<>();
+
+    public static SqlStatementRecording start() {
+        final var recording = new SqlStatementRecording();
+        currentRecording.set(recording);
+        return recording;
+    }
+
+    public static Optional<SqlStatementRecording> stop() {
+        final var recording = Optional.ofNullable(currentRecording.get());
+        currentRecording.remove();
+        return recording;
+    }
+
+    public static Optional<SqlStatementRecording> current() {
+        return Optional.ofNullable(currentRecording.get());
+    }
+
+    /**
+     * Wraps a task so that SQL it runs on a worker thread is added to the recording of the submitting thread.
+     */
+    public static Runnable withCurrentRecording(Runnable task) {
+        final var recording = currentRecording.get();
+
+        return () -> {
+            // the task may end up running on the submitting thread so put back whatever was there before
+            final var previousRecording = currentRecording.get();
+            currentRecording.set(recording);
+            try {
+                task.run();
+            } finally {
+                currentRecording.set(previousRecording);
+            }
+        };
+    }
+
+    /**
+     * Wraps the data source so that each statement it runs is added to the recording of the thread running it. A JDBC
+     * batch is one round trip so counts as a single statement. Rows are only counted when <code>countRows</code> is
+     * set, as that means proxying every result set and is a cost on every row read.
+     */
+    public static DataSource instrument(DataSource dataSource, String name, boolean countRows) {
+        final var builder = ProxyDataSourceBuilder
+                .create(dataSource)
+                .name(name)
+                .afterQuery((execution, queries) -> current().ifPresent(recording -> queries
+                        .stream()
+                        .findFirst()
+                        .filter(query -> !SESSION_CONTEXT_CALL.matcher(query.getQuery()).find())
+                        .ifPresent(query -> recording.recordStatement(query.getQuery(), execution.getElapsedTime()))));
+        if (!countRows) {
+            return builder.build();
+        }
+        return builder
+                .proxyResultSet()
+                .afterMethod(context -> {
+                    if (context.getTarget() instanceof ResultSet
+                            && "next".equals(context.getMethod().getName())
+                            && Boolean.TRUE.equals(context.getResult())) {
+                        current().ifPresent(SqlStatementRecording::recordRow);
+                    }
+                })
+                .build();
+    }
+
+    void recordStatement(String sql, long elapsedMillis) {
+        this.statements.increment();
+        this.elapsedMillis.add(elapsedMillis);
+        this.executions.computeIfAbsent(sql, key -> new LongAdder()).increment();
+    }
+
+    void recordRow() {
+        this.rows.increment();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /**
+     * Statements run at least <code>threshold</code> times, which for a single request usually means a lazy
+     * association being loaded one entity at a time (an N+1 query), along with the number of times each was run.
+     */
+    public Map<String, Long> statementsRunAtLeast(long threshold) {
+        return executions
+                .entrySet()
+                .stream()
+                .filter(execution -> execution.getValue().sum() >= threshold)
+                .collect(toMap(Map.Entry::getKey, execution -> execution.getValue().sum()));
+    }
+}
@@ -15,6 +15,9 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Configuration
 @EnableJpaRepositories(
@@ -23,6 +26,25 @@ import java.util.HashMap;
         transactionManagerRef = "standardTransactionManager"
 )
 public class StandardDatasourceConfig {
+    /*
+     * Write optimisation settings, when present these let Hibernate send multi-row inserts and updates as one JDBC batch
+     * for each table rather than a statement for each row
+     */
+    private static final List<String> WRITE_OPTIMISATION_PROPERTIES = List.of(
+            "hibernate.jdbc.batch_size",
+            "hibernate.jdbc.batch_versioned_data",
+            "hibernate.order_inserts",
+            "hibernate.order_updates",
+            "hibernate.id.optimizer.pooled.preferred");
+
+    /*
+     * Diagnostic settings, when present these let the statements Hibernate sends be counted and inspected, for
+     * example by the integration tests that check writes are batched
+     */
+    private static final List<String> DIAGNOSTIC_PROPERTIES = List.of(
+            "hibernate.generate_statistics",
+            "hibernate.session_factory.statement_inspector");
+
     @Autowired
     private Environment env;
 
@@ -42,6 +64,9 @@ public class StandardDatasourceConfig {
                 env.getProperty("hibernate.hbm2ddl.auto"));
         properties.put("hibernate.dialect",
                 env.getProperty("hibernate.dialect"));
+        Stream.of(WRITE_OPTIMISATION_PROPERTIES, DIAGNOSTIC_PROPERTIES).flatMap(List::stream).forEach(property -> Optional
+                .ofNullable(env.getProperty(property))
+                .ifPresent(value -> properties.put(property, value)));
         em.setJpaPropertyMap(properties);
 
         return em;
@@ -50,7 +75,8 @@ public class StandardDatasourceConfig {
     @Primary
     @Bean
     public DataSource standardDataSource(DataSourceProperties dataSourceProperties) {
-        return dataSourceProperties.initializeDataSourceBuilder().build();
+        final var dataSource = dataSourceProperties.initializeDataSourceBuilder().build();
+        return env.getProperty("sql-statement-metrics.enabled", Boolean.class, true) ? SqlStatementRecording.instrument(dataSource, "standard", env.getProperty("sql-statement-metrics.count-rows", Boolean.class, false)) : dataSource;
     }
 
     @Primary
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -10,11 +11,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uk.gov.justice.digital.delius.data.api.Contact;
 import uk.gov.justice.digital.delius.data.api.OffenderDetail;
+import uk.gov.justice.digital.delius.helpers.NdjsonWriter;
 import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
 import uk.gov.justice.digital.delius.jwt.JwtValidation;
 import uk.gov.justice.digital.delius.service.ContactService;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -26,11 +31,13 @@ public class ContactController {
 
     private final OffenderService offenderService;
     private final ContactService contactService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ContactController(OffenderService offenderService, ContactService contactService) {
+    public ContactController(OffenderService offenderService, ContactService contactService, ObjectMapper objectMapper) {
         this.offenderService = offenderService;
         this.contactService = contactService;
+        this.objectMapper = objectMapper;
     }
 
     @RequestMapping(value = "/offenders/offenderId/{offenderId}/contacts", method = RequestMethod.GET)
@@ -39,16 +46,21 @@ public class ContactController {
                                                                               final @PathVariable("offenderId") Long offenderId,
                                                                               final @RequestParam("contactTypes") Optional<List<String>> contactTypes,
                                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("from") Optional<LocalDateTime> from,
-                                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to) {
+                                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to,
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("afterContactDate") Optional<LocalDate> afterContactDate,
+                                                                       final @RequestParam("afterContactId") Optional<Long> afterContactId,
+                                                                       final @RequestParam("limit") Optional<Integer> limit) {
 
         ContactFilter contactFilter = ContactFilter.builder()
                 .contactTypes(contactTypes)
                 .from(from)
                 .to(to)
+                .afterContactDate(afterContactDate)
+                .afterContactId(afterContactId)
                 .build();
 
         Optional<OffenderDetail> maybeOffender = offenderService.getOffenderByOffenderId(offenderId);
-        return contactsResponseEntityOf(maybeOffender.map(offenderDetail -> Optional.of(offenderDetail.getOffenderId())).orElse(Optional.empty()), contactFilter);
+        return contactsResponseEntityOf(maybeOffender.map(offenderDetail -> Optional.of(offenderDetail.getOffenderId())).orElse(Optional.empty()), contactFilter, limit);
     }
 
     private ResponseEntity<List<Contact>> notFound() {
@@ -61,15 +73,20 @@ public class ContactController {
                                                                        final @PathVariable("crn") String crn,
                                                                        final @RequestParam("contactTypes") Optional<List<String>> contactTypes,
                                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("from") Optional<LocalDateTime> from,
-                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to) {
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to,
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("afterContactDate") Optional<LocalDate> afterContactDate,
+                                                                       final @RequestParam("afterContactId") Optional<Long> afterContactId,
+                                                                       final @RequestParam("limit") Optional<Integer> limit) {
 
         ContactFilter contactFilter = ContactFilter.builder()
                 .contactTypes(contactTypes)
                 .from(from)
                 .to(to)
+                .afterContactDate(afterContactDate)
+                .afterContactId(afterContactId)
                 .build();
 
-        return contactsResponseEntityOf(offenderService.offenderIdOfCrn(crn), contactFilter);
+        return contactsResponseEntityOf(offenderService.offenderIdOfCrn(crn), contactFilter, limit);
 
     }
 
@@ -79,22 +96,76 @@ public class ContactController {
                                                                               final @PathVariable("nomsNumber") String nomsNumber,
                                                                               final @RequestParam("contactTypes") Optional<List<String>> contactTypes,
                                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("from") Optional<LocalDateTime> from,
-                                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to) {
+                                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to,
+                                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("afterContactDate") Optional<LocalDate> afterContactDate,
+                                                                       final @RequestParam("afterContactId") Optional<Long> afterContactId,
+                                                                       final @RequestParam("limit") Optional<Integer> limit) {
 
         ContactFilter contactFilter = ContactFilter.builder()
                 .contactTypes(contactTypes)
                 .from(from)
                 .to(to)
+                .afterContactDate(afterContactDate)
+                .afterContactId(afterContactId)
                 .build();
 
-        return contactsResponseEntityOf(offenderService.offenderIdOfNomsNumber(nomsNumber), contactFilter);
+        return contactsResponseEntityOf(offenderService.offenderIdOfNomsNumber(nomsNumber), contactFilter, limit);
 
     }
 
-    private ResponseEntity<List<Contact>> contactsResponseEntityOf(Optional<Long> maybeOffenderId, ContactFilter filter) {
+    @RequestMapping(value = "/offenders/crn/{crn}/contacts/stream", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @JwtValidation
+    public void streamOffenderContactsByCrn(final @RequestHeader HttpHeaders httpHeaders,
+                                            final @PathVariable("crn") String crn,
+                                            final @RequestParam("contactTypes") Optional<List<String>> contactTypes,
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("from") Optional<LocalDateTime> from,
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to,
+                                            final HttpServletResponse response) throws IOException {
+
+        ContactFilter contactFilter = ContactFilter.builder()
+                .contactTypes(contactTypes)
+                .from(from)
+                .to(to)
+                .build();
+
+        streamContacts(offenderService.offenderIdOfCrn(crn), contactFilter, response);
+    }
+
+    @RequestMapping(value = "/offenders/nomsNumber/{nomsNumber}/contacts/stream", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @JwtValidation
+    public void streamOffenderContactsByNomsNumber(final @RequestHeader HttpHeaders httpHeaders,
+                                                   final @PathVariable("nomsNumber") String nomsNumber,
+                                                   final @RequestParam("contactTypes") Optional<List<String>> contactTypes,
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("from") Optional<LocalDateTime> from,
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to,
+                                                   final HttpServletResponse response) throws IOException {
+
+        ContactFilter contactFilter = ContactFilter.builder()
+                .contactTypes(contactTypes)
+                .from(from)
+                .to(to)
+                .build();
+
+        streamContacts(offenderService.offenderIdOfNomsNumber(nomsNumber), contactFilter, response);
+    }
+
+    private ResponseEntity<List<Contact>> contactsResponseEntityOf(Optional<Long> maybeOffenderId, ContactFilter filter, Optional<Integer> limit) {
+        if (!filter.hasValidKeyset() || (filter.hasKeyset() && limit.isEmpty()) || (limit.isPresent() && !ContactFilter.isValidLimit(limit.get()))) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         return maybeOffenderId
-                .map(offenderId -> new ResponseEntity<>(contactService.contactsFor(offenderId, filter), HttpStatus.OK))
+                .map(offenderId -> new ResponseEntity<>(limit
+                        .map(maxContacts -> contactService.contactsFor(offenderId, filter, maxContacts))
+                        .orElseGet(() -> contactService.contactsFor(offenderId, filter)), HttpStatus.OK))
                 .orElseGet(this::notFound);
     }
 
+    private void streamContacts(Optional<Long> maybeOffenderId, ContactFilter filter, HttpServletResponse response) throws IOException {
+        if (maybeOffenderId.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        NdjsonWriter.<Contact>writeNdjson(objectMapper, response, contacts -> contactService.forEachContact(maybeOffenderId.get(), filter, contacts));
+    }
+
 }
\ No newline at end of file
@@ -10,7 +10,6 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uk.gov.justice.digital.delius.data.api.AccessLimitation;
 import uk.gov.justice.digital.delius.data.api.Count;
 import uk.gov.justice.digital.delius.data.api.DocumentMeta;
@@ -30,6 +30,7 @@ import uk.gov.justice.digital.delius.data.api.OffenderDocuments;
 import uk.gov.justice.digital.delius.data.api.OffenderIdsResource;
 import uk.gov.justice.digital.delius.data.api.OffenderManager;
 import uk.gov.justice.digital.delius.data.api.ResponsibleOfficer;
+import uk.gov.justice.digital.delius.helpers.NdjsonWriter;
 import uk.gov.justice.digital.delius.jwt.Jwt;
 import uk.gov.justice.digital.delius.jwt.JwtValidation;
 import uk.gov.justice.digital.delius.service.AlfrescoService;
@@ -37,11 +38,13 @@ import uk.gov.justice.digital.delius.service.DocumentService;
 import uk.gov.justice.digital.delius.service.OffenderService;
 import uk.gov.justice.digital.delius.service.UserService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.OK;
@@ -52,6 +55,8 @@ import static org.springframework.http.HttpStatus.OK;
 @RequestMapping(value = "api", produces = MediaType.APPLICATION_JSON_VALUE)
 public class OffenderController {
 
+    private static final int MAX_OFFENDER_IDS_LIMIT = 10000;
+
     private final OffenderService offenderService;
     private final AlfrescoService alfrescoService;
     private final DocumentService documentService;
@@ -228,31 +233,31 @@ public class OffenderController {
 
     @RequestMapping(value = "/offenders/crn/{crn}/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getOffenderDocumentByCrn(final @RequestHeader HttpHeaders httpHeaders,
-                                                             final @PathVariable("crn") String crn,
-                                                             final @PathVariable("documentId") String documentId) {
-        return alfrescoService.getDocument(documentId, crn);
+    public ResponseEntity<StreamingResponseBody> getOffenderDocumentByCrn(final @RequestHeader HttpHeaders httpHeaders,
+                                                                          final @PathVariable("crn") String crn,
+                                                                          final @PathVariable("documentId") String documentId) {
+        return alfrescoService.getDocument(documentId, crn, rangeOf(httpHeaders));
     }
 
     @RequestMapping(value = "/offenders/offenderId/{offenderId}/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
-                                                                    final @PathVariable("offenderId") Long offenderId,
-                                                                    final @PathVariable("documentId") String documentId
+    public ResponseEntity<StreamingResponseBody> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
+                                                                                 final @PathVariable("offenderId") Long offenderId,
+                                                                                 final @PathVariable("documentId") String documentId
     ) {
         return offenderService.crnOf(offenderId)
-                .map(crn -> alfrescoService.getDocument(documentId, crn))
+                .map(crn -> alfrescoService.getDocument(documentId, crn, rangeOf(httpHeaders)))
                 .orElse(new ResponseEntity<>(NOT_FOUND));
     }
 
     @RequestMapping(value = "/offenders/nomsNumber/{nomsNumber}/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
-                                                                    final @PathVariable("nomsNumber") String nomsNumber,
-                                                                    final @PathVariable("documentId") String documentId
+    public ResponseEntity<StreamingResponseBody> getOffenderDocumentByOffenderId(final @RequestHeader HttpHeaders httpHeaders,
+                                                                                 final @PathVariable("nomsNumber") String nomsNumber,
+                                                                                 final @PathVariable("documentId") String documentId
     ) {
         return offenderService.crnOf(nomsNumber)
-                .map(crn -> alfrescoService.getDocument(documentId, crn))
+                .map(crn -> alfrescoService.getDocument(documentId, crn, rangeOf(httpHeaders)))
                 .orElse(new ResponseEntity<>(NOT_FOUND));
     }
 
@@ -271,6 +276,37 @@ public class OffenderController {
         return new ResponseEntity<>(OffenderIdsResource.builder().offenderIds(offenderIds).build(), OK);
     }
 
+    @ApiOperation(value = "Returns up to limit offender ids in ascending order that are greater than afterOffenderId. Pass the last id returned as afterOffenderId to get the next page")
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "limit is less than 1 or more than 10000"),
+            @ApiResponse(code = 404, message = "There are no offender ids after afterOffenderId")
+    })
+    @RequestMapping(value = "/offenders/offenderIds/after", method = RequestMethod.GET)
+    @JwtValidation
+    public ResponseEntity<OffenderIdsResource> getOffenderIdsAfter(
+            final @RequestHeader HttpHeaders httpHeaders,
+            @ApiParam(defaultValue = "0") final @RequestParam(name = "afterOffenderId", required = false, defaultValue = "0") long afterOffenderId,
+            @ApiParam(defaultValue = "1000") final @RequestParam(name = "limit", required = false, defaultValue = "${offender.ids.pagesize:1000}") int limit) {
+
+        if (limit < 1 || limit > MAX_OFFENDER_IDS_LIMIT) {
+            return new ResponseEntity<>(BAD_REQUEST);
+        }
+        final var offenderIds = offenderService.offenderIdsAfter(afterOffenderId, limit);
+        if (offenderIds.isEmpty()) {
+            return new ResponseEntity<>(NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(OffenderIdsResource.builder().offenderIds(offenderIds).build(), OK);
+    }
+
+    @ApiOperation(value = "Streams every offender id in ascending order as newline delimited JSON, one id per line")
+    @RequestMapping(value = "/offenders/offenderIds/stream", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @JwtValidation
+    public void streamOffenderIds(final @RequestHeader HttpHeaders httpHeaders, final HttpServletResponse response) throws IOException {
+        // written to the output stream so a client disconnecting fails the write and stops the cursor
+        NdjsonWriter.writeNdjson(objectMapper, response, offenderService::forEachOffenderId);
+    }
+
     @RequestMapping(value = "/offenders/count", method = RequestMethod.GET)
     @JwtValidation
     public ResponseEntity<Count> offenderCount(final @RequestHeader HttpHeaders httpHeaders) {
@@ -374,10 +410,14 @@ public class OffenderController {
 
     @RequestMapping(value = "/documents/{documentId}", method = RequestMethod.GET)
     @JwtValidation
-    public ResponseEntity<Resource> getDocumentById(final @RequestHeader HttpHeaders httpHeaders,
-                                                    final @PathVariable("documentId") String documentId
+    public ResponseEntity<StreamingResponseBody> getDocumentById(final @RequestHeader HttpHeaders httpHeaders,
+                                                                 final @PathVariable("documentId") String documentId
     ) {
-        return alfrescoService.getDocument(documentId);
+        return alfrescoService.getDocument(documentId, rangeOf(httpHeaders));
+    }
+
+    private Optional<String> rangeOf(HttpHeaders httpHeaders) {
+        return Optional.ofNullable(httpHeaders.getFirst(HttpHeaders.RANGE));
     }
 
     @RequestMapping(value = "/offenders/nomsNumber/{nomsNumber}/responsibleOfficers", method = RequestMethod.GET)
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.controller.secure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -15,14 +16,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceBasicWrapper;
+import uk.gov.justice.digital.delius.data.api.CourtAppearanceMinimal;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceMinimalWrapper;
+import uk.gov.justice.digital.delius.helpers.NdjsonWriter;
+import uk.gov.justice.digital.delius.jpa.filters.CourtAppearanceFilter;
 import uk.gov.justice.digital.delius.service.CourtAppearanceService;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @RestController
@@ -31,15 +39,21 @@ import java.util.Optional;
 @RequestMapping(value = "secure", produces = MediaType.APPLICATION_JSON_VALUE)
 @PreAuthorize("hasRole('ROLE_COMMUNITY')")
 public class CourtAppearancesResource {
+    private static final int MAX_COURT_APPEARANCES_LIMIT = 10000;
+
     private final CourtAppearanceService courtAppearanceService;
     private final OffenderService offenderService;
+    private final ObjectMapper objectMapper;
 
-    public CourtAppearancesResource(CourtAppearanceService courtAppearanceService, OffenderService offenderService) {
+    public CourtAppearancesResource(CourtAppearanceService courtAppearanceService, OffenderService offenderService, ObjectMapper objectMapper) {
         this.courtAppearanceService = courtAppearanceService;
         this.offenderService = offenderService;
+        this.objectMapper = objectMapper;
     }
 
-    @ApiOperation(value = "Returns all court appearances on and after the given date.")
+    @ApiOperation(value = "Returns all court appearances on and after the given date.",
+        notes = "Appearances are ordered by appearanceDate then courtAppearanceId. To page through them pass the appearanceDate and courtAppearanceId " +
+            "of the last appearance received as afterAppearanceDate and afterCourtAppearanceId along with a limit")
     @ApiResponses(
         value = {
             @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
@@ -47,11 +61,63 @@ public class CourtAppearancesResource {
         })
     @GetMapping(value = "/courtAppearances")
     public CourtAppearanceMinimalWrapper getCourtAppearances(@ApiParam(name = "fromDate", value = "Return court appearances from the given date. Defaults to today if not provided.", example = "2019-03-02")
-                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("fromDate") Optional<LocalDate> fromDate) {
-        final var courtAppearances = courtAppearanceService.courtAppearances(fromDate.orElse(LocalDate.now()));
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("fromDate") Optional<LocalDate> fromDate,
+                                                             @ApiParam(name = "untilDate", value = "Return court appearances up to and including the given date", example = "2019-03-09")
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("untilDate") Optional<LocalDate> untilDate,
+                                                             @ApiParam(name = "afterAppearanceDate", value = "Appearance date of the last appearance already received", example = "2019-03-02T10:00:00")
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("afterAppearanceDate") Optional<LocalDateTime> afterAppearanceDate,
+                                                             @ApiParam(name = "afterCourtAppearanceId", value = "Id of the last appearance already received", example = "2500316926")
+                                                             final @RequestParam("afterCourtAppearanceId") Optional<Long> afterCourtAppearanceId,
+                                                             @ApiParam(name = "limit", value = "Maximum number of appearances to return, between 1 and 10000. All are returned when not provided", example = "500")
+                                                             final @RequestParam("limit") Optional<Integer> limit) {
+        limit.filter(maxResults -> maxResults < 1 || maxResults > MAX_COURT_APPEARANCES_LIMIT).ifPresent(maxResults -> {
+            throw new BadRequestException(String.format("limit must be between 1 and %d", MAX_COURT_APPEARANCES_LIMIT));
+        });
+        final var courtAppearances = courtAppearanceService.courtAppearances(
+            courtAppearanceFilterOf(fromDate, untilDate, afterAppearanceDate, afterCourtAppearanceId),
+            limit);
         return new CourtAppearanceMinimalWrapper(courtAppearances);
     }
 
+    @ApiOperation(value = "Streams all court appearances on and after the given date as newline delimited JSON.",
+        notes = "Appearances are written as they are read, ordered by appearanceDate then courtAppearanceId, so a poller can resume from the last " +
+            "appearance it received using afterAppearanceDate and afterCourtAppearanceId")
+    @ApiResponses(
+        value = {
+            @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+            @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+        })
+    @GetMapping(value = "/courtAppearances/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamCourtAppearances(@ApiParam(name = "fromDate", value = "Return court appearances from the given date. Defaults to today if not provided.", example = "2019-03-02")
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("fromDate") Optional<LocalDate> fromDate,
+                                       @ApiParam(name = "untilDate", value = "Return court appearances up to and including the given date", example = "2019-03-09")
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("untilDate") Optional<LocalDate> untilDate,
+                                       @ApiParam(name = "afterAppearanceDate", value = "Appearance date of the last appearance already received", example = "2019-03-02T10:00:00")
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("afterAppearanceDate") Optional<LocalDateTime> afterAppearanceDate,
+                                       @ApiParam(name = "afterCourtAppearanceId", value = "Id of the last appearance already received", example = "2500316926")
+                                       final @RequestParam("afterCourtAppearanceId") Optional<Long> afterCourtAppearanceId,
+                                       final HttpServletResponse response) throws IOException {
+        final var filter = courtAppearanceFilterOf(fromDate, untilDate, afterAppearanceDate, afterCourtAppearanceId);
+
+        NdjsonWriter.<CourtAppearanceMinimal>writeNdjson(objectMapper, response, courtAppearances -> courtAppearanceService.forEachCourtAppearance(filter, courtAppearances));
+    }
+
+    private CourtAppearanceFilter courtAppearanceFilterOf(Optional<LocalDate> fromDate,
+                                                          Optional<LocalDate> untilDate,
+                                                          Optional<LocalDateTime> afterAppearanceDate,
+                                                          Optional<Long> afterCourtAppearanceId) {
+        final var filter = CourtAppearanceFilter.builder()
+            .fromDate(fromDate.orElse(LocalDate.now()))
+            .untilDate(untilDate)
+            .afterAppearanceDate(afterAppearanceDate)
+            .afterCourtAppearanceId(afterCourtAppearanceId)
+            .build();
+        if (!filter.hasValidKeyset()) {
+            throw new BadRequestException("afterCourtAppearanceId can only be used with afterAppearanceDate");
+        }
+        return filter;
+    }
+
     @ApiOperation(value = "Returns all court appearances associated with the CRN for the conviction ID.")
     @ApiResponses(
         value = {
@@ -16,9 +16,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
-import uk.gov.justice.digital.delius.config.FeatureSwitches;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.ConflictingRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDates;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDatesResult;
 import uk.gov.justice.digital.delius.data.api.CreateCustodyKeyDate;
 import uk.gov.justice.digital.delius.data.api.Custody;
 import uk.gov.justice.digital.delius.data.api.CustodyKeyDate;
@@ -27,6 +29,7 @@ import uk.gov.justice.digital.delius.data.api.ReplaceCustodyKeyDates;
 import uk.gov.justice.digital.delius.service.ConvictionService;
 import uk.gov.justice.digital.delius.service.ConvictionService.CustodyTypeCodeIsNotValidException;
 import uk.gov.justice.digital.delius.service.ConvictionService.DuplicateActiveCustodialConvictionsException;
+import uk.gov.justice.digital.delius.service.CustodyKeyDatesBulkService;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
 import java.util.Comparator;
@@ -40,15 +43,16 @@ import java.util.function.Function;
 @RequestMapping(value = "secure", produces = MediaType.APPLICATION_JSON_VALUE)
 @PreAuthorize("hasRole('ROLE_COMMUNITY')")
 public class CustodyKeyDatesController {
+    private static final int MAX_BULK_BOOKINGS = 1000;
     private final OffenderService offenderService;
     private final ConvictionService convictionService;
-    private final FeatureSwitches featureSwitches;
+    private final CustodyKeyDatesBulkService custodyKeyDatesBulkService;
 
     @Autowired
-    public CustodyKeyDatesController(OffenderService offenderService, ConvictionService convictionService, FeatureSwitches featureSwitches) {
+    public CustodyKeyDatesController(OffenderService offenderService, ConvictionService convictionService, CustodyKeyDatesBulkService custodyKeyDatesBulkService) {
         this.offenderService = offenderService;
         this.convictionService = convictionService;
-        this.featureSwitches = featureSwitches;
+        this.custodyKeyDatesBulkService = custodyKeyDatesBulkService;
     }
 
     @RequestMapping(value = "offenders/crn/{crn}/custody/keyDates/{typeCode}", method = RequestMethod.PUT, consumes = "application/json")
@@ -93,25 +97,44 @@ public class CustodyKeyDatesController {
                                                                         final @RequestBody ReplaceCustodyKeyDates replaceCustodyKeyDates) {
         log.info("Call to replaceAllCustodyKeyDateByNomsNumberAndBookingNumber for {} booking {} with dates {}", nomsNumber, bookingNumber, replaceCustodyKeyDates);
 
-        var offenderId = offenderService.offenderIdOfNomsNumber(nomsNumber).orElseThrow(() -> new NotFoundException(String.format("Offender with NOMS number %s not found", nomsNumber)));
-        final var activeCustodialEvents = convictionService.getAllActiveCustodialEventsWithBookingNumber(offenderId, bookingNumber);
-        if (activeCustodialEvents.isEmpty()) {
-            throw new NotFoundException(String.format("Conviction with bookingNumber %s not found for offender with NOMS number %s", bookingNumber, nomsNumber));
-        }
-
-        // legacy behaviour - do not update multiple events
-        if (activeCustodialEvents.size() > 1 && !featureSwitches.getNoms().getUpdate().getMultipleEvents().isUpdateBulkKeyDates()) {
-            log.warn("Multiple active custodial convictions found for {} for offender {}", bookingNumber, nomsNumber);
-            throw new NotFoundException(String.format("Single active conviction for %s with booking number %s not found. Instead has %d convictions", nomsNumber, bookingNumber, activeCustodialEvents.size()));
-        }
+        final var replacements = custodyKeyDatesBulkService.replacementsOf(BookingCustodyKeyDates
+            .builder()
+            .nomsNumber(nomsNumber)
+            .bookingNumber(bookingNumber)
+            .keyDates(replaceCustodyKeyDates)
+            .build())
+            .getOrElseThrow(failure -> new NotFoundException(failure.getMessage()));
 
-        return activeCustodialEvents
+        return replacements
             .stream()
-            .map(event -> convictionService.addOrReplaceOrDeleteCustodyKeyDates(offenderId, event.getEventId(), replaceCustodyKeyDates))
+            .map(replacement -> convictionService.addOrReplaceOrDeleteCustodyKeyDates(replacement.getOffenderId(), replacement.getConvictionId(), replacement.getReplaceCustodyKeyDates()))
             .max(Comparator.comparing(Custody::getSentenceStartDate))
             .orElseThrow();
     }
 
+    @RequestMapping(value = "offenders/custody/keyDates", method = RequestMethod.POST, consumes = "application/json")
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "A booking is incomplete or too many bookings were supplied"),
+            @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_CUSTODY_UPDATE")
+    })
+    @ApiOperation(value = "Replaces all key dates for each of the prison bookings in the same way as the single booking endpoint. Bookings are processed in chunks with one transaction for each chunk and the outcome for each booking is returned in the order supplied",
+            notes = "Requires role ROLE_COMMUNITY_CUSTODY_UPDATE. At most " + MAX_BULK_BOOKINGS + " bookings may be supplied in one request")
+    @PreAuthorize("hasRole('ROLE_COMMUNITY_CUSTODY_UPDATE')")
+    public List<BookingCustodyKeyDatesResult> replaceAllCustodyKeyDatesForBookings(final @RequestBody List<BookingCustodyKeyDates> bookings) {
+        log.info("Call to replaceAllCustodyKeyDatesForBookings for {} bookings", bookings.size());
+        if (bookings.size() > MAX_BULK_BOOKINGS) {
+            throw new BadRequestException(String.format("%d bookings supplied but no more than %d may be replaced at once", bookings.size(), MAX_BULK_BOOKINGS));
+        }
+        bookings.stream()
+                .filter(booking -> booking.getNomsNumber() == null || booking.getBookingNumber() == null || booking.getKeyDates() == null)
+                .findFirst()
+                .ifPresent(booking -> {
+                    throw new BadRequestException(String.format("nomsNumber, bookingNumber and keyDates are required for each booking but got %s", booking));
+                });
+
+        return custodyKeyDatesBulkService.replaceCustodyKeyDates(bookings);
+    }
+
     @RequestMapping(value = "offenders/offenderId/{offenderId}/custody/keyDates/{typeCode}", method = RequestMethod.PUT, consumes = "application/json")
     @ApiResponses(value = {
             @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_CUSTODY_UPDATE"),
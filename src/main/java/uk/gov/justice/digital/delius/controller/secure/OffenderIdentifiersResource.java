@@ -10,14 +10,21 @@ import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
 import uk.gov.justice.digital.delius.data.api.OffenderDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderIdentifiers;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearch;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearchResult;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
+import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
 
 @Api(tags = "Core offender")
@@ -27,6 +34,8 @@ import java.util.Optional;
 @AllArgsConstructor
 @PreAuthorize("hasRole('ROLE_COMMUNITY')")
 public class OffenderIdentifiersResource {
+    private static final int MAX_SEARCH_IDENTIFIERS = 5000;
+
     private final OffenderService offenderService;
 
     @ApiOperation(
@@ -69,6 +78,34 @@ public class OffenderIdentifiersResource {
         return identifiersFor(offenderService.offenderIdOfCrn(crn));
     }
 
+    @ApiOperation(
+            value = "Translate many CRNs, NOMS numbers and offender ids to the primary identifiers of the offenders they belong to",
+            notes = "requires ROLE_COMMUNITY. At most " + MAX_SEARCH_IDENTIFIERS + " identifiers may be supplied in one request")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Too many or null identifiers supplied", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @PostMapping(value = "offenders/identifiers/search", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public OffenderIdentifiersSearchResult searchOffenderIdentifiers(final @RequestBody OffenderIdentifiersSearch search) {
+        final var count = sizeOf(search.getCrns()) + sizeOf(search.getNomsNumbers()) + sizeOf(search.getOffenderIds());
+        if (count > MAX_SEARCH_IDENTIFIERS) {
+            throw new BadRequestException(String.format("%d identifiers supplied but no more than %d may be searched for at once", count, MAX_SEARCH_IDENTIFIERS));
+        }
+        if (containsNull(search.getCrns()) || containsNull(search.getNomsNumbers()) || containsNull(search.getOffenderIds())) {
+            throw new BadRequestException("identifiers must not be null");
+        }
+        return offenderService.searchPrimaryIdentifiers(search);
+    }
+
+    private static int sizeOf(Collection<?> identifiers) {
+        return Optional.ofNullable(identifiers).map(Collection::size).orElse(0);
+    }
+
+    private static boolean containsNull(Collection<?> identifiers) {
+        return Optional.ofNullable(identifiers).map(values -> values.stream().anyMatch(Objects::isNull)).orElse(false);
+    }
+
     private OffenderIdentifiers identifiersFor(Optional<Long> maybeOffenderId) {
         return maybeOffenderId
                 .map(offenderService::getOffenderIdentifiers)
@@ -2,23 +2,34 @@ package uk.gov.justice.digital.delius.controller.secure;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
+import uk.gov.justice.digital.delius.service.OffenderUpdatesPublisher;
 import uk.gov.justice.digital.delius.service.OffenderUpdatesService;
 
+import java.util.List;
+
+import static uk.gov.justice.digital.delius.service.OffenderDeltaService.MAX_UPDATES_PER_LOCK;
+
 @Api(tags = "Events")
 @RestController
 @Slf4j
@@ -27,6 +38,7 @@ import uk.gov.justice.digital.delius.service.OffenderUpdatesService;
 @PreAuthorize("hasRole('ROLE_COMMUNITY_EVENTS')")
 public class OffenderUpdatesResource {
     private final OffenderUpdatesService offenderUpdatesService;
+    private final OffenderUpdatesPublisher offenderUpdatesPublisher;
 
     @ApiOperation(
             value = "Returns the next update for any offender. If none, will look for failed updates and set them in progress again", notes = "requires ROLE_COMMUNITY_EVENTS")
@@ -42,6 +54,40 @@ public class OffenderUpdatesResource {
         return offenderUpdatesService.getAndLockNextUpdate().orElseThrow(() -> new NotFoundException("No updates found"));
     }
 
+    @ApiOperation(
+            value = "Returns up to `count` of the next updates for any offender, topping up with failed updates when there are not enough new ones. An empty list is returned when there are none",
+            notes = "requires ROLE_COMMUNITY_EVENTS. Updates are locked in a single transaction so many consumers can call this concurrently and each will receive different updates")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_EVENTS")
+            })
+    @GetMapping(value = "offenders/nextUpdates")
+    public List<OffenderUpdate> getAndLockNextOffenderUpdates(
+            @ApiParam(name = "count", value = "Maximum number of updates to return, up to 1000", example = "100")
+            @RequestParam(name = "count", required = false, defaultValue = "100") final int count) {
+        if (count < 1 || count > MAX_UPDATES_PER_LOCK) {
+            throw new BadRequestException(String.format("count must be between 1 and %d", MAX_UPDATES_PER_LOCK));
+        }
+        return offenderUpdatesService.getAndLockNextUpdates(count);
+    }
+
+    @ApiOperation(
+            value = "Streams updates for any offender as server-sent events as they become available, including failed updates that are due a retry",
+            notes = "requires ROLE_COMMUNITY_EVENTS. Updates are only claimed as fast as the client reads them. Each update must still be deleted or marked as failed once processed")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_EVENTS")
+            })
+    @GetMapping(value = "offenders/updates/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<OffenderUpdate>> streamOffenderUpdates() {
+        return offenderUpdatesPublisher.subscribe()
+                .map(offenderUpdate -> ServerSentEvent.builder(offenderUpdate)
+                        .id(String.valueOf(offenderUpdate.getOffenderDeltaId()))
+                        .event("offenderUpdate")
+                        .build());
+    }
+
     @ApiOperation(
             value = "Deletes an update of an offender previous retrieved by `/offenders/nextUpdate` ", notes = "requires ROLE_COMMUNITY_EVENTS")
     @ApiResponses(
@@ -66,5 +112,34 @@ public class OffenderUpdatesResource {
         offenderUpdatesService.markAsFailed(offenderDeltaId);
     }
 
+    @ApiOperation(
+            value = "Deletes updates of offenders previously retrieved by `/offenders/nextUpdates`. Updates that no longer exist are ignored", notes = "requires ROLE_COMMUNITY_EVENTS")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_EVENTS")
+            })
+    @DeleteMapping(value = "offenders/updates")
+    public void deleteOffenderUpdates(@RequestBody final List<Long> offenderDeltaIds) {
+        offenderUpdatesService.deleteUpdates(checkBatchSize(offenderDeltaIds));
+    }
+
+    @ApiOperation(
+            value = "Mark offender updates as failed. Updates that no longer exist are ignored", notes = "requires ROLE_COMMUNITY_EVENTS")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_EVENTS")
+            })
+    @PutMapping(value = "offenders/updates/markAsFailed")
+    public void markAllAsFailed(@RequestBody final List<Long> offenderDeltaIds) {
+        offenderUpdatesService.markAsFailed(checkBatchSize(offenderDeltaIds));
+    }
 
+    private List<Long> checkBatchSize(final List<Long> offenderDeltaIds) {
+        if (offenderDeltaIds.isEmpty() || offenderDeltaIds.size() > MAX_UPDATES_PER_LOCK) {
+            throw new BadRequestException(String.format("Between 1 and %d offenderDeltaIds must be supplied", MAX_UPDATES_PER_LOCK));
+        }
+        return offenderDeltaIds;
+    }
 }
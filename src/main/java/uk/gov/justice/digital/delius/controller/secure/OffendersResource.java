@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.controller.secure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
@@ -45,12 +46,14 @@ import uk.gov.justice.digital.delius.data.api.OffenderDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderDetailSummary;
 import uk.gov.justice.digital.delius.data.api.OffenderLatestRecall;
 import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiersSlice;
 import uk.gov.justice.digital.delius.data.api.ProbationStatusDetail;
 import uk.gov.justice.digital.delius.data.api.ResponsibleOfficer;
 import uk.gov.justice.digital.delius.data.api.ResponsibleOfficerSwitch;
 import uk.gov.justice.digital.delius.data.api.SentenceStatus;
 import uk.gov.justice.digital.delius.data.filters.OffenderFilter;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+import uk.gov.justice.digital.delius.helpers.NdjsonWriter;
 import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
 import uk.gov.justice.digital.delius.service.AssessmentService;
 import uk.gov.justice.digital.delius.service.ContactService;
@@ -64,9 +67,12 @@ import uk.gov.justice.digital.delius.service.TierService;
 import uk.gov.justice.digital.delius.service.UserAccessService;
 import uk.gov.justice.digital.delius.service.UserService;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -96,6 +102,7 @@ public class OffendersResource {
     private final UserAccessService userAccessService;
     private final AssessmentService assessmentService;
     private final TierService tierService;
+    private final ObjectMapper objectMapper;
 
     @ApiOperation(
             value = "Return the responsible officer (RO) for an offender",
@@ -224,18 +231,58 @@ public class OffendersResource {
     public ResponseEntity<List<Contact>> getOffenderContactReportByNomsNumber(@ApiParam(name = "nomsNumber", value = "Nomis number for the offender", example = "G9542VP", required = true) @NotNull final @PathVariable("nomsNumber") String nomsNumber,
                                                                               final @RequestParam("contactTypes") Optional<List<String>> contactTypes,
                                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("from") Optional<LocalDateTime> from,
-                                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to) {
+                                                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to,
+                                                                              @ApiParam(value = "Only return contacts after this contact date (or on it with a greater contactId), ordered by contact date then contactId. Requires limit", example = "2020-01-31") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final @RequestParam("afterContactDate") Optional<LocalDate> afterContactDate,
+                                                                              @ApiParam(value = "Tie break for afterContactDate, pass the contactId of the last contact returned", example = "2502719240") final @RequestParam("afterContactId") Optional<Long> afterContactId,
+                                                                              @ApiParam(value = "Maximum number of contacts to return, when supplied contacts are ordered by contact date then contactId", example = "100") final @RequestParam("limit") Optional<Integer> limit) {
         final var contactFilter = ContactFilter.builder()
                 .contactTypes(contactTypes)
                 .from(from)
                 .to(to)
+                .afterContactDate(afterContactDate)
+                .afterContactId(afterContactId)
                 .build();
+        if (!contactFilter.hasValidKeyset()) {
+            throw new BadRequestException("afterContactId can only be used with afterContactDate");
+        }
+        if (contactFilter.hasKeyset() && limit.isEmpty()) {
+            throw new BadRequestException("afterContactDate and afterContactId can only be used with limit");
+        }
+        if (limit.isPresent() && !ContactFilter.isValidLimit(limit.get())) {
+            throw new BadRequestException(String.format("limit must be between 1 and %d", ContactFilter.MAX_LIMIT));
+        }
 
         return offenderService.offenderIdOfNomsNumber(nomsNumber)
-                .map(offenderId -> new ResponseEntity<>(contactService.contactsFor(offenderId, contactFilter), HttpStatus.OK))
+                .map(offenderId -> new ResponseEntity<>(limit
+                        .map(maxContacts -> contactService.contactsFor(offenderId, contactFilter, maxContacts))
+                        .orElseGet(() -> contactService.contactsFor(offenderId, contactFilter)), HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @ApiOperation(value = "Streams the contact details for an offender as newline delimited JSON, one contact per line ordered by contact date then contactId", tags = "Contact and attendance")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid request", response = ErrorResponse.class),
+                    @ApiResponse(code = 404, message = "Offender not found"),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @GetMapping(value = "/offenders/nomsNumber/{nomsNumber}/contacts/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamOffenderContactsByNomsNumber(@ApiParam(name = "nomsNumber", value = "Nomis number for the offender", example = "G9542VP", required = true) @NotNull final @PathVariable("nomsNumber") String nomsNumber,
+                                                   final @RequestParam("contactTypes") Optional<List<String>> contactTypes,
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("from") Optional<LocalDateTime> from,
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final @RequestParam("to") Optional<LocalDateTime> to,
+                                                   final HttpServletResponse response) throws IOException {
+        final var contactFilter = ContactFilter.builder()
+                .contactTypes(contactTypes)
+                .from(from)
+                .to(to)
+                .build();
+        final var offenderId = offenderService.offenderIdOfNomsNumber(nomsNumber)
+                .orElseThrow(() -> new NotFoundException(String.format("Offender with nomsNumber %s not found", nomsNumber)));
+
+        NdjsonWriter.<Contact>writeNdjson(objectMapper, response, contacts -> contactService.forEachContact(offenderId, contactFilter, contacts));
+    }
+
     @ApiOperation(
             value = "Returns the latest recall and release details for an offender",
             notes = "Accepts a NOMIS offender nomsNumber in the format A9999AA",
@@ -542,6 +589,32 @@ public class OffendersResource {
         return offenderService.getAllPrimaryIdentifiers(filter, pageable);
     }
 
+    @ApiOperation(value = "Return a slice of offender identifiers that match the supplied filter ordered by offenderId",
+            notes = "Unlike /offenders/primaryIdentifiers no total is calculated so the cost of each slice does not grow with the number of offenders. " +
+                    "Pass the continuationToken from the previous slice to get the next; it is absent on the last slice")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 400, message = "Invalid continuation token or size", response = ErrorResponse.class)
+            })
+    @GetMapping(value = "/offenders/primaryIdentifiers/slice")
+    public PrimaryIdentifiersSlice getOffenderIdsSlice(
+            @ApiParam(value = "Optionally specify an offender filter") final OffenderFilter filter,
+            @ApiParam(name = "continuationToken", value = "Token returned with the previous slice", example = "2500343964") @RequestParam(value = "continuationToken", required = false) final String continuationToken,
+            @ApiParam(name = "size", value = "Number of records per slice", example = "100") @RequestParam(value = "size", required = false, defaultValue = "100") final int size) {
+        if (size < 1 || size > 2000) {
+            throw new BadRequestException("size must be between 1 and 2000");
+        }
+        return offenderService.getPrimaryIdentifiersAfter(filter, afterOffenderIdOf(continuationToken), size);
+    }
+
+    private Optional<Long> afterOffenderIdOf(String continuationToken) {
+        try {
+            return Optional.ofNullable(continuationToken).map(Long::valueOf);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(String.format("Invalid continuation token %s", continuationToken));
+        }
+    }
+
     @ApiOperation(value = "Return sentence and custodial status information by crn, convictionId.")
     @ApiResponses(
         value = {
@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,10 +19,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
+import uk.gov.justice.digital.delius.data.api.CacheStatistics;
 import uk.gov.justice.digital.delius.data.api.KeyValue;
 import uk.gov.justice.digital.delius.data.api.ProbationAreaWithLocalDeliveryUnits;
 import uk.gov.justice.digital.delius.data.api.ReferenceDataList;
 import uk.gov.justice.digital.delius.data.api.ReferenceDataSets;
+import uk.gov.justice.digital.delius.service.ReferenceDataCacheService;
 import uk.gov.justice.digital.delius.service.ReferenceDataService;
 
 import java.util.List;
@@ -35,6 +38,7 @@ import java.util.List;
 public class ReferenceDataResource {
 
     private final ReferenceDataService referenceDataService;
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     @ApiOperation(
             value = "Return probation areas",
@@ -136,4 +140,44 @@ public class ReferenceDataResource {
                 .referenceDataSets(referenceDataService.getReferenceDataSets())
                 .build();
     }
+
+    @ApiOperation(value = "Returns hit and miss statistics for each of the reference data caches", authorizations = {@Authorization("ROLE_COMMUNITY_ADMIN")})
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_ADMIN", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @GetMapping(value = "/referenceData/caches")
+    @PreAuthorize("hasRole('ROLE_COMMUNITY_ADMIN')")
+    public List<CacheStatistics> getReferenceDataCacheStatistics() {
+        return referenceDataCacheService.getCacheStatistics();
+    }
+
+    @ApiOperation(value = "Evicts all entries from every reference data cache and reloads the organisation hierarchy", notes = "Use after reference data has been changed directly in Delius", authorizations = {@Authorization("ROLE_COMMUNITY_ADMIN")})
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_ADMIN", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @DeleteMapping(value = "/referenceData/caches")
+    @PreAuthorize("hasRole('ROLE_COMMUNITY_ADMIN')")
+    public void evictReferenceDataCaches() {
+        log.info("Call to evictReferenceDataCaches");
+        referenceDataCacheService.evictAll();
+    }
+
+    @ApiOperation(value = "Evicts all entries from a single reference data cache", notes = "Use after reference data has been changed directly in Delius", authorizations = {@Authorization("ROLE_COMMUNITY_ADMIN")})
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_ADMIN", response = ErrorResponse.class),
+                    @ApiResponse(code = 404, message = "Cache not found", response = ErrorResponse.class),
+                    @ApiResponse(code = 500, message = "Unrecoverable error whilst processing request.", response = ErrorResponse.class)
+            })
+    @DeleteMapping(value = "/referenceData/caches/{name}")
+    @PreAuthorize("hasRole('ROLE_COMMUNITY_ADMIN')")
+    public void evictReferenceDataCache(
+            @ApiParam(name = "name", value = "Name of the cache", example = "standardReferences", required = true) final @PathVariable String name) {
+        log.info("Call to evictReferenceDataCache {}", name);
+        referenceDataCacheService.evict(name);
+    }
 }
@@ -78,4 +78,18 @@ public class UserController {
     ) {
         userService.addRole(username, roleId);
     }
+
+    @ApiOperation(
+        value = "Evicts the cached exclusions and restrictions of a user",
+        notes = "Use after the user's exclusions or restrictions have been changed directly in Delius",
+        authorizations = {@Authorization("ROLE_COMMUNITY_ADMIN")})
+    @ApiResponses(
+        value = {
+            @ApiResponse(code = 403, message = "Requires role ROLE_COMMUNITY_ADMIN"),
+        })
+    @PreAuthorize("hasRole('ROLE_COMMUNITY_ADMIN')")
+    @RequestMapping(value = "/users/{username}/accessProfile", method = RequestMethod.DELETE)
+    public void evictAccessProfile(@ApiParam(name = "username", value = "LDAP username", example = "TESTUSERNPS", required = true) @NotNull final @PathVariable("username") String username) {
+        userService.evictAccessProfile(username);
+    }
 }
@@ -0,0 +1,22 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@ApiModel(description = "Key dates for the custodial conviction with the prison booking, any key dates not supplied will be removed")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCustodyKeyDates {
+    @ApiModelProperty(value = "NOMS number of the offender", example = "G9542VP", required = true)
+    private String nomsNumber;
+    @ApiModelProperty(value = "Prison booking number of the custodial conviction", example = "44463B", required = true)
+    private String bookingNumber;
+    @ApiModelProperty(value = "Key dates to replace those of the custodial conviction", required = true)
+    private ReplaceCustodyKeyDates keyDates;
+}
@@ -0,0 +1,26 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@ApiModel(description = "Outcome of replacing the key dates for a single prison booking")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCustodyKeyDatesResult {
+    @ApiModelProperty(value = "NOMS number of the offender", example = "G9542VP")
+    private String nomsNumber;
+    @ApiModelProperty(value = "Prison booking number of the custodial conviction", example = "44463B")
+    private String bookingNumber;
+    @ApiModelProperty(value = "HTTP status the equivalent single booking request would have returned", example = "200")
+    private int status;
+    @ApiModelProperty(value = "The custody after the key dates were replaced, absent when the replacement failed")
+    private Custody custody;
+    @ApiModelProperty(value = "Why the replacement failed, absent when it succeeded", example = "Offender with NOMS number G9542VP not found")
+    private String message;
+}
@@ -0,0 +1,24 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+    @ApiModelProperty(value = "Name of the cache", example = "standardReferences")
+    private String name;
+    @ApiModelProperty(value = "Approximate number of entries currently cached", example = "42")
+    private Long size;
+    @ApiModelProperty(value = "Number of lookups served from the cache", example = "1000")
+    private Long hitCount;
+    @ApiModelProperty(value = "Number of lookups that went to the database", example = "42")
+    private Long missCount;
+    @ApiModelProperty(value = "Number of entries removed due to size or expiry", example = "0")
+    private Long evictionCount;
+}
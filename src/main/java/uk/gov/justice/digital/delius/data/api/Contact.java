@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
@@ -25,6 +26,7 @@ public class Contact {
     private LicenceCondition licenceCondition;
     private Nsi nsi;
     private String notes;
+    private LocalDate contactDate;
     private LocalTime contactStartTime;
     private LocalTime contactEndTime;
     private Boolean softDeleted;
@@ -0,0 +1,27 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@ApiModel(description = "Offender identifiers to translate, any combination of CRNs, NOMS numbers and offender ids may be supplied")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OffenderIdentifiersSearch {
+    @ApiModelProperty(value = "case reference numbers", example = "[\"X320741\"]")
+    @Builder.Default
+    private Set<String> crns = Set.of();
+    @ApiModelProperty(value = "NOMS numbers", example = "[\"G9542VP\"]")
+    @Builder.Default
+    private Set<String> nomsNumbers = Set.of();
+    @ApiModelProperty(value = "offender ids", example = "[2500343964]")
+    @Builder.Default
+    private Set<Long> offenderIds = Set.of();
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+@ApiModel(description = "Primary identifiers of each offender found, keyed by the identifier that was searched for. Identifiers that matched no offender are absent")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OffenderIdentifiersSearchResult {
+    @ApiModelProperty(value = "offenders found by CRN")
+    private Map<String, PrimaryIdentifiers> crns;
+    @ApiModelProperty(value = "offenders found by NOMS number")
+    private Map<String, PrimaryIdentifiers> nomsNumbers;
+    @ApiModelProperty(value = "NOMS numbers searched for that are held by more than one offender, these are absent from nomsNumbers")
+    private Set<String> duplicateNomsNumbers;
+    @ApiModelProperty(value = "offenders found by offender id")
+    private Map<Long, PrimaryIdentifiers> offenderIds;
+}
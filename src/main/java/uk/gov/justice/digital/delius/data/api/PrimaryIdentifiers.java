@@ -19,4 +19,6 @@ public class PrimaryIdentifiers {
     private Long offenderId;
     @ApiModelProperty(value = "case reference number", required = true, example = "12345C")
     private String crn;
+    @ApiModelProperty(value = "NOMS number, absent when the offender has never been in custody", example = "G9542VP")
+    private String nomsNumber;
 }
@@ -0,0 +1,22 @@
+package uk.gov.justice.digital.delius.data.api;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@ApiModel(description = "A slice of offender primary identifiers ordered by offenderId")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrimaryIdentifiersSlice {
+    @ApiModelProperty(value = "offender identifiers in this slice")
+    private List<PrimaryIdentifiers> content;
+    @ApiModelProperty(value = "pass as continuationToken to get the next slice, absent when this is the last slice", example = "2500343964")
+    private String continuationToken;
+}
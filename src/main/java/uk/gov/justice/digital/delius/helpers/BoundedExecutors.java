@@ -0,0 +1,44 @@
+package uk.gov.justice.digital.delius.helpers;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public interface BoundedExecutors {
+
+    /**
+     * A fixed size pool with a bounded queue whose idle threads time out. When saturated the submitting thread runs the
+     * task itself rather than queueing without limit.
+     */
+    static ExecutorService boundedExecutor(String threadNamePrefix, int poolSize) {
+        final var executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 16),
+                new CustomizableThreadFactory(threadNamePrefix),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Waits for the result, rethrowing a runtime exception from the task as is rather than wrapped
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
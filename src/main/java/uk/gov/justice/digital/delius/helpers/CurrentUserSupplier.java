@@ -1,6 +1,7 @@
 package uk.gov.justice.digital.delius.helpers;
 
 import io.jsonwebtoken.Claims;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import uk.gov.justice.digital.delius.config.SecurityUserContext;
 import uk.gov.justice.digital.delius.jwt.Jwt;
@@ -58,4 +59,31 @@ public class CurrentUserSupplier {
     public static void unsetNationalUserOverride() {
         CurrentUserSupplier.threadLocalNationalUserOverride.set(false);
     }
+
+    /**
+     * Wraps a task so that it runs as the user of the submitting thread, which means connections taken by a worker
+     * thread are given the same database identity as the request that submitted the work.
+     */
+    public static Runnable withCurrentUser(Runnable task) {
+        final var claims = threadLocalClaims.get();
+        final var nationalUserOverride = threadLocalNationalUserOverride.get();
+        final var securityContext = SecurityContextHolder.getContext();
+
+        return () -> {
+            // the task may end up running on the submitting thread so put back whatever was there before
+            final var previousClaims = threadLocalClaims.get();
+            final var previousNationalUserOverride = threadLocalNationalUserOverride.get();
+            final var previousSecurityContext = SecurityContextHolder.getContext();
+            threadLocalClaims.set(claims);
+            threadLocalNationalUserOverride.set(nationalUserOverride);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                task.run();
+            } finally {
+                threadLocalClaims.set(previousClaims);
+                threadLocalNationalUserOverride.set(previousNationalUserOverride);
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
 }
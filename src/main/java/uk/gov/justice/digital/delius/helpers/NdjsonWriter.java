@@ -0,0 +1,38 @@
+package uk.gov.justice.digital.delius.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+public final class NdjsonWriter {
+
+    private NdjsonWriter() {
+    }
+
+    /**
+     * Writes each value the producer supplies straight to the response as newline delimited JSON, one value per line
+     * with every line ending in a newline, so a large result is never held in memory.
+     */
+    public static <T> void writeNdjson(ObjectMapper objectMapper, HttpServletResponse response, Consumer<Consumer<T>> producer) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        final var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (final var generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // the newline written after each value is the only separator
+            generator.setRootValueSeparator(null);
+            producer.accept(value -> {
+                try {
+                    writer.writeValue(generator, value);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.justice.digital.delius.jpa.filters;
 import com.google.common.collect.ImmutableList;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
@@ -11,6 +12,7 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +21,16 @@ import java.util.Optional;
 @EqualsAndHashCode
 public class ContactFilter implements Specification<Contact> {
 
+    /**
+     * Order the keyset (afterContactDate, afterContactId) is applied in, backed by the contact date and primary key
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("contactDate", "contactId");
+
+    /**
+     * Largest page of contacts that may be requested with a limit
+     */
+    public static final int MAX_LIMIT = 10000;
+
     @Builder.Default
     private Optional<List<String>> contactTypes = Optional.empty();
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
@@ -27,8 +39,31 @@ public class ContactFilter implements Specification<Contact> {
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     @Builder.Default
     private Optional<LocalDateTime> to = Optional.empty();
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Builder.Default
+    private Optional<LocalDate> afterContactDate = Optional.empty();
+    @Builder.Default
+    private Optional<Long> afterContactId = Optional.empty();
     private Long offenderId;
 
+    /**
+     * afterContactId only breaks ties between contacts on the same afterContactDate so is meaningless on its own
+     */
+    public boolean hasValidKeyset() {
+        return afterContactId.isEmpty() || afterContactDate.isPresent();
+    }
+
+    /**
+     * Contacts are only returned in keyset order when a limit is given so a keyset without one would not page correctly
+     */
+    public boolean hasKeyset() {
+        return afterContactDate.isPresent() || afterContactId.isPresent();
+    }
+
+    public static boolean isValidLimit(int limit) {
+        return limit >= 1 && limit <= MAX_LIMIT;
+    }
+
     @Override
     public Predicate toPredicate(Root<Contact> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
         ImmutableList.Builder<Predicate> predicateBuilder = ImmutableList.builder();
@@ -41,6 +76,12 @@ public class ContactFilter implements Specification<Contact> {
 
         to.ifPresent(localDateTime -> predicateBuilder.add(cb.lessThanOrEqualTo(root.get("createdDateTime"), localDateTime)));
 
+        afterContactDate.ifPresent(contactDate -> predicateBuilder.add(afterContactId
+                .map(contactId -> cb.or(
+                        cb.greaterThan(root.get("contactDate"), contactDate),
+                        cb.and(cb.equal(root.get("contactDate"), contactDate), cb.greaterThan(root.get("contactId"), contactId))))
+                .orElseGet(() -> cb.greaterThan(root.get("contactDate"), contactDate))));
+
         ImmutableList<Predicate> predicates = predicateBuilder.build();
 
         return cb.and(predicates.toArray(new Predicate[predicates.size()]));
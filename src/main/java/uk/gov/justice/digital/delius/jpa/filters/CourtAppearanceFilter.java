@@ -0,0 +1,63 @@
+package uk.gov.justice.digital.delius.jpa.filters;
+
+import com.google.common.collect.ImmutableList;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.jpa.standard.entity.CourtAppearance;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Builder(toBuilder = true)
+@EqualsAndHashCode
+public class CourtAppearanceFilter implements Specification<CourtAppearance> {
+
+    /**
+     * Order the keyset (afterAppearanceDate, afterCourtAppearanceId) is applied in, backed by the appearance date and primary key
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("appearanceDate", "courtAppearanceId");
+
+    private LocalDate fromDate;
+    @Builder.Default
+    private Optional<LocalDate> untilDate = Optional.empty();
+    @Builder.Default
+    private Optional<LocalDateTime> afterAppearanceDate = Optional.empty();
+    @Builder.Default
+    private Optional<Long> afterCourtAppearanceId = Optional.empty();
+
+    /**
+     * afterCourtAppearanceId only breaks ties between appearances at the same afterAppearanceDate so is meaningless on its own
+     */
+    public boolean hasValidKeyset() {
+        return afterCourtAppearanceId.isEmpty() || afterAppearanceDate.isPresent();
+    }
+
+    @Override
+    public Predicate toPredicate(Root<CourtAppearance> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        ImmutableList.Builder<Predicate> predicateBuilder = ImmutableList.builder();
+
+        predicateBuilder.add(cb.or(cb.isNull(root.get("softDeleted")), cb.equal(root.get("softDeleted"), 0)));
+
+        predicateBuilder.add(cb.greaterThanOrEqualTo(root.get("appearanceDate"), fromDate.atStartOfDay()));
+
+        // until is a whole day so everything before the start of the following day
+        untilDate.ifPresent(date -> predicateBuilder.add(cb.lessThan(root.get("appearanceDate"), date.plusDays(1).atStartOfDay())));
+
+        afterAppearanceDate.ifPresent(appearanceDate -> predicateBuilder.add(afterCourtAppearanceId
+                .map(courtAppearanceId -> cb.or(
+                        cb.greaterThan(root.get("appearanceDate"), appearanceDate),
+                        cb.and(cb.equal(root.get("appearanceDate"), appearanceDate), cb.greaterThan(root.get("courtAppearanceId"), courtAppearanceId))))
+                .orElseGet(() -> cb.greaterThan(root.get("appearanceDate"), appearanceDate))));
+
+        ImmutableList<Predicate> predicates = predicateBuilder.build();
+
+        return cb.and(predicates.toArray(new Predicate[predicates.size()]));
+    }
+}
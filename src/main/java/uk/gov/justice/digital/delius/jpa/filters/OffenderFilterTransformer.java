@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.domain.Specification;
 import uk.gov.justice.digital.delius.data.filters.OffenderFilter;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
 
 import javax.persistence.criteria.CriteriaBuilder;
@@ -38,23 +39,31 @@ public class OffenderFilterTransformer implements Specification<OffenderPrimaryI
         Optional.ofNullable(filter.getActiveDate()).ifPresent(activeDate -> {
                 /*
                 Predicate below should generate SQL like this:
-                    select distinct o.* from OFFENDER o
-                        inner join EVENT e on o.OFFENDER_ID=events1_.OFFENDER_ID
-                        inner join DISPOSAL d on e.EVENT_ID= d.EVENT_ID
-                    where
-                    and e.SOFT_DELETED=0
-                    and d.DISPOSAL_DATE<=?
-                    and ( d.TERMINATION_DATE>=? or  d.TERMINATION_DATE is null)
+                    select o.* from OFFENDER o
+                    where exists (
+                        select e.EVENT_ID from EVENT e
+                            inner join DISPOSAL d on e.EVENT_ID = d.EVENT_ID
+                        where e.OFFENDER_ID = o.OFFENDER_ID
+                        and e.SOFT_DELETED = 0
+                        and d.DISPOSAL_DATE <= ?
+                        and (d.TERMINATION_DATE >= ? or d.TERMINATION_DATE is null))
+                 a semi-join means an offender with several matching events is only returned once without the
+                 distinct, which also keeps the page count query to a plain count
                  */
-                    final var eventJoin = offenderRoot.join("events");
-                    predicateBuilder.add(criteriaBuilder.equal(eventJoin.get("softDeleted"), 0));
-                    final var disposalJoin = eventJoin.join("disposal");
-                    predicateBuilder.add(criteriaBuilder.lessThanOrEqualTo(disposalJoin.get("startDate"), activeDate));
-                    predicateBuilder.add(criteriaBuilder.or(
-                            criteriaBuilder.greaterThanOrEqualTo(disposalJoin.get("terminationDate"), activeDate),
-                            criteriaBuilder.isNull(disposalJoin.get("terminationDate"))
-                    ));
-                    query.distinct(true);
+                    final var activeEvents = query.subquery(Long.class);
+                    final var event = activeEvents.from(Event.class);
+                    final var disposalJoin = event.join("disposal");
+                    activeEvents
+                            .select(event.get("eventId"))
+                            .where(
+                                    criteriaBuilder.equal(event.get("offenderId"), offenderRoot.get("offenderId")),
+                                    criteriaBuilder.equal(event.get("softDeleted"), 0),
+                                    criteriaBuilder.lessThanOrEqualTo(disposalJoin.get("startDate"), activeDate),
+                                    criteriaBuilder.or(
+                                            criteriaBuilder.greaterThanOrEqualTo(disposalJoin.get("terminationDate"), activeDate),
+                                            criteriaBuilder.isNull(disposalJoin.get("terminationDate"))
+                                    ));
+                    predicateBuilder.add(criteriaBuilder.exists(activeEvents));
                 }
         );
         return criteriaBuilder.and(predicateBuilder.build().toArray(new Predicate[0]));
@@ -0,0 +1,30 @@
+package uk.gov.justice.digital.delius.jpa.h2;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Stands in for <code>pkg_search.procGetInterestedCRCs</code> when running against H2, where it is registered as the
+ * table function <code>GET_INTERESTED_CRCS</code>. The interested areas are the private sector (CRC) probation areas
+ * of the offender's active offender managers and prison offender managers, returned in the same column positions as
+ * the procedure's ref cursor. It is only called when <code>spg.interested-crcs.h2-stand-in.enabled</code> is set, as it
+ * is for the integration tests, so the dev and local profiles send no SPG notifications.
+ */
+public class InterestedCRCsProcedure {
+    private static final String INTERESTED_CRCS =
+            "SELECT CAST(? AS NUMBER) OFFENDER_ID, PA.PROBATION_AREA_ID, PA.CODE FROM PROBATION_AREA PA " +
+            "WHERE PA.PRIVATE = 1 AND PA.PROBATION_AREA_ID IN (" +
+            "SELECT OM.PROBATION_AREA_ID FROM OFFENDER_MANAGER OM WHERE OM.OFFENDER_ID = ? AND OM.ACTIVE_FLAG = 1 AND OM.SOFT_DELETED = 0 " +
+            "UNION " +
+            "SELECT POM.PROBATION_AREA_ID FROM PRISON_OFFENDER_MANAGER POM WHERE POM.OFFENDER_ID = ? AND POM.ACTIVE_FLAG = 1 AND POM.SOFT_DELETED = 0) " +
+            "ORDER BY PA.CODE";
+
+    public static ResultSet interestedCRCs(Connection connection, Long offenderId) throws SQLException {
+        final var statement = connection.prepareStatement(INTERESTED_CRCS);
+        statement.setObject(1, offenderId);
+        statement.setObject(2, offenderId);
+        statement.setObject(3, offenderId);
+        return statement.executeQuery();
+    }
+}
@@ -1,12 +1,12 @@
 package uk.gov.justice.digital.delius.jpa.oracle;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.aop.Advisor;
-import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
@@ -14,42 +14,86 @@ import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Makes sure the VPD client identifier of the database session behind each connection handed out matches the current
+ * user. The identifier last set on each physical connection is remembered so the call is only made when the pooled
+ * session was last used by someone else, rather than set on every checkout and cleared again on every close.
+ */
 @Component
 @Profile("oracle")
 @Aspect
 public class UserProxy {
 
-    private final Advisor closeConnectionAdvisor;
     private final CurrentUserSupplier currentUserSupplier;
+    // keyed on the physical connection by identity and held weakly so connections retired by the pool are not retained
+    // recorded when setting or clearing fails, it matches neither a user nor no user so the next checkout always sets or clears
+    private static final String UNKNOWN_CLIENT_IDENTIFIER = "";
+    private final ConcurrentMap<Connection, String> clientIdentifiers = Caffeine.newBuilder().weakKeys().<Connection, String>build().asMap();
+    private final Counter clientIdentifierSet;
+    private final Counter clientIdentifierCleared;
+    private final Counter clientIdentifierSkipped;
 
     @Autowired
-    public UserProxy(@Qualifier("bclOracleCloseConnectionAdvice") Advisor closeConnectionAdvisor,
-                     final CurrentUserSupplier currentUserSupplier) {
-        this.closeConnectionAdvisor = closeConnectionAdvisor;
+    public UserProxy(final CurrentUserSupplier currentUserSupplier, final MeterRegistry meterRegistry) {
         this.currentUserSupplier = currentUserSupplier;
+        this.clientIdentifierSet = clientIdentifierCounter(meterRegistry, "set");
+        this.clientIdentifierCleared = clientIdentifierCounter(meterRegistry, "cleared");
+        this.clientIdentifierSkipped = clientIdentifierCounter(meterRegistry, "skipped");
     }
 
     @Around("execution (* javax.sql.DataSource.getConnection(..))")
     public Connection doOracleProxyThing(ProceedingJoinPoint joinPoint) throws Throwable {
         Connection connection = (Connection) joinPoint.proceed(joinPoint.getArgs());
 
-        return currentUserSupplier.username().map(username -> getConnection(connection, username)).orElse(connection);
-    }
-
-    private Connection getConnection(Connection connection, String uid) {
-        ProxyFactory proxyFactory = new ProxyFactory(connection);
-        proxyFactory.addAdvisor(closeConnectionAdvisor);
+        final var session = physicalConnectionOf(connection);
+        final var username = currentUserSupplier.username();
 
-        Connection proxiedConnection = (Connection) proxyFactory.getProxy();
+        if (username.equals(Optional.ofNullable(clientIdentifiers.get(session)))) {
+            clientIdentifierSkipped.increment();
+            return connection;
+        }
 
-        try (PreparedStatement stmt = proxiedConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")) {
-            stmt.setString(1, uid);
-            stmt.execute();
+        try {
+            if (username.isPresent()) {
+                execute(connection, "call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)", username.get());
+                clientIdentifiers.put(session, username.get());
+                clientIdentifierSet.increment();
+            } else {
+                execute(connection, "call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()", null);
+                clientIdentifiers.remove(session);
+                clientIdentifierCleared.increment();
+            }
         } catch (SQLException e) {
+            // the session may still have the previous user's identifier so it must not be taken to have none
+            clientIdentifiers.put(session, UNKNOWN_CLIENT_IDENTIFIER);
+            connection.close();
             throw new RuntimeException(e);
         }
 
-        return proxiedConnection;
+        return connection;
+    }
+
+    private void execute(Connection connection, String sql, String uid) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            if (uid != null) {
+                stmt.setString(1, uid);
+            }
+            stmt.execute();
+        }
+    }
+
+    private Connection physicalConnectionOf(Connection connection) throws SQLException {
+        // the pool hands out a new wrapper each time so the session is identified by the connection it wraps
+        return connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
+    }
+
+    private static Counter clientIdentifierCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("vpd.client.identifier")
+                .description("Checks of the VPD client identifier when a connection is handed out")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -22,7 +22,47 @@ import java.time.LocalTime;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "CONTACT")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Contact.DETAIL_GRAPH, attributeNodes = {
+                @NamedAttributeNode("contactType"),
+                @NamedAttributeNode("contactOutcomeType"),
+                @NamedAttributeNode("explanation"),
+                @NamedAttributeNode("licenceCondition"),
+                @NamedAttributeNode("nsi"),
+                @NamedAttributeNode("requirement"),
+                @NamedAttributeNode("probationArea"),
+                @NamedAttributeNode("partitionArea"),
+                @NamedAttributeNode("providerEmployee"),
+                @NamedAttributeNode("providerLocation"),
+                @NamedAttributeNode("providerTeam"),
+                @NamedAttributeNode("staff"),
+                @NamedAttributeNode("team")}),
+        @NamedEntityGraph(name = Contact.APPOINTMENT_GRAPH, attributeNodes = {
+                @NamedAttributeNode("contactType"),
+                @NamedAttributeNode("contactOutcomeType"),
+                @NamedAttributeNode("explanation"),
+                @NamedAttributeNode("licenceCondition"),
+                @NamedAttributeNode("nsi"),
+                @NamedAttributeNode("requirement"),
+                @NamedAttributeNode("probationArea"),
+                @NamedAttributeNode("providerEmployee"),
+                @NamedAttributeNode("officeLocation"),
+                @NamedAttributeNode("providerLocation"),
+                @NamedAttributeNode("providerTeam"),
+                @NamedAttributeNode("staff"),
+                @NamedAttributeNode("team")}),
+        @NamedEntityGraph(name = Contact.ATTENDANCE_GRAPH, attributeNodes = {
+                @NamedAttributeNode("contactType"),
+                @NamedAttributeNode("contactOutcomeType")})})
 public class Contact {
+    /*
+     * Associations are lazy so each read loads only what it serialises, these fetch plans join in the associations
+     * used by the contact, appointment and attendance views. Only the id of the event is ever read when listing so
+     * it is left as a proxy.
+     */
+    public static final String DETAIL_GRAPH = "Contact.detail";
+    public static final String APPOINTMENT_GRAPH = "Contact.appointment";
+    public static final String ATTENDANCE_GRAPH = "Contact.attendance";
 
     @Id
     @SequenceGenerator(name = "CONTACT_ID_GENERATOR", sequenceName = "CONTACT_ID_SEQ", allocationSize = 1)
@@ -37,23 +77,23 @@ public class Contact {
     private Long offenderId;
 
     @JoinColumn(name = "CONTACT_TYPE_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private ContactType contactType;
 
     @JoinColumn(name = "RQMNT_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Requirement requirement;
 
     @JoinColumn(name = "EXPLANATION_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Explanation explanation;
 
     @JoinColumn(name = "LIC_CONDITION_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private LicenceCondition licenceCondition;
 
     @JoinColumn(name = "NSI_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Nsi nsi;
 
     @Column(name = "NOTES")
@@ -80,35 +120,35 @@ public class Contact {
     private String alertActive;
 
     @JoinColumn(name = "CONTACT_OUTCOME_TYPE_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private ContactOutcomeType contactOutcomeType;
 
     @JoinColumn(name = "PROVIDER_LOCATION_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private ProviderLocation providerLocation;
 
     @JoinColumn(name = "OFFICE_LOCATION_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private OfficeLocation officeLocation;
 
     @JoinColumn(name = "PROVIDER_EMPLOYEE_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private ProviderEmployee providerEmployee;
 
     @JoinColumn(name = "PROVIDER_TEAM_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private ProviderTeam providerTeam;
 
     @JoinColumn(name = "STAFF_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Staff staff;
 
     @JoinColumn(name = "TEAM_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Team team;
 
     @JoinColumn(name = "PROBATION_AREA_ID")
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private ProbationArea probationArea;
 
     @Column(name = "PARTITION_AREA_ID")
@@ -122,11 +162,11 @@ public class Contact {
     private Long teamProviderId;
 
     @JoinColumn(name = "PARTITION_AREA_ID", updatable = false, insertable = false)
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private PartitionArea partitionArea;
 
     @JoinColumn(name = "EVENT_ID")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Event event;
 
     @Column(name = "HOURS_CREDITED")
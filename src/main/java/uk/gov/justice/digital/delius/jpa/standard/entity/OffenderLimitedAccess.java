@@ -0,0 +1,44 @@
+package uk.gov.justice.digital.delius.jpa.standard.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Just the exclusion and restriction markers of an offender, so access can be checked without loading the full offender.
+ * Read only, so it can never write to OFFENDER.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Entity
+@Immutable
+@Table(name = "OFFENDER")
+public class OffenderLimitedAccess {
+    @Id
+    @Column(name = "OFFENDER_ID")
+    private Long offenderId;
+
+    @Column(name = "CRN")
+    private String crn;
+
+    @Column(name = "CURRENT_EXCLUSION")
+    private Long currentExclusion;
+
+    @Column(name = "EXCLUSION_MESSAGE")
+    private String exclusionMessage;
+
+    @Column(name = "CURRENT_RESTRICTION")
+    private Long currentRestriction;
+
+    @Column(name = "RESTRICTION_MESSAGE")
+    private String restrictionMessage;
+}
@@ -26,6 +26,9 @@ public class OffenderPrimaryIdentifiers {
     @Column(name = "CRN")
     private String crn;
 
+    @Column(name = "NOMS_NUMBER")
+    private String nomsNumber;
+
     @Column(name = "SOFT_DELETED")
     private Long softDeleted;
 
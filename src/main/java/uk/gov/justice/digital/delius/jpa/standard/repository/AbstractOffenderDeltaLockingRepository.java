@@ -0,0 +1,76 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+abstract class AbstractOffenderDeltaLockingRepository implements OffenderDeltaLockingRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    AbstractOffenderDeltaLockingRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    abstract String forUpdateClause();
+
+    @Override
+    public List<OffenderDelta> lockNext(String status, LocalDateTime cutOffTime, int count) {
+        final var sql = "SELECT * FROM OFFENDER_DELTA " +
+                "WHERE STATUS = ? AND LAST_UPDATED_DATETIME <= ? " +
+                "ORDER BY CREATED_DATETIME " + forUpdateClause();
+
+        // rows are only locked as they are fetched so size the fetch to the batch and stop reading once we have enough
+        return jdbcTemplate.getJdbcOperations().query(connection -> {
+            final var statement = connection.prepareStatement(sql);
+            statement.setString(1, status);
+            statement.setTimestamp(2, Timestamp.valueOf(cutOffTime));
+            statement.setFetchSize(count);
+            return statement;
+        }, resultSet -> {
+            final var deltas = new ArrayList<OffenderDelta>();
+            while (deltas.size() < count && resultSet.next()) {
+                deltas.add(toOffenderDelta(resultSet));
+            }
+            return deltas;
+        });
+    }
+
+    @Override
+    public List<Long> lockDuplicatesOf(List<Long> offenderDeltaIds) {
+        if (offenderDeltaIds.isEmpty()) {
+            return List.of();
+        }
+        final var sql = "SELECT duplicate.OFFENDER_DELTA_ID FROM OFFENDER_DELTA duplicate " +
+                "WHERE duplicate.OFFENDER_DELTA_ID NOT IN (:offenderDeltaIds) AND EXISTS (" +
+                "   SELECT 1 FROM OFFENDER_DELTA original " +
+                "   WHERE original.OFFENDER_DELTA_ID IN (:offenderDeltaIds) " +
+                "   AND original.OFFENDER_ID = duplicate.OFFENDER_ID " +
+                "   AND original.SOURCE_TABLE = duplicate.SOURCE_TABLE " +
+                "   AND original.SOURCE_RECORD_ID = duplicate.SOURCE_RECORD_ID) " +
+                forUpdateClause();
+
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource("offenderDeltaIds", offenderDeltaIds), Long.class);
+    }
+
+    private OffenderDelta toOffenderDelta(ResultSet resultSet) throws SQLException {
+        return OffenderDelta.builder()
+                .offenderDeltaId(resultSet.getLong("OFFENDER_DELTA_ID"))
+                .offenderId(resultSet.getLong("OFFENDER_ID"))
+                .dateChanged(resultSet.getTimestamp("DATE_CHANGED").toLocalDateTime())
+                .action(resultSet.getString("ACTION"))
+                .sourceTable(resultSet.getString("SOURCE_TABLE"))
+                .sourceRecordId(resultSet.getObject("SOURCE_RECORD_ID") == null ? null : resultSet.getLong("SOURCE_RECORD_ID"))
+                .status(resultSet.getString("STATUS"))
+                .createdDateTime(resultSet.getTimestamp("CREATED_DATETIME").toLocalDateTime())
+                .lastUpdatedDateTime(resultSet.getTimestamp("LAST_UPDATED_DATETIME").toLocalDateTime())
+                .build();
+    }
+}
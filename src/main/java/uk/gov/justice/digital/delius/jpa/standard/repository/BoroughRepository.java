@@ -1,10 +1,15 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Borough;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BoroughRepository extends JpaRepository<Borough, Long> {
     Optional<Borough> findByCode(String code);
+
+    @Query("select distinct b from Borough b left join fetch b.districts")
+    List<Borough> findAllWithDistricts();
 }
@@ -1,10 +1,14 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.BusinessInteraction;
 
 import java.util.Optional;
 
+import static uk.gov.justice.digital.delius.config.CacheConfig.BUSINESS_INTERACTIONS;
+
 public interface BusinessInteractionRepository extends JpaRepository<BusinessInteraction, Long> {
+    @Cacheable(value = BUSINESS_INTERACTIONS, unless = "#result == null")
     Optional<BusinessInteraction> findByBusinessInteractionCode(String code);
 }
@@ -1,10 +1,14 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.BusinessInteractionXmlMap;
 
 import java.util.Optional;
 
+import static uk.gov.justice.digital.delius.config.CacheConfig.BUSINESS_INTERACTION_XML_MAPS;
+
 public interface BusinessInteractionXmlMapRepository extends JpaRepository<BusinessInteractionXmlMap, Long> {
+    @Cacheable(value = BUSINESS_INTERACTION_XML_MAPS, unless = "#result == null")
     Optional<BusinessInteractionXmlMap> findByBusinessInteractionId(Long id);
 }
@@ -8,6 +8,10 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.ContactDocument;
 import java.util.List;
 
 public interface ContactDocumentRepository extends JpaRepository<ContactDocument, Long> {
-    @Query("select document from ContactDocument document, Contact entity where document.contact = entity and document.offenderId = :offenderId and document.softDeleted = false")
+    /**
+     * The contact and its type are fetched with the documents since every contact document is described by its contact type
+     */
+    @Query("select document from ContactDocument document join fetch document.contact entity left join fetch entity.contactType " +
+            "where document.offenderId = :offenderId and document.softDeleted = false")
     List<ContactDocument> findByOffenderId(@Param("offenderId") Long offenderId);
 }
@@ -0,0 +1,33 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ContactQueryRepository {
+    /**
+     * Returns the matching contacts with everything the contact views serialise.
+     */
+    List<Contact> findContacts(Specification<Contact> specification);
+
+    /**
+     * Returns the matching contacts with only what an appointment serialises.
+     */
+    List<Contact> findAppointments(Specification<Contact> specification, Sort sort);
+
+    /**
+     * Returns at most limit matching contacts without the count query a {@link org.springframework.data.domain.Page} needs,
+     * intended for keyset paging.
+     */
+    List<Contact> findAll(Specification<Contact> specification, Sort sort, int limit);
+
+    /**
+     * Passes each matching contact to the consumer as it is read from a forward only cursor. Contacts are evicted from the
+     * persistence context as the cursor moves on so memory use does not grow with the number of contacts, which means the
+     * consumer must finish with each contact, including any lazy associations, before returning.
+     */
+    void forEachMatching(Specification<Contact> specification, Sort sort, Consumer<Contact> consumer);
+}
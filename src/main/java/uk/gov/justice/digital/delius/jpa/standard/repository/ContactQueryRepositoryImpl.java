@@ -0,0 +1,64 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class ContactQueryRepositoryImpl implements ContactQueryRepository {
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Contact> findContacts(Specification<Contact> specification) {
+        return queryOf(specification, Sort.unsorted(), Contact.DETAIL_GRAPH).getResultList();
+    }
+
+    @Override
+    public List<Contact> findAppointments(Specification<Contact> specification, Sort sort) {
+        return queryOf(specification, sort, Contact.APPOINTMENT_GRAPH).getResultList();
+    }
+
+    @Override
+    public List<Contact> findAll(Specification<Contact> specification, Sort sort, int limit) {
+        return queryOf(specification, sort, Contact.DETAIL_GRAPH)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void forEachMatching(Specification<Contact> specification, Sort sort, Consumer<Contact> consumer) {
+        try (final var contacts = queryOf(specification, sort, Contact.DETAIL_GRAPH)
+                .setHint(QueryHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            final var count = new int[]{0};
+            contacts.forEach(contact -> {
+                consumer.accept(contact);
+                if (++count[0] % FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
+    private TypedQuery<Contact> queryOf(Specification<Contact> specification, Sort sort, String fetchGraph) {
+        final var cb = entityManager.getCriteriaBuilder();
+        final var query = cb.createQuery(Contact.class);
+        final var root = query.from(Contact.class);
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager
+                .createQuery(query)
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph(fetchGraph));
+    }
+}
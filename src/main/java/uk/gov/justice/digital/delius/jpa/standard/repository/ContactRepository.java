@@ -2,19 +2,21 @@ package uk.gov.justice.digital.delius.jpa.standard.repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
 
-public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact>, ContactQueryRepository {
 
     @Query("SELECT contact FROM Contact contact "
         + "WHERE contact.offenderId = :offenderId "
         + "AND contact.event.eventId = :eventId "
         + "AND contact.contactDate <= :contactDate "
         + "AND contact.enforcement = '1'")
+    @EntityGraph(Contact.ATTENDANCE_GRAPH)
     List<Contact> findByOffenderAndEventIdEnforcement(@Param("offenderId") Long offenderId,
                                                     @Param("eventId") Long eventId,
                                                     @Param("contactDate") LocalDate contactDate);
@@ -28,6 +30,7 @@ public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpec
         + "AND contact.contactType.attendanceContact = 'Y' "
         + "AND contact.contactType.nationalStandardsContact = 'Y'"
     )
+    @EntityGraph(Contact.ATTENDANCE_GRAPH)
     List<Contact> findByOffenderAndEventId(@Param("offenderId") Long offenderId,
                                             @Param("eventId") Long eventId,
                                             @Param("contactDate") LocalDate contactDate);
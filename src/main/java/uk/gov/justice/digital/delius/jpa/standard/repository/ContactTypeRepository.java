@@ -1,10 +1,14 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ContactType;
 
 import java.util.Optional;
 
+import static uk.gov.justice.digital.delius.config.CacheConfig.CONTACT_TYPES;
+
 public interface ContactTypeRepository extends JpaRepository<ContactType, Long> {
+    @Cacheable(value = CONTACT_TYPES, unless = "#result == null")
     Optional<ContactType> findByCode(String code);
 }
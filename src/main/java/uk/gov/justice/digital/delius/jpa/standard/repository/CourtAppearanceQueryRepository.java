@@ -0,0 +1,23 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.jpa.standard.entity.CourtAppearance;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface CourtAppearanceQueryRepository {
+    /**
+     * Returns at most limit matching court appearances, with the court and appearance type fetched in the same query,
+     * without the count query a {@link org.springframework.data.domain.Page} needs. Intended for keyset paging.
+     */
+    List<CourtAppearance> findAll(Specification<CourtAppearance> specification, Sort sort, int limit);
+
+    /**
+     * Passes each matching court appearance, with the court and appearance type already fetched, to the consumer as it is
+     * read from a forward only cursor. Appearances are evicted from the persistence context as the cursor moves on so the
+     * consumer must finish with each appearance before returning.
+     */
+    void forEachMatching(Specification<CourtAppearance> specification, Sort sort, Consumer<CourtAppearance> consumer);
+}
@@ -0,0 +1,56 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import uk.gov.justice.digital.delius.jpa.standard.entity.CourtAppearance;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.JoinType;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CourtAppearanceQueryRepositoryImpl implements CourtAppearanceQueryRepository {
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CourtAppearance> findAll(Specification<CourtAppearance> specification, Sort sort, int limit) {
+        return queryOf(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void forEachMatching(Specification<CourtAppearance> specification, Sort sort, Consumer<CourtAppearance> consumer) {
+        try (final var courtAppearances = queryOf(specification, sort)
+                .setHint(QueryHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            final var count = new int[]{0};
+            courtAppearances.forEach(courtAppearance -> {
+                consumer.accept(courtAppearance);
+                if (++count[0] % FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
+    private TypedQuery<CourtAppearance> queryOf(Specification<CourtAppearance> specification, Sort sort) {
+        final var cb = entityManager.getCriteriaBuilder();
+        final var query = cb.createQuery(CourtAppearance.class);
+        final var root = query.from(CourtAppearance.class);
+        // everything the minimal view needs comes back on the same row rather than a select per appearance
+        root.fetch("court", JoinType.LEFT);
+        root.fetch("appearanceType", JoinType.LEFT);
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+}
@@ -1,10 +1,18 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import uk.gov.justice.digital.delius.jpa.standard.entity.District;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface DistrictRepository extends JpaRepository<District, Long> {
     Optional<District> findByCode(String code);
+
+    /**
+     * Also fetches the associations a team loads eagerly so the whole of the team table is read in one query.
+     */
+    @Query("select distinct d from District d left join fetch d.teams t left join fetch t.localDeliveryUnit left join fetch t.scProvider")
+    List<District> findAllWithTeams();
 }
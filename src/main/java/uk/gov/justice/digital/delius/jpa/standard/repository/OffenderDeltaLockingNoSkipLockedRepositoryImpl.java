@@ -0,0 +1,22 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("!oracle")
+public class OffenderDeltaLockingNoSkipLockedRepositoryImpl extends AbstractOffenderDeltaLockingRepository {
+
+    public OffenderDeltaLockingNoSkipLockedRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    /*
+     * H2 does not support SKIP LOCKED so competing consumers will wait on each other rather than skip
+     */
+    @Override
+    String forUpdateClause() {
+        return "FOR UPDATE";
+    }
+}
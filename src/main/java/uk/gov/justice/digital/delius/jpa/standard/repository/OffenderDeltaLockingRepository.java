@@ -0,0 +1,20 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OffenderDeltaLockingRepository {
+    /**
+     * Selects and row locks up to {@code count} deltas in the supplied status, oldest first. Must be called
+     * within a transaction, the locks are held until it completes.
+     */
+    List<OffenderDelta> lockNext(String status, LocalDateTime cutOffTime, int count);
+
+    /**
+     * Selects and row locks any deltas that duplicate (same offender, source table and source record) the supplied
+     * deltas, excluding the supplied deltas themselves.
+     */
+    List<Long> lockDuplicatesOf(List<Long> offenderDeltaIds);
+}
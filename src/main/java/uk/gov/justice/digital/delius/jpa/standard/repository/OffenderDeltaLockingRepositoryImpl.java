@@ -0,0 +1,23 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("oracle")
+public class OffenderDeltaLockingRepositoryImpl extends AbstractOffenderDeltaLockingRepository {
+
+    public OffenderDeltaLockingRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    /*
+     * Rows already locked by another consumer are passed over rather than waited on, so many consumers
+     * can claim batches in parallel
+     */
+    @Override
+    String forUpdateClause() {
+        return "FOR UPDATE SKIP LOCKED";
+    }
+}
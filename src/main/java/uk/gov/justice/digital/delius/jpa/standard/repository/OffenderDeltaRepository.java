@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -26,4 +27,37 @@ public interface OffenderDeltaRepository extends JpaRepository<OffenderDelta, Lo
             "       duplicate.offenderDeltaId <> ?1)")
     @Modifying
     int deleteOtherDuplicates(Long offenderDeltaId);
+
+    /**
+     * Bulk updates bypass optimistic locking, so the version (the last updated date time) is set explicitly to
+     * make any copy of these deltas read earlier, such as one locked through nextUpdate, stale. Hibernate's
+     * {@code update versioned} is not used since it increments a {@link LocalDateTime} version by adding one.
+     */
+    @Query("update OffenderDelta offenderDelta " +
+            "set offenderDelta.status = 'INPROGRESS', offenderDelta.lastUpdatedDateTime = ?2 " +
+            "where offenderDelta.offenderDeltaId in ?1")
+    @Modifying
+    int markAsInProgress(List<Long> offenderDeltaIds, LocalDateTime newVersion);
+
+    /**
+     * Sets the version explicitly, see {@link #markAsInProgress(List, LocalDateTime)}
+     */
+    @Query("update OffenderDelta offenderDelta " +
+            "set offenderDelta.status = 'FAILED', offenderDelta.lastUpdatedDateTime = ?2 " +
+            "where offenderDelta.offenderDeltaId in ?1")
+    @Modifying
+    int markAsFailed(List<Long> offenderDeltaIds, LocalDateTime newVersion);
+
+    /**
+     * Sets the version explicitly, see {@link #markAsInProgress(List, LocalDateTime)}
+     */
+    @Query("update OffenderDelta offenderDelta " +
+            "set offenderDelta.status = 'CREATED', offenderDelta.lastUpdatedDateTime = ?2 " +
+            "where offenderDelta.offenderDeltaId in ?1 and offenderDelta.status = 'INPROGRESS'")
+    @Modifying
+    int markAsCreated(List<Long> offenderDeltaIds, LocalDateTime newVersion);
+
+    @Query("delete from OffenderDelta offenderDelta where offenderDelta.offenderDeltaId in ?1")
+    @Modifying
+    int deleteAllByOffenderDeltaIds(List<Long> offenderDeltaIds);
 }
@@ -0,0 +1,12 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderLimitedAccess;
+
+import java.util.Optional;
+
+@Repository
+public interface OffenderLimitedAccessRepository extends JpaRepository<OffenderLimitedAccess, Long> {
+    Optional<OffenderLimitedAccess> findByCrn(String crn);
+}
@@ -0,0 +1,15 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+
+import java.util.List;
+
+public interface OffenderPrimaryIdentifiersQueryRepository {
+    /**
+     * Returns at most limit matching offenders without the count query a {@link org.springframework.data.domain.Page} needs,
+     * intended for keyset paging.
+     */
+    List<OffenderPrimaryIdentifiers> findAll(Specification<OffenderPrimaryIdentifiers> specification, Sort sort, int limit);
+}
@@ -0,0 +1,28 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+public class OffenderPrimaryIdentifiersQueryRepositoryImpl implements OffenderPrimaryIdentifiersQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OffenderPrimaryIdentifiers> findAll(Specification<OffenderPrimaryIdentifiers> specification, Sort sort, int limit) {
+        final var cb = entityManager.getCriteriaBuilder();
+        final var query = cb.createQuery(OffenderPrimaryIdentifiers.class);
+        final var root = query.from(OffenderPrimaryIdentifiers.class);
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
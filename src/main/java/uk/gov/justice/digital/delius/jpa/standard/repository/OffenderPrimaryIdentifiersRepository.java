@@ -2,9 +2,26 @@ package uk.gov.justice.digital.delius.jpa.standard.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OffenderPrimaryIdentifiersRepository extends JpaRepository<OffenderPrimaryIdentifiers, Long>, JpaSpecificationExecutor<OffenderPrimaryIdentifiers> {
+public interface OffenderPrimaryIdentifiersRepository extends JpaRepository<OffenderPrimaryIdentifiers, Long>, JpaSpecificationExecutor<OffenderPrimaryIdentifiers>, OffenderPrimaryIdentifiersQueryRepository {
+    Optional<OffenderPrimaryIdentifiers> findByCrn(String crn);
+
+    @Query("select o from OffenderPrimaryIdentifiers o where o.softDeleted = 0 and upper(o.nomsNumber) = upper(:nomsNumber)")
+    Optional<OffenderPrimaryIdentifiers> findByNomsNumber(@Param("nomsNumber") String nomsNumber);
+
+    List<OffenderPrimaryIdentifiers> findAllByCrnIn(Collection<String> crns);
+
+    @Query("select o from OffenderPrimaryIdentifiers o where o.softDeleted = 0 and upper(o.nomsNumber) in :nomsNumbers")
+    List<OffenderPrimaryIdentifiers> findAllByUpperCaseNomsNumberIn(@Param("nomsNumbers") Collection<String> upperCaseNomsNumbers);
+
+    List<OffenderPrimaryIdentifiers> findAllByOffenderIdIn(Collection<Long> offenderIds);
 }
@@ -4,6 +4,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrisoner;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrisonerPk;
 
+import java.util.List;
+
 public interface OffenderPrisonerRepository extends JpaRepository<OffenderPrisoner, OffenderPrisonerPk> {
-    void deleteAllByOffenderId(long offenderId);
+    List<OffenderPrisoner> findAllByOffenderId(long offenderId);
 }
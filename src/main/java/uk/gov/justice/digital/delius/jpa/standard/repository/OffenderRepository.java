@@ -4,13 +4,16 @@ import io.vavr.control.Either;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
@@ -36,6 +39,14 @@ public interface OffenderRepository extends JpaRepository<Offender, Long>, JpaSp
     @Query(value = "SELECT OFFENDER_ID FROM (SELECT QRY_PAG.*, ROWNUM rnum FROM (SELECT OFFENDER_ID FROM OFFENDER) QRY_PAG WHERE ROWNUM <= ?2) WHERE rnum >= ?1", nativeQuery = true)
     List<BigDecimal> listOffenderIds(int lower, int upper);
 
+    // keyset page over the primary key index so the cost of a page does not depend on how far through the table it is
+    @Query(value = "SELECT OFFENDER_ID FROM (SELECT OFFENDER_ID FROM OFFENDER WHERE OFFENDER_ID > ?1 ORDER BY OFFENDER_ID) WHERE ROWNUM <= ?2", nativeQuery = true)
+    List<BigDecimal> listOffenderIdsAfter(long afterOffenderId, int limit);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select o.offenderId from Offender o order by o.offenderId")
+    Stream<Long> streamOffenderIds();
+
     default Either<DuplicateOffenderException, Optional<Offender>> findMostLikelyByNomsNumber(String nomsNumber) {
         final var offenders = findAllByNomsNumber(nomsNumber);
         switch (offenders.size()) {
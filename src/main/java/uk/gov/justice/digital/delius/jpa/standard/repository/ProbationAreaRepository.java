@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -9,12 +10,25 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
 import java.util.List;
 import java.util.Optional;
 
+import static uk.gov.justice.digital.delius.config.CacheConfig.PROBATION_AREA_IDS;
+
 public interface ProbationAreaRepository extends JpaRepository<ProbationArea, Long>, JpaSpecificationExecutor<ProbationArea> {
     Optional<ProbationArea> findByCode(String code);
 
+    /**
+     * Probation areas carry lazy collections so only the id is cached; use with {@link #getOne} when the area is
+     * only needed as a reference from another entity.
+     */
+    @Cacheable(value = PROBATION_AREA_IDS, unless = "#result == null")
+    @Query("select pa.probationAreaId from ProbationArea pa where pa.code = :code")
+    Optional<Long> findIdByCode(@Param("code") String code);
+
     @Query("select pa from ProbationArea pa, RInstitution institution where pa.institution = institution and institution.nomisCdeCode = :nomisCdeCode")
     Optional<ProbationArea> findByInstitutionByNomsCDECode(@Param("nomisCdeCode") String nomsPrisonInstitutionCode);
 
     @Query("select pa from ProbationArea pa, RInstitution institution where pa.institution = institution and institution.nomisCdeCode is not null and institution.nomisCdeCode <> 'OUT'")
     List<ProbationArea> findAllWithNomsCDECodeExcludeOut();
+
+    @Query("select distinct pa from ProbationArea pa left join fetch pa.boroughs left join fetch pa.organisation left join fetch pa.institution")
+    List<ProbationArea> findAllWithBoroughs();
 }
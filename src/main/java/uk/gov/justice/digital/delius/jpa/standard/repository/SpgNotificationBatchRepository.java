@@ -0,0 +1,13 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import uk.gov.justice.digital.delius.jpa.standard.entity.SpgNotification;
+
+import java.util.List;
+
+public interface SpgNotificationBatchRepository {
+    /**
+     * Inserts all the notifications as a single JDBC batch. Identifiers are taken from the notification
+     * sequence by the database so are not set on the supplied notifications.
+     */
+    void insertAll(List<SpgNotification> notifications);
+}
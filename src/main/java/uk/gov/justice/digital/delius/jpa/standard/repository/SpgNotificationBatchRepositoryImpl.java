@@ -0,0 +1,56 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import uk.gov.justice.digital.delius.jpa.standard.entity.BusinessInteraction;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
+import uk.gov.justice.digital.delius.jpa.standard.entity.SpgNotification;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+public class SpgNotificationBatchRepositoryImpl implements SpgNotificationBatchRepository {
+    private static final String INSERT_SQL = "INSERT INTO SPG_NOTIFICATION (" +
+            "SPG_NOTIFICATION_ID, BUSINESS_INTERACTION_ID, OFFENDER_ID, UNIQUE_ID, PARENT_ENTITY_ID, DATE_CREATED, " +
+            "SENDER_IDENTITY_ID, RECEIVER_IDENTITY_ID, SPG_MESSAGE_CONTEXT_ID, CONTROL_REFERENCE, " +
+            "PROCESSED_FLAG, ERROR_FLAG, MESSAGE_DIRECTION, EXPORT_TO_FILE_FLAG, ROW_VERSION) " +
+            "VALUES (SPG_NOTIFICATION_ID_SEQ.NEXTVAL, :businessInteractionId, :offenderId, :uniqueId, :parentEntityId, :dateCreated, " +
+            ":senderIdentityId, :receiverIdentityId, :spgMessageContextId, :controlReference, " +
+            ":processedFlag, :errorFlag, :messageDirection, :exportToFileFlag, :rowVersion)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SpgNotificationBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<SpgNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, notifications.stream()
+                .map(SpgNotificationBatchRepositoryImpl::parametersOf)
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private static SqlParameterSource parametersOf(SpgNotification notification) {
+        return new MapSqlParameterSource()
+                .addValue("businessInteractionId", Optional.ofNullable(notification.getBusinessInteraction()).map(BusinessInteraction::getBusinessInteractionId).orElse(null))
+                .addValue("offenderId", notification.getOffenderId())
+                .addValue("uniqueId", notification.getUniqueId())
+                .addValue("parentEntityId", notification.getParentEntityId())
+                .addValue("dateCreated", Optional.ofNullable(notification.getDateCreated()).map(Timestamp::valueOf).orElse(null))
+                .addValue("senderIdentityId", Optional.ofNullable(notification.getSenderIdentity()).map(ProbationArea::getProbationAreaId).orElse(null))
+                .addValue("receiverIdentityId", Optional.ofNullable(notification.getReceiverIdentity()).map(ProbationArea::getProbationAreaId).orElse(null))
+                .addValue("spgMessageContextId", notification.getSpgMessageContextId())
+                .addValue("controlReference", notification.getControlReference())
+                .addValue("processedFlag", notification.getProcessedFlag())
+                .addValue("errorFlag", notification.getErrorFlag())
+                .addValue("messageDirection", notification.getMessageDirection())
+                .addValue("exportToFileFlag", notification.getExportToFileFlag())
+                .addValue("rowVersion", notification.getRowVersion());
+    }
+}
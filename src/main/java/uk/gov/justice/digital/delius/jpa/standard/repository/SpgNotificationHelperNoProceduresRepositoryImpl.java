@@ -1,23 +1,49 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
-import com.google.common.collect.ImmutableList;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collections;
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
+
 @Repository
 @Profile("!oracle")
 public class SpgNotificationHelperNoProceduresRepositoryImpl implements SpgNotificationHelperRepository {
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spg.interested-crcs.h2-stand-in.enabled:false}")
+    private boolean standInEnabled;
+
     @Override
+    @SuppressWarnings("unchecked")
     public List<ProbationArea> getInterestedCRCs(String offenderId) {
-        return ImmutableList.of();
+        if (!standInEnabled) {
+            return List.of();
+        }
+        // GET_INTERESTED_CRCS is the H2 stand in for pkg_search.procGetInterestedCRCs, see InterestedCRCsProcedure
+        return ((List<Object[]>) entityManager
+                .createNativeQuery("SELECT PROBATION_AREA_ID, CODE FROM GET_INTERESTED_CRCS(:offenderId)")
+                .setParameter("offenderId", Long.valueOf(offenderId))
+                .getResultList())
+                .stream()
+                .map(row -> ProbationArea
+                        .builder()
+                        .probationAreaId(((Number) row[0]).longValue())
+                        .code((String) row[1])
+                        .build())
+                .collect(toList());
     }
 
 
-    public Long getNextControlSequence(String probationAreaCode) {
-        return 0L;
+    public List<Long> getNextControlSequences(String probationAreaCode, int count) {
+        return Collections.nCopies(count, 0L);
     }
 }
@@ -3,5 +3,5 @@ package uk.gov.justice.digital.delius.jpa.standard.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.SpgNotification;
 
-public interface SpgNotificationRepository extends JpaRepository<SpgNotification, Long> {
+public interface SpgNotificationRepository extends JpaRepository<SpgNotification, Long>, SpgNotificationBatchRepository {
 }
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -7,7 +8,10 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 
 import java.util.Optional;
 
+import static uk.gov.justice.digital.delius.config.CacheConfig.STANDARD_REFERENCES;
+
 public interface StandardReferenceRepository extends JpaRepository<StandardReference, Long> {
+    @Cacheable(value = STANDARD_REFERENCES, unless = "#result == null")
     @Query("select sf from StandardReference sf inner join sf.referenceDataMaster rdm where rdm.codeSetName = :codeSetName and sf.codeValue = :code")
     Optional<StandardReference> findByCodeAndCodeSetName(@Param("code") String code, @Param("codeSetName") String codeSetName);
 }
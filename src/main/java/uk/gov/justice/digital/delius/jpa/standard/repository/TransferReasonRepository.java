@@ -1,10 +1,14 @@
 package uk.gov.justice.digital.delius.jpa.standard.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.TransferReason;
 
 import java.util.Optional;
 
+import static uk.gov.justice.digital.delius.config.CacheConfig.TRANSFER_REASONS;
+
 public interface TransferReasonRepository extends JpaRepository<TransferReason, Long> {
+    @Cacheable(value = TRANSFER_REASONS, unless = "#result == null")
     Optional<TransferReason> findByCode(String code);
 }
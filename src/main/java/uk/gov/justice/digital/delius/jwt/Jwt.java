@@ -3,10 +3,14 @@ package uk.gov.justice.digital.delius.jwt;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import uk.gov.justice.digital.delius.user.UserData;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.Optional;
 
@@ -16,21 +20,44 @@ public class Jwt {
     public static final String UID = "uid";
     public static final String PROBATION_AREA_CODES = "probationAreaCodes";
 
+    private static final Duration DEFAULT_CACHE_TIME_TO_LIVE = Duration.ofHours(1);
+    private static final long DEFAULT_CACHE_SIZE = 10000;
+
     private final String secret;
     private final int lifetimeSeconds;
+    private final VerifiedTokenCache<Claims> verifiedTokens;
 
+    @Autowired
     public Jwt(@Value("${jwt.secret}") String secret,
-               @Value("${jwt.lifetimeSeconds:300}") int lifetimeSeconds) {
+               @Value("${jwt.lifetimeSeconds:300}") int lifetimeSeconds,
+               @Value("${jwt.cache.maximum-time-to-live:1h}") Duration maximumTimeToLive,
+               @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+               MeterRegistry meterRegistry) {
         this.secret = secret;
         this.lifetimeSeconds = lifetimeSeconds;
+        this.verifiedTokens = new VerifiedTokenCache<>(
+                "legacyTokens",
+                claims -> Optional.ofNullable(claims.getExpiration()).map(Date::toInstant),
+                maximumTimeToLive,
+                maximumSize,
+                meterRegistry);
+    }
+
+    public Jwt(String secret, int lifetimeSeconds) {
+        this(secret, lifetimeSeconds, DEFAULT_CACHE_TIME_TO_LIVE, DEFAULT_CACHE_SIZE, new SimpleMeterRegistry());
     }
 
+    /**
+     * Tokens are only parsed and have their signature checked the first time they are seen, after that the claims are
+     * taken from the cache until the token expires. The cached claims are shared by every request with the token so
+     * are read only.
+     */
     public Optional<Claims> parseToken(String bearerToken) {
 
-        return Optional.ofNullable(Jwts.parser()
+        return Optional.ofNullable(verifiedTokens.verify(bearerToken, token -> new UnmodifiableClaims(Jwts.parser()
                 .setSigningKey(secret)
-                .parseClaimsJws(bearerToken)
-                .getBody());
+                .parseClaimsJws(token)
+                .getBody())));
 
     }
 
@@ -0,0 +1,119 @@
+package uk.gov.justice.digital.delius.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read only copy of verified claims. Claims are cached and shared by every request presenting the same token, so
+ * any attempt to change them fails rather than changing what later requests see.
+ */
+final class UnmodifiableClaims extends AbstractMap<String, Object> implements Claims {
+    private final Map<String, Object> claims;
+    private final Claims typedClaims;
+
+    UnmodifiableClaims(Map<String, Object> claims) {
+        this.claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+        this.typedClaims = new DefaultClaims(new LinkedHashMap<>(claims));
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return claims.entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return claims.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return claims.containsKey(key);
+    }
+
+    @Override
+    public <T> T get(String claimName, Class<T> requiredType) {
+        return typedClaims.get(claimName, requiredType);
+    }
+
+    @Override
+    public String getIssuer() {
+        return typedClaims.getIssuer();
+    }
+
+    @Override
+    public String getSubject() {
+        return typedClaims.getSubject();
+    }
+
+    @Override
+    public String getAudience() {
+        return typedClaims.getAudience();
+    }
+
+    @Override
+    public Date getExpiration() {
+        return typedClaims.getExpiration();
+    }
+
+    @Override
+    public Date getNotBefore() {
+        return typedClaims.getNotBefore();
+    }
+
+    @Override
+    public Date getIssuedAt() {
+        return typedClaims.getIssuedAt();
+    }
+
+    @Override
+    public String getId() {
+        return typedClaims.getId();
+    }
+
+    @Override
+    public Claims setIssuer(String iss) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setSubject(String sub) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setAudience(String aud) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setExpiration(Date exp) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setNotBefore(Date nbf) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setIssuedAt(Date iat) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setId(String jti) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Verified claims are shared between requests so cannot be changed");
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.justice.digital.delius.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The result of verifying a bearer token, kept so a token presented on many requests is only parsed and signature
+ * checked the first time. Entries are keyed on a hash of the token and expire when the token does, or after
+ * <code>maximumTimeToLive</code> if that is sooner. Failed verifications are not kept. Hits and misses are published
+ * as <code>cache.gets</code> metrics for the named cache.
+ */
+public class VerifiedTokenCache<T> {
+    private final Cache<String, T> verifiedTokens;
+    private final Function<T, Optional<Instant>> expiryOf;
+    private final Duration maximumTimeToLive;
+
+    public VerifiedTokenCache(String name,
+                              Function<T, Optional<Instant>> expiryOf,
+                              Duration maximumTimeToLive,
+                              long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.expiryOf = expiryOf;
+        this.maximumTimeToLive = maximumTimeToLive;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, T>() {
+                    @Override
+                    public long expireAfterCreate(String key, T verified, long currentTime) {
+                        return timeToLiveOf(verified).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, T verified, long currentTime, long currentDuration) {
+                        return timeToLiveOf(verified).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, T verified, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, name);
+    }
+
+    /**
+     * Returns what the verifier made of this token last time, or verifies it now. Any exception thrown by the verifier
+     * is passed straight on so the token is verified again should it be presented again.
+     */
+    public T verify(String token, Function<String, T> verifier) {
+        final var key = hashOf(token);
+        final var cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final var verified = verifier.apply(token);
+        if (verified != null) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    private Duration timeToLiveOf(T verified) {
+        return expiryOf.apply(verified)
+                .map(expiry -> Duration.between(Instant.now(), expiry))
+                .map(timeToLive -> timeToLive.isNegative() ? Duration.ZERO : timeToLive)
+                .filter(timeToLive -> timeToLive.compareTo(maximumTimeToLive) < 0)
+                .orElse(maximumTimeToLive);
+    }
+
+    private static String hashOf(String token) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package uk.gov.justice.digital.delius.ldap.repository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.ldap.core.AttributesMapper;
 import org.springframework.ldap.core.ContextMapper;
 import org.springframework.ldap.core.DirContextAdapter;
@@ -19,12 +22,16 @@ import javax.naming.directory.Attributes;
 import javax.naming.directory.BasicAttribute;
 import javax.naming.directory.BasicAttributes;
 import javax.naming.ldap.LdapName;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.springframework.ldap.query.LdapQueryBuilder.query;
+import static uk.gov.justice.digital.delius.config.CacheConfig.LDAP_ROLE_CATALOGUE;
+import static uk.gov.justice.digital.delius.config.CacheConfig.LDAP_USERS;
+import static uk.gov.justice.digital.delius.config.CacheConfig.LDAP_USERS_BY_EMAIL;
 
 @Repository
 public class LdapRepository {
@@ -53,6 +60,7 @@ public class LdapRepository {
         return authenticationTemplate.authenticate(ldapUserBase, "(cn=" + user + ")", password);
     }
 
+    @Cacheable(value = LDAP_USERS, key = "#username.toLowerCase()", unless = "#result == null")
     public Optional<NDeliusUser> getDeliusUser(final String username) {
         // this is a two step process:
         //   1. find the user matching the supplied username in the delius LDAP.
@@ -65,6 +73,18 @@ public class LdapRepository {
         return authenticationTemplate.find(byUsername(username), NDeliusUser.class).stream().findAny();
     }
 
+    /**
+     * Finds all of the users in a single search with an OR of their usernames, any not found are simply absent from
+     * the result. Callers should keep the number of usernames modest since they all go into one filter.
+     */
+    public List<NDeliusUser> getDeliusUsersNoRoles(final Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return List.of();
+        }
+        return authenticationTemplate.find(byUsernames(usernames), NDeliusUser.class);
+    }
+
+    @Cacheable(value = LDAP_USERS_BY_EMAIL, key = "#email.toLowerCase()", unless = "#result.isEmpty()")
     public List<NDeliusUser> getDeliusUserByEmail(final String email) {
         // this is a two step process:
         //   1. find a list of users matching the supplied email address in the delius LDAP.
@@ -92,6 +112,10 @@ public class LdapRepository {
         return user.toBuilder().roles(roles).build();
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = LDAP_USERS, key = "#username.toLowerCase()"),
+            @CacheEvict(value = LDAP_USERS_BY_EMAIL, allEntries = true)
+    })
     public void addRole(String username, String roleId)  {
 
         String roleContext = getRoleCatalogue()
@@ -117,6 +141,7 @@ public class LdapRepository {
         return attribute;
     }
 
+    @Cacheable(value = LDAP_ROLE_CATALOGUE, key = "'all'")
     public List<String> getAllRoles() {
         return ldapTemplate.listBindings(
                 getRoleCatalogue().build().toString(),
@@ -128,6 +153,10 @@ public class LdapRepository {
         return LdapNameBuilder.newInstance(ldapUserBase).add("cn=ndRoleCatalogue");
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = LDAP_USERS, key = "#username.toLowerCase()"),
+            @CacheEvict(value = LDAP_USERS_BY_EMAIL, allEntries = true)
+    })
     public boolean changePassword(final String username, final String password) {
         final var context = authenticationTemplate.searchForContext(byUsername(username));
 
@@ -145,6 +174,15 @@ public class LdapRepository {
         return query().base(ldapUserBase).where("cn").is(username);
     }
 
+    private ContainerCriteria byUsernames(final Collection<String> usernames) {
+        final var remaining = usernames.iterator();
+        var criteria = query().base(ldapUserBase).where("cn").is(remaining.next());
+        while (remaining.hasNext()) {
+            criteria = criteria.or("cn").is(remaining.next());
+        }
+        return criteria;
+    }
+
     public String getEmail(final String username) {
         final var nDeliusUser = authenticationTemplate.find(byUsername(username), NDeliusUser.class).stream().findAny();
 
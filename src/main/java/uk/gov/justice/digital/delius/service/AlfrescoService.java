@@ -1,10 +1,11 @@
 package uk.gov.justice.digital.delius.service;
 
-import lombok.val;
+import io.vavr.control.Either;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +13,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import uk.gov.justice.digital.delius.data.api.alfresco.DocumentMeta;
 import uk.gov.justice.digital.delius.data.api.alfresco.SearchResult;
 
@@ -45,33 +51,89 @@ public class AlfrescoService {
     }
 
     public Optional<DocumentMeta> getDocumentDetail(String documentId, String crn) {
-
-        return webClient.get().uri(format("/details/%s", documentId))
-                .headers(httpHeaders -> httpHeaders.addAll(headers))
-                .retrieve()
-                .bodyToMono(DocumentMeta.class)
+        return documentDetail(documentId)
                 .blockOptional()
                 .filter(documentMeta -> documentMeta.getCrn().equals(crn));
     }
 
-    public ResponseEntity<Resource> getDocument(String documentId, String crn) {
-        val maybeDocumentMeta = getDocumentDetail(documentId, crn);
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId, String crn) {
+        return getDocument(documentId, crn, Optional.empty());
+    }
+
+    /**
+     * Streams the document to the client if it belongs to the offender. The fetch is started alongside the ownership
+     * check rather than after it; when the document belongs to someone else, does not exist or its details cannot be
+     * read the fetched body is released unread.
+     */
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId, String crn, Optional<String> range) {
+        final var documentMeta = documentDetail(documentId)
+                .map(meta -> Either.<Throwable, Optional<DocumentMeta>>right(Optional.of(meta)))
+                .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Mono.empty())
+                .defaultIfEmpty(Either.right(Optional.empty()))
+                .onErrorResume(error -> Mono.just(Either.left(error)));
+        // a failed fetch only matters once we know the document belongs to the offender
+        final var document = fetchDocument(documentId, range)
+                .map(Either::<Throwable, ResponseEntity<Flux<DataBuffer>>>right)
+                .onErrorResume(error -> Mono.just(Either.left(error)));
 
-        return maybeDocumentMeta
-                .map(documentMeta -> getDocument(documentId, Optional.of(documentMeta.getName())))
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        return Mono.zip(documentMeta, document)
+                .map(metaAndDocument -> metaAndDocument.getT1()
+                        .peekLeft(error -> discard(metaAndDocument.getT2()))
+                        .getOrElseThrow(Exceptions::propagate)
+                        .filter(meta -> meta.getCrn().equals(crn))
+                        .map(meta -> streamedDocumentOf(
+                                metaAndDocument.getT2().getOrElseThrow(Exceptions::propagate),
+                                documentId,
+                                Optional.of(meta.getName())))
+                        .orElseGet(() -> {
+                            discard(metaAndDocument.getT2());
+                            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                        }))
+                .block();
     }
 
-    private ResponseEntity<Resource> getDocument(String documentId, Optional<String> filename) {
-        return webClient.get().uri(format("/fetch/%s", documentId))
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId) {
+        return getDocument(documentId, Optional.empty());
+    }
+
+    public ResponseEntity<StreamingResponseBody> getDocument(String documentId, Optional<String> range) {
+        return streamedDocumentOf(fetchDocument(documentId, range).block(), documentId, Optional.empty());
+    }
+
+    private Mono<DocumentMeta> documentDetail(String documentId) {
+        return webClient.get().uri(format("/details/%s", documentId))
                 .headers(httpHeaders -> httpHeaders.addAll(headers))
                 .retrieve()
-                .toEntity(Resource.class)
-                .map(resource -> new ResponseEntity<>(
-                        resource.getBody(),
-                        collectDocumentResourceHeaders(resource.getHeaders(), documentId, filename),
-                        resource.getStatusCode()))
-                .block();
+                .bodyToMono(DocumentMeta.class);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> fetchDocument(String documentId, Optional<String> range) {
+        return webClient.get().uri(format("/fetch/%s", documentId))
+                .headers(httpHeaders -> {
+                    httpHeaders.addAll(headers);
+                    range.ifPresent(value -> httpHeaders.set(HttpHeaders.RANGE, value));
+                })
+                .retrieve()
+                // an unsatisfiable range is an answer for the client rather than a failure
+                .onStatus(status -> status == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamedDocumentOf(ResponseEntity<Flux<DataBuffer>> fetched, String documentId, Optional<String> filename) {
+        final var body = Optional.ofNullable(fetched.getBody()).orElseGet(Flux::empty);
+        return new ResponseEntity<>(
+                outputStream -> DataBufferUtils
+                        .write(body, outputStream)
+                        .map(DataBufferUtils::release)
+                        .then()
+                        .block(),
+                collectDocumentResourceHeaders(fetched.getHeaders(), documentId, filename),
+                fetched.getStatusCode());
+    }
+
+    private void discard(Either<Throwable, ResponseEntity<Flux<DataBuffer>>> document) {
+        document.forEach(fetched -> Optional.ofNullable(fetched.getBody())
+                .ifPresent(buffers -> buffers.doOnNext(DataBufferUtils::release).subscribe().dispose()));
     }
 
     private HttpHeaders collectDocumentResourceHeaders(final HttpHeaders responseHeaders, final String documentId, final Optional<String> filename) {
@@ -81,11 +143,9 @@ public class AlfrescoService {
         newHeaders.add(HttpHeaders.CONTENT_TYPE, responseHeaders.getFirst(HttpHeaders.CONTENT_TYPE));
         newHeaders.add(HttpHeaders.ETAG, responseHeaders.getFirst(HttpHeaders.ETAG));
         newHeaders.add(HttpHeaders.LAST_MODIFIED, responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED));
+        Optional.ofNullable(responseHeaders.getFirst(HttpHeaders.CONTENT_RANGE))
+                .ifPresent(contentRange -> newHeaders.add(HttpHeaders.CONTENT_RANGE, contentRange));
         newHeaders.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename.orElse(documentId) + "\"");
         return newHeaders;
     }
-
-    public ResponseEntity<Resource> getDocument(String documentId) {
-        return getDocument(documentId, Optional.empty());
-    }
 }
@@ -43,7 +43,7 @@ public class AppointmentService {
 
     public List<Appointment> appointmentsFor(Long offenderId, AppointmentFilter filter) {
         return AppointmentTransformer.appointmentsOf(
-                contactRepository.findAll(
+                contactRepository.findAppointments(
                         filter.toBuilder().offenderId(offenderId).build(),
                         Sort.by(DESC, "contactDate")));
     }
@@ -27,7 +27,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.digital.delius.jpa.standard.entity.Contact.*;
 
 @Service
@@ -46,7 +48,23 @@ public class ContactService {
     private final ContactTypeRepository contactTypeRepository;
 
     public List<Contact> contactsFor(final Long offenderId, final ContactFilter filter) {
-        return ContactTransformer.contactsOf(contactRepository.findAll(filter.toBuilder().offenderId(offenderId).build()));
+        return ContactTransformer.contactsOf(contactRepository.findContacts(filter.toBuilder().offenderId(offenderId).build()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Contact> contactsFor(final Long offenderId, final ContactFilter filter, final int limit) {
+        return contactRepository.findAll(filter.toBuilder().offenderId(offenderId).build(), ContactFilter.KEYSET_ORDER, limit)
+                .stream()
+                .map(ContactTransformer::contactOf)
+                .collect(toList());
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachContact(final Long offenderId, final ContactFilter filter, final Consumer<Contact> consumer) {
+        contactRepository.forEachMatching(
+                filter.toBuilder().offenderId(offenderId).build(),
+                ContactFilter.KEYSET_ORDER,
+                contact -> consumer.accept(ContactTransformer.contactOf(contact)));
     }
 
     @Transactional
@@ -124,6 +142,22 @@ public class ContactService {
                 notesForKeyDatesUpdate(datesAmendedOrUpdated, datesRemoved));
     }
 
+    /**
+     * Builds the same contact as {@link #addContactForBulkCustodyKeyDateUpdate} without saving it so many can be
+     * written together with {@link #addContacts}
+     */
+    public uk.gov.justice.digital.delius.jpa.standard.entity.Contact contactForBulkCustodyKeyDateUpdate(final Offender offender, final Event event, final Map<String, LocalDate> datesAmendedOrUpdated, final Map<String, LocalDate> datesRemoved) {
+        return contactForCustodyChange(offender,
+                event,
+                contactTypeForCustodyAutoUpdate(),
+                notesForKeyDatesUpdate(datesAmendedOrUpdated, datesRemoved));
+    }
+
+    @Transactional
+    public void addContacts(final List<uk.gov.justice.digital.delius.jpa.standard.entity.Contact> contacts) {
+        contactRepository.saveAll(contacts);
+    }
+
     @Transactional
     public void addContactForTierUpdate(final Long offenderId, final LocalDateTime date, final String tier, final String reason, final Staff staff, final Team team){
         contactRepository.save(builder()
@@ -155,12 +189,16 @@ public class ContactService {
     }
 
     private void addContactForCustodyChange(final Offender offender, final Event event, final ContactType contactType, final String notes) {
+        contactRepository.save(contactForCustodyChange(offender, event, contactType, notes));
+    }
+
+    private uk.gov.justice.digital.delius.jpa.standard.entity.Contact contactForCustodyChange(final Offender offender, final Event event, final ContactType contactType, final String notes) {
         final var mayBeOrderManager = event.getOrderManagers()
                 .stream()
                 .filter(OrderManager::isActive)
                 .findFirst();
 
-        contactRepository.save(builder()
+        return builder()
                 .contactDate(LocalDate.now())
                 .contactStartTime(LocalTime.now())
                 .offenderId(offender.getOffenderId())
@@ -173,7 +211,7 @@ public class ContactService {
                 .contactType(contactType)
                 .alertActive(contactType.getAlertFlag())
                 .event(event)
-                .build());
+                .build();
     }
 
     private uk.gov.justice.digital.delius.jpa.standard.entity.Contact contactForPOMAllocation(final PrisonOffenderManager newPrisonOffenderManager) {
@@ -1,11 +1,14 @@
 package uk.gov.justice.digital.delius.service;
 
 import com.microsoft.applicationinsights.TelemetryClient;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import uk.gov.justice.digital.delius.config.FeatureSwitches;
 import uk.gov.justice.digital.delius.controller.BadRequestException;
 import uk.gov.justice.digital.delius.data.api.Conviction;
@@ -18,6 +21,7 @@ import uk.gov.justice.digital.delius.data.api.ProbationStatusDetail;
 import uk.gov.justice.digital.delius.data.api.ReplaceCustodyKeyDates;
 import uk.gov.justice.digital.delius.entitybuilders.EventEntityBuilder;
 import uk.gov.justice.digital.delius.entitybuilders.KeyDateEntityBuilder;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Disposal;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
 import uk.gov.justice.digital.delius.jpa.standard.entity.KeyDate;
@@ -25,11 +29,14 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 import uk.gov.justice.digital.delius.jpa.standard.repository.EventRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+import uk.gov.justice.digital.delius.service.SpgNotificationService.CustodyKeyDateNotifications;
+import uk.gov.justice.digital.delius.service.SpgNotificationService.NotificationBatch;
 import uk.gov.justice.digital.delius.transformers.ConvictionTransformer;
 import uk.gov.justice.digital.delius.transformers.CustodyKeyDateTransformer;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -98,6 +105,20 @@ public class ConvictionService {
         }
     }
 
+    @Value
+    public static class CustodyKeyDatesReplacement {
+        Long offenderId;
+        Long convictionId;
+        ReplaceCustodyKeyDates replaceCustodyKeyDates;
+    }
+
+    @Value
+    private static class KeyDateChanges {
+        Offender offender;
+        Map<String, LocalDate> datesAmendedOrUpdated;
+        Map<String, LocalDate> datesRemoved;
+    }
+
     public static class CustodyTypeCodeIsNotValidException extends Exception {
         CustodyTypeCodeIsNotValidException(String message) {
             super(message);
@@ -343,25 +364,13 @@ public class ConvictionService {
         var event = eventRepository.findById(convictionId).orElseThrow();
 
         if (updateCustodyKeyDatesFeatureSwitch) {
-            final var custodyManagedKeyDates = custodyManagedKeyDates();
-            final var missingKeyDateTypesCodes = missingKeyDateTypesCodes(replaceCustodyKeyDates);
-            final var currentKeyDates = event
-                .getDisposal()
-                .getCustody()
-                .getKeyDates();
-
-            final var keyDatesToDelete = keyDatesToDelete(custodyManagedKeyDates, missingKeyDateTypesCodes, currentKeyDates);
-            final var keyDatesToBeAddedOrUpdated = keyDatesToBeAddedOrUpdated(replaceCustodyKeyDates, currentKeyDates);
-
-            addContactForBulkCustodyKeyDateUpdate(offenderId, event, currentKeyDates, keyDatesToDelete, keyDatesToBeAddedOrUpdated);
-            addBulkTelemetry(offenderId, event, currentKeyDates, keyDatesToDelete, keyDatesToBeAddedOrUpdated);
-
-            keyDatesToDelete
-                .forEach(keyDate -> deleteCustodyKeyDate(event, keyDate, false));
-
-            keyDatesToBeAddedOrUpdated
-                .forEach((key, value) -> addOrReplaceCustodyKeyDate(event, key, value));
-
+            final var notifications = new NotificationBatch();
+            replaceCustodyKeyDates(offenderId, event, replaceCustodyKeyDates, notifications)
+                .ifPresent(changes -> {
+                    contactService.addContactForBulkCustodyKeyDateUpdate(changes.getOffender(), event, changes.getDatesAmendedOrUpdated(), changes.getDatesRemoved());
+                    eventRepository.flush();
+                    spgNotificationService.notify(notifications);
+                });
         } else {
             log.warn("Update custody key dates will be ignored, this feature is switched off ");
         }
@@ -371,6 +380,40 @@ public class ConvictionService {
             .getCustody());
     }
 
+    /**
+     * Replaces the key dates of each event in a single transaction, the contacts and SPG notifications for all of them
+     * are written together once every event has been updated
+     */
+    @Transactional
+    public List<Custody> addOrReplaceOrDeleteCustodyKeyDates(List<CustodyKeyDatesReplacement> replacements) {
+        final var events = replacements
+            .stream()
+            .map(replacement -> eventRepository.findById(replacement.getConvictionId()).orElseThrow())
+            .collect(toList());
+
+        if (updateCustodyKeyDatesFeatureSwitch) {
+            final var notifications = new NotificationBatch();
+            final var contacts = new ArrayList<Contact>();
+            for (int i = 0; i < replacements.size(); i++) {
+                final var event = events.get(i);
+                replaceCustodyKeyDates(replacements.get(i).getOffenderId(), event, replacements.get(i).getReplaceCustodyKeyDates(), notifications)
+                    .ifPresent(changes -> contacts.add(contactService.contactForBulkCustodyKeyDateUpdate(changes.getOffender(), event, changes.getDatesAmendedOrUpdated(), changes.getDatesRemoved())));
+            }
+            if (!contacts.isEmpty()) {
+                contactService.addContacts(contacts);
+                eventRepository.flush();
+                spgNotificationService.notify(notifications);
+            }
+        } else {
+            log.warn("Update custody key dates will be ignored, this feature is switched off ");
+        }
+
+        return events
+            .stream()
+            .map(event -> ConvictionTransformer.custodyOf(event.getDisposal().getCustody()))
+            .collect(toList());
+    }
+
     public Optional<ProbationStatusDetail> probationStatusFor(String crn) {
         return offenderRepository.findByCrn(crn)
             .filter(offender -> offender.getSoftDeleted() == 0L)
@@ -424,8 +467,7 @@ public class ConvictionService {
             ).orElse(false);
     }
 
-    private void addBulkTelemetry(Long offenderId, Event event, List<KeyDate> currentKeyDates, List<String> keyDatesToDelete, Map<String, LocalDate> keyDatesToBeAddedOrUpdated) {
-        final var offender = offenderRepository.findByOffenderId(offenderId).orElseThrow();
+    private void addBulkTelemetry(Offender offender, Event event, List<KeyDate> currentKeyDates, List<String> keyDatesToDelete, Map<String, LocalDate> keyDatesToBeAddedOrUpdated) {
         final var currentManagedDates = currentManagedKeyDates(custodyManagedKeyDates(), currentKeyDates);
         final var datesAmendedOrUpdated = datesAddedOrUpdated(keyDatesToBeAddedOrUpdated);
         final var keyDatesToBeAdded = keyDatesToBeAdded(keyDatesToBeAddedOrUpdated, currentKeyDates);
@@ -443,13 +485,9 @@ public class ConvictionService {
         );
 
         if (keyDatesToDelete.isEmpty() && keyDatesToBeAddedOrUpdated.isEmpty()) {
-            telemetryClient.trackEvent("keyDatesBulkUnchanged",
-                attributes,
-                null);
+            trackEventAfterCommit("keyDatesBulkUnchanged", attributes);
         } else {
-            telemetryClient.trackEvent("keyDatesBulkSummary",
-                attributes,
-                null);
+            trackEventAfterCommit("keyDatesBulkSummary", attributes);
 
             if (!datesRemoved.isEmpty()) {
                 final Map<String, String> attributesWithDates = Stream
@@ -459,27 +497,51 @@ public class ConvictionService {
                         e -> e.getValue().toString()
                     ));
                 if (currentManagedDates.size() == datesRemoved.size()) {
-                    telemetryClient.trackEvent("keyDatesBulkAllRemoved",
-                        attributesWithDates,
-                        null);
+                    trackEventAfterCommit("keyDatesBulkAllRemoved", attributesWithDates);
                 } else {
-                    telemetryClient.trackEvent("keyDatesBulkSomeRemoved",
-                        attributesWithDates,
-                        null);
+                    trackEventAfterCommit("keyDatesBulkSomeRemoved", attributesWithDates);
                 }
             }
         }
     }
 
-    private void addContactForBulkCustodyKeyDateUpdate(Long offenderId, Event event, List<KeyDate> currentKeyDates, List<String> keyDatesToDelete, Map<String, LocalDate> keyDatesToBeAddedOrUpdated) {
-        final var datesAmendedOrUpdated = datesAddedOrUpdated(keyDatesToBeAddedOrUpdated);
-        final var datesRemoved = datesRemoved(currentKeyDates, keyDatesToDelete);
+    /**
+     * Applies the changes to the event without flushing them, notifications are added to the batch and are only
+     * written once the caller has flushed the event so new key dates have their ids
+     */
+    private Optional<KeyDateChanges> replaceCustodyKeyDates(Long offenderId, Event event, ReplaceCustodyKeyDates replaceCustodyKeyDates, NotificationBatch notifications) {
+        final var offender = offenderRepository.findByOffenderId(offenderId).orElseThrow();
+        final var custodyManagedKeyDates = custodyManagedKeyDates();
+        final var missingKeyDateTypesCodes = missingKeyDateTypesCodes(replaceCustodyKeyDates);
+        final var currentKeyDates = event
+            .getDisposal()
+            .getCustody()
+            .getKeyDates();
+
+        final var keyDatesToDelete = keyDatesToDelete(custodyManagedKeyDates, missingKeyDateTypesCodes, currentKeyDates);
+        final var keyDatesToBeAddedOrUpdated = keyDatesToBeAddedOrUpdated(replaceCustodyKeyDates, currentKeyDates);
 
+        addBulkTelemetry(offender, event, currentKeyDates, keyDatesToDelete, keyDatesToBeAddedOrUpdated);
 
-        if (!keyDatesToDelete.isEmpty() || !keyDatesToBeAddedOrUpdated.isEmpty()) {
-            contactService.addContactForBulkCustodyKeyDateUpdate(offenderRepository.findByOffenderId(offenderId)
-                .orElseThrow(), event, datesAmendedOrUpdated, datesRemoved);
+        if (keyDatesToDelete.isEmpty() && keyDatesToBeAddedOrUpdated.isEmpty()) {
+            return Optional.empty();
         }
+
+        final var changes = new KeyDateChanges(offender, datesAddedOrUpdated(keyDatesToBeAddedOrUpdated), datesRemoved(currentKeyDates, keyDatesToDelete));
+
+        keyDatesToDelete
+            .forEach(keyDate -> deleteCustodyKeyDate(event, keyDate, notifications));
+
+        keyDatesToBeAddedOrUpdated
+            .forEach((key, value) -> addOrReplaceCustodyKeyDate(event, custodyKeyDateTypeOf(key), value, notifications));
+
+        eventRepository.save(event);
+        return Optional.of(changes);
+    }
+
+    private StandardReference custodyKeyDateTypeOf(String typeCode) {
+        return lookupSupplier.custodyKeyDateTypeSupplier().apply(typeCode)
+            .orElseThrow(() -> new RuntimeException(String.format("%s is not a valid custody key date", typeCode)));
     }
 
     private Map<String, LocalDate> datesAddedOrUpdated(Map<String, LocalDate> keyDatesToBeAddedOrUpdated) {
@@ -574,14 +636,6 @@ public class ConvictionService {
         return keyDate -> keyDate.getKeyDateType().getCodeValue().equals(typeCode);
     }
 
-    private void addOrReplaceCustodyKeyDate(Event event, String typeCode, LocalDate date) {
-        try {
-            addOrReplaceCustodyKeyDate(event, typeCode, CreateCustodyKeyDate.builder().date(date).build(), false);
-        } catch (CustodyTypeCodeIsNotValidException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private CustodyKeyDate addOrReplaceCustodyKeyDate(Event event, String typeCode, CreateCustodyKeyDate custodyKeyDate, boolean shouldNotifyIAPS) throws CustodyTypeCodeIsNotValidException {
         val custodyKeyDateType = lookupSupplier.custodyKeyDateTypeSupplier().apply(typeCode)
             .orElseThrow(() -> new CustodyTypeCodeIsNotValidException(String.format("%s is not a valid custody key date", typeCode)));
@@ -590,46 +644,44 @@ public class ConvictionService {
     }
 
     private CustodyKeyDate addOrReplaceCustodyKeyDate(Event event, StandardReference custodyKeyDateType, CreateCustodyKeyDate custodyKeyDate, boolean shouldNotifyIAPS) {
+        final var typeCode = custodyKeyDateType.getCodeValue();
+        addOrReplaceCustodyKeyDate(event, custodyKeyDateType, custodyKeyDate.getDate(), new ImmediateNotifications());
+
+        // Delius does not notify IAPS when the update comes from NOMIS only when done by probation - no idea why so this behaviour but it must be replicated given we have no user needs defined
+        if (shouldNotifyIAPS && KeyDate.isSentenceExpiryKeyDate(typeCode)) {
+            iapsNotificationService.notifyEventUpdated(event);
+        }
+
+        return getCustodyKeyDate(event, typeCode).orElseThrow(() -> new RuntimeException("Added/Updated keyDate has disappeared"));
+    }
+
+    private void addOrReplaceCustodyKeyDate(Event event, StandardReference custodyKeyDateType, LocalDate date, CustodyKeyDateNotifications notifications) {
         final var typeCode = custodyKeyDateType.getCodeValue();
         final var telemetryProperties = Map.of("offenderId", event.getOffenderId().toString(),
             "eventId", event.getEventId().toString(),
             "eventNumber", event.getEventNumber(),
             "type", typeCode,
-            "date", custodyKeyDate.getDate().toString());
-
+            "date", date.toString());
 
         val maybeExistingKeyDate = event.getDisposal().getCustody().getKeyDates()
             .stream()
             .filter(matchTypeCode(typeCode))
             .findAny();
 
-        maybeExistingKeyDate.ifPresent(existingKeyDate -> {
-            existingKeyDate.setKeyDate(custodyKeyDate.getDate());
+        maybeExistingKeyDate.ifPresentOrElse(existingKeyDate -> {
+            existingKeyDate.setKeyDate(date);
             existingKeyDate.setLastUpdatedDatetime(LocalDateTime.now());
             existingKeyDate.setLastUpdatedUserId(lookupSupplier.userSupplier().get().getUserId());
-            eventRepository.save(event);
-            spgNotificationService.notifyUpdateOfCustodyKeyDate(typeCode, event);
-            telemetryClient.trackEvent("KeyDateUpdated", telemetryProperties, null);
-        });
-
-        if (maybeExistingKeyDate.isEmpty()) {
-            val keyDate = keyDateEntityBuilder.keyDateOf(event.getDisposal().getCustody(), custodyKeyDateType, custodyKeyDate.getDate());
+            notifications.updatedCustodyKeyDate(typeCode, event);
+            trackEventAfterCommit("KeyDateUpdated", telemetryProperties);
+        }, () -> {
             event.getDisposal()
                 .getCustody()
                 .getKeyDates()
-                .add(keyDate);
-
-            eventRepository.saveAndFlush(event);
-            spgNotificationService.notifyNewCustodyKeyDate(typeCode, event);
-            telemetryClient.trackEvent("KeyDateAdded", telemetryProperties, null);
-        }
-
-        // Delius does not notify IAPS when the update comes from NOMIS only when done by probation - no idea why so this behaviour but it must be replicated given we have no user needs defined
-        if (shouldNotifyIAPS && KeyDate.isSentenceExpiryKeyDate(typeCode)) {
-            iapsNotificationService.notifyEventUpdated(event);
-        }
-
-        return getCustodyKeyDate(event, typeCode).orElseThrow(() -> new RuntimeException("Added/Updated keyDate has disappeared"));
+                .add(keyDateEntityBuilder.keyDateOf(event.getDisposal().getCustody(), custodyKeyDateType, date));
+            notifications.newCustodyKeyDate(typeCode, event);
+            trackEventAfterCommit("KeyDateAdded", telemetryProperties);
+        });
     }
 
     private List<CustodyKeyDate> getCustodyKeyDates(Event event) {
@@ -640,6 +692,15 @@ public class ConvictionService {
     }
 
     private void deleteCustodyKeyDate(Event event, String typeCode, boolean shouldNotifyIAPS) {
+        if (deleteCustodyKeyDate(event, typeCode, new ImmediateNotifications()) && shouldNotifyIAPS && KeyDate.isSentenceExpiryKeyDate(typeCode)) {
+            iapsNotificationService.notifyEventUpdated(event);
+        }
+    }
+
+    /**
+     * @return true when the event had a key date of the type to delete
+     */
+    private boolean deleteCustodyKeyDate(Event event, String typeCode, CustodyKeyDateNotifications notifications) {
         final var telemetryProperties = Map.of("offenderId", event.getOffenderId().toString(),
             "eventId", event.getEventId().toString(),
             "eventNumber", event.getEventNumber(),
@@ -653,15 +714,52 @@ public class ConvictionService {
 
         maybeKeyDateToRemove.ifPresent(keyDateToRemove -> {
             keyDates.remove(keyDateToRemove);
-            eventRepository.save(event);
-            spgNotificationService.notifyDeletedCustodyKeyDate(keyDateToRemove, event);
-            if (shouldNotifyIAPS && KeyDate.isSentenceExpiryKeyDate(typeCode)) {
-                iapsNotificationService.notifyEventUpdated(event);
+            notifications.deletedCustodyKeyDate(keyDateToRemove, event);
+            trackEventAfterCommit("KeyDateDeleted", telemetryProperties);
+        });
+        return maybeKeyDateToRemove.isPresent();
+    }
+
+    /**
+     * Telemetry for a change is only sent once the change has been committed, so a rolled back change is never reported
+     */
+    private void trackEventAfterCommit(String name, Map<String, String> properties) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            telemetryClient.trackEvent(name, properties, null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                telemetryClient.trackEvent(name, properties, null);
             }
-            telemetryClient.trackEvent("KeyDateDeleted", telemetryProperties, null);
         });
     }
 
+    /**
+     * Saves the event and sends the notification for each change as it is made
+     */
+    private class ImmediateNotifications implements CustodyKeyDateNotifications {
+        @Override
+        public void newCustodyKeyDate(String custodyKeyTypeCode, Event event) {
+            // the new key date needs its id before the notification can refer to it
+            eventRepository.saveAndFlush(event);
+            spgNotificationService.notifyNewCustodyKeyDate(custodyKeyTypeCode, event);
+        }
+
+        @Override
+        public void updatedCustodyKeyDate(String custodyKeyTypeCode, Event event) {
+            eventRepository.save(event);
+            spgNotificationService.notifyUpdateOfCustodyKeyDate(custodyKeyTypeCode, event);
+        }
+
+        @Override
+        public void deletedCustodyKeyDate(KeyDate deletedKeyDate, Event event) {
+            eventRepository.save(event);
+            spgNotificationService.notifyDeletedCustodyKeyDate(deletedKeyDate, event);
+        }
+    }
+
     private Optional<Long> firstEventId(List<Event> events) {
         return events.stream().findFirst().map(Event::getEventId);
     }
@@ -4,18 +4,21 @@ import com.google.common.collect.ImmutableList;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.justice.digital.delius.data.api.CourtAppearance;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceBasicWrapper;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceMinimal;
+import uk.gov.justice.digital.delius.jpa.filters.CourtAppearanceFilter;
 import uk.gov.justice.digital.delius.jpa.standard.repository.CourtAppearanceRepository;
 import uk.gov.justice.digital.delius.transformers.CourtAppearanceBasicTransformer;
 import uk.gov.justice.digital.delius.transformers.CourtAppearanceMinimalTransformer;
 import uk.gov.justice.digital.delius.transformers.CourtAppearanceTransformer;
 
-import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -54,15 +57,29 @@ public class CourtAppearanceService {
             .map(CourtAppearanceBasicWrapper::new);
     }
 
-    public List<CourtAppearanceMinimal> courtAppearances(LocalDate fromDate) {
+    /**
+     * Appearances matching the filter in keyset order, all of them when no limit is given.
+     */
+    @Transactional(readOnly = true)
+    public List<CourtAppearanceMinimal> courtAppearances(CourtAppearanceFilter filter, Optional<Integer> limit) {
+        return limit
+                .map(maxResults -> courtAppearanceRepository.findAll(filter, CourtAppearanceFilter.KEYSET_ORDER, maxResults)
+                        .stream()
+                        .map(CourtAppearanceMinimalTransformer::courtAppearanceOf)
+                        .collect(toList()))
+                .orElseGet(() -> {
+                    final var courtAppearances = new ArrayList<CourtAppearanceMinimal>();
+                    forEachCourtAppearance(filter, courtAppearances::add);
+                    return courtAppearances;
+                });
+    }
 
-        var courtAppearances = courtAppearanceRepository.findByAppearanceDateGreaterThanEqual(fromDate.atStartOfDay());
-        return courtAppearances
-                .stream()
-                .filter(courtAppearance -> !convertToBoolean(courtAppearance.getSoftDeleted()))
-                .sorted(Comparator.comparing(uk.gov.justice.digital.delius.jpa.standard.entity.CourtAppearance::getAppearanceDate))
-                .map(CourtAppearanceMinimalTransformer::courtAppearanceOf)
-                .collect(toList());
+    @Transactional(readOnly = true)
+    public void forEachCourtAppearance(CourtAppearanceFilter filter, Consumer<CourtAppearanceMinimal> consumer) {
+        courtAppearanceRepository.forEachMatching(
+                filter,
+                CourtAppearanceFilter.KEYSET_ORDER,
+                courtAppearance -> consumer.accept(CourtAppearanceMinimalTransformer.courtAppearanceOf(courtAppearance)));
     }
 
     @NotNull
@@ -0,0 +1,143 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.google.common.collect.Lists;
+import io.vavr.control.Either;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.config.FeatureSwitches;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDates;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDatesResult;
+import uk.gov.justice.digital.delius.data.api.Custody;
+import uk.gov.justice.digital.delius.service.ConvictionService.CustodyKeyDatesReplacement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Replaces the custody key dates of many prison bookings, a chunk of bookings at a time in one transaction so the
+ * contacts and SPG notifications for the whole chunk are written together. When anything in a chunk fails the chunk is
+ * rolled back and its bookings are replaced again one at a time so a bad booking only fails itself.
+ */
+@Service
+@Slf4j
+public class CustodyKeyDatesBulkService {
+    private final OffenderService offenderService;
+    private final ConvictionService convictionService;
+    private final FeatureSwitches featureSwitches;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public CustodyKeyDatesBulkService(OffenderService offenderService,
+                                      ConvictionService convictionService,
+                                      FeatureSwitches featureSwitches,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${custody.key-dates.bulk.chunk-size:50}") int chunkSize) {
+        this.offenderService = offenderService;
+        this.convictionService = convictionService;
+        this.featureSwitches = featureSwitches;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public List<BookingCustodyKeyDatesResult> replaceCustodyKeyDates(List<BookingCustodyKeyDates> bookings) {
+        return Lists.partition(bookings, chunkSize)
+            .stream()
+            .flatMap(chunk -> replaceCustodyKeyDatesOrEachSeparately(chunk).stream())
+            .collect(toList());
+    }
+
+    private List<BookingCustodyKeyDatesResult> replaceCustodyKeyDatesOrEachSeparately(List<BookingCustodyKeyDates> chunk) {
+        try {
+            return transactionTemplate.execute(status -> replaceCustodyKeyDatesInChunk(chunk));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                log.warn("Unable to replace key dates for {} booking {}", chunk.get(0).getNomsNumber(), chunk.get(0).getBookingNumber(), e);
+                return List.of(failureOf(chunk.get(0), HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage()));
+            }
+            log.warn("Unable to replace key dates for a chunk of {} bookings so each will be replaced separately", chunk.size(), e);
+            return chunk
+                .stream()
+                .flatMap(booking -> replaceCustodyKeyDatesOrEachSeparately(List.of(booking)).stream())
+                .collect(toList());
+        }
+    }
+
+    private List<BookingCustodyKeyDatesResult> replaceCustodyKeyDatesInChunk(List<BookingCustodyKeyDates> chunk) {
+        final var replacementsOfEachBooking = chunk
+            .stream()
+            .map(this::replacementsOf)
+            .collect(toList());
+        final var custodies = convictionService.addOrReplaceOrDeleteCustodyKeyDates(replacementsOfEachBooking
+            .stream()
+            .filter(Either::isRight)
+            .flatMap(replacements -> replacements.get().stream())
+            .collect(toList()))
+            .iterator();
+
+        final var results = new ArrayList<BookingCustodyKeyDatesResult>();
+        for (int i = 0; i < chunk.size(); i++) {
+            final var booking = chunk.get(i);
+            results.add(replacementsOfEachBooking.get(i).fold(
+                failure -> failure,
+                replacements -> {
+                    // the custodies are in the same order as the replacements so take those belonging to this booking
+                    final var custodiesOfBooking = new ArrayList<Custody>();
+                    replacements.forEach(replacement -> custodiesOfBooking.add(custodies.next()));
+                    return BookingCustodyKeyDatesResult
+                        .builder()
+                        .nomsNumber(booking.getNomsNumber())
+                        .bookingNumber(booking.getBookingNumber())
+                        .status(HttpStatus.OK.value())
+                        .custody(custodiesOfBooking.stream().max(Comparator.comparing(Custody::getSentenceStartDate)).orElseThrow())
+                        .build();
+                }));
+        }
+        return results;
+    }
+
+    /**
+     * Finds the active custodial convictions of the booking whose key dates are to be replaced, or why they cannot be.
+     * Every failure is a not found so the single booking endpoint can report it in the same way.
+     */
+    public Either<BookingCustodyKeyDatesResult, List<CustodyKeyDatesReplacement>> replacementsOf(BookingCustodyKeyDates booking) {
+        final var maybeOffenderId = offenderService.offenderIdOfNomsNumber(booking.getNomsNumber());
+        if (maybeOffenderId.isEmpty()) {
+            return Either.left(failureOf(booking, HttpStatus.NOT_FOUND, String.format("Offender with NOMS number %s not found", booking.getNomsNumber())));
+        }
+        final var offenderId = maybeOffenderId.get();
+        final var activeCustodialEvents = convictionService.getAllActiveCustodialEventsWithBookingNumber(offenderId, booking.getBookingNumber());
+        if (activeCustodialEvents.isEmpty()) {
+            return Either.left(failureOf(booking, HttpStatus.NOT_FOUND, String.format("Conviction with bookingNumber %s not found for offender with NOMS number %s", booking.getBookingNumber(), booking.getNomsNumber())));
+        }
+
+        // legacy behaviour - do not update multiple events
+        if (activeCustodialEvents.size() > 1 && !featureSwitches.getNoms().getUpdate().getMultipleEvents().isUpdateBulkKeyDates()) {
+            log.warn("Multiple active custodial convictions found for {} for offender {}", booking.getBookingNumber(), booking.getNomsNumber());
+            return Either.left(failureOf(booking, HttpStatus.NOT_FOUND, String.format("Single active conviction for %s with booking number %s not found. Instead has %d convictions", booking.getNomsNumber(), booking.getBookingNumber(), activeCustodialEvents.size())));
+        }
+
+        return Either.right(activeCustodialEvents
+            .stream()
+            .map(event -> new CustodyKeyDatesReplacement(offenderId, event.getEventId(), booking.getKeyDates()))
+            .collect(toList()));
+    }
+
+    private static BookingCustodyKeyDatesResult failureOf(BookingCustodyKeyDates booking, HttpStatus status, String message) {
+        return BookingCustodyKeyDatesResult
+            .builder()
+            .nomsNumber(booking.getNomsNumber())
+            .bookingNumber(booking.getBookingNumber())
+            .status(status.value())
+            .message(message)
+            .build();
+    }
+}
@@ -0,0 +1,89 @@
+package uk.gov.justice.digital.delius.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.config.FeatureSwitches;
+import uk.gov.justice.digital.delius.config.SqlStatementRecording;
+import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import static uk.gov.justice.digital.delius.helpers.BoundedExecutors.boundedExecutor;
+import static uk.gov.justice.digital.delius.helpers.BoundedExecutors.join;
+
+/**
+ * Runs the independent document source queries either one after another on the calling thread inside a single
+ * read-only transaction or, when <code>features.documents.parallel-queries</code> is enabled, concurrently on a small
+ * bounded pool where each query gets its own read-only transaction, the caller's user context (needed for VPD) and the
+ * caller's SQL statement recording. In parallel mode the calling thread holds no connection of its own while it waits,
+ * so a request needs at most <code>documents.parallel-queries.pool-size</code> connections from the shared pool.
+ */
+@Component
+@Slf4j
+public class DocumentQueryRunner {
+    private final ExecutorService executor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public DocumentQueryRunner(PlatformTransactionManager transactionManager,
+                               FeatureSwitches featureSwitches,
+                               @Value("${documents.parallel-queries.pool-size:8}") int poolSize) {
+        this(featureSwitches.getDocuments().isParallelQueries() ? boundedExecutor("document-query-", poolSize) : null, readOnlyTransaction(transactionManager));
+        log.info("Document queries will run {}", executor != null ? "in parallel with a pool size of " + poolSize : "sequentially");
+    }
+
+    DocumentQueryRunner(ExecutorService executor, TransactionTemplate readOnlyTransaction) {
+        this.executor = executor;
+        this.readOnlyTransaction = readOnlyTransaction;
+    }
+
+    static DocumentQueryRunner sequential() {
+        return new DocumentQueryRunner(null, null);
+    }
+
+    /**
+     * Runs the work that submits and combines the queries. Sequentially that is one read-only transaction shared by
+     * every query; in parallel there is no surrounding transaction since each query opens its own.
+     */
+    public <T> T run(Supplier<T> work) {
+        if (executor != null || readOnlyTransaction == null) {
+            return work.get();
+        }
+        return readOnlyTransaction.execute(status -> work.get());
+    }
+
+    /**
+     * Starts the query and returns a handle that blocks until its result is available. Any mapping of lazily loaded
+     * associations must be done within the query itself since the session is closed once it completes.
+     */
+    public <T> Supplier<T> submit(Supplier<T> query) {
+        if (executor == null) {
+            final var result = query.get();
+            return () -> result;
+        }
+        final var future = CompletableFuture.supplyAsync(
+                () -> readOnlyTransaction.execute(status -> query.get()),
+                task -> executor.execute(CurrentUserSupplier.withCurrentUser(SqlStatementRecording.withCurrentRecording(task))));
+        return () -> join(future);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static TransactionTemplate readOnlyTransaction(PlatformTransactionManager transactionManager) {
+        final var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -1,11 +1,10 @@
 package uk.gov.justice.digital.delius.service;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import lombok.AllArgsConstructor;
+import lombok.Value;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import uk.gov.justice.digital.delius.data.api.ConvictionDocuments;
 import uk.gov.justice.digital.delius.data.api.DocumentLink;
@@ -21,10 +20,19 @@ import uk.gov.justice.digital.delius.jpa.standard.repository.*;
 import uk.gov.justice.digital.delius.transformers.DocumentTransformer;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.digital.delius.helpers.FluentHelper.not;
 
@@ -49,6 +57,7 @@ public class DocumentService {
     private final PersonalCircumstanceDocumentRepository personalCircumstanceDocumentRepository;
     private final UPWAppointmentDocumentRepository upwAppointmentDocumentRepository;
     private final ContactDocumentRepository contactDocumentRepository;
+    private final DocumentQueryRunner documentQueryRunner;
 
 
     @NationalUserOverride
@@ -79,123 +88,77 @@ public class DocumentService {
         documentRepository.save(documentEntity);
     }
 
-    @Transactional(readOnly = true)
     public OffenderDocuments offenderDocumentsFor(Long offenderId, DocumentFilter filter) {
+        return documentQueryRunner.run(() -> documentsFor(offenderId, filter));
+    }
+
+    private OffenderDocuments documentsFor(Long offenderId, DocumentFilter filter) {
         final var eventCpsPackFilter = filter.hasDocument(Type.CPSPACK_DOCUMENT, Event::hasCpsPack);
         final var hasPreviousConvictionsFilter = filter.hasDocument(Type.PRECONS_DOCUMENT, this::hasPreviousConvictions);
 
-        final var eventDocuments = eventDocumentsFor(offenderId, filter);
-        final var courtReportDocuments = courtReportDocumentsFor(offenderId, filter);
-        final var institutionReportDocuments = institutionReportDocumentsFor(offenderId, filter);
-        final var approvedPremisesReferralDocuments = approvedPremisesReferralDocumentsFor(offenderId, filter);
-        final var assessmentDocuments = assessmentDocumentsFor(offenderId, filter);
-        final var caseAllocationDocuments = caseAllocationDocumentsFor(offenderId, filter);
-        final var referralDocuments = referralDocumentsFor(offenderId, filter);
-        final var allNsiDocuments = nsiDocumentsFor(offenderId, filter);
-        final var nsiEventDocuments = allNsiDocuments.stream().filter(this::isEventRelated).collect(toList());
-        final var upwAppointmentDocuments = upwAppointmentDocumentsFor(offenderId, filter);
-        final var allContactDocuments = contactDocumentsFor(offenderId, filter);
-        final var contactEventDocuments = allContactDocuments.stream().filter(this::isEventRelated).collect(toList());
-        final var events = eventRepository.findByOffenderId(offenderId);
-        final var offender = offenderRepository
+        final var cpsPackDocuments = eventDocuments(() -> eventsWithCpsPackFor(offenderId, eventCpsPackFilter), Event::getEventId, this::toOffenderDocumentDetailList);
+        final var eventDocuments = eventDocuments(() -> eventDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfEventDocuments);
+        final var courtReportDocuments = eventDocuments(() -> courtReportDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfCourtReportDocuments);
+        final var institutionReportDocuments = eventDocuments(() -> institutionReportDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfInstitutionReportDocuments);
+        final var approvedPremisesReferralDocuments = eventDocuments(() -> approvedPremisesReferralDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfApprovedPremisesReferralDocuments);
+        final var assessmentDocuments = eventDocuments(() -> assessmentDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfAssessmentDocuments);
+        final var caseAllocationDocuments = eventDocuments(() -> caseAllocationDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfCaseAllocationDocuments);
+        final var referralDocuments = eventDocuments(() -> referralDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfReferralDocuments);
+        final var nsiDocuments = eventDocuments(() -> nsiDocumentsFor(offenderId, filter), this::isEventRelated, this::eventId, DocumentTransformer::offenderDocumentsDetailsOfNsiDocuments);
+        final var upwAppointmentDocuments = eventDocuments(() -> upwAppointmentDocumentsFor(offenderId, filter), this::eventId, DocumentTransformer::offenderDocumentsDetailsOfUPWAppointmentDocuments);
+        final var contactDocuments = eventDocuments(() -> contactDocumentsFor(offenderId, filter), this::isEventRelated, this::eventId, DocumentTransformer::offenderDocumentsDetailsOfContactDocuments);
+        final var offenderRelatedDocuments = offenderDocuments(() -> offenderRelatedDocumentsFor(offenderId, filter), DocumentTransformer::offenderDocumentsDetailsOfOffenderDocuments);
+        final var addressAssessmentDocuments = offenderDocuments(() -> addressAssessmentDocumentsFor(offenderId, filter), DocumentTransformer::offenderDocumentsDetailsOfAddressAssessmentDocuments);
+        final var personalContactDocuments = offenderDocuments(() -> personalContactDocumentsFor(offenderId, filter), DocumentTransformer::offenderDocumentsDetailsOfPersonalContactDocuments);
+        final var personalCircumstanceDocuments = offenderDocuments(() -> personalCircumstanceDocumentsFor(offenderId, filter), DocumentTransformer::offenderDocumentsDetailsOfPersonalCircumstanceDocuments);
+
+        // the author of the previous convictions document is a lazy association so is mapped within the query
+        final var previousConvictions = documentQueryRunner.submit(() -> previousConvictions(offenderRepository
                 .findByOffenderId(offenderId)
-                .orElseThrow(() -> new RuntimeException(String.format("offenderDocumentsFor could not find offender %d", offenderId)));
-
-        final var setOfRelatedEventIds = ImmutableSet
-                .<Long>builder()
-                .addAll(events.stream().filter(eventCpsPackFilter).map(Event::getEventId).collect(toList()))
-                .addAll(eventDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(courtReportDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(institutionReportDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(approvedPremisesReferralDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(assessmentDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(caseAllocationDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(referralDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(nsiEventDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(upwAppointmentDocuments.stream().map(this::eventId).collect(toList()))
-                .addAll(contactEventDocuments.stream().map(this::eventId).collect(toList()))
-                .build();
+                .orElseThrow(() -> new RuntimeException(String.format("offenderDocumentsFor could not find offender %d", offenderId))), hasPreviousConvictionsFilter));
+
+        // the order conviction ids are first seen in
+        final var setOfRelatedEventIds = Stream.of(
+                cpsPackDocuments,
+                eventDocuments,
+                courtReportDocuments,
+                institutionReportDocuments,
+                approvedPremisesReferralDocuments,
+                assessmentDocuments,
+                caseAllocationDocuments,
+                referralDocuments,
+                nsiDocuments,
+                upwAppointmentDocuments,
+                contactDocuments)
+                .map(Supplier::get)
+                .flatMap(documents -> documents.getByEventId().keySet().stream())
+                .collect(toCollection(LinkedHashSet::new));
+
+        // the order documents are listed in within each conviction
+        final var documentsByEvent = Stream.of(
+                cpsPackDocuments,
+                eventDocuments,
+                courtReportDocuments,
+                institutionReportDocuments,
+                contactDocuments,
+                approvedPremisesReferralDocuments,
+                assessmentDocuments,
+                caseAllocationDocuments,
+                referralDocuments,
+                nsiDocuments,
+                upwAppointmentDocuments)
+                .map(Supplier::get)
+                .collect(toList());
 
         final var convictions = setOfRelatedEventIds
                 .stream()
                 .map(eventId -> ConvictionDocuments
                         .builder()
                         .convictionId(String.valueOf(eventId))
-                        .documents(
-                                ImmutableList.<OffenderDocumentDetail>builder()
-                                        .addAll(toOffenderDocumentDetailList(eventWithCPsPack(events, eventId, eventCpsPackFilter)))
-                                        .addAll(
-                                            DocumentTransformer
-                                            .offenderDocumentsDetailsOfEventDocuments(
-                                                    eventDocuments
-                                                            .stream()
-                                                            .filter(document -> eventId(document).equals(eventId))
-                                                            .collect(toList())))
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfCourtReportDocuments(
-                                                        courtReportDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfInstitutionReportDocuments(
-                                                        institutionReportDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfContactDocuments(
-                                                        contactEventDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfApprovedPremisesReferralDocuments(
-                                                        approvedPremisesReferralDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfAssessmentDocuments(
-                                                        assessmentDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfCaseAllocationDocuments(
-                                                        caseAllocationDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfReferralDocuments(
-                                                        referralDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfNsiDocuments(
-                                                        nsiEventDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .addAll(DocumentTransformer
-                                                .offenderDocumentsDetailsOfUPWAppointmentDocuments(
-                                                        upwAppointmentDocuments
-                                                                .stream()
-                                                                .filter(document -> eventId(document).equals(eventId))
-                                                                .collect(toList()))
-                                        )
-                                        .build()
-                        )
+                        .documents(documentsByEvent
+                                .stream()
+                                .flatMap(documents -> documents.getByEventId().getOrDefault(eventId, List.of()).stream())
+                                .collect(toImmutableList()))
                         .build())
                 .collect(toList());
 
@@ -203,31 +166,47 @@ public class DocumentService {
                 .builder()
                 .documents(
                         ImmutableList.<OffenderDocumentDetail>builder()
-                                .addAll(previousConvictions(offender, hasPreviousConvictionsFilter))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfOffenderDocuments(
-                                            offenderRelatedDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfAddressAssessmentDocuments(
-                                            addressAssessmentDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfPersonalContactDocuments(
-                                            personalContactDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfPersonalCircumstanceDocuments(
-                                            personalCircumstanceDocumentsFor(offenderId, filter)))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfContactDocuments(
-                                                allContactDocuments.stream().filter(not(this::isEventRelated)).collect(toList())))
-                                .addAll(DocumentTransformer
-                                        .offenderDocumentsDetailsOfNsiDocuments(
-                                                allNsiDocuments.stream().filter(not(this::isEventRelated)).collect(toList())))
+                                .addAll(previousConvictions.get())
+                                .addAll(offenderRelatedDocuments.get())
+                                .addAll(addressAssessmentDocuments.get())
+                                .addAll(personalContactDocuments.get())
+                                .addAll(personalCircumstanceDocuments.get())
+                                .addAll(contactDocuments.get().getOffenderRelated())
+                                .addAll(nsiDocuments.get().getOffenderRelated())
                                 .build()
                 )
                 .convictions(convictions)
                 .build();
     }
 
+    private <T> Supplier<SourceDocuments> eventDocuments(Supplier<List<T>> query, Function<T, Long> eventId, Function<List<T>, List<OffenderDocumentDetail>> transformer) {
+        return eventDocuments(query, document -> true, eventId, transformer);
+    }
+
+    private <T> Supplier<SourceDocuments> eventDocuments(Supplier<List<T>> query, Predicate<T> isEventRelated, Function<T, Long> eventId, Function<List<T>, List<OffenderDocumentDetail>> transformer) {
+        // grouping and transforming happens inside the query since both navigate lazy associations
+        return documentQueryRunner.submit(() -> {
+            final var documents = query.get();
+            final var byEventId = documents
+                    .stream()
+                    .filter(isEventRelated)
+                    .collect(groupingBy(eventId, LinkedHashMap::new, toList()));
+            final var transformedByEventId = new LinkedHashMap<Long, List<OffenderDocumentDetail>>();
+            byEventId.forEach((id, eventDocuments) -> transformedByEventId.put(id, transformer.apply(eventDocuments)));
+            return new SourceDocuments(
+                    transformedByEventId,
+                    transformer.apply(documents.stream().filter(not(isEventRelated)).collect(toList())));
+        });
+    }
+
+    private <T> Supplier<List<OffenderDocumentDetail>> offenderDocuments(Supplier<List<T>> query, Function<List<T>, List<OffenderDocumentDetail>> transformer) {
+        return documentQueryRunner.submit(() -> transformer.apply(query.get()));
+    }
+
+    private List<Event> eventsWithCpsPackFor(Long offenderId, Predicate<Event> eventCpsPackFilter) {
+        return eventRepository.findByOffenderId(offenderId).stream().filter(eventCpsPackFilter).collect(toList());
+    }
+
     private List<PersonalCircumstanceDocument> personalCircumstanceDocumentsFor(Long offenderId, DocumentFilter filter) {
         return filter.documentsFor(Type.PERSONAL_CIRCUMSTANCE_DOCUMENT, () -> personalCircumstanceDocumentRepository.findByOffenderId(offenderId));
     }
@@ -331,18 +310,11 @@ public class DocumentService {
         return Optional.ofNullable(document.getContact().getEvent()).map(Event::getEventId).orElseThrow(() -> new RuntimeException("requested eventId even when this is offender related"));
     }
 
-    private Optional<Event> eventWithCPsPack(List<Event> events, Long eventId, Predicate<Event> eventCpsPackFilter) {
-        return events
+    private List<OffenderDocumentDetail> toOffenderDocumentDetailList(List<Event> eventsWithCpsPack) {
+        return eventsWithCpsPack
                 .stream()
-                .filter(event -> event.getEventId().equals(eventId))
-                .filter(eventCpsPackFilter)
-                .findAny();
-    }
-
-    private List<OffenderDocumentDetail> toOffenderDocumentDetailList(Optional<Event> maybeEvent) {
-        return maybeEvent
-                .map(event -> ImmutableList.of(DocumentTransformer.offenderDocumentDetailsOfCpsPack(event)))
-                .orElseGet(ImmutableList::of);
+                .map(DocumentTransformer::offenderDocumentDetailsOfCpsPack)
+                .collect(toList());
     }
 
     private List<OffenderDocumentDetail> previousConvictions(Offender offender, Predicate<Offender> previousConvictionCheck) {
@@ -355,5 +327,10 @@ public class DocumentService {
     private boolean hasPreviousConvictions(Offender offender) {
         return StringUtils.hasText(offender.getPreviousConvictionsAlfrescoDocumentId());
     }
-}
 
+    @Value
+    private static class SourceDocuments {
+        Map<Long, List<OffenderDocumentDetail>> byEventId;
+        List<OffenderDocumentDetail> offenderRelated;
+    }
+}
@@ -0,0 +1,128 @@
+package uk.gov.justice.digital.delius.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
+import uk.gov.justice.digital.delius.jpa.standard.repository.SpgNotificationHelperRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static uk.gov.justice.digital.delius.config.CacheConfig.INTERESTED_CRCS;
+
+/**
+ * Finds the probation areas (CRCs) with an interest in an offender, which is who SPG notifications about them are sent
+ * to. Each lookup calls <code>pkg_search.procGetInterestedCRCs</code> so the answer is remembered for the rest of the
+ * current request, or the current transaction outside of a request. When <code>spg.interested-crcs.cache.enabled</code>
+ * is set it is also kept across requests for a short time in the <code>interestedCRCs</code> cache. Allocating or
+ * transferring an offender through this service must call {@link #invalidate(Long)} so later notifications go to the
+ * right areas.
+ */
+@Component
+@Slf4j
+public class InterestedCRCCache {
+    private static final String REQUEST_MEMO = InterestedCRCCache.class.getName() + ".memo";
+
+    private final SpgNotificationHelperRepository spgNotificationHelperRepository;
+    private final Cache recentlyResolved;
+
+    @Autowired
+    public InterestedCRCCache(SpgNotificationHelperRepository spgNotificationHelperRepository,
+                              CacheManager cacheManager,
+                              @Value("${spg.interested-crcs.cache.enabled:false}") boolean enabled) {
+        this(spgNotificationHelperRepository, enabled ? cacheManager.getCache(INTERESTED_CRCS) : null);
+        log.info("Interested CRCs will be {}", enabled ? "cached across requests" : "remembered for each request or transaction only");
+    }
+
+    InterestedCRCCache(SpgNotificationHelperRepository spgNotificationHelperRepository, Cache recentlyResolved) {
+        this.spgNotificationHelperRepository = spgNotificationHelperRepository;
+        this.recentlyResolved = recentlyResolved;
+    }
+
+    /**
+     * The probation areas returned are shared with other callers so must not be changed.
+     */
+    public List<ProbationArea> interestedIn(Long offenderId) {
+        final var memo = currentMemo();
+        final var memoised = memo.get(offenderId);
+        if (memoised != null) {
+            return memoised;
+        }
+        final var cached = recentlyResolved != null ? cachedFor(offenderId) : null;
+        final var interested = cached != null ? cached : resolve(offenderId);
+        memo.put(offenderId, interested);
+        return interested;
+    }
+
+    /**
+     * Forgets the areas interested in this offender. When they are cached across requests they are forgotten again
+     * once the current transaction completes, since another request may look them up before the change is committed.
+     */
+    public void invalidate(Long offenderId) {
+        currentMemo().remove(offenderId);
+        if (recentlyResolved == null) {
+            return;
+        }
+        recentlyResolved.evict(offenderId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    recentlyResolved.evict(offenderId);
+                }
+            });
+        }
+    }
+
+    private List<ProbationArea> resolve(Long offenderId) {
+        final var interested = List.copyOf(spgNotificationHelperRepository.getInterestedCRCs(String.valueOf(offenderId)));
+        if (recentlyResolved != null) {
+            recentlyResolved.put(offenderId, interested);
+        }
+        return interested;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProbationArea> cachedFor(Long offenderId) {
+        final var cached = recentlyResolved.get(offenderId);
+        return cached != null ? (List<ProbationArea>) cached.get() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<ProbationArea>> currentMemo() {
+        final var request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            var memo = (Map<Long, List<ProbationArea>>) request.getAttribute(REQUEST_MEMO, RequestAttributes.SCOPE_REQUEST);
+            if (memo == null) {
+                memo = new HashMap<>();
+                request.setAttribute(REQUEST_MEMO, memo, RequestAttributes.SCOPE_REQUEST);
+            }
+            return memo;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            var memo = (Map<Long, List<ProbationArea>>) TransactionSynchronizationManager.getResource(this);
+            if (memo == null) {
+                memo = new HashMap<>();
+                TransactionSynchronizationManager.bindResource(this, memo);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(InterestedCRCCache.this);
+                    }
+                });
+            }
+            return memo;
+        }
+        // nothing to remember it for
+        return new HashMap<>();
+    }
+}
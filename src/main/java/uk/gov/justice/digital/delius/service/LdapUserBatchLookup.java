@@ -0,0 +1,72 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.google.common.collect.Lists;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.digital.delius.helpers.BoundedExecutors.boundedExecutor;
+import static uk.gov.justice.digital.delius.helpers.BoundedExecutors.join;
+
+/**
+ * Looks up many LDAP users at once. Usernames are searched for in chunks, each chunk being a single search with an OR
+ * of the usernames, and the chunks are run concurrently on a small bounded pool so the time taken stays roughly the
+ * same however many users are requested.
+ */
+@Component
+public class LdapUserBatchLookup {
+    private final LdapRepository ldapRepository;
+    private final Executor executor;
+    private final int batchSize;
+
+    @Autowired
+    public LdapUserBatchLookup(LdapRepository ldapRepository,
+                               @Value("${delius.ldap.users.batch-size:50}") int batchSize,
+                               @Value("${delius.ldap.users.pool-size:4}") int poolSize) {
+        this(ldapRepository, boundedExecutor("ldap-user-lookup-", poolSize), batchSize);
+    }
+
+    LdapUserBatchLookup(LdapRepository ldapRepository, Executor executor, int batchSize) {
+        this.ldapRepository = ldapRepository;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return users that were found keyed by username, ignoring case as LDAP does
+     */
+    public Map<String, NDeliusUser> usersNoRolesByUsername(Collection<String> usernames) {
+        final var batches = Lists.partition(new ArrayList<>(usernames), batchSize);
+        final var usersByUsername = new TreeMap<String, NDeliusUser>(String.CASE_INSENSITIVE_ORDER);
+        if (batches.size() == 1) {
+            ldapRepository.getDeliusUsersNoRoles(batches.get(0)).forEach(user -> usersByUsername.putIfAbsent(user.getCn(), user));
+            return usersByUsername;
+        }
+
+        final var searches = batches
+                .stream()
+                .map(batch -> CompletableFuture.supplyAsync(() -> ldapRepository.getDeliusUsersNoRoles(batch), executor))
+                .collect(toList());
+        searches.forEach(search -> join(search).forEach(user -> usersByUsername.putIfAbsent(user.getCn(), user)));
+        return usersByUsername;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+}
@@ -7,9 +7,12 @@ import org.springframework.transaction.annotation.Transactional;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
 import uk.gov.justice.digital.delius.jpa.dao.OffenderDelta;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderDeltaLockingRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderDeltaRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +24,7 @@ public class OffenderDeltaService {
 
     private final JdbcTemplate jdbcTemplate;
     private final OffenderDeltaRepository offenderDeltaRepository;
+    private final OffenderDeltaLockingRepository offenderDeltaLockingRepository;
     @SuppressWarnings({"FieldCanBeLocal"})
     static final int IN_PROGRESS_IS_FAILED_AFTER_MINUTES = 10;
     /*
@@ -28,10 +32,17 @@ public class OffenderDeltaService {
      * that to avoid clashes
      */
     static final int WAIT_BEFORE_LOCKING_DELTA_SECONDS = 2;
+    /*
+     * Keeps the IN lists used when locking duplicates and updating a batch within Oracle's 1000 expression limit
+     */
+    public static final int MAX_UPDATES_PER_LOCK = 1000;
 
-    public OffenderDeltaService(JdbcTemplate jdbcTemplate, OffenderDeltaRepository offenderDeltaRepository) {
+    public OffenderDeltaService(JdbcTemplate jdbcTemplate,
+                                OffenderDeltaRepository offenderDeltaRepository,
+                                OffenderDeltaLockingRepository offenderDeltaLockingRepository) {
         this.jdbcTemplate = jdbcTemplate;
         this.offenderDeltaRepository = offenderDeltaRepository;
+        this.offenderDeltaLockingRepository = offenderDeltaLockingRepository;
     }
 
     public List<OffenderDelta> findAll() {
@@ -60,6 +71,64 @@ public class OffenderDeltaService {
         return transformAndLock(mayBeDelta);
     }
 
+    /**
+     * Locks up to count new updates in a single transaction. Rows are claimed with row level locks rather than
+     * optimistic locking, so concurrent callers are given different updates instead of failing and retrying.
+     */
+    @Transactional
+    public List<OffenderUpdate> lockNextUpdates(final int count) {
+        final var deltas = offenderDeltaLockingRepository.lockNext("CREATED", getCreatedCutOffTime(), count);
+        final var leadDeltas = new ArrayList<uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta>();
+        final var duplicateIds = new ArrayList<Long>();
+        final var seen = new HashSet<List<Object>>();
+
+        deltas.forEach(delta -> {
+            if (isDuplicateKeyed(delta) && !seen.add(duplicateKeyOf(delta))) {
+                duplicateIds.add(delta.getOffenderDeltaId());
+            } else {
+                leadDeltas.add(delta);
+            }
+        });
+        duplicateIds.addAll(offenderDeltaLockingRepository.lockDuplicatesOf(idsOf(leadDeltas)));
+
+        if (!duplicateIds.isEmpty()) {
+            offenderDeltaRepository.deleteAllByOffenderDeltaIds(duplicateIds);
+        }
+        return markAsInProgress(leadDeltas);
+    }
+
+    @Transactional
+    public List<OffenderUpdate> lockNextFailedUpdates(final int count) {
+        final var deltas = offenderDeltaLockingRepository.lockNext("INPROGRESS", getFailedCutoffDateTime(), count);
+
+        return markAsInProgress(deltas).stream().map(OffenderUpdate::setAsFailed).collect(toList());
+    }
+
+    private List<OffenderUpdate> markAsInProgress(final List<uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        offenderDeltaRepository.markAsInProgress(idsOf(deltas), LocalDateTime.now());
+        return deltas.stream()
+                .map(uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta::setInProgress)
+                .map(this::transformDelta)
+                .collect(toList());
+    }
+
+    private static boolean isDuplicateKeyed(final uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta delta) {
+        return delta.getSourceTable() != null && delta.getSourceRecordId() != null;
+    }
+
+    private static List<Object> duplicateKeyOf(final uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta delta) {
+        return List.of(delta.getOffenderId(), delta.getSourceTable(), delta.getSourceRecordId());
+    }
+
+    private static List<Long> idsOf(final List<uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta> deltas) {
+        return deltas.stream()
+                .map(uk.gov.justice.digital.delius.jpa.standard.entity.OffenderDelta::getOffenderDeltaId)
+                .collect(toList());
+    }
+
     private LocalDateTime getCreatedCutOffTime() {
         return LocalDateTime.now().minusSeconds(WAIT_BEFORE_LOCKING_DELTA_SECONDS);
     }
@@ -104,4 +173,22 @@ public class OffenderDeltaService {
                 .orElseThrow(() -> new NotFoundException(format("Cannot mark as failed for offenderDeltaId %s", offenderDeltaId)))
                 .markAsFailed();
     }
+
+    @Transactional
+    public void deleteDeltas(final List<Long> offenderDeltaIds) {
+        offenderDeltaRepository.deleteAllByOffenderDeltaIds(offenderDeltaIds);
+    }
+
+    @Transactional
+    public void markAsFailed(final List<Long> offenderDeltaIds) {
+        offenderDeltaRepository.markAsFailed(offenderDeltaIds, LocalDateTime.now());
+    }
+
+    /**
+     * Gives up the claim on updates that were locked but never handed out, so they are locked again as new updates.
+     */
+    @Transactional
+    public void releaseDeltas(final List<Long> offenderDeltaIds) {
+        offenderDeltaRepository.markAsCreated(offenderDeltaIds, LocalDateTime.now());
+    }
 }
@@ -0,0 +1,45 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static uk.gov.justice.digital.delius.config.CacheConfig.CRNS_BY_OFFENDER_ID;
+import static uk.gov.justice.digital.delius.config.CacheConfig.OFFENDER_IDS_BY_CRN;
+
+/**
+ * Cache of the offender id to CRN mapping. Neither identifier changes once an offender has been created so entries
+ * never need invalidating; NOMS numbers can change so are not cached here.
+ */
+@Component
+public class OffenderIdentifierCache {
+    private final Cache crnsByOffenderId;
+    private final Cache offenderIdsByCrn;
+
+    public OffenderIdentifierCache(CacheManager cacheManager) {
+        this.crnsByOffenderId = cacheManager.getCache(CRNS_BY_OFFENDER_ID);
+        this.offenderIdsByCrn = cacheManager.getCache(OFFENDER_IDS_BY_CRN);
+    }
+
+    public Optional<String> crnOf(Long offenderId, Supplier<Optional<OffenderPrimaryIdentifiers>> loader) {
+        return Optional.ofNullable(crnsByOffenderId.get(offenderId, String.class))
+                .or(() -> loader.get().map(this::put).map(OffenderPrimaryIdentifiers::getCrn));
+    }
+
+    public Optional<Long> offenderIdOf(String crn, Supplier<Optional<OffenderPrimaryIdentifiers>> loader) {
+        return Optional.ofNullable(offenderIdsByCrn.get(crn, Long.class))
+                .or(() -> loader.get().map(this::put).map(OffenderPrimaryIdentifiers::getOffenderId));
+    }
+
+    public OffenderPrimaryIdentifiers put(OffenderPrimaryIdentifiers identifiers) {
+        if (identifiers.getOffenderId() != null && identifiers.getCrn() != null) {
+            crnsByOffenderId.put(identifiers.getOffenderId(), identifiers.getCrn());
+            offenderIdsByCrn.put(identifiers.getCrn(), identifiers.getOffenderId());
+        }
+        return identifiers;
+    }
+}
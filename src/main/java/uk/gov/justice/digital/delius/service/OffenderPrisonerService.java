@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.service;
 
+import com.microsoft.applicationinsights.TelemetryClient;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -7,29 +8,65 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.*;
 import uk.gov.justice.digital.delius.jpa.standard.repository.EventRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrisonerRepository;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
 @Service
 public class OffenderPrisonerService {
     private final EventRepository eventRepository;
     private final OffenderPrisonerRepository offenderPrisonerRepository;
+    private final TelemetryClient telemetryClient;
 
-    public OffenderPrisonerService(EventRepository eventRepository, OffenderPrisonerRepository offenderPrisonerRepository) {
+    public OffenderPrisonerService(EventRepository eventRepository, OffenderPrisonerRepository offenderPrisonerRepository, TelemetryClient telemetryClient) {
         this.eventRepository = eventRepository;
         this.offenderPrisonerRepository = offenderPrisonerRepository;
+        this.telemetryClient = telemetryClient;
     }
 
+    /**
+     * Brings the offender's prisoner numbers in line with those of their custodial events. Only numbers that are new
+     * are inserted and only those no longer on any event are deleted, so when nothing has changed nothing is written.
+     */
     @Transactional
     public Offender refreshOffenderPrisonersFor(Offender offender) {
         final var offenderId = offender.getOffenderId();
         final var events = eventRepository.findByOffenderId(offenderId);
-        offenderPrisonerRepository.deleteAllByOffenderId(offenderId);
-        offenderPrisonerRepository.saveAll(createOffenderPrisonersFromEvents(offenderId, events));
+        final var offenderPrisoners = createOffenderPrisonersFromEvents(offenderId, events);
+        final var existingOffenderPrisoners = offenderPrisonerRepository.findAllByOffenderId(offenderId);
+
+        final var prisonerNumbers = prisonerNumbersOf(offenderPrisoners);
+        final var existingPrisonerNumbers = prisonerNumbersOf(existingOffenderPrisoners);
+        final var vanished = existingOffenderPrisoners
+                .stream()
+                .filter(offenderPrisoner -> !prisonerNumbers.contains(offenderPrisoner.getPrisonerNumber()))
+                .collect(toList());
+        final var added = offenderPrisoners
+                .stream()
+                .filter(offenderPrisoner -> !existingPrisonerNumbers.contains(offenderPrisoner.getPrisonerNumber()))
+                .collect(toList());
+
+        if (!vanished.isEmpty()) {
+            offenderPrisonerRepository.deleteAll(vanished);
+        }
+        if (!added.isEmpty()) {
+            offenderPrisonerRepository.saveAll(added);
+        }
         offender.setMostRecentPrisonerNumber(getPrisonNumberFromLatestEvent(events));
+
+        telemetryClient.trackEvent(
+                "OffenderPrisonersRefreshed",
+                Map.of("crn", offender.getCrn()),
+                Map.of("inserted", (double) added.size(),
+                        "deleted", (double) vanished.size(),
+                        "unchanged", (double) (existingOffenderPrisoners.size() - vanished.size())));
         return offender;
     }
 
@@ -62,4 +99,8 @@ public class OffenderPrisonerService {
                         .build())
                 .collect(Collectors.toSet());
     }
+
+    private static Set<String> prisonerNumbersOf(Collection<OffenderPrisoner> offenderPrisoners) {
+        return offenderPrisoners.stream().map(OffenderPrisoner::getPrisonerNumber).collect(toSet());
+    }
 }
@@ -1,10 +1,13 @@
 package uk.gov.justice.digital.delius.service;
 
+import com.google.common.collect.Lists;
 import io.vavr.control.Either;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.justice.digital.delius.controller.CustodyNotFoundException;
@@ -12,9 +15,12 @@ import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.OffenderDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderDetailSummary;
 import uk.gov.justice.digital.delius.data.api.OffenderIdentifiers;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearch;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearchResult;
 import uk.gov.justice.digital.delius.data.api.OffenderLatestRecall;
 import uk.gov.justice.digital.delius.data.api.OffenderManager;
 import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiersSlice;
 import uk.gov.justice.digital.delius.data.api.ResponsibleOfficer;
 import uk.gov.justice.digital.delius.data.filters.OffenderFilter;
 import uk.gov.justice.digital.delius.jpa.filters.OffenderFilterTransformer;
@@ -23,6 +29,8 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.Custody;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Disposal;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderLimitedAccessRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrimaryIdentifiersRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository.DuplicateOffenderException;
@@ -30,19 +38,33 @@ import uk.gov.justice.digital.delius.transformers.OffenderTransformer;
 import uk.gov.justice.digital.delius.transformers.ReleaseTransformer;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static java.util.function.Function.identity;
 import static java.util.function.Predicate.not;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Service
 @Slf4j
 @AllArgsConstructor
 public class OffenderService {
+    static final int IDENTIFIER_SEARCH_CHUNK_SIZE = 500;
 
     private final OffenderRepository offenderRepository;
     private final OffenderPrimaryIdentifiersRepository offenderPrimaryIdentifiersRepository;
     private final ConvictionService convictionService;
+    private final OffenderLimitedAccessRepository offenderLimitedAccessRepository;
+    private final OffenderIdentifierCache offenderIdentifierCache;
 
     @Transactional(readOnly = true)
     public Optional<OffenderDetail> getOffenderByOffenderId(Long offenderId) {
@@ -93,19 +115,28 @@ public class OffenderService {
     }
 
     public Optional<String> crnOf(Long offenderId) {
-        return offenderRepository.findByOffenderId(offenderId).map(Offender::getCrn);
+        return offenderIdentifierCache.crnOf(offenderId, () -> offenderPrimaryIdentifiersRepository.findById(offenderId));
     }
 
     public Optional<String> crnOf(String nomsNumber) {
-        return offenderRepository.findByNomsNumber(nomsNumber).map(Offender::getCrn);
+        return offenderPrimaryIdentifiersRepository.findByNomsNumber(nomsNumber)
+                .map(offenderIdentifierCache::put)
+                .map(OffenderPrimaryIdentifiers::getCrn);
     }
 
     public Optional<Long> offenderIdOfCrn(String crn) {
-        return offenderRepository.findByCrn(crn).map(Offender::getOffenderId);
+        return offenderIdentifierCache.offenderIdOf(crn, () -> offenderPrimaryIdentifiersRepository.findByCrn(crn));
     }
 
     public Optional<Long> offenderIdOfNomsNumber(String nomsNumber) {
-        return offenderRepository.findByNomsNumber(nomsNumber).map(Offender::getOffenderId);
+        return offenderPrimaryIdentifiersRepository.findByNomsNumber(nomsNumber)
+                .map(offenderIdentifierCache::put)
+                .map(OffenderPrimaryIdentifiers::getOffenderId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OffenderDetail> getOffenderLimitedAccessByCrn(String crn) {
+        return offenderLimitedAccessRepository.findByCrn(crn).map(OffenderTransformer::limitedAccessOf);
     }
 
     public Either<DuplicateOffenderException, Optional<Long>> singleOffenderIdOfNomsNumber(String nomsNumber) {
@@ -168,6 +199,17 @@ public class OffenderService {
         return offenderIds;
     }
 
+    public List<BigDecimal> offenderIdsAfter(long afterOffenderId, int limit) {
+        return offenderRepository.listOffenderIdsAfter(afterOffenderId, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachOffenderId(Consumer<Long> consumer) {
+        try (final var offenderIds = offenderRepository.streamOffenderIds()) {
+            offenderIds.forEach(consumer);
+        }
+    }
+
     public Long getOffenderCount() {
         return offenderRepository.count();
     }
@@ -235,12 +277,93 @@ public class OffenderService {
     public Page<PrimaryIdentifiers> getAllPrimaryIdentifiers(OffenderFilter filter, Pageable pageable) {
         return offenderPrimaryIdentifiersRepository
                 .findAll(OffenderFilterTransformer.fromFilter(filter), pageable)
-                .map(offender -> PrimaryIdentifiers
-                        .builder()
-                        .crn(offender.getCrn())
-                        .offenderId(offender.getOffenderId())
-                        .build());
+                .map(OffenderService::primaryIdentifiersOf);
     }
 
+    /**
+     * Keyset alternative to {@link #getAllPrimaryIdentifiers(OffenderFilter, Pageable)} ordered by offenderId. One extra
+     * row is read to tell whether another slice follows so no count query is needed and each slice costs the same
+     * however deep into the results the caller is.
+     */
+    @NationalUserOverride
+    @Transactional(readOnly = true)
+    public PrimaryIdentifiersSlice getPrimaryIdentifiersAfter(OffenderFilter filter, Optional<Long> afterOffenderId, int size) {
+        final Specification<OffenderPrimaryIdentifiers> afterSpecification = afterOffenderId
+                .<Specification<OffenderPrimaryIdentifiers>>map(offenderId -> (root, query, cb) -> cb.greaterThan(root.get("offenderId"), offenderId))
+                .orElse((root, query, cb) -> cb.conjunction());
+        final var offenders = offenderPrimaryIdentifiersRepository.findAll(
+                OffenderFilterTransformer.fromFilter(filter).and(afterSpecification),
+                Sort.by("offenderId"),
+                size + 1);
+        final var content = offenders
+                .stream()
+                .limit(size)
+                .map(OffenderService::primaryIdentifiersOf)
+                .collect(toList());
+        return PrimaryIdentifiersSlice
+                .builder()
+                .content(content)
+                .continuationToken(offenders.size() > size ? String.valueOf(content.get(content.size() - 1).getOffenderId()) : null)
+                .build();
+    }
 
+    /**
+     * Translates many identifiers at once. Each kind of identifier is looked up with IN lists of at most
+     * {@value #IDENTIFIER_SEARCH_CHUNK_SIZE} values, so thousands of identifiers take a handful of queries. A NOMS
+     * number shared by more than one offender is reported as a duplicate rather than matched to one of them.
+     */
+    @Transactional(readOnly = true)
+    public OffenderIdentifiersSearchResult searchPrimaryIdentifiers(OffenderIdentifiersSearch search) {
+        final var crns = Optional.ofNullable(search.getCrns()).orElse(Set.of());
+        final var nomsNumbers = Optional.ofNullable(search.getNomsNumbers()).orElse(Set.of());
+        final var offenderIds = Optional.ofNullable(search.getOffenderIds()).orElse(Set.of());
+
+        final var byCrn = inChunks(crns, offenderPrimaryIdentifiersRepository::findAllByCrnIn)
+                .collect(toMap(OffenderPrimaryIdentifiers::getCrn, identity(), (first, second) -> first));
+        final var offendersByUpperCaseNomsNumber = inChunks(
+                nomsNumbers.stream().map(String::toUpperCase).collect(toSet()),
+                offenderPrimaryIdentifiersRepository::findAllByUpperCaseNomsNumberIn)
+                .collect(groupingBy(offender -> offender.getNomsNumber().toUpperCase()));
+        final Function<String, OffenderPrimaryIdentifiers> uniqueOffenderOfNomsNumber = nomsNumber -> Optional
+                .ofNullable(offendersByUpperCaseNomsNumber.get(nomsNumber.toUpperCase()))
+                .filter(offenders -> offenders.size() == 1)
+                .map(offenders -> offenders.get(0))
+                .orElse(null);
+        final var byOffenderId = inChunks(offenderIds, offenderPrimaryIdentifiersRepository::findAllByOffenderIdIn)
+                .collect(toMap(OffenderPrimaryIdentifiers::getOffenderId, identity()));
+
+        return OffenderIdentifiersSearchResult
+                .builder()
+                .crns(matchesOf(crns, byCrn::get))
+                .nomsNumbers(matchesOf(nomsNumbers, uniqueOffenderOfNomsNumber))
+                .duplicateNomsNumbers(nomsNumbers
+                        .stream()
+                        .filter(nomsNumber -> offendersByUpperCaseNomsNumber.getOrDefault(nomsNumber.toUpperCase(), List.of()).size() > 1)
+                        .collect(toSet()))
+                .offenderIds(matchesOf(offenderIds, byOffenderId::get))
+                .build();
+    }
+
+    private <T> Stream<OffenderPrimaryIdentifiers> inChunks(Set<T> identifiers, Function<List<T>, List<OffenderPrimaryIdentifiers>> query) {
+        return Lists.partition(List.copyOf(identifiers), IDENTIFIER_SEARCH_CHUNK_SIZE)
+                .stream()
+                .flatMap(chunk -> query.apply(chunk).stream())
+                .map(offenderIdentifierCache::put);
+    }
+
+    private static <T> Map<T, PrimaryIdentifiers> matchesOf(Set<T> identifiers, Function<T, OffenderPrimaryIdentifiers> lookup) {
+        final var matches = new LinkedHashMap<T, PrimaryIdentifiers>();
+        identifiers.forEach(identifier -> Optional.ofNullable(lookup.apply(identifier))
+                .ifPresent(offender -> matches.put(identifier, primaryIdentifiersOf(offender))));
+        return matches;
+    }
+
+    private static PrimaryIdentifiers primaryIdentifiersOf(OffenderPrimaryIdentifiers offender) {
+        return PrimaryIdentifiers
+                .builder()
+                .crn(offender.getCrn())
+                .offenderId(offender.getOffenderId())
+                .nomsNumber(offender.getNomsNumber())
+                .build();
+    }
 }
@@ -0,0 +1,229 @@
+package uk.gov.justice.digital.delius.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.digital.delius.helpers.BoundedExecutors.boundedExecutor;
+
+/**
+ * Fans offender updates out to streaming subscribers. Each subscriber has a bounded buffer of claimed updates that
+ * is drained as it requests more, so a client reading one update at a time is not limited to one claim per poll.
+ * Updates are claimed in batches to fill the buffers, on a schedule and again as soon as a buffer runs low while
+ * the last claim suggested more updates are waiting. The number of subscribers does not change how often an empty
+ * queue is polled.
+ */
+@Service
+@Slf4j
+public class OffenderUpdatesPublisher {
+
+    private final OffenderUpdatesService offenderUpdatesService;
+    private final int maxBatchSize;
+    private final int bufferSize;
+    private final Executor refillExecutor;
+    private final Set<UpdateSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refillPending = new AtomicBoolean();
+    private volatile boolean updatesMayBeWaiting = true;
+
+    @Autowired
+    public OffenderUpdatesPublisher(OffenderUpdatesService offenderUpdatesService,
+                                    @Value("${offender-updates.stream.max-batch-size:100}") int maxBatchSize,
+                                    @Value("${offender-updates.stream.buffer-size:100}") int bufferSize) {
+        this(offenderUpdatesService, maxBatchSize, bufferSize, boundedExecutor("offender-updates-refill-", 1));
+    }
+
+    OffenderUpdatesPublisher(OffenderUpdatesService offenderUpdatesService, int maxBatchSize, int bufferSize, Executor refillExecutor) {
+        this.offenderUpdatesService = offenderUpdatesService;
+        this.maxBatchSize = maxBatchSize;
+        this.bufferSize = bufferSize;
+        this.refillExecutor = refillExecutor;
+    }
+
+    public Flux<OffenderUpdate> subscribe() {
+        return Flux.create(sink -> {
+            final var subscriber = new UpdateSubscriber(sink);
+            sink.onRequest(subscriber::request);
+            sink.onDispose(() -> {
+                subscribers.remove(subscriber);
+                subscriber.releaseBuffered();
+            });
+            subscribers.add(subscriber);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${offender-updates.stream.poll-interval-millis:1000}")
+    public void poll() {
+        updatesMayBeWaiting = true;
+        claimWhileBuffersHaveSpace();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private synchronized void claimWhileBuffersHaveSpace() {
+        while (updatesMayBeWaiting) {
+            final var requested = (int) Math.min(totalSpace(), maxBatchSize);
+            if (requested == 0) {
+                return;
+            }
+            final var offenderUpdates = offenderUpdatesService.getAndLockNextUpdates(requested);
+            updatesMayBeWaiting = offenderUpdates.size() == requested;
+            distribute(offenderUpdates);
+        }
+    }
+
+    /**
+     * Claims more updates away from the subscriber's thread; requests made while a refill is already pending are
+     * coalesced into it.
+     */
+    private void refillSoon() {
+        if (updatesMayBeWaiting && refillPending.compareAndSet(false, true)) {
+            refillExecutor.execute(() -> {
+                refillPending.set(false);
+                claimWhileBuffersHaveSpace();
+            });
+        }
+    }
+
+    private long totalSpace() {
+        return subscribers.stream().mapToLong(UpdateSubscriber::space).sum();
+    }
+
+    private void distribute(final List<OffenderUpdate> offenderUpdates) {
+        final var remaining = new ArrayDeque<>(offenderUpdates);
+        while (!remaining.isEmpty()) {
+            final var withRoom = subscribers.stream().filter(UpdateSubscriber::hasRoom).collect(toList());
+            if (withRoom.isEmpty()) {
+                break;
+            }
+            withRoom.stream()
+                    .takeWhile(subscriber -> !remaining.isEmpty())
+                    .forEach(subscriber -> {
+                        if (!subscriber.offer(remaining.peek())) {
+                            return;
+                        }
+                        remaining.poll();
+                    });
+        }
+        if (!remaining.isEmpty()) {
+            release(remaining);
+        }
+    }
+
+    private void release(final Queue<OffenderUpdate> offenderUpdates) {
+        // subscribers went away after the updates were claimed; releasing them lets a later claim find them again
+        log.warn("{} offender updates were claimed but not sent as subscribers disconnected", offenderUpdates.size());
+        offenderUpdatesService.releaseUpdates(offenderUpdates.stream().map(OffenderUpdate::getOffenderDeltaId).collect(toList()));
+    }
+
+    private class UpdateSubscriber {
+        private final FluxSink<OffenderUpdate> sink;
+        private final Queue<OffenderUpdate> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger drainsInProgress = new AtomicInteger();
+        private volatile boolean requestedAny;
+
+        private UpdateSubscriber(FluxSink<OffenderUpdate> sink) {
+            this.sink = sink;
+        }
+
+        private void request(long requested) {
+            requestedAny = true;
+            demand.accumulateAndGet(requested, OffenderUpdatesPublisher::addCapped);
+            drain();
+        }
+
+        /**
+         * Nothing is claimed for a subscriber until it has asked for something, and then only once its buffer is down
+         * to half full so that claims stay in batches while it reads one update at a time
+         */
+        private long space() {
+            if (!requestedAny || sink.isCancelled()) {
+                return 0;
+            }
+            final var bufferedNow = buffered.get();
+            return bufferedNow <= bufferSize / 2 ? bufferSize - bufferedNow : 0;
+        }
+
+        private boolean hasRoom() {
+            return !sink.isCancelled() && buffered.get() < bufferSize;
+        }
+
+        private boolean offer(OffenderUpdate offenderUpdate) {
+            if (sink.isCancelled()) {
+                return false;
+            }
+            buffer.add(offenderUpdate);
+            buffered.incrementAndGet();
+            if (sink.isCancelled()) {
+                // disposed while being offered, so whatever is left would not be released by the dispose
+                releaseBuffered();
+                return true;
+            }
+            drain();
+            return true;
+        }
+
+        /**
+         * Sends buffered updates while there is demand. Requests made from inside onNext re-enter here, so only the
+         * outermost call sends and the others just ask it to go round again.
+         */
+        private void drain() {
+            if (drainsInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            var missed = 1;
+            do {
+                while (demand.get() > 0 && !sink.isCancelled()) {
+                    final var offenderUpdate = buffer.poll();
+                    if (offenderUpdate == null) {
+                        break;
+                    }
+                    buffered.decrementAndGet();
+                    demand.decrementAndGet();
+                    sink.next(offenderUpdate);
+                }
+                missed = drainsInProgress.addAndGet(-missed);
+            } while (missed != 0);
+
+            if (buffered.get() <= bufferSize / 2 && !sink.isCancelled()) {
+                refillSoon();
+            }
+        }
+
+        private void releaseBuffered() {
+            final var unsent = new ArrayDeque<OffenderUpdate>();
+            for (var offenderUpdate = buffer.poll(); offenderUpdate != null; offenderUpdate = buffer.poll()) {
+                buffered.decrementAndGet();
+                unsent.add(offenderUpdate);
+            }
+            if (!unsent.isEmpty()) {
+                release(unsent);
+            }
+        }
+    }
+
+    private static long addCapped(long left, long right) {
+        final var sum = left + right;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
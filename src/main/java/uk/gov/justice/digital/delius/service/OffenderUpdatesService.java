@@ -8,6 +8,8 @@ import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -31,6 +33,14 @@ public class OffenderUpdatesService {
         return maybeOffenderUpdate;
     }
 
+    public List<OffenderUpdate> getAndLockNextUpdates(final int count) {
+        final var offenderUpdates = new ArrayList<>(offenderDeltaService.lockNextUpdates(count));
+        if (offenderUpdates.size() < count) {
+            offenderUpdates.addAll(offenderDeltaService.lockNextFailedUpdates(count - offenderUpdates.size()));
+        }
+        return offenderUpdates;
+    }
+
     private Optional<OffenderUpdate> lockNext(final Supplier<Optional<OffenderUpdate>> supplier) {
         for (int i = 0; i < retries; i++) {
             try {
@@ -55,4 +65,19 @@ public class OffenderUpdatesService {
     public void markAsFailed(final Long offenderDeltaId) {
         offenderDeltaService.markAsFailed(offenderDeltaId);
     }
+
+    @Transactional
+    public void deleteUpdates(final List<Long> offenderDeltaIds) {
+        offenderDeltaService.deleteDeltas(offenderDeltaIds);
+    }
+
+    @Transactional
+    public void markAsFailed(final List<Long> offenderDeltaIds) {
+        offenderDeltaService.markAsFailed(offenderDeltaIds);
+    }
+
+    @Transactional
+    public void releaseUpdates(final List<Long> offenderDeltaIds) {
+        offenderDeltaService.releaseDeltas(offenderDeltaIds);
+    }
 }
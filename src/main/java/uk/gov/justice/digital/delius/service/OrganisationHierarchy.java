@@ -0,0 +1,150 @@
+package uk.gov.justice.digital.delius.service;
+
+import lombok.Value;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Borough;
+import uk.gov.justice.digital.delius.jpa.standard.entity.District;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Team;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.flatMapping;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toUnmodifiableList;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+/**
+ * Immutable snapshot of the probation area &rarr; borough &rarr; district (LDU) &rarr; team structure. The views served
+ * by the reference data endpoints are worked out once when the snapshot is built so lookups are a map access.
+ */
+public class OrganisationHierarchy {
+    private final List<Area> probationAreas;
+    private final Map<String, Area> probationAreasByCode;
+    private final Set<String> teamCodes;
+
+    private OrganisationHierarchy(List<Area> probationAreas, Set<String> teamCodes) {
+        this.probationAreas = probationAreas;
+        this.probationAreasByCode = probationAreas.stream()
+                .collect(LinkedHashMap::new, (areas, area) -> areas.putIfAbsent(area.getCode(), area), Map::putAll);
+        this.teamCodes = teamCodes;
+    }
+
+    /**
+     * Walks the boroughs, districts and teams of each area so they must either be loaded already or the walk must
+     * take place within a session.
+     */
+    public static OrganisationHierarchy of(Collection<ProbationArea> probationAreas) {
+        return new OrganisationHierarchy(
+                probationAreas.stream().map(OrganisationHierarchy::areaOf).collect(toUnmodifiableList()),
+                probationAreas.stream()
+                        .flatMap(OrganisationHierarchy::districtsOf)
+                        .flatMap(OrganisationHierarchy::teamsOf)
+                        .map(Team::getCode)
+                        .collect(toUnmodifiableSet()));
+    }
+
+    public static OrganisationHierarchy empty() {
+        return new OrganisationHierarchy(List.of(), Set.of());
+    }
+
+    public Optional<Area> probationArea(String code) {
+        return Optional.ofNullable(probationAreasByCode.get(code));
+    }
+
+    public Stream<Area> probationAreas(boolean restrictActive) {
+        return probationAreas.stream()
+                .filter(area -> !area.isEstablishment())
+                .filter(area -> !restrictActive || area.isSelectable());
+    }
+
+    public boolean hasTeam(String code) {
+        return teamCodes.contains(code);
+    }
+
+    public int size() {
+        return probationAreas.size();
+    }
+
+    private static Area areaOf(ProbationArea probationArea) {
+        final var districts = districtsOf(probationArea).collect(toList());
+        final var selectable = districts.stream().filter(OrganisationHierarchy::isSelectable).collect(toList());
+
+        return new Area(
+                probationArea.getCode(),
+                probationArea.getDescription(),
+                "Y".equals(probationArea.getSelectable()),
+                probationArea.getEstablishment() != null,
+                selectable.stream().map(OrganisationHierarchy::lduOf).collect(toUnmodifiableList()),
+                districts.stream()
+                        .filter(OrganisationHierarchy::isPossiblyActive)
+                        .map(OrganisationHierarchy::lduOf)
+                        .collect(toUnmodifiableList()),
+                // ldu code is not primary key so duplicates can exist - teams of all LDUs with the same code are grouped
+                selectable.stream().collect(collectingAndThen(
+                        groupingBy(
+                                District::getCode,
+                                LinkedHashMap::new,
+                                flatMapping(
+                                        district -> teamsOf(district).map(team -> new TeamUnit(team.getCode(), team.getDescription())),
+                                        toUnmodifiableList())),
+                        Collections::unmodifiableMap)));
+    }
+
+    private static Ldu lduOf(District district) {
+        return new Ldu(district.getDistrictId(), district.getCode(), district.getDescription());
+    }
+
+    private static Stream<District> districtsOf(ProbationArea probationArea) {
+        // LDUs are represented as districts in the delius schema
+        return Optional.ofNullable(probationArea.getBoroughs()).stream()
+                .flatMap(List::stream)
+                .map(Borough::getDistricts)
+                .flatMap(districts -> Optional.ofNullable(districts).stream().flatMap(List::stream));
+    }
+
+    private static Stream<Team> teamsOf(District district) {
+        return Optional.ofNullable(district.getTeams()).stream().flatMap(List::stream);
+    }
+
+    private static boolean isSelectable(District district) {
+        return "Y".equalsIgnoreCase(district.getSelectable());
+    }
+
+    private static boolean isPossiblyActive(District district) {
+        // current (non-historic) only, which includes the unallocated LDUs even though they are not selectable
+        return isSelectable(district) || district.getCode().endsWith("UAT") || district.getCode().endsWith("UNA") || district.getCode().endsWith("IAV");
+    }
+
+    @Value
+    public static class Area {
+        String code;
+        String description;
+        boolean selectable;
+        boolean establishment;
+        List<Ldu> selectableLocalDeliveryUnits;
+        List<Ldu> possiblyActiveLocalDeliveryUnits;
+        Map<String, List<TeamUnit>> teamsBySelectableLocalDeliveryUnitCode;
+    }
+
+    @Value
+    public static class Ldu {
+        Long id;
+        String code;
+        String description;
+    }
+
+    @Value
+    public static class TeamUnit {
+        String code;
+        String description;
+    }
+}
@@ -0,0 +1,97 @@
+package uk.gov.justice.digital.delius.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.jpa.standard.repository.BoroughRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.DistrictRepository;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
+
+/**
+ * Holds the current {@link OrganisationHierarchy}. It is loaded when the application starts, reloaded on a schedule
+ * (<code>organisation-hierarchy.refresh-interval-millis</code>) to pick up changes made in Delius and reloaded straight
+ * after any change to the structure made by this service has been committed.
+ */
+@Service
+@Slf4j
+public class OrganisationHierarchyService {
+    private final ProbationAreaRepository probationAreaRepository;
+    private final BoroughRepository boroughRepository;
+    private final DistrictRepository districtRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile OrganisationHierarchy current;
+
+    @Autowired
+    public OrganisationHierarchyService(ProbationAreaRepository probationAreaRepository,
+                                        BoroughRepository boroughRepository,
+                                        DistrictRepository districtRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.probationAreaRepository = probationAreaRepository;
+        this.boroughRepository = boroughRepository;
+        this.districtRepository = districtRepository;
+        this.readOnlyTransaction = readOnlyTransaction(transactionManager);
+    }
+
+    public OrganisationHierarchy current() {
+        if (current == null) {
+            refresh();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${organisation-hierarchy.refresh-interval-millis:900000}")
+    public synchronized void refresh() {
+        current = readOnlyTransaction.execute(status -> {
+            // each level is fetched in one query so the walk below finds every collection already initialised
+            final var probationAreas = probationAreaRepository.findAllWithBoroughs();
+            boroughRepository.findAllWithDistricts();
+            districtRepository.findAllWithTeams();
+            return OrganisationHierarchy.of(probationAreas);
+        });
+        log.info("Loaded organisation hierarchy of {} probation areas", current.size());
+    }
+
+    /**
+     * Reloads the hierarchy once the current transaction commits so the change is visible to the next lookup; however
+     * many changes the transaction makes it is only reloaded once. A failure to reload is only logged since the
+     * scheduled refresh will pick up the change anyway.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshQuietly();
+            return;
+        }
+        if (TransactionSynchronizationManager.getSynchronizations().stream().noneMatch(RefreshAfterCommit.class::isInstance)) {
+            TransactionSynchronizationManager.registerSynchronization(new RefreshAfterCommit());
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Unable to reload the organisation hierarchy after a change, it will be reloaded on the next refresh", e);
+        }
+    }
+
+    private class RefreshAfterCommit implements TransactionSynchronization {
+        @Override
+        public void afterCommit() {
+            refreshQuietly();
+        }
+    }
+
+    private static TransactionTemplate readOnlyTransaction(PlatformTransactionManager transactionManager) {
+        final var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        // may be called after a commit while the finished transaction is still bound to the thread
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
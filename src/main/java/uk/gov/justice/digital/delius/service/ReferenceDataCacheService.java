@@ -0,0 +1,62 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import uk.gov.justice.digital.delius.controller.NotFoundException;
+import uk.gov.justice.digital.delius.data.api.CacheStatistics;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.digital.delius.config.CacheConfig.REFERENCE_DATA_CACHES;
+
+@Service
+@Slf4j
+@AllArgsConstructor
+public class ReferenceDataCacheService {
+    private final CacheManager cacheManager;
+    private final OrganisationHierarchyService organisationHierarchyService;
+
+    /*
+     * Only the reference data caches are reported and evicted here, the user and access caches are short lived and
+     * managed by their own services
+     */
+    public List<CacheStatistics> getCacheStatistics() {
+        return REFERENCE_DATA_CACHES.stream()
+            .sorted()
+            .map(cacheManager::getCache)
+            .filter(cache -> cache instanceof CaffeineCache)
+            .map(cache -> statisticsOf(cache.getName(), ((CaffeineCache) cache).getNativeCache()))
+            .collect(toList());
+    }
+
+    public void evictAll() {
+        REFERENCE_DATA_CACHES.stream().filter(name -> cacheManager.getCache(name) != null).forEach(this::evict);
+        organisationHierarchyService.refresh();
+    }
+
+    public void evict(String name) {
+        final var cache = Optional.of(name)
+            .filter(REFERENCE_DATA_CACHES::contains)
+            .map(cacheManager::getCache)
+            .orElseThrow(() -> new NotFoundException(String.format("Cache %s not found", name)));
+        log.info("Evicting all entries from cache {}", name);
+        cache.clear();
+    }
+
+    private static CacheStatistics statisticsOf(String name, Cache<Object, Object> cache) {
+        final var stats = cache.stats();
+        return CacheStatistics.builder()
+            .name(name)
+            .size(cache.estimatedSize())
+            .hitCount(stats.hitCount())
+            .missCount(stats.missCount())
+            .evictionCount(stats.evictionCount())
+            .build();
+    }
+}
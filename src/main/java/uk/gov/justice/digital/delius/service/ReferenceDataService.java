@@ -12,7 +12,6 @@ import uk.gov.justice.digital.delius.data.api.ProbationArea;
 import uk.gov.justice.digital.delius.data.api.ProbationAreaWithLocalDeliveryUnits;
 import uk.gov.justice.digital.delius.data.api.ReferenceData;
 import uk.gov.justice.digital.delius.jpa.filters.ProbationAreaFilter;
-import uk.gov.justice.digital.delius.jpa.standard.entity.District;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ReferenceDataMasterRepository;
@@ -22,12 +21,10 @@ import uk.gov.justice.digital.delius.transformers.ReferenceDataTransformer;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toList;
-import static uk.gov.justice.digital.delius.transformers.TypesTransformer.ynToBoolean;
 
 @Service
 public class ReferenceDataService {
@@ -47,13 +44,15 @@ public class ReferenceDataService {
     private final ProbationAreaRepository probationAreaRepository;
     private final StandardReferenceRepository standardReferenceRepository;
     private final ReferenceDataMasterRepository referenceDataMasterRepository;
+    private final OrganisationHierarchyService organisationHierarchyService;
 
 
     @Autowired
-    public ReferenceDataService(ProbationAreaRepository probationAreaRepository, StandardReferenceRepository standardReferenceRepository, ReferenceDataMasterRepository referenceDataMasterRepository) {
+    public ReferenceDataService(ProbationAreaRepository probationAreaRepository, StandardReferenceRepository standardReferenceRepository, ReferenceDataMasterRepository referenceDataMasterRepository, OrganisationHierarchyService organisationHierarchyService) {
         this.probationAreaRepository = probationAreaRepository;
         this.standardReferenceRepository = standardReferenceRepository;
         this.referenceDataMasterRepository = referenceDataMasterRepository;
+        this.organisationHierarchyService = organisationHierarchyService;
     }
 
     public List<ProbationArea> getProbationAreas(Optional<List<String>> maybeCodes, boolean restrictActive) {
@@ -97,23 +96,17 @@ public class ReferenceDataService {
     }
 
     public Page<KeyValue> getLocalDeliveryUnitsForProbationArea(String code) {
-        return getSelectableLdusForProbationArea(code)
+        return getProbationAreaFromHierarchy(code).getSelectableLocalDeliveryUnits().stream()
                 .map(ldu -> new KeyValue(ldu.getCode(), ldu.getDescription()))
                 .collect(collectingAndThen(toList(), PageImpl::new));
     }
 
     public Page<KeyValue> getTeamsForLocalDeliveryUnit(String code, String lduCode) {
-        var ldus = getSelectableLdusForProbationArea(code)
-                // ldu code is not primary key so duplicates can exist - this returns all teams that are linked to LDUs with the provided code
-                .filter(ldu -> ldu.getCode().equals(lduCode))
-                .collect(toList());
-
-        if (ldus.isEmpty()) {
-            throw new NotFoundException(format("Could not find local delivery unit in probation area: '%s', with code: '%s'", code, lduCode));
-        }
+        // ldu code is not primary key so duplicates can exist - this returns all teams that are linked to LDUs with the provided code
+        final var teams = Optional.ofNullable(getProbationAreaFromHierarchy(code).getTeamsBySelectableLocalDeliveryUnitCode().get(lduCode))
+                .orElseThrow(() -> new NotFoundException(format("Could not find local delivery unit in probation area: '%s', with code: '%s'", code, lduCode)));
 
-        return ldus.stream()
-                .flatMap(ldu -> ldu.getTeams().stream())
+        return teams.stream()
                 .map(team -> new KeyValue(team.getCode(), team.getDescription()))
                 .collect(collectingAndThen(toList(), PageImpl::new));
     }
@@ -144,14 +137,9 @@ public class ReferenceDataService {
         return standardReferenceRepository.findByCodeAndCodeSetName(code, CUSTODY_EVENT_DATASET).orElseThrow();
     }
 
-    private Stream<District> getSelectableLdusForProbationArea(String code) {
-        var probationArea = probationAreaRepository.findByCode(code).orElseThrow(() ->
+    private OrganisationHierarchy.Area getProbationAreaFromHierarchy(String code) {
+        return organisationHierarchyService.current().probationArea(code).orElseThrow(() ->
                 new NotFoundException(format("Could not find probation area with code: '%s'", code)));
-
-        return probationArea.getBoroughs().stream()
-                // LDUs are represented as districts in the delius schema
-                .flatMap(borough -> borough.getDistricts().stream())
-                .filter(district -> ynToBoolean(district.getSelectable()));
     }
 
     public Optional<List<ReferenceData>> getReferenceDataForSet(String set) {
@@ -165,26 +153,15 @@ public class ReferenceDataService {
     }
 
     public List<ProbationAreaWithLocalDeliveryUnits> getProbationAreasAndLocalDeliveryUnits(boolean restrictActive) {
-        final var filter = ProbationAreaFilter
-                .builder()
-                .restrictActive(restrictActive)
-                .excludeEstablishments(true).build();
-        final var probationAreas =  probationAreaRepository.findAll(filter);
-
-        return probationAreas.stream().map(
-                pa -> {
-                    final var ldus = pa.getBoroughs().stream()
-                            // LDUs are represented as districts in the delius schema
-                            .flatMap(borough -> borough.getDistricts().stream())
-                            .filter(district -> getPossibleActiveLdus(district)) // current (non-historic) only
-                            .map(ldu -> LocalDeliveryUnit.builder().localDeliveryUnitId(ldu.getDistrictId()).code(ldu.getCode()).description(ldu.getDescription()).build())
-                            .collect(toList());
-
-                    return ProbationAreaWithLocalDeliveryUnits.builder().code(pa.getCode()).description(pa.getDescription()).localDeliveryUnits(ldus).build();
-
-
-                }
-        ).collect(toList());
+        return organisationHierarchyService.current().probationAreas(restrictActive)
+                .map(pa -> ProbationAreaWithLocalDeliveryUnits.builder()
+                        .code(pa.getCode())
+                        .description(pa.getDescription())
+                        .localDeliveryUnits(pa.getPossiblyActiveLocalDeliveryUnits().stream()
+                                .map(ldu -> LocalDeliveryUnit.builder().localDeliveryUnitId(ldu.getId()).code(ldu.getCode()).description(ldu.getDescription()).build())
+                                .collect(toList()))
+                        .build())
+                .collect(toList());
     }
 
     public Optional<StandardReference> getAtsTierChangeReason() {
@@ -195,9 +172,5 @@ public class ReferenceDataService {
         return standardReferenceRepository.findByCodeAndCodeSetName(tier, "TIER");
     }
 
-    private boolean getPossibleActiveLdus(District district) {
-        return ynToBoolean(district.getSelectable()) || district.getCode().endsWith("UAT") || district.getCode().endsWith("UNA") || district.getCode().endsWith("IAV");
-    }
-
 
 }
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.service;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.stereotype.Service;
@@ -7,7 +8,11 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.*;
 import uk.gov.justice.digital.delius.jpa.standard.repository.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.digital.delius.service.SpgNotificationService.NotificationEvents.*;
@@ -15,21 +20,25 @@ import static uk.gov.justice.digital.delius.service.SpgNotificationService.Notif
 @Service
 @Slf4j
 public class SpgNotificationService {
+    private static final String SENDING_PROBATION_AREA_CODE = "N00";
+
     private final BusinessInteractionRepository businessInteractionRepository;
     private final BusinessInteractionXmlMapRepository businessInteractionXmlMapRepository;
     private final StandardReferenceRepository standardReferenceRepository;
     private final ProbationAreaRepository probationAreaRepository;
     private final SpgNotificationRepository spgNotificationRepository;
     private final SpgNotificationHelperRepository spgNotificationHelperRepository;
+    private final InterestedCRCCache interestedCRCCache;
 
 
-    public SpgNotificationService(BusinessInteractionRepository businessInteractionRepository, BusinessInteractionXmlMapRepository businessInteractionXmlMapRepository, StandardReferenceRepository standardReferenceRepository, ProbationAreaRepository probationAreaRepository, SpgNotificationRepository spgNotificationRepository, SpgNotificationHelperRepository spgNotificationHelperRepository) {
+    public SpgNotificationService(BusinessInteractionRepository businessInteractionRepository, BusinessInteractionXmlMapRepository businessInteractionXmlMapRepository, StandardReferenceRepository standardReferenceRepository, ProbationAreaRepository probationAreaRepository, SpgNotificationRepository spgNotificationRepository, SpgNotificationHelperRepository spgNotificationHelperRepository, InterestedCRCCache interestedCRCCache) {
         this.businessInteractionRepository = businessInteractionRepository;
         this.businessInteractionXmlMapRepository = businessInteractionXmlMapRepository;
         this.standardReferenceRepository = standardReferenceRepository;
         this.probationAreaRepository = probationAreaRepository;
         this.spgNotificationRepository = spgNotificationRepository;
         this.spgNotificationHelperRepository = spgNotificationHelperRepository;
+        this.interestedCRCCache = interestedCRCCache;
     }
 
     enum NotificationEvents {
@@ -54,14 +63,65 @@ public class SpgNotificationService {
             return notificationCode;
         }
     }
+
+    @Value
+    private static class PendingNotification {
+        NotificationEvents notificationEvent;
+        Long offenderId;
+        Long uniqueId;
+        Long parentId;
+    }
+
+    /**
+     * How the notifications for a change to a custody key date are sent, either straight away or as part of a batch
+     */
+    public interface CustodyKeyDateNotifications {
+        void newCustodyKeyDate(String custodyKeyTypeCode, Event event);
+
+        void updatedCustodyKeyDate(String custodyKeyTypeCode, Event event);
+
+        void deletedCustodyKeyDate(KeyDate deletedKeyDate, Event event);
+    }
+
+    /**
+     * Collects notifications raised for any number of offenders so they can be written together with
+     * {@link #notify(NotificationBatch)}. Key date ids are looked up when the batch is written so new key dates only
+     * need to have been flushed by then.
+     */
+    public static class NotificationBatch implements CustodyKeyDateNotifications {
+        private final List<Supplier<PendingNotification>> pendingNotifications = new ArrayList<>();
+
+        @Override
+        public void newCustodyKeyDate(String custodyKeyTypeCode, Event event) {
+            pendingNotifications.add(() -> new PendingNotification(INSERT_CUSTODY_KEY_DATE, event.getOffenderId(), keyDateIdOf(custodyKeyTypeCode, event), event.getEventId()));
+        }
+
+        @Override
+        public void updatedCustodyKeyDate(String custodyKeyTypeCode, Event event) {
+            pendingNotifications.add(() -> new PendingNotification(UPDATE_CUSTODY_KEY_DATE, event.getOffenderId(), keyDateIdOf(custodyKeyTypeCode, event), event.getEventId()));
+        }
+
+        @Override
+        public void deletedCustodyKeyDate(KeyDate deletedKeyDate, Event event) {
+            pendingNotifications.add(() -> new PendingNotification(DELETE_CUSTODY_KEY_DATE, event.getOffenderId(), deletedKeyDate.getKeyDateId(), event.getEventId()));
+        }
+    }
+
+    public void notify(NotificationBatch notificationBatch) {
+        createNotificationsFor(notificationBatch.pendingNotifications.stream().map(Supplier::get).collect(toList()));
+    }
+
     public void notifyNewCourtCaseCreated(Event event) {
 
         // these events represent what the Delius code indicate what is inserted for this scenario and match what we see in test for Delius
         // It would be preferable to know what the actual requirement is here to get this correct. In test we have also seen "SPGALF01" business interactions
         // sent as well but not sure how or why they were sent
-        createNotificationsFor(INSERT_EVENT, event.getOffenderId(), event.getEventId());
-        event.getCourtAppearances().forEach(courtAppearance -> createNotificationsFor(INSERT_COURT_APPEARANCE, event.getOffenderId(), courtAppearance.getCourtAppearanceId()));
-        createNotificationsFor(UPDATE_OFFENDER, event.getOffenderId());
+        val notifications = new ArrayList<PendingNotification>();
+        notifications.add(new PendingNotification(INSERT_EVENT, event.getOffenderId(), event.getEventId(), null));
+        event.getCourtAppearances().forEach(courtAppearance -> notifications.add(new PendingNotification(INSERT_COURT_APPEARANCE, event.getOffenderId(), courtAppearance.getCourtAppearanceId(), null)));
+        notifications.add(new PendingNotification(UPDATE_OFFENDER, event.getOffenderId(), event.getOffenderId(), null));
+
+        createNotificationsFor(notifications);
     }
 
     public void notifyNewCustodyKeyDate(String custodyKeyTypeCode, Event event) {
@@ -103,17 +163,50 @@ public class SpgNotificationService {
         createNotificationsFor(notificationEvent, offenderId, uniqueId, null);
     }
 
-    private void createNotificationsFor(NotificationEvents notificationEvent, Long offenderId, Long uniqueId, Long parentId ) {
-        spgNotificationRepository.saveAll(
-            areasThatHaveAnInterestInOffender(offenderId)
+    private void createNotificationsFor(NotificationEvents notificationEvent, Long offenderId, Long uniqueId, Long parentId) {
+        createNotificationsFor(List.of(new PendingNotification(notificationEvent, offenderId, uniqueId, parentId)));
+    }
+
+    /*
+     * Everything that is the same for each row is resolved once up front so the cost is a fixed number of round trips
+     * however many probation areas are interested and however many notifications are raised, other than finding the
+     * interested probation areas which is done once for each offender and remembered for the rest of the request
+     */
+    private void createNotificationsFor(List<PendingNotification> allPendingNotifications) {
+        val probationAreasByOffender = new HashMap<Long, List<ProbationArea>>();
+        allPendingNotifications.forEach(pendingNotification -> probationAreasByOffender.computeIfAbsent(pendingNotification.getOffenderId(), this::areasThatHaveAnInterestInOffender));
+        val pendingNotifications = allPendingNotifications
+                .stream()
+                .filter(pendingNotification -> !probationAreasByOffender.get(pendingNotification.getOffenderId()).isEmpty())
+                .collect(toList());
+        if (pendingNotifications.isEmpty()) {
+            return;
+        }
+
+        val sendingProbationArea = probationAreaRepository.findIdByCode(SENDING_PROBATION_AREA_CODE).map(probationAreaRepository::getOne).orElseThrow(() -> new RuntimeException("No probation area for send SPG"));
+        val businessInteractions = new EnumMap<NotificationEvents, BusinessInteraction>(NotificationEvents.class);
+        val messageContextIds = new EnumMap<NotificationEvents, Long>(NotificationEvents.class);
+        pendingNotifications.stream().map(PendingNotification::getNotificationEvent).distinct().forEach(notificationEvent -> {
+            val businessInteraction = businessInteractionRepository
+                    .findByBusinessInteractionCode(notificationEvent.getNotificationCode())
+                    .orElseThrow(() -> new RuntimeException(String.format("No SPG business interaction code found for %s", notificationEvent.getNotificationCode())));
+            businessInteractions.put(notificationEvent, businessInteraction);
+            messageContextIds.put(notificationEvent, messageContextIdFor(businessInteraction));
+        });
+        val controlReferences = nextControlReferencesFor(pendingNotifications
+                .stream()
+                .mapToInt(pendingNotification -> probationAreasByOffender.get(pendingNotification.getOffenderId()).size())
+                .sum()).iterator();
+        val dateCreated = LocalDateTime.now();
+
+        spgNotificationRepository.insertAll(
+            pendingNotifications
                     .stream()
-                    .map(probationArea ->
+                    .flatMap(pendingNotification -> probationAreasByOffender.get(pendingNotification.getOffenderId())
+                            .stream()
+                            .map(probationArea ->
                             {
-                                val sendingProbationArea = probationAreaRepository.findByCode("N00").orElseThrow(() -> new RuntimeException("No probation area for send SPG"));
-                                val businessInteraction = businessInteractionRepository
-                                        .findByBusinessInteractionCode(notificationEvent.getNotificationCode())
-                                        .orElseThrow(() -> new RuntimeException(String.format("No SPG business interaction code found for %s", notificationEvent.getNotificationCode())));
-
+                                val notificationEvent = pendingNotification.getNotificationEvent();
                                 log.info("Sending SPG notification {} to {}", notificationEvent.getNotificationCode(), probationArea.getCode());
 
                                 // for these values I have looked at the legacy Delius code and looked at what the Delius application
@@ -121,25 +214,27 @@ public class SpgNotificationService {
                                 // need to be aware that the values are not derived from any acceptance criteria but is "as is" Delius code
                                 return SpgNotification
                                         .builder()
-                                        .offenderId(offenderId)
-                                        .businessInteraction(businessInteraction)
+                                        .offenderId(pendingNotification.getOffenderId())
+                                        .businessInteraction(businessInteractions.get(notificationEvent))
                                         .receiverIdentity(probationArea)
                                         .senderIdentity(sendingProbationArea)
-                                        .uniqueId(uniqueId)
-                                        .parentEntityId(parentId)
-                                        .dateCreated(LocalDateTime.now())
-                                        .spgMessageContextId(messageContextIdFor(businessInteraction))
-                                        .controlReference(nextControlReferenceFor(sendingProbationArea))
+                                        .uniqueId(pendingNotification.getUniqueId())
+                                        .parentEntityId(pendingNotification.getParentId())
+                                        .dateCreated(dateCreated)
+                                        .spgMessageContextId(messageContextIds.get(notificationEvent))
+                                        .controlReference(controlReferences.next())
                                         .processedFlag(0L)
                                         .errorFlag(0L)
                                         .messageDirection("O")
                                         .exportToFileFlag(0L)
                                         .build();
-                        }).collect(toList()));
+                            }))
+                    .collect(toList()));
     }
 
-    private Long nextControlReferenceFor(ProbationArea sendingProbationArea) {
-        return spgNotificationHelperRepository.getNextControlSequence(sendingProbationArea.getCode());
+    private List<Long> nextControlReferencesFor(int count) {
+        // the sending area is only a reference for the notifications so its code is not read from it
+        return spgNotificationHelperRepository.getNextControlSequences(SENDING_PROBATION_AREA_CODE, count);
     }
 
     private Long messageContextIdFor(BusinessInteraction businessInteraction) {
@@ -166,10 +261,10 @@ public class SpgNotificationService {
     }
 
     private List<ProbationArea> areasThatHaveAnInterestInOffender(Long offenderId) {
-        return spgNotificationHelperRepository.getInterestedCRCs(String.valueOf(offenderId));
+        return interestedCRCCache.interestedIn(offenderId);
     }
 
-    private Long keyDateIdOf(String custodyKeyTypeCode, Event event) {
+    private static Long keyDateIdOf(String custodyKeyTypeCode, Event event) {
         return event.getDisposal().getCustody().getKeyDates()
                 .stream()
                 .filter(keyDate -> keyDate.getKeyDateType().getCodeValue().equals(custodyKeyTypeCode))
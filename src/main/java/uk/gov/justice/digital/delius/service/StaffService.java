@@ -16,7 +16,9 @@ import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
 import uk.gov.justice.digital.delius.transformers.OffenderTransformer;
 import uk.gov.justice.digital.delius.transformers.StaffTransformer;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -30,6 +32,7 @@ public class StaffService {
     private final StaffRepository staffRepository;
     private final LdapRepository ldapRepository;
     private final StaffHelperRepository staffHelperRepository;
+    private final LdapUserBatchLookup ldapUserBatchLookup;
 
 
     @Transactional(readOnly = true)
@@ -73,10 +76,19 @@ public class StaffService {
     public List<StaffDetails> getStaffDetailsByUsernames(final Set<String> usernames) {
         final var capitalisedUsernames = usernames.stream().map(String::toUpperCase).collect(Collectors.toSet());
 
-        return staffRepository.findByUsernames(capitalisedUsernames)
+        final var staffDetails = staffRepository.findByUsernames(capitalisedUsernames)
                 .stream()
                 .map(StaffTransformer::staffDetailsOf)
-                .map(addFieldsFromLdap())
+                .collect(Collectors.toList());
+        final var nDeliusUsers = ldapUserBatchLookup.usersNoRolesByUsername(staffDetails
+                .stream()
+                .map(StaffDetails::getUsername)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        return staffDetails
+                .stream()
+                .map(details -> addFieldsFromLdap(details, Optional.ofNullable(details.getUsername()).map(nDeliusUsers::get)))
                 .collect(Collectors.toList());
     }
 
@@ -120,14 +132,15 @@ public class StaffService {
     }
 
     private Function<StaffDetails, StaffDetails> addFieldsFromLdap() {
-        return staffDetails -> {
-            var nDeliusUser = ldapRepository.getDeliusUserNoRoles(staffDetails.getUsername());
-            return staffDetails
-                .toBuilder()
-                .email(nDeliusUser.map(NDeliusUser::getMail).orElse(null))
-                .telephoneNumber(nDeliusUser.map(NDeliusUser::getTelephoneNumber).orElse(null))
-                .build();
-        };
+        return staffDetails -> addFieldsFromLdap(staffDetails, ldapRepository.getDeliusUserNoRoles(staffDetails.getUsername()));
+    }
+
+    private StaffDetails addFieldsFromLdap(final StaffDetails staffDetails, final Optional<NDeliusUser> nDeliusUser) {
+        return staffDetails
+            .toBuilder()
+            .email(nDeliusUser.map(NDeliusUser::getMail).orElse(null))
+            .telephoneNumber(nDeliusUser.map(NDeliusUser::getTelephoneNumber).orElse(null))
+            .build();
     }
 
     private Staff createStaffInArea(final String surname, final String forename, final ProbationArea probationArea) {
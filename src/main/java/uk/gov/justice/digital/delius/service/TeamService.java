@@ -43,6 +43,7 @@ public class TeamService {
     private final ProbationAreaRepository probationAreaRepository;
     private final TelemetryClient telemetryClient;
     private final StaffService staffService;
+    private final OrganisationHierarchyService organisationHierarchyService;
 
 
 
@@ -62,7 +63,8 @@ public class TeamService {
 
     private boolean isPOMTeamMissingForArea(ProbationArea probationArea) {
         final String teamCode = String.format("%s%s", probationArea.getCode(), POM_TEAM_SUFFIX);
-        return teamRepository.findByCode(teamCode).isEmpty();
+        // the hierarchy may be behind Delius so only a team it already holds is taken on trust
+        return !organisationHierarchyService.current().hasTeam(teamCode) && teamRepository.findByCode(teamCode).isEmpty();
     }
 
     private boolean isPOMTeamMissingUnallocatedStaff(Team team) {
@@ -120,6 +122,7 @@ public class TeamService {
                 .build();
         probationArea.getTeams().add(team);
         telemetryClient.trackEvent("POMTeamCreated", Map.of("probationArea", probationArea.getCode(), "code", code), null);
+        organisationHierarchyService.refreshAfterCommit();
 
         return teamRepository.save(team);
     }
@@ -0,0 +1,82 @@
+package uk.gov.justice.digital.delius.service;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import uk.gov.justice.digital.delius.jpa.national.entity.Exclusion;
+import uk.gov.justice.digital.delius.jpa.national.entity.Restriction;
+import uk.gov.justice.digital.delius.jpa.national.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * The offenders a user is excluded from and restricted to, detached from the USER_ row so it can be cached. Offender
+ * ids are held in sorted primitive arrays alongside the time each exclusion or restriction ends, so a check is a
+ * binary search without boxing and one that ends while cached stops applying at the same moment it would in the
+ * database.
+ */
+@EqualsAndHashCode
+@ToString
+public final class UserAccessProfile {
+    private final OffenderIdsUntil exclusions;
+    private final OffenderIdsUntil restrictions;
+
+    private UserAccessProfile(OffenderIdsUntil exclusions, OffenderIdsUntil restrictions) {
+        this.exclusions = exclusions;
+        this.restrictions = restrictions;
+    }
+
+    public static UserAccessProfile of(User user) {
+        return new UserAccessProfile(
+                OffenderIdsUntil.of(user.getExclusions(), Exclusion::getOffenderId, Exclusion::getExclusionEnd),
+                OffenderIdsUntil.of(user.getRestrictions(), Restriction::getOffenderId, Restriction::getRestrictionEnd));
+    }
+
+    public boolean isExcludedFrom(long offenderId) {
+        return exclusions.isActiveFor(offenderId, LocalDateTime.now());
+    }
+
+    public boolean isRestrictedUserFor(long offenderId) {
+        return restrictions.isActiveFor(offenderId, LocalDateTime.now());
+    }
+
+    @EqualsAndHashCode
+    @ToString
+    private static final class OffenderIdsUntil {
+        private final long[] offenderIds;
+        // null when open ended
+        private final LocalDateTime[] ends;
+
+        private OffenderIdsUntil(long[] offenderIds, LocalDateTime[] ends) {
+            this.offenderIds = offenderIds;
+            this.ends = ends;
+        }
+
+        private static <T> OffenderIdsUntil of(List<T> entries, Function<T, Long> offenderIdOf, Function<T, LocalDateTime> endOf) {
+            // an offender can appear more than once so keep whichever entry lasts longest
+            final var latestEnds = new TreeMap<Long, Optional<LocalDateTime>>();
+            Optional.ofNullable(entries).orElse(List.of()).forEach(entry -> latestEnds.merge(
+                    offenderIdOf.apply(entry),
+                    Optional.ofNullable(endOf.apply(entry)),
+                    (end, other) -> end.isEmpty() || other.isEmpty() ? Optional.empty() : end.get().isAfter(other.get()) ? end : other));
+
+            final var offenderIds = new long[latestEnds.size()];
+            final var ends = new LocalDateTime[latestEnds.size()];
+            var index = 0;
+            for (final var latestEnd : latestEnds.entrySet()) {
+                offenderIds[index] = latestEnd.getKey();
+                ends[index++] = latestEnd.getValue().orElse(null);
+            }
+            return new OffenderIdsUntil(offenderIds, ends);
+        }
+
+        private boolean isActiveFor(long offenderId, LocalDateTime now) {
+            final var index = Arrays.binarySearch(offenderIds, offenderId);
+            return index >= 0 && (ends[index] == null || ends[index].isAfter(now));
+        }
+    }
+}
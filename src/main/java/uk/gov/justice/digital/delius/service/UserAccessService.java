@@ -37,23 +37,27 @@ public class UserAccessService {
         if (!applyLimitedAccessMarkers) return;
 
         final var username = currentUserSupplier.username();
-        if (username.isPresent() && shouldCheckExclusion(authorities)) {
+        final var checkExclusion = username.isPresent() && shouldCheckExclusion(authorities);
+        final var checkRestriction = shouldCheckRestriction(authorities);
+        if (!checkExclusion && !checkRestriction) return;
 
-            final var excludedException = offenderService.getOffenderByCrn(crn)
-                .map(o -> userService.accessLimitationOf(username.get(), o))
+        final var accessLimitation = offenderService.getOffenderLimitedAccessByCrn(crn)
+            .map(o -> username.map(u -> userService.accessLimitationOf(u, o))
+                                     .orElseGet(() -> buildAnonymousUserAccessLimitation(o)));
+
+        if (checkExclusion) {
+            final var excludedException = accessLimitation
                 .filter(AccessLimitation::isUserExcluded)
-                .map(accessLimitation -> new AccessDeniedException(accessLimitation.getExclusionMessage()));
+                .map(limitation -> new AccessDeniedException(limitation.getExclusionMessage()));
 
             if (excludedException.isPresent())
                 throw excludedException.get();
         }
 
-        if (shouldCheckRestriction(authorities)) {
-            final var restrictedException = offenderService.getOffenderByCrn(crn)
-                .map(o -> username.map(u -> userService.accessLimitationOf(u, o))
-                                         .orElseGet(() -> buildAnonymousUserAccessLimitation(o)))
+        if (checkRestriction) {
+            final var restrictedException = accessLimitation
                 .filter(AccessLimitation::isUserRestricted)
-                .map(accessLimitation -> new AccessDeniedException(accessLimitation.getRestrictionMessage()));
+                .map(limitation -> new AccessDeniedException(limitation.getRestrictionMessage()));
 
             if (restrictedException.isPresent())
                 throw restrictedException.get();
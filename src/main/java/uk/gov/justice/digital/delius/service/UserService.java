@@ -44,7 +44,7 @@ public class UserService {
         final var accessLimitationBuilder = AccessLimitation.builder();
 
         if (offenderDetail.getCurrentExclusion() || offenderDetail.getCurrentRestriction()) {
-            final var user = userRepositoryWrapper.getUser(subject);
+            final var user = userRepositoryWrapper.getAccessProfile(subject);
 
             if (offenderDetail.getCurrentExclusion()) {
                 final var userExcluded = user.isExcludedFrom(offenderDetail.getOffenderId());
@@ -66,6 +66,13 @@ public class UserService {
         return accessLimitationBuilder.build();
     }
 
+    /**
+     * Forgets the cached exclusions and restrictions of the user so a change made in Delius applies straight away
+     */
+    public void evictAccessProfile(final String username) {
+        userRepositoryWrapper.evictAccessProfile(username);
+    }
+
     private List<String> probationAreaCodesOf(final List<ProbationArea> probationAreas) {
         return Optional.ofNullable(probationAreas).map(
                 pas -> pas.stream().map(ProbationArea::getCode).collect(toList())).orElse(Collections.emptyList());
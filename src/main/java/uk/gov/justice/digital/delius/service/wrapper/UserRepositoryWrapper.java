@@ -2,14 +2,19 @@ package uk.gov.justice.digital.delius.service.wrapper;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import uk.gov.justice.digital.delius.jpa.national.entity.User;
 import uk.gov.justice.digital.delius.jpa.national.repository.UserRepository;
 import uk.gov.justice.digital.delius.jpa.oracle.annotations.NationalUserOverride;
 import uk.gov.justice.digital.delius.service.NoSuchUserException;
+import uk.gov.justice.digital.delius.service.UserAccessProfile;
 
 import java.util.List;
 
+import static uk.gov.justice.digital.delius.config.CacheConfig.USER_ACCESS_PROFILES;
+
 @Component
 @Slf4j
 public class UserRepositoryWrapper {
@@ -27,6 +32,22 @@ public class UserRepositoryWrapper {
         return maybeUser.orElseThrow(() -> new NoSuchUserException("Can't resolve user: " + userDistinguishedName));
     }
 
+    /**
+     * The exclusions and restrictions of the user, cached for a short time since they are checked on every request for
+     * a limited access offender. They are changed in Delius itself so entries expire after a short time to live, or
+     * can be evicted with {@link #evictAccessProfile(String)} once a change is known about.
+     */
+    @NationalUserOverride
+    @Cacheable(value = USER_ACCESS_PROFILES, key = "#userDistinguishedName.toLowerCase()")
+    public UserAccessProfile getAccessProfile(final String userDistinguishedName) {
+        return UserAccessProfile.of(getUser(userDistinguishedName));
+    }
+
+    @CacheEvict(value = USER_ACCESS_PROFILES, key = "#userDistinguishedName.toLowerCase()")
+    public void evictAccessProfile(final String userDistinguishedName) {
+        log.info("Evicting access profile for {}", userDistinguishedName);
+    }
+
     @NationalUserOverride
     public List<User> findBySurnameIgnoreCaseAndForenameIgnoreCase(final String surname, final String forename) {
         return userRepository.findBySurnameIgnoreCaseAndForenameIgnoreCase(surname, forename);
@@ -41,12 +41,13 @@ public class ContactTransformer {
         return NsiTransformer.nsiOf(nsi);
     }
 
-    private static uk.gov.justice.digital.delius.data.api.Contact contactOf(uk.gov.justice.digital.delius.jpa.standard.entity.Contact contact) {
+    public static uk.gov.justice.digital.delius.data.api.Contact contactOf(uk.gov.justice.digital.delius.jpa.standard.entity.Contact contact) {
         return uk.gov.justice.digital.delius.data.api.Contact.builder()
                 .eventId(eventIdOf(contact.getEvent()))
                 .alertActive(ynToBoolean(contact.getAlertActive()))
                 .contactEndTime(contact.getContactEndTime())
                 .contactId(contact.getContactId())
+                .contactDate(contact.getContactDate())
                 .contactOutcomeType(contactOutcomeTypeOf(contact.getContactOutcomeType()))
                 .contactStartTime(contact.getContactStartTime())
                 .contactType(contactTypeOf(contact.getContactType()))
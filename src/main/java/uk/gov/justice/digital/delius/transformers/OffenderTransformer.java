@@ -26,6 +26,7 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.OGRSAssessment;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderAddress;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderAlias;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderLimitedAccess;
 import uk.gov.justice.digital.delius.jpa.standard.entity.PartitionArea;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ProviderTeam;
@@ -189,6 +190,19 @@ public class OffenderTransformer {
                 .build();
     }
 
+    /**
+     * Only the id and the exclusion and restriction markers are populated, enough to check access to the offender
+     */
+    public static OffenderDetail limitedAccessOf(OffenderLimitedAccess offender) {
+        return OffenderDetail.builder()
+                .offenderId(offender.getOffenderId())
+                .currentExclusion(zeroOneToBoolean(offender.getCurrentExclusion()))
+                .exclusionMessage(offender.getExclusionMessage())
+                .currentRestriction(zeroOneToBoolean(offender.getCurrentRestriction()))
+                .restrictionMessage(offender.getRestrictionMessage())
+                .build();
+    }
+
     public static OffenderDetailSummary offenderSummaryOf(Offender offender) {
         return OffenderDetailSummary.builder()
                 .offenderId(offender.getOffenderId())
@@ -0,0 +1,2 @@
+-- H2 stand in for pkg_search.procGetInterestedCRCs
+CREATE ALIAS IF NOT EXISTS GET_INTERESTED_CRCS FOR "uk.gov.justice.digital.delius.jpa.h2.InterestedCRCsProcedure.interestedCRCs";
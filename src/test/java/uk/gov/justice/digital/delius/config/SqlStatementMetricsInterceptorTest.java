@@ -0,0 +1,129 @@
+package uk.gov.justice.digital.delius.config;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.web.internal.RequestTelemetryContext;
+import com.microsoft.applicationinsights.web.internal.ThreadContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SqlStatementMetricsInterceptorTest {
+    @Mock
+    private TelemetryClient telemetryClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private HandlerMethod handler;
+    private SqlStatementMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        interceptor = new SqlStatementMetricsInterceptor(meterRegistry, telemetryClient, 3, true);
+        handler = new HandlerMethod(new OffenderResource(), OffenderResource.class.getMethod("getOffender"));
+        ThreadContext.setRequestTelemetryContext(new RequestTelemetryContext(1L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadContext.remove();
+        SqlStatementRecording.stop();
+    }
+
+    @Test
+    void recordsStatementsTimeAndRowsForTheEndpoint() {
+        interceptor.preHandle(request, response, handler);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from offender", 5);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from event", 7);
+        SqlStatementRecording.current().orElseThrow().recordRow();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(meterRegistry.get("sql.request.statements").tag("endpoint", "OffenderResource.getOffender").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("sql.request.rows").tag("endpoint", "OffenderResource.getOffender").summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("sql.request.time").tag("endpoint", "OffenderResource.getOffender").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12);
+        assertThat(ThreadContext.getRequestTelemetryContext().getHttpRequestTelemetry().getProperties()).containsAllEntriesOf(Map.of(
+                "sqlStatements", "2",
+                "sqlTimeMillis", "12",
+                "sqlRows", "1"));
+        assertThat(SqlStatementRecording.current()).isEmpty();
+    }
+
+    @Test
+    void rowsAreNotReportedUnlessTheyAreCounted() {
+        interceptor = new SqlStatementMetricsInterceptor(meterRegistry, telemetryClient, 3, false);
+
+        interceptor.preHandle(request, response, handler);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from offender", 5);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(meterRegistry.find("sql.request.rows").summary()).isNull();
+        assertThat(ThreadContext.getRequestTelemetryContext().getHttpRequestTelemetry().getProperties()).doesNotContainKey("sqlRows");
+    }
+
+    @Test
+    void statementsRepeatedUpToTheThresholdAreReportedAsNPlusOne() {
+        interceptor.preHandle(request, response, handler);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from offender", 1);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from event where offender_id=?", 1);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from event where offender_id=?", 1);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from event where offender_id=?", 1);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        verify(telemetryClient).trackEvent("SqlNPlusOne", Map.of(
+                "endpoint", "OffenderResource.getOffender",
+                "executions", "3",
+                "statements", "4",
+                "sql", "select * from event where offender_id=?"), null);
+    }
+
+    @Test
+    void statementsRepeatedFewerTimesThanTheThresholdAreNotReported() {
+        interceptor.preHandle(request, response, handler);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from event where offender_id=?", 1);
+        SqlStatementRecording.current().orElseThrow().recordStatement("select * from event where offender_id=?", 1);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        verify(telemetryClient, never()).trackEvent(eq("SqlNPlusOne"), anyMap(), isNull());
+    }
+
+    @Test
+    void requestsNotHandledByAControllerAreNotRecorded() {
+        interceptor.preHandle(request, response, new Object());
+
+        assertThat(SqlStatementRecording.current()).isEmpty();
+    }
+
+    @Test
+    void workSubmittedToAnotherThreadIsAddedToTheRecording() throws InterruptedException {
+        interceptor.preHandle(request, response, handler);
+        final var worker = new Thread(SqlStatementRecording.withCurrentRecording(
+                () -> SqlStatementRecording.current().orElseThrow().recordStatement("select * from document", 1)));
+        worker.start();
+        worker.join();
+
+        assertThat(SqlStatementRecording.current().orElseThrow().getStatements()).isEqualTo(1);
+    }
+
+    static class OffenderResource {
+        public void getOffender() {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package uk.gov.justice.digital.delius.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SqlStatementRecordingTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementRecording.stop();
+    }
+
+    @Test
+    void statementsRunByTheRequestAreRecorded() throws SQLException {
+        final var recording = SqlStatementRecording.start();
+
+        try (final var instrumented = SqlStatementRecording.instrument(dataSource, "test", false).getConnection()) {
+            instrumented.prepareStatement("select * from offender where offender_id = ?").execute();
+            instrumented.prepareStatement("select * from event where offender_id = ?").execute();
+        }
+
+        assertThat(recording.getStatements()).isEqualTo(2);
+    }
+
+    @Test
+    void settingTheVpdClientIdentifierIsNotRecorded() throws SQLException {
+        final var recording = SqlStatementRecording.start();
+
+        try (final var instrumented = SqlStatementRecording.instrument(dataSource, "test", false).getConnection()) {
+            instrumented.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)").execute();
+            instrumented.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()").execute();
+            instrumented.prepareStatement("select * from offender where offender_id = ?").execute();
+        }
+
+        assertThat(recording.getStatements()).isEqualTo(1);
+        assertThat(recording.statementsRunAtLeast(1)).containsOnlyKeys("select * from offender where offender_id = ?");
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +14,19 @@ import uk.gov.justice.digital.delius.jpa.filters.ContactFilter;
 import uk.gov.justice.digital.delius.service.ContactService;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,7 +54,7 @@ public class ContactControllerTest {
     @BeforeEach
     public void setup() {
         RestAssuredMockMvc.standaloneSetup(
-                new ContactController(offenderService, contactService)
+                new ContactController(offenderService, contactService, new ObjectMapper())
         );
     }
 
@@ -261,4 +269,107 @@ public class ContactControllerTest {
         assertThat(contacts).extracting("contactId").containsOnly(4L);
     }
 
+    @Test
+    public void canGetPageOfContactsAfterKeysetByCrn() {
+        final var keysetFilter = ContactFilter.builder()
+                .afterContactDate(Optional.of(LocalDate.parse("2020-01-31")))
+                .afterContactId(Optional.of(2L))
+                .build();
+        when(offenderService.offenderIdOfCrn("crn1")).thenReturn(Optional.of(1L));
+        when(contactService.contactsFor(1L, keysetFilter, 2)).thenReturn(ImmutableList.of(contact3, contact4));
+
+        Contact[] contacts = given()
+                .when()
+                .get("/api/offenders/crn/crn1/contacts?afterContactDate=2020-01-31&afterContactId=2&limit=2")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(Contact[].class);
+
+        assertThat(contacts).extracting("contactId").containsExactly(3L, 4L);
+    }
+
+    @Test
+    public void afterContactIdWithoutAfterContactDateIsBadRequest() {
+        when(offenderService.offenderIdOfCrn("crn1")).thenReturn(Optional.of(1L));
+
+        given()
+                .when()
+                .get("/api/offenders/crn/crn1/contacts?afterContactId=2&limit=2")
+                .then()
+                .statusCode(400);
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    public void keysetWithoutLimitIsBadRequest() {
+        when(offenderService.offenderIdOfCrn("crn1")).thenReturn(Optional.of(1L));
+
+        given()
+                .when()
+                .get("/api/offenders/crn/crn1/contacts?afterContactDate=2020-01-31&afterContactId=2")
+                .then()
+                .statusCode(400);
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    public void limitOutOfRangeIsBadRequest() {
+        when(offenderService.offenderIdOfCrn("crn1")).thenReturn(Optional.of(1L));
+
+        for (final var limit : new int[]{0, -1, ContactFilter.MAX_LIMIT + 1}) {
+            given()
+                    .when()
+                    .get(format("/api/offenders/crn/crn1/contacts?limit=%d", limit))
+                    .then()
+                    .statusCode(400);
+        }
+
+        verifyNoInteractions(contactService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void canStreamContactsByCrnAsNewlineDelimitedJson() throws Exception {
+        when(offenderService.offenderIdOfCrn("crn1")).thenReturn(Optional.of(1L));
+        doAnswer(invocation -> {
+            final Consumer<Contact> consumer = invocation.getArgument(2);
+            consumer.accept(contact1);
+            consumer.accept(contact2);
+            return null;
+        }).when(contactService).forEachContact(eq(1L), eq(noFilter), any(Consumer.class));
+
+        final var body = given()
+                .when()
+                .get("/api/offenders/crn/crn1/contacts/stream")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract()
+                .body()
+                .asString();
+
+        final var objectMapper = new ObjectMapper();
+        assertThat(body).endsWith("\n");
+        final var lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], Contact.class).getContactId()).isEqualTo(1L);
+        assertThat(objectMapper.readValue(lines[1], Contact.class).getContactId()).isEqualTo(2L);
+    }
+
+    @Test
+    public void streamingContactsForUnknownCrnIsNotFound() {
+        when(offenderService.offenderIdOfCrn("crn1")).thenReturn(Optional.empty());
+
+        given()
+                .when()
+                .get("/api/offenders/crn/crn1/contacts/stream")
+                .then()
+                .statusCode(404);
+
+        verifyNoInteractions(contactService);
+    }
 }
@@ -12,15 +12,20 @@ import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
 import uk.gov.justice.digital.delius.config.FeatureSwitches;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDates;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDatesResult;
 import uk.gov.justice.digital.delius.data.api.Custody;
 import uk.gov.justice.digital.delius.data.api.CustodyRelatedKeyDates;
 import uk.gov.justice.digital.delius.data.api.ReplaceCustodyKeyDates;
 import uk.gov.justice.digital.delius.service.ConvictionService;
+import uk.gov.justice.digital.delius.service.CustodyKeyDatesBulkService;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +36,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -40,6 +46,7 @@ class CustodyKeyDatesControllerTest {
 
     private final OffenderService offenderService = mock(OffenderService.class);
     private final ConvictionService convictionService = mock(ConvictionService.class);
+    private final CustodyKeyDatesBulkService custodyKeyDatesBulkService = mock(CustodyKeyDatesBulkService.class);
     private final ObjectMapper objectMapper = new ObjectMapper()
         .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
         .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
@@ -53,16 +60,26 @@ class CustodyKeyDatesControllerTest {
     void setUp() {
         RestAssuredMockMvc.config = newConfig().encoderConfig(encoderConfig().defaultContentCharset("UTF-8"));
         RestAssuredMockMvc.standaloneSetup(
-            new CustodyKeyDatesController(offenderService, convictionService, new FeatureSwitches()),
+            new CustodyKeyDatesController(offenderService, convictionService, custodyKeyDatesBulkService),
             new SecureControllerAdvice()
         );
 
     }
 
+    // the single booking endpoint finds the convictions of the booking in the same way as the bulk endpoint
+    private void setUpWithBookingLookup(FeatureSwitches featureSwitches) {
+        RestAssuredMockMvc.config = newConfig().encoderConfig(encoderConfig().defaultContentCharset("UTF-8"));
+        RestAssuredMockMvc.standaloneSetup(
+            new CustodyKeyDatesController(offenderService, convictionService, new CustodyKeyDatesBulkService(offenderService, convictionService, featureSwitches, mock(PlatformTransactionManager.class), 50)),
+            new SecureControllerAdvice()
+        );
+    }
+
     @Nested
     class ReplaceAllCustodyKeyDateByNomsNumberAndBookingNumber {
         @BeforeEach
         void setUp() throws ConvictionService.DuplicateActiveCustodialConvictionsException {
+            setUpWithBookingLookup(new FeatureSwitches());
             when(offenderService.offenderIdOfNomsNumber(any())).thenReturn(Optional.of(99L));
             when(convictionService.getAllActiveCustodialEventsWithBookingNumber(any(), any())).thenReturn(List.of(aCustodyEvent(88L, LocalDate
                 .now())));
@@ -137,11 +154,7 @@ class CustodyKeyDatesControllerTest {
             void setUp() {
                 final var featureSwitches = new FeatureSwitches();
                 featureSwitches.getNoms().getUpdate().getMultipleEvents().setUpdateBulkKeyDates(true);
-                RestAssuredMockMvc.config = newConfig().encoderConfig(encoderConfig().defaultContentCharset("UTF-8"));
-                RestAssuredMockMvc.standaloneSetup(
-                    new CustodyKeyDatesController(offenderService, convictionService, featureSwitches ),
-                    new SecureControllerAdvice()
-                );
+                setUpWithBookingLookup(featureSwitches);
 
             }
 
@@ -194,11 +207,7 @@ class CustodyKeyDatesControllerTest {
             void setUp() {
                 final var featureSwitches = new FeatureSwitches();
                 featureSwitches.getNoms().getUpdate().getMultipleEvents().setUpdateBulkKeyDates(false);
-                RestAssuredMockMvc.config = newConfig().encoderConfig(encoderConfig().defaultContentCharset("UTF-8"));
-                RestAssuredMockMvc.standaloneSetup(
-                    new CustodyKeyDatesController(offenderService, convictionService, featureSwitches ),
-                    new SecureControllerAdvice()
-                );
+                setUpWithBookingLookup(featureSwitches);
 
             }
 
@@ -223,4 +232,83 @@ class CustodyKeyDatesControllerTest {
 
     }
 
-}
\ No newline at end of file
+    @Nested
+    class ReplaceAllCustodyKeyDatesForBookings {
+        @Test
+        void willReturnTheResultOfEachBooking() {
+            when(custodyKeyDatesBulkService.replaceCustodyKeyDates(any())).thenReturn(List.of(
+                BookingCustodyKeyDatesResult
+                    .builder()
+                    .nomsNumber("G9542VP")
+                    .bookingNumber("44463B")
+                    .status(200)
+                    .custody(Custody.builder().sentenceStartDate(LocalDate.parse("2021-01-13")).build())
+                    .build(),
+                BookingCustodyKeyDatesResult
+                    .builder()
+                    .nomsNumber("G0000XX")
+                    .bookingNumber("12345A")
+                    .status(404)
+                    .message("Offender with NOMS number G0000XX not found")
+                    .build()));
+
+            given()
+                .contentType(APPLICATION_JSON_VALUE)
+                .body(json(List.of(aBooking("G9542VP", "44463B"), aBooking("G0000XX", "12345A"))))
+                .when()
+                .post("/secure/offenders/custody/keyDates")
+                .then()
+                .statusCode(200)
+                .body("[0].status", CoreMatchers.equalTo(200))
+                .body("[0].custody.sentenceStartDate", CoreMatchers.equalTo("2021-01-13"))
+                .body("[1].status", CoreMatchers.equalTo(404))
+                .body("[1].message", containsString("G0000XX not found"));
+
+            verify(custodyKeyDatesBulkService).replaceCustodyKeyDates(List.of(aBooking("G9542VP", "44463B"), aBooking("G0000XX", "12345A")));
+        }
+
+        @Test
+        void willRejectBookingsWithoutKeyDates() {
+            given()
+                .contentType(APPLICATION_JSON_VALUE)
+                .body(json(List.of(aBooking("G9542VP", "44463B"), BookingCustodyKeyDates.builder().nomsNumber("G0000XX").bookingNumber("12345A").build())))
+                .when()
+                .post("/secure/offenders/custody/keyDates")
+                .then()
+                .statusCode(400);
+
+            verify(custodyKeyDatesBulkService, never()).replaceCustodyKeyDates(any());
+        }
+
+        @Test
+        void willRejectTooManyBookings() {
+            given()
+                .contentType(APPLICATION_JSON_VALUE)
+                .body(json(Collections.nCopies(1001, aBooking("G9542VP", "44463B"))))
+                .when()
+                .post("/secure/offenders/custody/keyDates")
+                .then()
+                .statusCode(400)
+                .body("developerMessage", containsString("1001 bookings supplied"));
+
+            verify(custodyKeyDatesBulkService, never()).replaceCustodyKeyDates(any());
+        }
+
+        private BookingCustodyKeyDates aBooking(String nomsNumber, String bookingNumber) {
+            return BookingCustodyKeyDates
+                .builder()
+                .nomsNumber(nomsNumber)
+                .bookingNumber(bookingNumber)
+                .keyDates(ReplaceCustodyKeyDates.builder().conditionalReleaseDate(LocalDate.parse("2030-01-01")).build())
+                .build();
+        }
+
+        private String json(Object bookings) {
+            try {
+                return objectMapper.writeValueAsString(bookings);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -11,16 +11,26 @@ import uk.gov.justice.digital.delius.data.api.IDs;
 import uk.gov.justice.digital.delius.data.api.KeyValue;
 import uk.gov.justice.digital.delius.data.api.OffenderDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderIdentifiers;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearch;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearchResult;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
 import uk.gov.justice.digital.delius.service.OffenderService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -321,4 +331,64 @@ class OffenderIdentifiersResourceTest {
                     .body("additionalIdentifiers[0].additionalIdentifierId", is(22));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("searchOffenderIdentifiers")
+    class SearchOffenderIdentifiers {
+        @Test
+        @DisplayName("Will return the identifiers found keyed by what was searched for")
+        void willReturnIdentifiersFound() {
+            when(offenderService.searchPrimaryIdentifiers(any())).thenReturn(OffenderIdentifiersSearchResult
+                    .builder()
+                    .crns(Map.of("X12345", PrimaryIdentifiers.builder().offenderId(99L).crn("X12345").nomsNumber("G9542VP").build()))
+                    .nomsNumbers(Map.of())
+                    .offenderIds(Map.of())
+                    .build());
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .body(OffenderIdentifiersSearch.builder().crns(Set.of("X12345", "X99999")).build())
+                    .when()
+                    .post("/secure/offenders/identifiers/search")
+                    .then()
+                    .statusCode(200)
+                    .body("crns.X12345.offenderId", is(99))
+                    .body("crns.X12345.nomsNumber", is("G9542VP"))
+                    .body("crns.X99999", nullValue());
+
+            verify(offenderService).searchPrimaryIdentifiers(OffenderIdentifiersSearch.builder().crns(Set.of("X12345", "X99999")).build());
+        }
+
+        @Test
+        @DisplayName("Will reject too many identifiers")
+        void willRejectTooManyIdentifiers() {
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .body(OffenderIdentifiersSearch
+                            .builder()
+                            .crns(IntStream.range(0, 3000).mapToObj(number -> "X" + number).collect(toSet()))
+                            .offenderIds(LongStream.range(0, 3000).boxed().collect(toSet()))
+                            .build())
+                    .when()
+                    .post("/secure/offenders/identifiers/search")
+                    .then()
+                    .statusCode(400);
+
+            verify(offenderService, never()).searchPrimaryIdentifiers(any());
+        }
+
+        @Test
+        @DisplayName("Will reject null identifiers")
+        void willRejectNullIdentifiers() {
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .body("{\"crns\": [\"X12345\", null]}")
+                    .when()
+                    .post("/secure/offenders/identifiers/search")
+                    .then()
+                    .statusCode(400);
+
+            verify(offenderService, never()).searchPrimaryIdentifiers(any());
+        }
+    }
+}
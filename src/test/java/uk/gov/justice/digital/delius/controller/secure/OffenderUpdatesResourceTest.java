@@ -8,27 +8,33 @@ import org.junit.jupiter.api.Test;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
 import uk.gov.justice.digital.delius.service.OffenderDeltaLockedException;
+import uk.gov.justice.digital.delius.service.OffenderUpdatesPublisher;
 import uk.gov.justice.digital.delius.service.OffenderUpdatesService;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 class OffenderUpdatesResourceTest {
 
     private final OffenderUpdatesService offenderUpdatesService = mock(OffenderUpdatesService.class);
+    private final OffenderUpdatesPublisher offenderUpdatesPublisher = mock(OffenderUpdatesPublisher.class);
 
 
     @BeforeEach
     void setUp() {
         RestAssuredMockMvc.standaloneSetup(
-                new OffenderUpdatesResource(offenderUpdatesService),
+                new OffenderUpdatesResource(offenderUpdatesService, offenderUpdatesPublisher),
                 new SecureControllerAdvice()
         );
         when(offenderUpdatesService.getAndLockNextUpdate()).thenReturn(Optional.empty());
@@ -100,4 +106,104 @@ class OffenderUpdatesResourceTest {
         }
     }
 
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("offenders/nextUpdates")
+    class GetNextUpdates {
+
+        @Test
+        @DisplayName("Will get the next batch of updates")
+        void willGetNextUpdates() {
+            when(offenderUpdatesService.getAndLockNextUpdates(2)).thenReturn(List.of(
+                    OffenderUpdate.builder().offenderDeltaId(1L).offenderId(99L).status("INPROGRESS").build(),
+                    OffenderUpdate.builder().offenderDeltaId(2L).offenderId(98L).status("INPROGRESS").build()));
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .get("/secure/offenders/nextUpdates?count=2")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", equalTo(2))
+                    .body("[0].offenderDeltaId", equalTo(1))
+                    .body("[1].offenderDeltaId", equalTo(2))
+            ;
+        }
+
+        @Test
+        @DisplayName("Will return an empty list when no updates present")
+        void willReturnEmptyListWhenNoUpdates() {
+            when(offenderUpdatesService.getAndLockNextUpdates(100)).thenReturn(List.of());
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .get("/secure/offenders/nextUpdates")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", equalTo(0))
+            ;
+        }
+
+        @Test
+        @DisplayName("Will reject a count that is too large")
+        void willRejectTooLargeCount() {
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .get("/secure/offenders/nextUpdates?count=1001")
+                    .then()
+                    .statusCode(400)
+            ;
+
+            verify(offenderUpdatesService, never()).getAndLockNextUpdates(anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("offenders/updates")
+    class BulkUpdates {
+
+        @Test
+        @DisplayName("Will delete all the updates")
+        void willDeleteUpdates() {
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .body(List.of(1L, 2L))
+                    .when()
+                    .delete("/secure/offenders/updates")
+                    .then()
+                    .statusCode(200)
+            ;
+
+            verify(offenderUpdatesService).deleteUpdates(List.of(1L, 2L));
+        }
+
+        @Test
+        @DisplayName("Will mark all the updates as failed")
+        void willMarkUpdatesAsFailed() {
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .body(List.of(1L, 2L))
+                    .when()
+                    .put("/secure/offenders/updates/markAsFailed")
+                    .then()
+                    .statusCode(200)
+            ;
+
+            verify(offenderUpdatesService).markAsFailed(List.of(1L, 2L));
+        }
+
+        @Test
+        @DisplayName("Will reject an empty list of updates")
+        void willRejectEmptyList() {
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .body(List.of())
+                    .when()
+                    .delete("/secure/offenders/updates")
+                    .then()
+                    .statusCode(400)
+            ;
+        }
+    }
+}
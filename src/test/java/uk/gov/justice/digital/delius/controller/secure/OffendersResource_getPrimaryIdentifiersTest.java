@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.controller.secure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +14,7 @@ import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
 import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiersSlice;
 import uk.gov.justice.digital.delius.data.filters.OffenderFilter;
 import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
 import uk.gov.justice.digital.delius.service.AssessmentService;
@@ -28,11 +30,14 @@ import uk.gov.justice.digital.delius.service.UserAccessService;
 import uk.gov.justice.digital.delius.service.UserService;
 
 import java.util.List;
+import java.util.Optional;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,7 +53,7 @@ class OffendersResource_getPrimaryIdentifiersTest {
     void setUp() {
         RestAssuredMockMvc.standaloneSetup(
                 MockMvcBuilders.standaloneSetup(
-                        new OffendersResource(offenderService, mock(ContactService.class), mock(ConvictionService.class), mock(NsiService.class), mock(OffenderManagerService.class), mock(SentenceService.class), mock(UserService.class), mock(CurrentUserSupplier.class), mock(CustodyService.class), mock(UserAccessService.class), mock(AssessmentService.class), mock(TierService.class)),
+                        new OffendersResource(offenderService, mock(ContactService.class), mock(ConvictionService.class), mock(NsiService.class), mock(OffenderManagerService.class), mock(SentenceService.class), mock(UserService.class), mock(CurrentUserSupplier.class), mock(CustodyService.class), mock(UserAccessService.class), mock(AssessmentService.class), mock(TierService.class), new ObjectMapper()),
                         new SecureControllerAdvice())
                         .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
         );
@@ -255,4 +260,67 @@ class OffendersResource_getPrimaryIdentifiersTest {
         assertThat(pageableCaptor.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "crn"));
     }
 
+    @Test
+    @DisplayName("Slice will return content and continuation token")
+    void sliceWillReturnContentAndContinuationToken() {
+        when(offenderService.getPrimaryIdentifiersAfter(any(), any(), anyInt()))
+                .thenReturn(PrimaryIdentifiersSlice
+                        .builder()
+                        .content(List.of(PrimaryIdentifiers.builder().crn("X123456").offenderId(99L).build()))
+                        .continuationToken("99")
+                        .build());
+
+        given()
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("continuationToken", "98")
+                .param("size", "1")
+                .param("includeActiveOnly", "true")
+                .when()
+                .get("/secure/offenders/primaryIdentifiers/slice")
+                .then()
+                .statusCode(200)
+                .body("content.size()", is(1))
+                .body("content[0].crn", is("X123456"))
+                .body("continuationToken", is("99"));
+
+        verify(offenderService).getPrimaryIdentifiersAfter(offenderFilterCaptor.capture(), eq(Optional.of(98L)), eq(1));
+        assertThat(offenderFilterCaptor.getValue().isIncludeActiveOnly()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Slice will start from the beginning when no continuation token supplied")
+    void sliceWillStartFromBeginningWithoutToken() {
+        given()
+                .contentType(APPLICATION_JSON_VALUE)
+                .when()
+                .get("/secure/offenders/primaryIdentifiers/slice")
+                .then()
+                .statusCode(200);
+
+        verify(offenderService).getPrimaryIdentifiersAfter(any(), eq(Optional.empty()), eq(100));
+    }
+
+    @Test
+    @DisplayName("Slice will return 400 error if the continuation token is invalid")
+    void sliceWillReturn400IfInvalidContinuationToken() {
+        given()
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("continuationToken", "bananas")
+                .when()
+                .get("/secure/offenders/primaryIdentifiers/slice")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Slice will return 400 error if the size is out of range")
+    void sliceWillReturn400IfSizeOutOfRange() {
+        given()
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("size", "0")
+                .when()
+                .get("/secure/offenders/primaryIdentifiers/slice")
+                .then()
+                .statusCode(400);
+    }
 }
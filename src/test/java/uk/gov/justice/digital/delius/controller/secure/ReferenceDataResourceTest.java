@@ -5,9 +5,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.controller.advice.SecureControllerAdvice;
+import uk.gov.justice.digital.delius.data.api.CacheStatistics;
 import uk.gov.justice.digital.delius.data.api.KeyValue;
 import uk.gov.justice.digital.delius.data.api.ReferenceData;
+import uk.gov.justice.digital.delius.service.ReferenceDataCacheService;
 import uk.gov.justice.digital.delius.service.ReferenceDataService;
 
 import java.util.List;
@@ -17,6 +20,7 @@ import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,12 +29,13 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 class ReferenceDataResourceTest {
 
     private final ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+    private final ReferenceDataCacheService referenceDataCacheService = mock(ReferenceDataCacheService.class);
 
 
     @BeforeEach
     void setUp() {
         RestAssuredMockMvc.standaloneSetup(
-                new ReferenceDataResource(referenceDataService),
+                new ReferenceDataResource(referenceDataService, referenceDataCacheService),
                 new SecureControllerAdvice()
         );
     }
@@ -136,4 +141,58 @@ class ReferenceDataResourceTest {
                     .body("referenceDataSets[1].description", is("POM Allocation Reason"));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("referenceDataCaches")
+    class ReferenceDataCaches {
+
+        @Test
+        @DisplayName("Will return statistics for each cache")
+        void WillReturnCacheStatistics() {
+            when(referenceDataCacheService.getCacheStatistics())
+                    .thenReturn(List.of(CacheStatistics
+                            .builder()
+                            .name("standardReferences")
+                            .size(3L)
+                            .hitCount(10L)
+                            .missCount(3L)
+                            .evictionCount(0L)
+                            .build()));
+
+            given()
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .when()
+                    .get("/secure/referenceData/caches")
+                    .then()
+                    .statusCode(200)
+                    .body("[0].name", is("standardReferences"))
+                    .body("[0].hitCount", is(10))
+                    .body("[0].missCount", is(3));
+        }
+
+        @Test
+        @DisplayName("Will evict every cache")
+        void WillEvictAllCaches() {
+            given()
+                    .when()
+                    .delete("/secure/referenceData/caches")
+                    .then()
+                    .statusCode(200);
+
+            verify(referenceDataCacheService).evictAll();
+        }
+
+        @Test
+        @DisplayName("Will return 404 when evicting an unknown cache")
+        void WillReturn404WhenCacheNotFound() {
+            doThrow(new NotFoundException("Cache bananas not found")).when(referenceDataCacheService).evict("bananas");
+
+            given()
+                    .when()
+                    .delete("/secure/referenceData/caches/{name}", "bananas")
+                    .then()
+                    .statusCode(404)
+                    .body("developerMessage", containsString("Cache bananas not found"));
+        }
+    }
+}
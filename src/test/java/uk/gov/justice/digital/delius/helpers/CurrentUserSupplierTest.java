@@ -11,6 +11,7 @@ import uk.gov.justice.digital.delius.config.SecurityUserContext;
 import uk.gov.justice.digital.delius.jwt.Jwt;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.lenient;
@@ -118,4 +119,30 @@ public class CurrentUserSupplierTest {
 
         assertThat(currentUserSupplier.username()).get().isEqualTo("NationalUser");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void willRunTaskOnAnotherThreadAsTheSubmittingUser() throws Exception {
+        lenient().when(securityUserContext.isSecure()).thenReturn(false);
+        CurrentUserSupplier.setClaims(new DefaultClaims(ImmutableMap.of(Jwt.UID, "testy.test")));
+        final var usernameOnWorker = new AtomicReference<Optional<String>>();
+
+        final var worker = new Thread(CurrentUserSupplier.withCurrentUser(() -> usernameOnWorker.set(currentUserSupplier.username())));
+        worker.start();
+        worker.join();
+
+        assertThat(usernameOnWorker.get()).get().isEqualTo("testy.test");
+    }
+
+    @Test
+    public void willRestoreTheCallersUserWhenTaskRunsOnTheSubmittingThread() {
+        lenient().when(securityUserContext.isSecure()).thenReturn(false);
+        CurrentUserSupplier.setNationalUserOverride();
+        final var task = CurrentUserSupplier.withCurrentUser(() -> {});
+        CurrentUserSupplier.unsetNationalUserOverride();
+        CurrentUserSupplier.setClaims(new DefaultClaims(ImmutableMap.of(Jwt.UID, "testy.test")));
+
+        task.run();
+
+        assertThat(currentUserSupplier.username()).get().isEqualTo("testy.test");
+    }
+}
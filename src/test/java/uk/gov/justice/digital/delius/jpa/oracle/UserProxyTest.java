@@ -0,0 +1,130 @@
+package uk.gov.justice.digital.delius.jpa.oracle;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.helpers.CurrentUserSupplier;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserProxyTest {
+    @Mock
+    private CurrentUserSupplier currentUserSupplier;
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+    @Mock
+    private Connection pooledConnection;
+    @Mock
+    private Connection physicalConnection;
+    @Mock
+    private PreparedStatement statement;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserProxy userProxy;
+
+    @BeforeEach
+    public void before() throws Throwable {
+        userProxy = new UserProxy(currentUserSupplier, meterRegistry);
+        when(joinPoint.proceed(any())).thenReturn(pooledConnection);
+        when(pooledConnection.isWrapperFor(Connection.class)).thenReturn(true);
+        when(pooledConnection.unwrap(Connection.class)).thenReturn(physicalConnection);
+    }
+
+    @Test
+    public void willSetClientIdentifierOnFirstUseOfSession() throws Throwable {
+        when(currentUserSupplier.username()).thenReturn(Optional.of("bobby.beans"));
+        when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+
+        assertThat(userProxy.doOracleProxyThing(joinPoint)).isSameAs(pooledConnection);
+
+        verify(statement).setString(1, "bobby.beans");
+        verify(statement).execute();
+        assertThat(countOf("set")).isEqualTo(1);
+    }
+
+    @Test
+    public void willSkipSettingClientIdentifierWhenSessionAlreadyHasIt() throws Throwable {
+        when(currentUserSupplier.username()).thenReturn(Optional.of("bobby.beans"));
+        when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+
+        userProxy.doOracleProxyThing(joinPoint);
+        userProxy.doOracleProxyThing(joinPoint);
+        userProxy.doOracleProxyThing(joinPoint);
+
+        verify(statement, times(1)).execute();
+        assertThat(countOf("set")).isEqualTo(1);
+        assertThat(countOf("skipped")).isEqualTo(2);
+    }
+
+    @Test
+    public void willSetClientIdentifierAgainWhenSessionWasLastUsedBySomeoneElse() throws Throwable {
+        when(currentUserSupplier.username()).thenReturn(Optional.of("bobby.beans"), Optional.of("sandra.smith"));
+        when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+
+        userProxy.doOracleProxyThing(joinPoint);
+        userProxy.doOracleProxyThing(joinPoint);
+
+        verify(statement).setString(1, "bobby.beans");
+        verify(statement).setString(1, "sandra.smith");
+        assertThat(countOf("set")).isEqualTo(2);
+    }
+
+    @Test
+    public void willClearClientIdentifierWhenThereIsNoUserButSessionHasOne() throws Throwable {
+        when(currentUserSupplier.username()).thenReturn(Optional.of("bobby.beans"), Optional.empty());
+        when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+        when(pooledConnection.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()")).thenReturn(statement);
+
+        userProxy.doOracleProxyThing(joinPoint);
+        userProxy.doOracleProxyThing(joinPoint);
+
+        verify(statement, times(2)).execute();
+        assertThat(countOf("cleared")).isEqualTo(1);
+    }
+
+    @Test
+    public void willNotTouchAFreshSessionWhenThereIsNoUser() throws Throwable {
+        when(currentUserSupplier.username()).thenReturn(Optional.empty());
+
+        userProxy.doOracleProxyThing(joinPoint);
+
+        verify(pooledConnection, never()).prepareStatement(any());
+        assertThat(countOf("skipped")).isEqualTo(1);
+    }
+
+    @Test
+    public void willClearClientIdentifierWhenThereIsNoUserAfterSettingItFailed() throws Throwable {
+        when(currentUserSupplier.username()).thenReturn(Optional.of("bobby.beans"), Optional.empty());
+        when(pooledConnection.prepareStatement("call PKG_VPD_CTX.SET_CLIENT_IDENTIFIER(?)")).thenReturn(statement);
+        when(pooledConnection.prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()")).thenReturn(statement);
+        when(statement.execute()).thenThrow(new SQLException("session killed")).thenReturn(true);
+
+        assertThatThrownBy(() -> userProxy.doOracleProxyThing(joinPoint)).hasCauseInstanceOf(SQLException.class);
+        verify(pooledConnection).close();
+
+        userProxy.doOracleProxyThing(joinPoint);
+
+        verify(pooledConnection).prepareStatement("call PKG_VPD_CTX.CLEAR_CLIENT_IDENTIFIER()");
+        assertThat(countOf("cleared")).isEqualTo(1);
+    }
+
+    private double countOf(String outcome) {
+        return meterRegistry.get("vpd.client.identifier").tag("outcome", outcome).counter().count();
+    }
+}
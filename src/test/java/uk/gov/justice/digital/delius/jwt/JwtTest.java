@@ -44,6 +44,20 @@ public class JwtTest {
 
     }
 
+    @Test
+    public void claimsSharedThroughTheCacheCannotBeChanged() {
+        Jwt jwt = new Jwt("a secret", 1);
+
+        String token = jwt.buildToken(UserData.builder().distinguishedName("Colin").uid("colin").build());
+        Claims claims = jwt.parseToken(token).orElseThrow();
+
+        assertThrows(UnsupportedOperationException.class, () -> claims.put(Jwt.UID, "someone else"));
+        assertThrows(UnsupportedOperationException.class, () -> claims.remove(Jwt.UID));
+        assertThrows(UnsupportedOperationException.class, () -> claims.setSubject("Someone else"));
+        assertThat(jwt.parseToken(token).orElseThrow().get(Jwt.UID)).isEqualTo("colin");
+        assertThat(jwt.parseToken(token).orElseThrow().getSubject()).isEqualTo("Colin");
+    }
+
     @Test
     public void cannotDecodeSomebodyElsesSignedJwt() {
         Jwt jwt = new Jwt("a secret", 1);
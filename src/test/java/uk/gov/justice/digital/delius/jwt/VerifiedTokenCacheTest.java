@@ -0,0 +1,82 @@
+package uk.gov.justice.digital.delius.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VerifiedTokenCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    public void tokenIsOnlyVerifiedTheFirstTimeItIsSeen() {
+        final var cache = cacheWithExpiry(token -> Optional.of(Instant.now().plusSeconds(60)));
+
+        assertThat(cache.verify("token", this::verify)).isEqualTo("claims of token");
+        assertThat(cache.verify("token", this::verify)).isEqualTo("claims of token");
+
+        assertThat(verifications).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "testTokens").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "testTokens").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void eachDistinctTokenIsVerified() {
+        final var cache = cacheWithExpiry(token -> Optional.of(Instant.now().plusSeconds(60)));
+
+        assertThat(cache.verify("token", this::verify)).isEqualTo("claims of token");
+        assertThat(cache.verify("another token", this::verify)).isEqualTo("claims of another token");
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    public void expiredTokenIsVerifiedAgain() {
+        final var cache = cacheWithExpiry(token -> Optional.of(Instant.now().minusSeconds(1)));
+
+        cache.verify("token", this::verify);
+        cache.verify("token", this::verify);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    public void tokenWithoutAnExpiryIsKeptForTheMaximumTimeToLive() {
+        final var cache = cacheWithExpiry(token -> Optional.empty());
+
+        cache.verify("token", this::verify);
+        cache.verify("token", this::verify);
+
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    public void failedVerificationIsNotKept() {
+        final var cache = cacheWithExpiry(token -> Optional.of(Instant.now().plusSeconds(60)));
+
+        assertThatThrownBy(() -> cache.verify("token", token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        })).isInstanceOf(IllegalArgumentException.class);
+        cache.verify("token", this::verify);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private VerifiedTokenCache<String> cacheWithExpiry(Function<String, Optional<Instant>> expiryOf) {
+        return new VerifiedTokenCache<>("testTokens", expiryOf, Duration.ofMinutes(10), 100, meterRegistry);
+    }
+
+    private String verify(String token) {
+        verifications.incrementAndGet();
+        return "claims of " + token;
+    }
+}
@@ -69,10 +69,10 @@ public class AppointmentServiceTest {
 
     @Test
     public void appointmentsSortedByContactDateDescending() {
-        when(contactRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(ImmutableList.of());
+        when(contactRepository.findAppointments(any(Specification.class), any(Sort.class))).thenReturn(ImmutableList.of());
         service.appointmentsFor(1L, AppointmentFilter.builder().build());
 
-        verify(contactRepository).findAll(specificationArgumentCaptor.capture(), sortArgumentCaptor.capture());
+        verify(contactRepository).findAppointments(specificationArgumentCaptor.capture(), sortArgumentCaptor.capture());
 
         assertThat(sortArgumentCaptor.getValue().getOrderFor("contactDate")).isNotNull();
         assertThat(sortArgumentCaptor.getValue().getOrderFor("contactDate").getDirection()).isEqualTo(Sort.Direction.DESC);
@@ -15,11 +15,13 @@ import org.mockito.quality.Strictness;
 import uk.gov.justice.digital.delius.config.FeatureSwitches;
 import uk.gov.justice.digital.delius.data.api.ReplaceCustodyKeyDates;
 import uk.gov.justice.digital.delius.jpa.national.entity.User;
+import uk.gov.justice.digital.delius.jpa.standard.entity.Contact;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 import uk.gov.justice.digital.delius.jpa.standard.repository.EventRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.entitybuilders.EventEntityBuilder;
 import uk.gov.justice.digital.delius.entitybuilders.KeyDateEntityBuilder;
+import uk.gov.justice.digital.delius.service.ConvictionService.CustodyKeyDatesReplacement;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -248,6 +250,48 @@ public class ConvictionService_AddOrReplaceOrDeleteCustodyKeyDatesTest {
         verify(eventRepository, never()).save(any());
     }
 
+    @Nested
+    class ManyConvictions {
+        @Test
+        void willReplaceKeyDatesOfEachConvictionAndWriteTheContactsAndNotificationsTogether() {
+            when(eventRepository.findById(88L)).thenReturn(Optional.of(aCustodyEvent(88L, new ArrayList<>(List.of(
+                    aKeyDate("LED", "licenceExpiryDate", LocalDate.of(2039, 9, 30))
+            )))));
+            when(eventRepository.findById(89L)).thenReturn(Optional.of(aCustodyEvent(89L, new ArrayList<>(List.of(
+                    aKeyDate("SED", "sentenceExpiryDate", LocalDate.of(2039, 9, 30))
+            )))));
+            when(contactService.contactForBulkCustodyKeyDateUpdate(any(), any(), any(), any())).thenReturn(Contact.builder().build());
+
+            final var custodies = convictionService.addOrReplaceOrDeleteCustodyKeyDates(List.of(
+                    new CustodyKeyDatesReplacement(99L, 88L, ReplaceCustodyKeyDates.builder().conditionalReleaseDate(LocalDate.of(2030, 1, 1)).build()),
+                    new CustodyKeyDatesReplacement(100L, 89L, ReplaceCustodyKeyDates.builder().sentenceExpiryDate(LocalDate.of(2030, 1, 2)).build())));
+
+            assertThat(custodies).hasSize(2);
+            assertThat(custodies.get(0).getKeyDates().getLicenceExpiryDate()).isNull();
+            assertThat(custodies.get(0).getKeyDates().getConditionalReleaseDate()).isEqualTo(LocalDate.of(2030, 1, 1));
+            assertThat(custodies.get(1).getKeyDates().getSentenceExpiryDate()).isEqualTo(LocalDate.of(2030, 1, 2));
+            verify(contactService).addContacts(List.of(Contact.builder().build(), Contact.builder().build()));
+            verify(contactService, never()).addContactForBulkCustodyKeyDateUpdate(any(), any(), any(), any());
+            verify(spgNotificationService).notify(any(SpgNotificationService.NotificationBatch.class));
+            verify(eventRepository).flush();
+        }
+
+        @Test
+        @MockitoSettings(strictness = Strictness.LENIENT)
+        void willWriteNothingWhenNoDatesHaveChanged() {
+            when(eventRepository.findById(88L)).thenReturn(Optional.of(aCustodyEvent(88L, new ArrayList<>(List.of(
+                    aKeyDate("LED", "licenceExpiryDate", LocalDate.of(2039, 9, 30))
+            )))));
+
+            convictionService.addOrReplaceOrDeleteCustodyKeyDates(List.of(
+                    new CustodyKeyDatesReplacement(99L, 88L, ReplaceCustodyKeyDates.builder().licenceExpiryDate(LocalDate.of(2039, 9, 30)).build())));
+
+            verify(contactService, never()).addContacts(any());
+            verify(spgNotificationService, never()).notify(any(SpgNotificationService.NotificationBatch.class));
+            verify(eventRepository, never()).save(any());
+        }
+    }
+
     @Nested
     @MockitoSettings(strictness = Strictness.LENIENT)
     class Telemetry {
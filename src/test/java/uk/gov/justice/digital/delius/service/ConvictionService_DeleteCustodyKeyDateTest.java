@@ -13,6 +13,8 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import uk.gov.justice.digital.delius.config.FeatureSwitches;
 import uk.gov.justice.digital.delius.entitybuilders.EventEntityBuilder;
 import uk.gov.justice.digital.delius.entitybuilders.KeyDateEntityBuilder;
@@ -156,6 +158,28 @@ public class ConvictionService_DeleteCustodyKeyDateTest {
         verify(telemetryClient).trackEvent(eq("KeyDateDeleted"), argThat(standardTelemetryAttributes), isNull());
     }
 
+    @Test
+    @DisplayName("KeyDateDeleted telemetry event is only raised once the transaction commits")
+    public void telemetryEventDeferredUntilCommit() throws SingleActiveCustodyConvictionNotFoundException {
+        val event = aCustodyEvent(1L, new ArrayList<>());
+        event.getDisposal().getCustody().getKeyDates().add(aKeyDate("POM1", "POM Handover expected start date", LocalDate.now()));
+
+        when(eventRepository.findActiveByOffenderIdWithCustody(999L)).thenReturn(ImmutableList.of(event));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            convictionService.deleteCustodyKeyDateByOffenderId(999L, "POM1");
+
+            verify(telemetryClient, never()).trackEvent(eq("KeyDateDeleted"), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(telemetryClient).trackEvent(eq("KeyDateDeleted"), any(), isNull());
+    }
+
     @Test
     public void iapsIsNotNotifiedOfDeleteByOffenderIdIdAndWhenSentenceExpiryNotAffected() throws SingleActiveCustodyConvictionNotFoundException {
         val event = aCustodyEvent(
@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.justice.digital.delius.data.api.Conviction;
 import uk.gov.justice.digital.delius.data.api.CourtAppearance;
 import uk.gov.justice.digital.delius.data.api.CourtAppearanceBasic;
+import uk.gov.justice.digital.delius.jpa.filters.CourtAppearanceFilter;
 import uk.gov.justice.digital.delius.jpa.standard.entity.AdditionalOffence;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Court;
 import uk.gov.justice.digital.delius.jpa.standard.entity.CourtReport;
@@ -24,8 +25,12 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -111,23 +116,39 @@ class CourtAppearanceServiceTest {
     }
 
     @Test
-    void shouldGetAppearancesByDateSortByDateAscending() {
+    void shouldGetLimitedAppearancesInKeysetOrder() {
+        var now = LocalDateTime.now();
+        var filter = CourtAppearanceFilter.builder().fromDate(LocalDate.now()).build();
+        var appearance1 = aCourtAppearance(1L, 0L, Collections.emptyList(), now.minusDays(3));
+        var appearance2 = aCourtAppearance(2L, 0L, Collections.emptyList(), now);
+
+        when(courtAppearanceRepository.findAll(filter, CourtAppearanceFilter.KEYSET_ORDER, 2))
+            .thenReturn(ImmutableList.of(appearance1, appearance2));
+
+        var courtAppearances = courtAppearanceService.courtAppearances(filter, Optional.of(2));
+
+        assertThat(courtAppearances).extracting("courtAppearanceId").containsExactly(1L, 2L);
+        assertThat(courtAppearances.get(0).getAppearanceType().getDescription()).isEqualTo("appearance type");
+    }
 
-        var today = LocalDate.now();
+    @Test
+    void shouldGetAllAppearancesFromCursorWhenNoLimit() {
         var now = LocalDateTime.now();
-        var previous = now.minusDays(3);
+        var filter = CourtAppearanceFilter.builder().fromDate(LocalDate.now()).build();
         var appearance1 = aCourtAppearance(1L, 0L, Collections.emptyList(), now.minusDays(3));
-        var appearance2 = aCourtAppearance(1L, 0L, Collections.emptyList(), now);
-        var deletedAppearance = aCourtAppearance(1L, 1L, Collections.emptyList(), previous);
+        var appearance2 = aCourtAppearance(2L, 0L, Collections.emptyList(), now);
 
-        when(courtAppearanceRepository.findByAppearanceDateGreaterThanEqual(today.atStartOfDay()))
-            .thenReturn(ImmutableList.of(appearance1, appearance2, deletedAppearance));
+        doAnswer(invocation -> {
+            Consumer<uk.gov.justice.digital.delius.jpa.standard.entity.CourtAppearance> consumer = invocation.getArgument(2);
+            consumer.accept(appearance1);
+            consumer.accept(appearance2);
+            return null;
+        }).when(courtAppearanceRepository).forEachMatching(eq(filter), eq(CourtAppearanceFilter.KEYSET_ORDER), any());
 
-        var courtAppearances = courtAppearanceService.courtAppearances(today);
+        var courtAppearances = courtAppearanceService.courtAppearances(filter, Optional.empty());
 
-        assertThat(courtAppearances).hasSize(2);
-        assertThat(courtAppearances.get(0).getAppearanceDate()).isEqualTo(previous);
-        assertThat(courtAppearances.get(1).getAppearanceDate()).isEqualTo(now);
+        assertThat(courtAppearances).extracting("courtAppearanceId").containsExactly(1L, 2L);
+        assertThat(courtAppearances).extracting("appearanceDate").containsExactly(now.minusDays(3), now);
     }
 
     private Court aCourt() {
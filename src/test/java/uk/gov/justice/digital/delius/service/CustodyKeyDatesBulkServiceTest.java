@@ -0,0 +1,113 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.justice.digital.delius.config.FeatureSwitches;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDates;
+import uk.gov.justice.digital.delius.data.api.Custody;
+import uk.gov.justice.digital.delius.data.api.ReplaceCustodyKeyDates;
+import uk.gov.justice.digital.delius.service.ConvictionService.CustodyKeyDatesReplacement;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aCustodyEvent;
+
+@ExtendWith(MockitoExtension.class)
+class CustodyKeyDatesBulkServiceTest {
+    private static final ReplaceCustodyKeyDates KEY_DATES = ReplaceCustodyKeyDates.builder().conditionalReleaseDate(LocalDate.parse("2030-01-01")).build();
+
+    @Mock
+    private OffenderService offenderService;
+    @Mock
+    private ConvictionService convictionService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CustodyKeyDatesBulkService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CustodyKeyDatesBulkService(offenderService, convictionService, new FeatureSwitches(), transactionManager, 2);
+    }
+
+    @Test
+    void replacesEachChunkInItsOwnTransaction() {
+        givenBooking("A0001AA", 1L, 11L);
+        givenBooking("A0002AA", 2L, 12L);
+        givenBooking("A0003AA", 3L, 13L);
+        when(convictionService.addOrReplaceOrDeleteCustodyKeyDates(anyList())).thenAnswer(invocation -> custodiesOf(invocation.getArgument(0)));
+
+        final var results = service.replaceCustodyKeyDates(List.of(aBooking("A0001AA"), aBooking("A0002AA"), aBooking("A0003AA")));
+
+        assertThat(results).extracting("nomsNumber").containsExactly("A0001AA", "A0002AA", "A0003AA");
+        assertThat(results).extracting("status").containsOnly(200);
+        assertThat(results).extracting("custody.sentenceStartDate").containsExactly(LocalDate.ofEpochDay(11), LocalDate.ofEpochDay(12), LocalDate.ofEpochDay(13));
+        verify(convictionService).addOrReplaceOrDeleteCustodyKeyDates(List.of(
+            new CustodyKeyDatesReplacement(1L, 11L, KEY_DATES),
+            new CustodyKeyDatesReplacement(2L, 12L, KEY_DATES)));
+        verify(convictionService).addOrReplaceOrDeleteCustodyKeyDates(List.of(new CustodyKeyDatesReplacement(3L, 13L, KEY_DATES)));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void bookingsThatCanNotBeFoundDoNotStopTheRestOfTheChunk() {
+        givenBooking("A0001AA", 1L, 11L);
+        when(offenderService.offenderIdOfNomsNumber("A0002AA")).thenReturn(Optional.empty());
+        when(convictionService.addOrReplaceOrDeleteCustodyKeyDates(anyList())).thenAnswer(invocation -> custodiesOf(invocation.getArgument(0)));
+
+        final var results = service.replaceCustodyKeyDates(List.of(aBooking("A0001AA"), aBooking("A0002AA")));
+
+        assertThat(results).extracting("status").containsExactly(200, 404);
+        assertThat(results.get(1).getMessage()).isEqualTo("Offender with NOMS number A0002AA not found");
+        verify(convictionService).addOrReplaceOrDeleteCustodyKeyDates(List.of(new CustodyKeyDatesReplacement(1L, 11L, KEY_DATES)));
+    }
+
+    @Test
+    void whenAChunkFailsEachBookingIsReplacedSeparately() {
+        givenBooking("A0001AA", 1L, 11L);
+        givenBooking("A0002AA", 2L, 12L);
+        when(convictionService.addOrReplaceOrDeleteCustodyKeyDates(anyList())).thenAnswer(invocation -> {
+            final List<CustodyKeyDatesReplacement> replacements = invocation.getArgument(0);
+            if (replacements.stream().anyMatch(replacement -> replacement.getOffenderId() == 2L)) {
+                throw new RuntimeException("key date type is not valid");
+            }
+            return custodiesOf(replacements);
+        });
+
+        final var results = service.replaceCustodyKeyDates(List.of(aBooking("A0001AA"), aBooking("A0002AA")));
+
+        assertThat(results).extracting("status").containsExactly(200, 500);
+        assertThat(results.get(1).getMessage()).isEqualTo("key date type is not valid");
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    private void givenBooking(String nomsNumber, Long offenderId, Long eventId) {
+        when(offenderService.offenderIdOfNomsNumber(nomsNumber)).thenReturn(Optional.of(offenderId));
+        when(convictionService.getAllActiveCustodialEventsWithBookingNumber(offenderId, "44463B")).thenReturn(List.of(aCustodyEvent(eventId)));
+    }
+
+    private static BookingCustodyKeyDates aBooking(String nomsNumber) {
+        return BookingCustodyKeyDates.builder().nomsNumber(nomsNumber).bookingNumber("44463B").keyDates(KEY_DATES).build();
+    }
+
+    private static List<Custody> custodiesOf(List<CustodyKeyDatesReplacement> replacements) {
+        return replacements
+            .stream()
+            .map(replacement -> Custody.builder().sentenceStartDate(LocalDate.ofEpochDay(replacement.getConvictionId())).build())
+            .collect(toList());
+    }
+}
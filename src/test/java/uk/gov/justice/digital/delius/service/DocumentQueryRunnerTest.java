@@ -0,0 +1,70 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DocumentQueryRunnerTest {
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("sequential queries share a single transaction")
+    void sequentialQueriesShareASingleTransaction() {
+        final var runner = new DocumentQueryRunner(null, readOnlyTransaction);
+
+        final var total = runner.run(() -> {
+            final var first = runner.submit(() -> 1);
+            final var second = runner.submit(() -> 2);
+            return first.get() + second.get();
+        });
+
+        assertThat(total).isEqualTo(3);
+        verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("parallel queries each have their own transaction and the caller has none")
+    void parallelQueriesEachHaveTheirOwnTransaction() {
+        final var runner = new DocumentQueryRunner(executor, readOnlyTransaction);
+
+        final var total = runner.run(() -> {
+            final var first = runner.submit(() -> 1);
+            final var second = runner.submit(() -> 2);
+            return first.get() + second.get();
+        });
+
+        assertThat(total).isEqualTo(3);
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+}
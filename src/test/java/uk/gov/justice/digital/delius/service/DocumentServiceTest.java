@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,6 +16,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.data.api.ConvictionDocuments;
 import uk.gov.justice.digital.delius.data.api.OffenderDocumentDetail;
 import uk.gov.justice.digital.delius.data.api.OffenderDocumentDetail.Type;
 import uk.gov.justice.digital.delius.data.api.OffenderDocuments;
@@ -45,12 +49,16 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -133,7 +141,8 @@ public class DocumentServiceTest {
             nsiDocumentRepository,
             personalCircumstanceDocumentRepository,
             upwAppointmentDocumentRepository,
-            contactDocumentRepository
+            contactDocumentRepository,
+            DocumentQueryRunner.sequential()
         );
         when(offenderRepository.findByOffenderId(any())).thenReturn(Optional.of(anOffender()));
         when(offenderDocumentRepository.findByOffenderId(any())).thenReturn(List.of());
@@ -649,4 +658,68 @@ public class DocumentServiceTest {
         }
     }
 
+    @DisplayName("Parallel queries")
+    @Nested
+    @MockitoSettings(strictness = Strictness.LENIENT)
+    class ParallelQueries {
+        private ExecutorService executor;
+        private DocumentService parallelDocumentService;
+
+        @BeforeEach
+        void setUp() {
+            executor = Executors.newFixedThreadPool(4);
+            parallelDocumentService = new DocumentService(
+                documentRepository,
+                offenderRepository,
+                offenderDocumentRepository,
+                eventDocumentRepository,
+                courtReportDocumentRepository,
+                institutionReportDocumentRepository,
+                eventRepository,
+                addressAssessmentRepository,
+                approvedPremisesReferralDocumentRepository,
+                assessmentDocumentRepository,
+                caseAllocationDocumentRepository,
+                personalContactDocumentRepository,
+                referralDocumentRepository,
+                nsiDocumentRepository,
+                personalCircumstanceDocumentRepository,
+                upwAppointmentDocumentRepository,
+                contactDocumentRepository,
+                new DocumentQueryRunner(executor, new TransactionTemplate(mock(PlatformTransactionManager.class)))
+            );
+            when(eventDocumentRepository.findByOffenderId(any())).thenReturn(List.of(anEventDocument(3L), anEventDocument(1L)));
+            when(courtReportDocumentRepository.findAll(courtReportDocumentSpecification.capture())).thenReturn(List.of(aCourtReportDocument(2L), aCourtReportDocument(3L)));
+            when(contactDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aContactDocument(1L), aContactDocument(), aContactDocument(2L)));
+            when(nsiDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aNsiDocument(), aNsiDocument(4L)));
+            when(personalContactDocumentRepository.findByOffenderId(any())).thenReturn(List.of(aPersonalContactDocument()));
+        }
+
+        @AfterEach
+        void tearDown() {
+            executor.shutdownNow();
+        }
+
+        @Test
+        @DisplayName("will return the same documents in the same order as when queried sequentially")
+        void willReturnSameDocumentsAsSequentialQueries() {
+            final var sequentialDocuments = documentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
+            final var parallelDocuments = parallelDocumentService.offenderDocumentsFor(1L, DocumentFilter.noFilter());
+
+            assertThat(parallelDocuments.getConvictions())
+                .extracting(ConvictionDocuments::getConvictionId)
+                .containsExactly("3", "1", "2", "4");
+            assertThat(parallelDocuments).usingRecursiveComparison().isEqualTo(sequentialDocuments);
+        }
+
+        @Test
+        @DisplayName("will surface a failing query to the caller")
+        void willSurfaceAFailingQuery() {
+            when(nsiDocumentRepository.findByOffenderId(any())).thenThrow(new IllegalStateException("boom"));
+
+            assertThatThrownBy(() -> parallelDocumentService.offenderDocumentsFor(1L, DocumentFilter.noFilter()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+        }
+    }
 }
@@ -0,0 +1,197 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
+import uk.gov.justice.digital.delius.jpa.standard.repository.SpgNotificationHelperRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.digital.delius.config.CacheConfig.INTERESTED_CRCS;
+
+@ExtendWith(MockitoExtension.class)
+public class InterestedCRCCacheTest {
+    private static final ProbationArea CRC = ProbationArea.builder().probationAreaId(1L).code("C01").build();
+
+    @Mock
+    private SpgNotificationHelperRepository spgNotificationHelperRepository;
+
+    @BeforeEach
+    public void before() {
+        when(spgNotificationHelperRepository.getInterestedCRCs(any())).thenReturn(List.of(CRC));
+    }
+
+    @AfterEach
+    public void after() {
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeTransaction();
+        }
+    }
+
+    @Nested
+    @DisplayName("without the cache across requests")
+    class WithoutCache {
+        private InterestedCRCCache interestedCRCCache;
+
+        @BeforeEach
+        public void setUp() {
+            interestedCRCCache = new InterestedCRCCache(spgNotificationHelperRepository, new CaffeineCacheManager(INTERESTED_CRCS), false);
+        }
+
+        @Test
+        @DisplayName("every lookup outside of a request or transaction calls the procedure")
+        public void nothingIsRememberedOutsideOfARequestOrTransaction() {
+            assertThat(interestedCRCCache.interestedIn(99L)).containsExactly(CRC);
+            assertThat(interestedCRCCache.interestedIn(99L)).containsExactly(CRC);
+
+            verify(spgNotificationHelperRepository, times(2)).getInterestedCRCs("99");
+        }
+
+        @Test
+        @DisplayName("the procedure is called once for each offender within a transaction")
+        public void rememberedForTheTransaction() {
+            beginTransaction();
+
+            interestedCRCCache.interestedIn(99L);
+            interestedCRCCache.interestedIn(99L);
+            interestedCRCCache.interestedIn(100L);
+
+            verify(spgNotificationHelperRepository).getInterestedCRCs("99");
+            verify(spgNotificationHelperRepository).getInterestedCRCs("100");
+        }
+
+        @Test
+        @DisplayName("the procedure is called again once the transaction has completed")
+        public void forgottenWhenTheTransactionCompletes() {
+            beginTransaction();
+            interestedCRCCache.interestedIn(99L);
+            completeTransaction();
+
+            beginTransaction();
+            interestedCRCCache.interestedIn(99L);
+
+            verify(spgNotificationHelperRepository, times(2)).getInterestedCRCs("99");
+        }
+
+        @Test
+        @DisplayName("the procedure is called once for each offender within a request")
+        public void rememberedForTheRequest() {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+            beginTransaction();
+            interestedCRCCache.interestedIn(99L);
+            completeTransaction();
+            interestedCRCCache.interestedIn(99L);
+
+            verify(spgNotificationHelperRepository).getInterestedCRCs("99");
+        }
+
+        @Test
+        @DisplayName("the procedure is called again after the offender has been invalidated")
+        public void invalidatedWithinTheTransaction() {
+            beginTransaction();
+
+            interestedCRCCache.interestedIn(99L);
+            interestedCRCCache.invalidate(99L);
+            interestedCRCCache.interestedIn(99L);
+
+            verify(spgNotificationHelperRepository, times(2)).getInterestedCRCs("99");
+        }
+
+        @Test
+        @DisplayName("the areas remembered can not be changed by a caller")
+        public void rememberedAreasCanNotBeChanged() {
+            beginTransaction();
+
+            final var interested = interestedCRCCache.interestedIn(99L);
+
+            assertThatThrownBy(interested::clear).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("with the cache across requests")
+    class WithCache {
+        private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        private InterestedCRCCache interestedCRCCache;
+
+        @BeforeEach
+        public void setUp() {
+            cacheManager.registerCustomCache(INTERESTED_CRCS, Caffeine.newBuilder().recordStats().build());
+            interestedCRCCache = new InterestedCRCCache(spgNotificationHelperRepository, cacheManager, true);
+        }
+
+        @Test
+        @DisplayName("the procedure is called once for each offender across transactions")
+        public void rememberedAcrossTransactions() {
+            beginTransaction();
+            interestedCRCCache.interestedIn(99L);
+            completeTransaction();
+
+            beginTransaction();
+            interestedCRCCache.interestedIn(99L);
+
+            verify(spgNotificationHelperRepository).getInterestedCRCs("99");
+            assertThat(((CaffeineCache) cacheManager.getCache(INTERESTED_CRCS)).getNativeCache().stats().hitCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("the procedure is called again after the offender has been invalidated")
+        public void invalidatedAcrossTransactions() {
+            interestedCRCCache.interestedIn(99L);
+            interestedCRCCache.invalidate(99L);
+            interestedCRCCache.interestedIn(99L);
+
+            verify(spgNotificationHelperRepository, times(2)).getInterestedCRCs("99");
+        }
+
+        @Test
+        @DisplayName("areas looked up by another request before the invalidating transaction completes are forgotten")
+        public void invalidatedAgainWhenTheTransactionCompletes() {
+            beginTransaction();
+            interestedCRCCache.invalidate(99L);
+            final var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+
+            // another request looks the offender up while the change is still to be committed
+            interestedCRCCache.interestedIn(99L);
+
+            TransactionSynchronizationManager.initSynchronization();
+            synchronizations.forEach(TransactionSynchronizationManager::registerSynchronization);
+            completeTransaction();
+            interestedCRCCache.interestedIn(99L);
+
+            verify(spgNotificationHelperRepository, times(2)).getInterestedCRCs("99");
+        }
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
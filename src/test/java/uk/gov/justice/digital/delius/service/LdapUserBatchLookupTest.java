@@ -0,0 +1,74 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LdapUserBatchLookupTest {
+
+    @Mock
+    private LdapRepository ldapRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void usersAreSearchedForInBatches() {
+        final var lookup = new LdapUserBatchLookup(ldapRepository, executor, 2);
+        when(ldapRepository.getDeliusUsersNoRoles(List.of("john", "jane"))).thenReturn(List.of(aUser("john"), aUser("jane")));
+        when(ldapRepository.getDeliusUsersNoRoles(List.of("jim"))).thenReturn(List.of(aUser("jim")));
+
+        final var users = lookup.usersNoRolesByUsername(List.of("john", "jane", "jim"));
+
+        assertThat(users).containsOnlyKeys("john", "jane", "jim");
+        assertThat(users.get("jim").getMail()).isEqualTo("jim@service.com");
+        verify(ldapRepository).getDeliusUsersNoRoles(List.of("john", "jane"));
+        verify(ldapRepository).getDeliusUsersNoRoles(List.of("jim"));
+        verifyNoMoreInteractions(ldapRepository);
+    }
+
+    @Test
+    void usersAreMatchedIgnoringCase() {
+        final var lookup = new LdapUserBatchLookup(ldapRepository, Runnable::run, 50);
+        when(ldapRepository.getDeliusUsersNoRoles(List.of("JOHN", "jane"))).thenReturn(List.of(aUser("John")));
+
+        final var users = lookup.usersNoRolesByUsername(List.of("JOHN", "jane"));
+
+        assertThat(users.get("JOHN").getCn()).isEqualTo("John");
+        assertThat(users.get("jane")).isNull();
+    }
+
+    @Test
+    void failedSearchIsRethrown() {
+        final var lookup = new LdapUserBatchLookup(ldapRepository, Runnable::run, 1);
+        when(ldapRepository.getDeliusUsersNoRoles(List.of("john"))).thenReturn(List.of(aUser("john")));
+        when(ldapRepository.getDeliusUsersNoRoles(List.of("jane"))).thenThrow(new IllegalStateException("LDAP unavailable"));
+
+        assertThatThrownBy(() -> lookup.usersNoRolesByUsername(List.of("john", "jane")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("LDAP unavailable");
+    }
+
+    private NDeliusUser aUser(String username) {
+        return NDeliusUser.builder().cn(username).mail(username + "@service.com").build();
+    }
+}
@@ -37,6 +37,8 @@ public class OffenderManagerService_isPrisonOffenderManagerAtInstitutionTest {
     private ContactService contactService;
     @Mock
     private TelemetryClient telemetryClient;
+    @Mock
+    private InterestedCRCCache interestedCRCCache;
 
     private OffenderManagerService offenderManagerService;
 
@@ -51,7 +53,8 @@ public class OffenderManagerService_isPrisonOffenderManagerAtInstitutionTest {
                 teamService,
                 referenceDataService,
                 contactService,
-                telemetryClient);
+                telemetryClient,
+                interestedCRCCache);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package uk.gov.justice.digital.delius.service;
 
+import com.microsoft.applicationinsights.TelemetryClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -12,36 +13,94 @@ import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrisonerRep
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static uk.gov.justice.digital.delius.util.EntityHelper.*;
 
 class OffenderPrisonerServiceTest {
     private OffenderPrisonerRepository offenderPrisonerRepository;
     private EventRepository eventRepository;
+    private TelemetryClient telemetryClient;
     private OffenderPrisonerService offenderPrisonerService;
 
     @Captor
-    private ArgumentCaptor<Set<OffenderPrisoner>> offenderPrisonersCaptor;
+    private ArgumentCaptor<List<OffenderPrisoner>> offenderPrisonersCaptor;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.initMocks(this);
         offenderPrisonerRepository = mock(OffenderPrisonerRepository.class);
         eventRepository = mock(EventRepository.class);
+        telemetryClient = mock(TelemetryClient.class);
 
-        offenderPrisonerService = new OffenderPrisonerService(eventRepository, offenderPrisonerRepository);
+        offenderPrisonerService = new OffenderPrisonerService(eventRepository, offenderPrisonerRepository, telemetryClient);
         when(eventRepository.findByOffenderId(anyLong())).thenReturn(List.of(aCustodyEvent()));
     }
 
     @Test
-    void willDeleteExistingByOffenderId() {
+    void willOnlyDeletePrisonerNumbersNoLongerOnAnyEvent() {
+        when(eventRepository.findByOffenderId(99L)).thenReturn(List.of(custodyEvent("12345A", LocalDate.now())));
+        when(offenderPrisonerRepository.findAllByOffenderId(99L)).thenReturn(List.of(
+                offenderPrisoner("12345A"),
+                offenderPrisoner("12345Z")));
+
         offenderPrisonerService.refreshOffenderPrisonersFor(anOffender().toBuilder().offenderId(99L).build());
 
-        verify(offenderPrisonerRepository).deleteAllByOffenderId(99L);
+        verify(offenderPrisonerRepository).deleteAll(offenderPrisonersCaptor.capture());
+        assertThat(offenderPrisonersCaptor.getValue()).containsExactly(offenderPrisoner("12345Z"));
+        verify(offenderPrisonerRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void willOnlyInsertPrisonerNumbersNotAlreadyRecorded() {
+        when(eventRepository.findByOffenderId(99L)).thenReturn(List.of(
+                custodyEvent("12345A", LocalDate.now()),
+                custodyEvent("12345B", LocalDate.now().minusDays(1))));
+        when(offenderPrisonerRepository.findAllByOffenderId(99L)).thenReturn(List.of(offenderPrisoner("12345B")));
+
+        offenderPrisonerService.refreshOffenderPrisonersFor(anOffender().toBuilder().offenderId(99L).build());
+
+        verify(offenderPrisonerRepository).saveAll(offenderPrisonersCaptor.capture());
+        assertThat(offenderPrisonersCaptor.getValue()).containsExactly(offenderPrisoner("12345A"));
+        verify(offenderPrisonerRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    void willWriteNothingWhenPrisonerNumbersAreUnchanged() {
+        when(eventRepository.findByOffenderId(99L)).thenReturn(List.of(
+                custodyEvent("12345A", LocalDate.now()),
+                custodyEvent("12345B", LocalDate.now().minusDays(1))));
+        when(offenderPrisonerRepository.findAllByOffenderId(99L)).thenReturn(List.of(
+                offenderPrisoner("12345B"),
+                offenderPrisoner("12345A")));
+
+        offenderPrisonerService.refreshOffenderPrisonersFor(anOffender().toBuilder().offenderId(99L).build());
+
+        verify(offenderPrisonerRepository).findAllByOffenderId(99L);
+        verifyNoMoreInteractions(offenderPrisonerRepository);
+    }
+
+    @Test
+    void willRecordWhatChangedInTelemetry() {
+        when(eventRepository.findByOffenderId(99L)).thenReturn(List.of(
+                custodyEvent("12345A", LocalDate.now()),
+                custodyEvent("12345B", LocalDate.now().minusDays(1))));
+        when(offenderPrisonerRepository.findAllByOffenderId(99L)).thenReturn(List.of(
+                offenderPrisoner("12345B"),
+                offenderPrisoner("12345Y"),
+                offenderPrisoner("12345Z")));
+
+        offenderPrisonerService.refreshOffenderPrisonersFor(anOffender().toBuilder().offenderId(99L).crn("X12345").build());
+
+        verify(telemetryClient).trackEvent(
+                eq("OffenderPrisonersRefreshed"),
+                eq(Map.of("crn", "X12345")),
+                eq(Map.of("inserted", 1d, "deleted", 2d, "unchanged", 1d)));
     }
 
     @Test
@@ -87,6 +146,10 @@ class OffenderPrisonerServiceTest {
 
     }
 
+    private OffenderPrisoner offenderPrisoner(String prisonNumber) {
+        return OffenderPrisoner.builder().prisonerNumber(prisonNumber).offenderId(99L).build();
+    }
+
     private Event custodyEvent(String prisonNumber, LocalDate disposalStartDate) {
         final var custody = aCustodyEvent()
                 .getDisposal()
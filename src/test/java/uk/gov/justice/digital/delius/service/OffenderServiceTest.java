@@ -8,14 +8,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearch;
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiers;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderLimitedAccessRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrimaryIdentifiersRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static java.util.stream.Collectors.toSet;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.digital.delius.util.EntityHelper.anOffender;
 
@@ -27,14 +40,69 @@ class OffenderServiceTest {
     private OffenderPrimaryIdentifiersRepository offenderPrimaryIdentifiersRepository;
     @Mock
     private ConvictionService convictionService;
+    @Mock
+    private OffenderLimitedAccessRepository offenderLimitedAccessRepository;
 
     private OffenderService service;
 
     @BeforeEach
     void setUp() {
-        service = new OffenderService(offenderRepository, offenderPrimaryIdentifiersRepository, convictionService);
+        service = new OffenderService(offenderRepository, offenderPrimaryIdentifiersRepository, convictionService, offenderLimitedAccessRepository, new OffenderIdentifierCache(new CaffeineCacheManager()));
     }
 
+    @Nested
+    @DisplayName("identifier lookups")
+    class IdentifierLookups {
+        private final OffenderPrimaryIdentifiers identifiers = OffenderPrimaryIdentifiers.builder()
+            .offenderId(99L)
+            .crn("X12345")
+            .nomsNumber("A1234ZZ")
+            .build();
+
+        @Test
+        @DisplayName("will only look up the crn of an offender id once")
+        void willCacheCrnOfOffenderId() {
+            when(offenderPrimaryIdentifiersRepository.findById(99L)).thenReturn(Optional.of(identifiers));
+
+            assertThat(service.crnOf(99L)).hasValue("X12345");
+            assertThat(service.crnOf(99L)).hasValue("X12345");
+
+            verify(offenderPrimaryIdentifiersRepository, times(1)).findById(99L);
+        }
+
+        @Test
+        @DisplayName("will only look up the offender id of a crn once")
+        void willCacheOffenderIdOfCrn() {
+            when(offenderPrimaryIdentifiersRepository.findByCrn("X12345")).thenReturn(Optional.of(identifiers));
+
+            assertThat(service.offenderIdOfCrn("X12345")).hasValue(99L);
+            assertThat(service.offenderIdOfCrn("X12345")).hasValue(99L);
+
+            verify(offenderPrimaryIdentifiersRepository, times(1)).findByCrn("X12345");
+        }
+
+        @Test
+        @DisplayName("will not cache missing offenders")
+        void willNotCacheMissingOffenders() {
+            when(offenderPrimaryIdentifiersRepository.findByCrn("X12345")).thenReturn(Optional.empty());
+
+            assertThat(service.offenderIdOfCrn("X12345")).isEmpty();
+            assertThat(service.offenderIdOfCrn("X12345")).isEmpty();
+
+            verify(offenderPrimaryIdentifiersRepository, times(2)).findByCrn("X12345");
+        }
+
+        @Test
+        @DisplayName("will always look up by noms number but remember the crn found")
+        void willPopulateCacheFromNomsNumberLookup() {
+            when(offenderPrimaryIdentifiersRepository.findByNomsNumber("A1234ZZ")).thenReturn(Optional.of(identifiers));
+
+            assertThat(service.offenderIdOfNomsNumber("A1234ZZ")).hasValue(99L);
+            assertThat(service.crnOf(99L)).hasValue("X12345");
+
+            verify(offenderPrimaryIdentifiersRepository, times(0)).findById(any());
+        }
+    }
 
 
     @Nested
@@ -233,4 +301,74 @@ class OffenderServiceTest {
             assertThat(service.singleOffenderIdOfNomsNumber("A1234ZZ").isLeft()).isTrue();
         }
     }
+
+    @Nested
+    @DisplayName("searchPrimaryIdentifiers")
+    class SearchPrimaryIdentifiers {
+        @Test
+        @DisplayName("will look up each kind of identifier in chunks and key matches by the identifier searched for")
+        void willLookUpIdentifiersInChunks() {
+            final var crns = IntStream.rangeClosed(1, OffenderService.IDENTIFIER_SEARCH_CHUNK_SIZE + 1)
+                .mapToObj(number -> "X" + number)
+                .collect(toSet());
+            when(offenderPrimaryIdentifiersRepository.findAllByCrnIn(any()))
+                .thenReturn(List.of(OffenderPrimaryIdentifiers.builder().offenderId(1L).crn("X1").nomsNumber("A1234ZZ").build()))
+                .thenReturn(List.of());
+            when(offenderPrimaryIdentifiersRepository.findAllByUpperCaseNomsNumberIn(List.of("A1234ZZ")))
+                .thenReturn(List.of(OffenderPrimaryIdentifiers.builder().offenderId(1L).crn("X1").nomsNumber("A1234ZZ").build()));
+            when(offenderPrimaryIdentifiersRepository.findAllByOffenderIdIn(List.of(2L)))
+                .thenReturn(List.of(OffenderPrimaryIdentifiers.builder().offenderId(2L).crn("X2").build()));
+
+            final var result = service.searchPrimaryIdentifiers(OffenderIdentifiersSearch
+                .builder()
+                .crns(crns)
+                .nomsNumbers(Set.of("a1234zz"))
+                .offenderIds(Set.of(2L))
+                .build());
+
+            verify(offenderPrimaryIdentifiersRepository, times(2)).findAllByCrnIn(any());
+            assertThat(result.getCrns()).isEqualTo(Map.of("X1", PrimaryIdentifiers.builder().offenderId(1L).crn("X1").nomsNumber("A1234ZZ").build()));
+            assertThat(result.getNomsNumbers()).isEqualTo(Map.of("a1234zz", PrimaryIdentifiers.builder().offenderId(1L).crn("X1").nomsNumber("A1234ZZ").build()));
+            assertThat(result.getOffenderIds()).isEqualTo(Map.of(2L, PrimaryIdentifiers.builder().offenderId(2L).crn("X2").build()));
+        }
+
+        @Test
+        @DisplayName("will report a NOMS number held by more than one offender as a duplicate rather than match it")
+        void willReportDuplicateNomsNumbers() {
+            when(offenderPrimaryIdentifiersRepository.findAllByUpperCaseNomsNumberIn(any()))
+                .thenReturn(List.of(
+                    OffenderPrimaryIdentifiers.builder().offenderId(1L).crn("X1").nomsNumber("A1234ZZ").build(),
+                    OffenderPrimaryIdentifiers.builder().offenderId(2L).crn("X2").nomsNumber("A1234ZZ").build(),
+                    OffenderPrimaryIdentifiers.builder().offenderId(3L).crn("X3").nomsNumber("B1234ZZ").build()));
+
+            final var result = service.searchPrimaryIdentifiers(OffenderIdentifiersSearch
+                .builder()
+                .nomsNumbers(Set.of("A1234ZZ", "B1234ZZ"))
+                .build());
+
+            assertThat(result.getNomsNumbers()).isEqualTo(Map.of("B1234ZZ", PrimaryIdentifiers.builder().offenderId(3L).crn("X3").nomsNumber("B1234ZZ").build()));
+            assertThat(result.getDuplicateNomsNumbers()).containsExactly("A1234ZZ");
+        }
+
+        @Test
+        @DisplayName("will not query for kinds of identifier not supplied")
+        void willNotQueryWhenNothingSupplied() {
+            final var result = service.searchPrimaryIdentifiers(OffenderIdentifiersSearch.builder().crns(Set.of()).build());
+
+            verifyNoInteractions(offenderPrimaryIdentifiersRepository);
+            assertThat(result.getCrns()).isEqualTo(Map.of());
+        }
+
+        @Test
+        @DisplayName("will remember the crns found")
+        void willPopulateCache() {
+            when(offenderPrimaryIdentifiersRepository.findAllByOffenderIdIn(List.of(2L)))
+                .thenReturn(List.of(OffenderPrimaryIdentifiers.builder().offenderId(2L).crn("X2").build()));
+
+            service.searchPrimaryIdentifiers(OffenderIdentifiersSearch.builder().offenderIds(Set.of(2L)).build());
+
+            assertThat(service.crnOf(2L)).hasValue("X2");
+            verify(offenderPrimaryIdentifiersRepository, never()).findById(any());
+        }
+    }
 }
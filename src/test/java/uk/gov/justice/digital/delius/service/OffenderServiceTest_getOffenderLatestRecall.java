@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import uk.gov.justice.digital.delius.controller.CustodyNotFoundException;
 import uk.gov.justice.digital.delius.data.api.OffenderLatestRecall;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Custody;
@@ -13,6 +14,7 @@ import uk.gov.justice.digital.delius.jpa.standard.entity.Disposal;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Event;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Release;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderLimitedAccessRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrimaryIdentifiersRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.util.EntityHelper;
@@ -42,6 +44,8 @@ public class OffenderServiceTest_getOffenderLatestRecall {
     private OffenderPrimaryIdentifiersRepository mockOffenderPrimaryIdentifiersRepository;
     @Mock
     private ConvictionService mockConvictionService;
+    @Mock
+    private OffenderLimitedAccessRepository mockOffenderLimitedAccessRepository;
 
     private OffenderService offenderService;
 
@@ -50,7 +54,9 @@ public class OffenderServiceTest_getOffenderLatestRecall {
         offenderService = new OffenderService(
                 mockOffenderRepository,
                 mockOffenderPrimaryIdentifiersRepository,
-                mockConvictionService
+                mockConvictionService,
+                mockOffenderLimitedAccessRepository,
+                new OffenderIdentifierCache(new CaffeineCacheManager())
         );
     }
 
@@ -0,0 +1,222 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OffenderUpdatesPublisherTest {
+
+    private final OffenderUpdatesService offenderUpdatesService = mock(OffenderUpdatesService.class);
+    private final Queue<Runnable> refills = new ArrayDeque<>();
+    private final OffenderUpdatesPublisher offenderUpdatesPublisher = new OffenderUpdatesPublisher(offenderUpdatesService, 10, 10, refills::add);
+
+    @Test
+    public void willNotClaimUpdatesWhenThereAreNoSubscribers() {
+        offenderUpdatesPublisher.poll();
+
+        verify(offenderUpdatesService, never()).getAndLockNextUpdates(anyInt());
+    }
+
+    @Test
+    public void willNotClaimUpdatesForSubscribersThatHaveRequestedNone() {
+        offenderUpdatesPublisher.subscribe().subscribe(new RecordingSubscriber(0));
+
+        offenderUpdatesPublisher.poll();
+
+        verify(offenderUpdatesService, never()).getAndLockNextUpdates(anyInt());
+    }
+
+    @Test
+    public void willClaimEnoughUpdatesToFillTheBufferOfEachSubscriber() {
+        final var publisher = new OffenderUpdatesPublisher(offenderUpdatesService, 10, 5, refills::add);
+        final var first = new RecordingSubscriber(1);
+        final var second = new RecordingSubscriber(1);
+        publisher.subscribe().subscribe(first);
+        publisher.subscribe().subscribe(second);
+        when(offenderUpdatesService.getAndLockNextUpdates(10)).thenReturn(someUpdates(10));
+
+        publisher.poll();
+
+        assertThat(first.received).hasSize(1);
+        assertThat(second.received).hasSize(1);
+        first.request(4);
+        second.request(4);
+        assertThat(first.received).hasSize(5);
+        assertThat(second.received).hasSize(5);
+        verify(offenderUpdatesService).getAndLockNextUpdates(10);
+    }
+
+    @Test
+    public void willLimitEachClaimToTheMaximumBatchSize() {
+        final var publisher = new OffenderUpdatesPublisher(offenderUpdatesService, 10, 15, refills::add);
+        publisher.subscribe().subscribe(new RecordingSubscriber(1));
+        when(offenderUpdatesService.getAndLockNextUpdates(10)).thenReturn(someUpdates(10));
+
+        publisher.poll();
+
+        verify(offenderUpdatesService).getAndLockNextUpdates(10);
+        verify(offenderUpdatesService, never()).getAndLockNextUpdates(15);
+    }
+
+    @Test
+    public void willNotClaimAgainBeforeTheNextPollOnceThereAreNoMoreUpdates() {
+        final var subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        offenderUpdatesPublisher.subscribe().subscribe(subscriber);
+        when(offenderUpdatesService.getAndLockNextUpdates(10)).thenReturn(someUpdates(3));
+
+        offenderUpdatesPublisher.poll();
+        refills.forEach(Runnable::run);
+
+        assertThat(subscriber.received).hasSize(3);
+        verify(offenderUpdatesService).getAndLockNextUpdates(10);
+    }
+
+    @Test
+    public void willKeepClaimingBetweenPollsWhileASubscriberReadsOneUpdateAtATime() {
+        final var waiting = new ArrayDeque<>(someUpdates(35));
+        final var claimSizes = new ArrayList<Integer>();
+        when(offenderUpdatesService.getAndLockNextUpdates(anyInt())).thenAnswer(invocation -> {
+            final int count = invocation.getArgument(0);
+            claimSizes.add(count);
+            return LongStream.range(0, count).mapToObj(i -> waiting.poll()).takeWhile(update -> update != null).collect(Collectors.toList());
+        });
+        final var subscriber = new OneAtATimeSubscriber();
+        offenderUpdatesPublisher.subscribe().subscribe(subscriber);
+
+        offenderUpdatesPublisher.poll();
+        while (!refills.isEmpty() || subscriber.writing) {
+            if (!refills.isEmpty()) {
+                refills.poll().run();
+            } else {
+                subscriber.finishWrite();
+            }
+        }
+
+        assertThat(subscriber.received).hasSize(35);
+        assertThat(claimSizes).allMatch(count -> count >= 5);
+    }
+
+    @Test
+    public void willRemoveSubscribersThatCancel() {
+        final var subscriber = new RecordingSubscriber(1);
+        offenderUpdatesPublisher.subscribe().subscribe(subscriber);
+
+        subscriber.dispose();
+
+        assertThat(offenderUpdatesPublisher.subscriberCount()).isZero();
+        offenderUpdatesPublisher.poll();
+        verify(offenderUpdatesService, never()).getAndLockNextUpdates(anyInt());
+    }
+
+    @Test
+    public void willReleaseUpdatesWhenTheirSubscriberDisconnectsBeforeTheyAreSent() {
+        final var subscriber = new RecordingSubscriber(3, 1);
+        offenderUpdatesPublisher.subscribe().subscribe(subscriber);
+        when(offenderUpdatesService.getAndLockNextUpdates(10)).thenReturn(someUpdates(3));
+
+        offenderUpdatesPublisher.poll();
+
+        assertThat(subscriber.received).hasSize(1);
+        verify(offenderUpdatesService).releaseUpdates(List.of(2L, 3L));
+    }
+
+    @Test
+    public void willReleaseBufferedUpdatesWhenTheirSubscriberDisconnects() {
+        final var subscriber = new RecordingSubscriber(1);
+        offenderUpdatesPublisher.subscribe().subscribe(subscriber);
+        when(offenderUpdatesService.getAndLockNextUpdates(10)).thenReturn(someUpdates(4));
+
+        offenderUpdatesPublisher.poll();
+        subscriber.dispose();
+
+        assertThat(subscriber.received).hasSize(1);
+        verify(offenderUpdatesService).releaseUpdates(List.of(2L, 3L, 4L));
+    }
+
+    @Test
+    public void willNotReleaseUpdatesWhenAllAreSent() {
+        offenderUpdatesPublisher.subscribe().subscribe(new RecordingSubscriber(3));
+        when(offenderUpdatesService.getAndLockNextUpdates(10)).thenReturn(someUpdates(3));
+
+        offenderUpdatesPublisher.poll();
+
+        verify(offenderUpdatesService, never()).releaseUpdates(anyList());
+    }
+
+    private List<OffenderUpdate> someUpdates(long howMany) {
+        return LongStream.rangeClosed(1, howMany)
+                .mapToObj(id -> OffenderUpdate.builder().offenderDeltaId(id).offenderId(id).build())
+                .collect(Collectors.toList());
+    }
+
+    private static class RecordingSubscriber extends BaseSubscriber<OffenderUpdate> {
+        private final long initialRequest;
+        private final long cancelAfter;
+        private final List<OffenderUpdate> received = new ArrayList<>();
+
+        private RecordingSubscriber(long initialRequest) {
+            this(initialRequest, Long.MAX_VALUE);
+        }
+
+        private RecordingSubscriber(long initialRequest, long cancelAfter) {
+            this.initialRequest = initialRequest;
+            this.cancelAfter = cancelAfter;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialRequest > 0) {
+                request(initialRequest);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(OffenderUpdate value) {
+            received.add(value);
+            if (received.size() >= cancelAfter) {
+                cancel();
+            }
+        }
+    }
+
+    /**
+     * Requests one update at a time and only asks for the next once the write of the last has finished, as Spring MVC
+     * does when streaming server-sent events
+     */
+    private static class OneAtATimeSubscriber extends BaseSubscriber<OffenderUpdate> {
+        private final List<OffenderUpdate> received = new ArrayList<>();
+        private boolean writing;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(OffenderUpdate value) {
+            received.add(value);
+            writing = true;
+        }
+
+        private void finishWrite() {
+            writing = false;
+            request(1);
+        }
+    }
+}
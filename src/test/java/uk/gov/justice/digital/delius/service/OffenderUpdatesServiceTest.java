@@ -11,13 +11,16 @@ import uk.gov.justice.digital.delius.controller.NotFoundException;
 import uk.gov.justice.digital.delius.data.api.OffenderUpdate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -145,6 +148,55 @@ public class OffenderUpdatesServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getAndLockNextUpdates()")
+    class GetNextUpdates {
+        @Test
+        @DisplayName("Will not look for failed updates when there are enough new updates")
+        public void willNotLookForFailedUpdatesWhenEnoughNewUpdates() {
+            when(offenderDeltaService.lockNextUpdates(2)).thenReturn(List.of(anOffenderDelta(), anOffenderDelta()));
+
+            final var offenderUpdates = offenderUpdatesService.getAndLockNextUpdates(2);
+
+            assertThat(offenderUpdates).hasSize(2);
+            verify(offenderDeltaService, never()).lockNextFailedUpdates(anyInt());
+        }
+
+        @Test
+        @DisplayName("Will top up with failed updates when there are not enough new updates")
+        public void willTopUpWithFailedUpdates() {
+            when(offenderDeltaService.lockNextUpdates(5)).thenReturn(List.of(anOffenderDelta(), anOffenderDelta()));
+            when(offenderDeltaService.lockNextFailedUpdates(3)).thenReturn(List.of(anOffenderDelta().setAsFailed()));
+
+            final var offenderUpdates = offenderUpdatesService.getAndLockNextUpdates(5);
+
+            assertThat(offenderUpdates).hasSize(3);
+            assertThat(offenderUpdates.get(2).isFailedUpdate()).isTrue();
+            verify(offenderDeltaService).lockNextFailedUpdates(3);
+        }
+
+        @Test
+        @DisplayName("Will return an empty list when there are no updates")
+        public void willReturnEmptyListWhenNoUpdates() {
+            when(offenderDeltaService.lockNextUpdates(5)).thenReturn(List.of());
+            when(offenderDeltaService.lockNextFailedUpdates(5)).thenReturn(List.of());
+
+            assertThat(offenderUpdatesService.getAndLockNextUpdates(5)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteUpdates()")
+    class DeleteUpdates {
+        @Test
+        @DisplayName("Will delete all the delta records")
+        public void willDeleteDeltas() {
+            offenderUpdatesService.deleteUpdates(List.of(98L, 99L));
+
+            verify(offenderDeltaService).deleteDeltas(List.of(98L, 99L));
+        }
+    }
+
     @Nested
     @DisplayName("deleteUpdate()")
     class DeleteUpdate {
@@ -178,6 +230,28 @@ public class OffenderUpdatesServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("markAsFailed() for many updates")
+    class MarkAllAsFailed {
+        @Test
+        public void willCallServiceToUpdateAllToFailed() {
+            offenderUpdatesService.markAsFailed(List.of(98L, 99L));
+
+            verify(offenderDeltaService).markAsFailed(List.of(98L, 99L));
+        }
+    }
+
+    @Nested
+    @DisplayName("releaseUpdates()")
+    class ReleaseUpdates {
+        @Test
+        public void willCallServiceToReleaseTheUpdates() {
+            offenderUpdatesService.releaseUpdates(List.of(98L, 99L));
+
+            verify(offenderDeltaService).releaseDeltas(List.of(98L, 99L));
+        }
+    }
+
     private OffenderUpdate anOffenderDelta() {
         return OffenderUpdate.builder()
                 .offenderDeltaId(1L)
@@ -0,0 +1,102 @@
+package uk.gov.justice.digital.delius.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import uk.gov.justice.digital.delius.controller.NotFoundException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static uk.gov.justice.digital.delius.config.CacheConfig.CONTACT_TYPES;
+import static uk.gov.justice.digital.delius.config.CacheConfig.STANDARD_REFERENCES;
+import static uk.gov.justice.digital.delius.config.CacheConfig.USER_ACCESS_PROFILES;
+
+class ReferenceDataCacheServiceTest {
+    private CaffeineCacheManager cacheManager;
+    private OrganisationHierarchyService organisationHierarchyService;
+    private ReferenceDataCacheService service;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder().recordStats());
+        cacheManager.setCacheNames(List.of(STANDARD_REFERENCES, CONTACT_TYPES, USER_ACCESS_PROFILES));
+        organisationHierarchyService = mock(OrganisationHierarchyService.class);
+        service = new ReferenceDataCacheService(cacheManager, organisationHierarchyService);
+    }
+
+    @Test
+    void statisticsRecordHitsAndMisses() {
+        final var cache = cacheManager.getCache(STANDARD_REFERENCES);
+        cache.get("TIER");
+        cache.put("TIER", "B2");
+        cache.get("TIER");
+        cache.get("TIER");
+
+        assertThat(service.getCacheStatistics())
+            .filteredOn(stats -> stats.getName().equals(STANDARD_REFERENCES))
+            .extracting("size", "hitCount", "missCount")
+            .containsExactly(tuple(1L, 2L, 1L));
+    }
+
+    @Test
+    void evictClearsOnlyTheNamedCache() {
+        cacheManager.getCache(STANDARD_REFERENCES).put("TIER", "B2");
+        cacheManager.getCache(CONTACT_TYPES).put("CRSAPT", "Appointment");
+
+        service.evict(STANDARD_REFERENCES);
+
+        assertThat(cacheManager.getCache(STANDARD_REFERENCES).get("TIER")).isNull();
+        assertThat(cacheManager.getCache(CONTACT_TYPES).get("CRSAPT")).isNotNull();
+    }
+
+    @Test
+    void evictAllClearsEveryCache() {
+        cacheManager.getCache(STANDARD_REFERENCES).put("TIER", "B2");
+        cacheManager.getCache(CONTACT_TYPES).put("CRSAPT", "Appointment");
+
+        service.evictAll();
+
+        assertThat(cacheManager.getCache(STANDARD_REFERENCES).get("TIER")).isNull();
+        assertThat(cacheManager.getCache(CONTACT_TYPES).get("CRSAPT")).isNull();
+    }
+
+    @Test
+    void evictAllLeavesCachesThatAreNotReferenceData() {
+        cacheManager.getCache(USER_ACCESS_PROFILES).put("bobby.beans", "profile");
+
+        service.evictAll();
+
+        assertThat(cacheManager.getCache(USER_ACCESS_PROFILES).get("bobby.beans")).isNotNull();
+    }
+
+    @Test
+    void statisticsAreOnlyForReferenceDataCaches() {
+        assertThat(service.getCacheStatistics())
+            .extracting("name")
+            .containsExactlyInAnyOrder(STANDARD_REFERENCES, CONTACT_TYPES);
+    }
+
+    @Test
+    void evictingACacheThatIsNotReferenceDataIsNotFound() {
+        assertThatThrownBy(() -> service.evict(USER_ACCESS_PROFILES)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void evictAllReloadsTheOrganisationHierarchy() {
+        service.evictAll();
+
+        verify(organisationHierarchyService).refresh();
+    }
+
+    @Test
+    void evictingAnUnknownCacheIsNotFound() {
+        assertThatThrownBy(() -> service.evict("bananas")).isInstanceOf(NotFoundException.class);
+    }
+}
@@ -1,12 +1,9 @@
 package uk.gov.justice.digital.delius.service;
 
-import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.justice.digital.delius.controller.NotFoundException;
@@ -15,6 +12,7 @@ import uk.gov.justice.digital.delius.data.api.LocalDeliveryUnit;
 import uk.gov.justice.digital.delius.data.api.ProbationAreaWithLocalDeliveryUnits;
 import uk.gov.justice.digital.delius.jpa.filters.ProbationAreaFilter;
 import uk.gov.justice.digital.delius.jpa.standard.entity.District;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
 import uk.gov.justice.digital.delius.jpa.standard.entity.ReferenceDataMaster;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
 import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
@@ -32,6 +30,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aBorough;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aDistrict;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aPrisonProbationArea;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aProbationArea;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aTeam;
 
@@ -49,8 +48,8 @@ public class ReferenceDataServiceTest {
     @Mock
     private ReferenceDataMasterRepository referenceDataMasterRepository;
 
-    @Captor
-    private ArgumentCaptor<ProbationAreaFilter> probationAreaFilterArgumentCaptor;
+    @Mock
+    private OrganisationHierarchyService organisationHierarchyService;
 
 
     @BeforeEach
@@ -58,7 +57,8 @@ public class ReferenceDataServiceTest {
         referenceDataService = new ReferenceDataService(
                 probationAreaRepository,
                 standardReferenceRepository,
-                referenceDataMasterRepository);
+                referenceDataMasterRepository,
+                organisationHierarchyService);
     }
 
     @Test
@@ -87,20 +87,19 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getLocalDeliveryUnits() {
-        when(probationAreaRepository.findByCode(aProbationArea().getCode())).thenReturn(
-                Optional.of(
-                        aProbationArea().toBuilder()
-                                .boroughs(List.of(
-                                        aBorough("BB-1").toBuilder()
-                                                .districts(List.of(
-                                                        aDistrict().toBuilder().code("LDU-1").build()))
-                                                .build(),
-                                        aBorough("BB-2").toBuilder()
-                                                .districts(List.of(
-                                                        aDistrict().toBuilder().code("LDU-2").build(),
-                                                        aDistrict().toBuilder().code("LDU-3").build()))
-                                                .build()))
-                                .build()));
+        givenHierarchyOf(
+                aProbationArea().toBuilder()
+                        .boroughs(List.of(
+                                aBorough("BB-1").toBuilder()
+                                        .districts(List.of(
+                                                aDistrict().toBuilder().code("LDU-1").build()))
+                                        .build(),
+                                aBorough("BB-2").toBuilder()
+                                        .districts(List.of(
+                                                aDistrict().toBuilder().code("LDU-2").build(),
+                                                aDistrict().toBuilder().code("LDU-3").build()))
+                                        .build()))
+                        .build());
 
         assertThat(referenceDataService.getLocalDeliveryUnitsForProbationArea(aProbationArea().getCode()).getContent())
                 .hasSize(3)
@@ -110,21 +109,20 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getTeamsForLocalDeliveryUnit() {
-        when(probationAreaRepository.findByCode(aProbationArea().getCode())).thenReturn(
-                Optional.of(
-                        aProbationArea().toBuilder()
-                                .boroughs(List.of(
-                                        aBorough("BB-1").toBuilder()
-                                                .districts(List.of(
-                                                        aDistrict().toBuilder()
-                                                                .code("LDU-1")
-                                                                .teams(List.of(
-                                                                        aTeam("TEAM-1"),
-                                                                        aTeam("TEAM-2")
-                                                                ))
-                                                                .build()))
-                                                .build()))
-                                .build()));
+        givenHierarchyOf(
+                aProbationArea().toBuilder()
+                        .boroughs(List.of(
+                                aBorough("BB-1").toBuilder()
+                                        .districts(List.of(
+                                                aDistrict().toBuilder()
+                                                        .code("LDU-1")
+                                                        .teams(List.of(
+                                                                aTeam("TEAM-1"),
+                                                                aTeam("TEAM-2")
+                                                        ))
+                                                        .build()))
+                                        .build()))
+                        .build());
 
         assertThat(referenceDataService.getTeamsForLocalDeliveryUnit(aProbationArea().getCode(), "LDU-1").getContent())
                 .hasSize(2)
@@ -134,21 +132,20 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getTeamsForLocalDeliveryUnit_LduDoesntExist() {
-        when(probationAreaRepository.findByCode(aProbationArea().getCode())).thenReturn(
-                Optional.of(
-                        aProbationArea().toBuilder()
-                                .boroughs(List.of(
-                                        aBorough("BB-1").toBuilder()
-                                                .districts(List.of(
-                                                        aDistrict().toBuilder()
-                                                                .code("LDU-1")
-                                                                .teams(List.of(
-                                                                        aTeam("TEAM-1"),
-                                                                        aTeam("TEAM-2")
-                                                                ))
-                                                                .build()))
-                                                .build()))
-                                .build()));
+        givenHierarchyOf(
+                aProbationArea().toBuilder()
+                        .boroughs(List.of(
+                                aBorough("BB-1").toBuilder()
+                                        .districts(List.of(
+                                                aDistrict().toBuilder()
+                                                        .code("LDU-1")
+                                                        .teams(List.of(
+                                                                aTeam("TEAM-1"),
+                                                                aTeam("TEAM-2")
+                                                        ))
+                                                        .build()))
+                                        .build()))
+                        .build());
 
         assertThatThrownBy(() -> referenceDataService.getTeamsForLocalDeliveryUnit(aProbationArea().getCode(), "LDU-2"))
                 .isInstanceOf(NotFoundException.class)
@@ -157,22 +154,21 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getTeamsForLocalDeliveryUnit_unselectableLdusAreNotReturned() {
-        when(probationAreaRepository.findByCode(aProbationArea().getCode())).thenReturn(
-                Optional.of(
-                        aProbationArea().toBuilder()
-                                .boroughs(List.of(
-                                        aBorough("BB-1").toBuilder()
-                                                .districts(List.of(
-                                                        aDistrict().toBuilder()
-                                                                .code("LDU-1")
-                                                                .selectable("N")
-                                                                .teams(List.of(
-                                                                        aTeam("TEAM-1"),
-                                                                        aTeam("TEAM-2")
-                                                                ))
-                                                                .build()))
-                                                .build()))
-                                .build()));
+        givenHierarchyOf(
+                aProbationArea().toBuilder()
+                        .boroughs(List.of(
+                                aBorough("BB-1").toBuilder()
+                                        .districts(List.of(
+                                                aDistrict().toBuilder()
+                                                        .code("LDU-1")
+                                                        .selectable("N")
+                                                        .teams(List.of(
+                                                                aTeam("TEAM-1"),
+                                                                aTeam("TEAM-2")
+                                                        ))
+                                                        .build()))
+                                        .build()))
+                        .build());
 
         assertThatThrownBy(() -> referenceDataService.getTeamsForLocalDeliveryUnit(aProbationArea().getCode(), "LDU-1"))
                 .isInstanceOf(NotFoundException.class)
@@ -181,27 +177,26 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getTeamsForLocalDeliveryUnit_teamsFromMultipleLdusWithTheSameCodeAreAllReturned() {
-        when(probationAreaRepository.findByCode(aProbationArea().getCode())).thenReturn(
-                Optional.of(
-                        aProbationArea().toBuilder()
-                                .boroughs(List.of(
-                                        aBorough("BB-1").toBuilder()
-                                                .districts(List.of(
-                                                        aDistrict().toBuilder()
-                                                                .code("LDU-1")
-                                                                .teams(List.of(
-                                                                        aTeam("TEAM-1"),
-                                                                        aTeam("TEAM-2")
-                                                                ))
-                                                                .build(),
-                                                        aDistrict().toBuilder()
-                                                                .code("LDU-1")
-                                                                .teams(List.of(
-                                                                        aTeam("TEAM-3")
-                                                                ))
-                                                                .build()))
-                                                .build()))
-                                .build()));
+        givenHierarchyOf(
+                aProbationArea().toBuilder()
+                        .boroughs(List.of(
+                                aBorough("BB-1").toBuilder()
+                                        .districts(List.of(
+                                                aDistrict().toBuilder()
+                                                        .code("LDU-1")
+                                                        .teams(List.of(
+                                                                aTeam("TEAM-1"),
+                                                                aTeam("TEAM-2")
+                                                        ))
+                                                        .build(),
+                                                aDistrict().toBuilder()
+                                                        .code("LDU-1")
+                                                        .teams(List.of(
+                                                                aTeam("TEAM-3")
+                                                        ))
+                                                        .build()))
+                                        .build()))
+                        .build());
 
         assertThat(referenceDataService.getTeamsForLocalDeliveryUnit(aProbationArea().getCode(), "LDU-1").getContent())
                 .extracting(KeyValue::getCode)
@@ -210,7 +205,7 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getLocalDeliveryUnits_missingProbationArea() {
-        when(probationAreaRepository.findByCode(aProbationArea().getCode())).thenReturn(Optional.empty());
+        givenHierarchyOf();
         assertThatThrownBy(() -> referenceDataService.getLocalDeliveryUnitsForProbationArea(aProbationArea().getCode()))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessage("Could not find probation area with code: 'NO2'");
@@ -352,9 +347,7 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getProbationAreasAndLocalDeliveryUnits() {
-        final var filter = ProbationAreaFilter.builder().restrictActive(false).excludeEstablishments(true).build();
-
-        when(probationAreaRepository.findAll(filter)).thenReturn(List.of(aProbationArea().toBuilder().boroughs(List.of(
+        givenHierarchyOf(aProbationArea().toBuilder().boroughs(List.of(
                 aBorough("BB-1").toBuilder()
                         .districts(List.of(
                                 aDistrict().toBuilder()
@@ -366,7 +359,7 @@ public class ReferenceDataServiceTest {
                                         .districtId(4L)
                                         .code("LDU-2")
                                         .description("LDU2 description")
-                                        .build())).build())).build()));
+                                        .build())).build())).build());
 
 
         assertThat(referenceDataService.getProbationAreasAndLocalDeliveryUnits(false))
@@ -381,23 +374,22 @@ public class ReferenceDataServiceTest {
     @Test
     public void getProbationAreasAndLocalDeliveryUnits_unselectableLdusAreNotReturned() {
 
-        final var filter = ProbationAreaFilter.builder().restrictActive(true).excludeEstablishments(true).build();
-
-        when(probationAreaRepository.findAll(filter)).thenReturn(
-                List.of(aProbationArea().toBuilder()
-                                .boroughs(List.of(
-                                        aBorough("BB-1").toBuilder()
-                                                .districts(List.of(
-                                                        aDistrict().toBuilder()
-                                                                .code("LDU-1")
-                                                                .selectable("N")
-                                                                .teams(List.of(
-                                                                        aTeam("TEAM-1"),
-                                                                        aTeam("TEAM-2")
-                                                                ))
-                                                                .build()))
-                                                .build()))
-                                .build()));
+        givenHierarchyOf(
+                aProbationArea().toBuilder()
+                        .selectable("Y")
+                        .boroughs(List.of(
+                                aBorough("BB-1").toBuilder()
+                                        .districts(List.of(
+                                                aDistrict().toBuilder()
+                                                        .code("LDU-1")
+                                                        .selectable("N")
+                                                        .teams(List.of(
+                                                                aTeam("TEAM-1"),
+                                                                aTeam("TEAM-2")
+                                                        ))
+                                                        .build()))
+                                        .build()))
+                        .build());
 
         assertThat(referenceDataService.getProbationAreasAndLocalDeliveryUnits(true))
                 .hasSize(1)
@@ -408,20 +400,20 @@ public class ReferenceDataServiceTest {
     @Test
     public void getProbationAreasAndLocalDeliveryUnits_unallocatedLdusAreReturnedWithUnselectableStatus() {
 
-        final var filter = ProbationAreaFilter.builder().restrictActive(true).excludeEstablishments(true).build();
         final var unallocationLdu = District.builder()
                 .code("XXUAT")
                 .description("XXUAT description")
                 .borough(aBorough())
                 .build();
 
-        when(probationAreaRepository.findAll(filter)).thenReturn(
-                List.of(aProbationArea().toBuilder()
+        givenHierarchyOf(
+                aProbationArea().toBuilder()
+                        .selectable("Y")
                         .boroughs(List.of(
                                 aBorough("BB-1").toBuilder()
                                         .districts(List.of(unallocationLdu))
                                         .build()))
-                        .build()));
+                        .build());
 
         assertThat(referenceDataService.getProbationAreasAndLocalDeliveryUnits(true))
                 .hasSize(1)
@@ -432,9 +424,20 @@ public class ReferenceDataServiceTest {
 
     @Test
     public void getProbationAreasAndLocalDeliveryUnits_includeInactiveProbationAreas() {
-        referenceDataService.getProbationAreasAndLocalDeliveryUnits(false);
-        verify(probationAreaRepository).findAll(probationAreaFilterArgumentCaptor.capture());
+        givenHierarchyOf(
+                aProbationArea().toBuilder().code("N01").selectable("Y").build(),
+                aProbationArea().toBuilder().code("N02").selectable("N").build(),
+                aPrisonProbationArea().toBuilder().code("WWI").selectable("Y").establishment("Y").build());
+
+        assertThat(referenceDataService.getProbationAreasAndLocalDeliveryUnits(false))
+                .extracting(ProbationAreaWithLocalDeliveryUnits::getCode)
+                .containsExactly("N01", "N02");
+        assertThat(referenceDataService.getProbationAreasAndLocalDeliveryUnits(true))
+                .extracting(ProbationAreaWithLocalDeliveryUnits::getCode)
+                .containsExactly("N01");
+    }
 
-        AssertionsForClassTypes.assertThat(probationAreaFilterArgumentCaptor.getValue().getRestrictActive()).isFalse();
+    private void givenHierarchyOf(ProbationArea... probationAreas) {
+        when(organisationHierarchyService.current()).thenReturn(OrganisationHierarchy.of(List.of(probationAreas)));
     }
 }
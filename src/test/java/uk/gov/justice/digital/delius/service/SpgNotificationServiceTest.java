@@ -28,13 +28,17 @@ import uk.gov.justice.digital.delius.jpa.standard.repository.SpgNotificationHelp
 import uk.gov.justice.digital.delius.jpa.standard.repository.SpgNotificationRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.StandardReferenceRepository;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aCustodyEvent;
@@ -78,11 +82,12 @@ public class SpgNotificationServiceTest {
                 .builder()
                 .standardReferenceListId(88L)
                 .build()));
-        when(probationAreaRepository.findByCode(any())).thenReturn(Optional.of(ProbationArea.builder().build()));
+        when(probationAreaRepository.findIdByCode(any())).thenReturn(Optional.of(1500001001L));
+        when(probationAreaRepository.getOne(any())).thenReturn(ProbationArea.builder().probationAreaId(1500001001L).build());
         when(spgNotificationHelperRepository.getInterestedCRCs(any())).thenReturn(ImmutableList.of());
-        when(spgNotificationHelperRepository.getNextControlSequence(any())).thenReturn(1L);
+        when(spgNotificationHelperRepository.getNextControlSequences(any(), anyInt())).thenAnswer(params -> Collections.nCopies(params.getArgument(1), 1L));
 
-        spgNotificationService = new SpgNotificationService(businessInteractionRepository, businessInteractionXmlMapRepository, standardReferenceRepository, probationAreaRepository, spgNotificationRepository, spgNotificationHelperRepository);
+        spgNotificationService = new SpgNotificationService(businessInteractionRepository, businessInteractionXmlMapRepository, standardReferenceRepository, probationAreaRepository, spgNotificationRepository, spgNotificationHelperRepository, new InterestedCRCCache(spgNotificationHelperRepository, null));
     }
 
     @Test
@@ -100,9 +105,7 @@ public class SpgNotificationServiceTest {
                 .build());
 
         verify(spgNotificationHelperRepository, atLeastOnce()).getInterestedCRCs("99");
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
-
-        spgNotificationsCaptor.getAllValues().forEach(notificationsSaved -> assertThat(notificationsSaved).isEmpty());
+        verify(spgNotificationRepository, never()).insertAll(any());
     }
 
     @Test
@@ -121,7 +124,7 @@ public class SpgNotificationServiceTest {
                 ))
                 .build());
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_OFFENDER.getNotificationCode())).hasSize(1);
     }
@@ -147,7 +150,7 @@ public class SpgNotificationServiceTest {
                 ))
                 .build());
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_OFFENDER.getNotificationCode())).hasSize(2);
         assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_OFFENDER.getNotificationCode()).stream().anyMatch(notification -> notification.getReceiverIdentity().getCode().equals("AA"))).isTrue();
@@ -171,7 +174,7 @@ public class SpgNotificationServiceTest {
                 ))
                 .build());
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_EVENT.getNotificationCode())).hasSize(1);
     }
@@ -197,7 +200,7 @@ public class SpgNotificationServiceTest {
                 ))
                 .build());
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_EVENT.getNotificationCode())).hasSize(2);
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_EVENT.getNotificationCode()).stream().anyMatch(notification -> notification.getReceiverIdentity().getCode().equals("AA"))).isTrue();
@@ -220,7 +223,7 @@ public class SpgNotificationServiceTest {
                 ))
                 .build());
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_COURT_APPEARANCE.getNotificationCode())).hasSize(2);
     }
@@ -246,7 +249,7 @@ public class SpgNotificationServiceTest {
                 ))
                 .build());
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_COURT_APPEARANCE.getNotificationCode())).hasSize(4);
 
@@ -265,6 +268,37 @@ public class SpgNotificationServiceTest {
     }
 
 
+    @Test
+    public void newCourtCaseNotificationsAreWrittenInASingleBatchWithMetadataResolvedOncePerInteraction() {
+        when(spgNotificationHelperRepository.getInterestedCRCs(any())).thenReturn(ImmutableList.of(
+                ProbationArea
+                        .builder()
+                        .code("AA")
+                        .build(),
+                ProbationArea
+                        .builder()
+                        .code("AB")
+                        .build()));
+
+        spgNotificationService.notifyNewCourtCaseCreated(Event
+                .builder()
+                .offenderId(99L)
+                .courtAppearances(ImmutableList.of(
+                        CourtAppearance.builder().courtAppearanceId(20L).build(),
+                        CourtAppearance.builder().courtAppearanceId(21L).build(),
+                        CourtAppearance.builder().courtAppearanceId(22L).build()
+                ))
+                .build());
+
+        verify(spgNotificationRepository, times(1)).insertAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationHelperRepository, times(1)).getInterestedCRCs("99");
+        verify(spgNotificationHelperRepository, times(1)).getNextControlSequences("N00", 10);
+        verify(probationAreaRepository, times(1)).findIdByCode("N00");
+        verify(businessInteractionRepository, times(3)).findByBusinessInteractionCode(any());
+
+        assertThat(spgNotificationsCaptor.getValue()).hasSize(10);
+    }
+
     @Test
     @MockitoSettings(strictness = Strictness.LENIENT)
     public void withNoInterestedCRCsNothingInsertedForNewCustodyKeyDateNotification() {
@@ -273,7 +307,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, ImmutableList.of(aKeyDate(88L, "POM1")));
         spgNotificationService.notifyNewCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, never()).insertAll(any());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_CUSTODY_KEY_DATE.getNotificationCode())).isEmpty();
     }
@@ -288,7 +322,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, ImmutableList.of(aKeyDate(88L, "POM1")));
         spgNotificationService.notifyNewCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_CUSTODY_KEY_DATE.getNotificationCode())).hasSize(1);
     }
@@ -303,7 +337,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, 77L, ImmutableList.of(aKeyDate(88L,"POM1")));
         spgNotificationService.notifyNewCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         val notification = findFor(SpgNotificationService.NotificationEvents.INSERT_CUSTODY_KEY_DATE.getNotificationCode()).get(0);
         assertThat(notification.getUniqueId()).isEqualTo(88L);
@@ -326,7 +360,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, ImmutableList.of(aKeyDate(88L, "POM1")));
         spgNotificationService.notifyNewCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_CUSTODY_KEY_DATE.getNotificationCode())).hasSize(2);
         assertThat(findFor(SpgNotificationService.NotificationEvents.INSERT_CUSTODY_KEY_DATE.getNotificationCode()).stream().anyMatch(notification -> notification.getReceiverIdentity().getCode().equals("AA"))).isTrue();
@@ -341,7 +375,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, ImmutableList.of(aKeyDate(88L, "POM1")));
         spgNotificationService.notifyUpdateOfCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, never()).insertAll(any());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_CUSTODY_KEY_DATE.getNotificationCode())).isEmpty();
     }
@@ -357,7 +391,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, ImmutableList.of(aKeyDate(88L, "POM1")));
         spgNotificationService.notifyUpdateOfCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_CUSTODY_KEY_DATE.getNotificationCode())).hasSize(1);
     }
@@ -372,7 +406,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, 77L, ImmutableList.of(aKeyDate(88L,"POM1")));
         spgNotificationService.notifyUpdateOfCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         val notification = findFor(SpgNotificationService.NotificationEvents.UPDATE_CUSTODY_KEY_DATE.getNotificationCode()).get(0);
         assertThat(notification.getUniqueId()).isEqualTo(88L);
@@ -395,7 +429,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, ImmutableList.of(aKeyDate(88L, "POM1")));
         spgNotificationService.notifyUpdateOfCustodyKeyDate("POM1", event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_CUSTODY_KEY_DATE.getNotificationCode())).hasSize(2);
         assertThat(findFor(SpgNotificationService.NotificationEvents.UPDATE_CUSTODY_KEY_DATE.getNotificationCode()).stream().anyMatch(notification -> notification.getReceiverIdentity().getCode().equals("AA"))).isTrue();
@@ -410,7 +444,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, 77L, ImmutableList.of());
         spgNotificationService.notifyDeletedCustodyKeyDate(aKeyDate(88L,"POM1"), event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, never()).insertAll(any());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.DELETE_CUSTODY_KEY_DATE.getNotificationCode())).isEmpty();
     }
@@ -425,7 +459,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, 77L, ImmutableList.of());
         spgNotificationService.notifyDeletedCustodyKeyDate(aKeyDate(88L,"POM1"), event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.DELETE_CUSTODY_KEY_DATE.getNotificationCode())).hasSize(1);
     }
@@ -440,7 +474,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, 77L, ImmutableList.of());
         spgNotificationService.notifyDeletedCustodyKeyDate(aKeyDate(88L,"POM1"), event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         val notification = findFor(SpgNotificationService.NotificationEvents.DELETE_CUSTODY_KEY_DATE.getNotificationCode()).get(0);
         assertThat(notification.getUniqueId()).isEqualTo(88L);
@@ -463,7 +497,7 @@ public class SpgNotificationServiceTest {
         val event = aCustodyEvent(99L, ImmutableList.of());
         spgNotificationService.notifyDeletedCustodyKeyDate(aKeyDate(88L, "POM1"), event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         assertThat(findFor(SpgNotificationService.NotificationEvents.DELETE_CUSTODY_KEY_DATE.getNotificationCode())).hasSize(2);
         assertThat(findFor(SpgNotificationService.NotificationEvents.DELETE_CUSTODY_KEY_DATE.getNotificationCode()).stream().anyMatch(notification -> notification.getReceiverIdentity().getCode().equals("AA"))).isTrue();
@@ -481,7 +515,7 @@ public class SpgNotificationServiceTest {
         final var offender = anOffender().toBuilder().offenderId(77L).build();
         spgNotificationService.notifyUpdateOfCustodyLocationChange(offender, event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         val notification = findFor(SpgNotificationService.NotificationEvents.AMEND_EVENT.getNotificationCode()).get(0);
         assertThat(notification.getUniqueId()).isEqualTo(99L);
@@ -499,7 +533,7 @@ public class SpgNotificationServiceTest {
         final var offender = anOffender().toBuilder().offenderId(77L).build();
         spgNotificationService.notifyUpdateOfCustody(offender, event);
 
-        verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+        verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
         val notification = findFor(SpgNotificationService.NotificationEvents.UPDATE_CUSTODY.getNotificationCode()).get(0);
         assertThat(notification.getUniqueId()).isEqualTo(99L);
@@ -520,7 +554,7 @@ public class SpgNotificationServiceTest {
                     .offenderId(99L)
                     .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
             assertThat(findFor("OIBI027")).hasSize(1);
         }
@@ -545,7 +579,7 @@ public class SpgNotificationServiceTest {
                     .offenderId(99L)
                     .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
             assertThat(findFor("OIBI027")).hasSize(3);
         }
@@ -560,7 +594,7 @@ public class SpgNotificationServiceTest {
                     .offenderId(99L)
                     .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, never()).insertAll(any());
 
             assertThat(findFor("OIBI027")).hasSize(0);
         }
@@ -577,7 +611,7 @@ public class SpgNotificationServiceTest {
                     .offenderId(99L)
                     .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
             var notification = findFor("OIBI027").get(0);
 
@@ -606,7 +640,7 @@ public class SpgNotificationServiceTest {
                             .additionalIdentifierId(88L)
                             .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
             assertThat(findFor("OIBI070")).hasSize(1);
         }
@@ -636,7 +670,7 @@ public class SpgNotificationServiceTest {
                             .additionalIdentifierId(88L)
                             .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
             assertThat(findFor("OIBI070")).hasSize(3);
         }
@@ -656,7 +690,7 @@ public class SpgNotificationServiceTest {
                             .additionalIdentifierId(88L)
                             .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, never()).insertAll(any());
 
             assertThat(findFor("OIBI070")).hasSize(0);
         }
@@ -678,7 +712,7 @@ public class SpgNotificationServiceTest {
                             .additionalIdentifierId(88L)
                             .build());
 
-            verify(spgNotificationRepository, atLeastOnce()).saveAll(spgNotificationsCaptor.capture());
+            verify(spgNotificationRepository, atLeastOnce()).insertAll(spgNotificationsCaptor.capture());
 
             var notification = findFor("OIBI070").get(0);
 
@@ -20,6 +20,7 @@ import uk.gov.justice.digital.delius.ldap.repository.LdapRepository;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -48,6 +49,9 @@ public class StaffServiceTest {
     @Mock
     private StaffHelperRepository staffHelperRepository;
 
+    @Mock
+    private LdapUserBatchLookup ldapUserBatchLookup;
+
     @Captor
     private ArgumentCaptor<Staff> staffCaptor;
 
@@ -56,7 +60,8 @@ public class StaffServiceTest {
         staffService = new StaffService(
                 staffRepository,
                 ldapRepository,
-                staffHelperRepository);
+                staffHelperRepository,
+                ldapUserBatchLookup);
     }
 
     @Test
@@ -212,8 +217,8 @@ public class StaffServiceTest {
 
         var frazierNDelius = NDeliusUser.builder().telephoneNumber("111 222").mail("joefrazier@service.com").build();
         var foremanNDelius = NDeliusUser.builder().telephoneNumber("333 444").mail("georgeforeman@service.com").build();
-        when(ldapRepository.getDeliusUserNoRoles("joefrazier")).thenReturn(Optional.of(frazierNDelius));
-        when(ldapRepository.getDeliusUserNoRoles("georgeforeman")).thenReturn(Optional.of(foremanNDelius));
+        when(ldapUserBatchLookup.usersNoRolesByUsername(Set.of("joefrazier", "georgeforeman")))
+                .thenReturn(Map.of("joefrazier", frazierNDelius, "georgeforeman", foremanNDelius));
 
         List<StaffDetails> staffDetailsList = staffService.getStaffDetailsByUsernames(usernames);
 
@@ -227,6 +232,36 @@ public class StaffServiceTest {
         assertThat(foremanUserDetails.getUsername()).isEqualTo("georgeforeman");
     }
 
+    @Test
+    public void willSetNullEmailWhenOneOfManyUsersNotFoundInLDAP_getStaffDetailsByUsernames() {
+        when(staffRepository.findByUsernames(any()))
+                .thenReturn(ImmutableList.of(
+                        aStaff()
+                                .toBuilder()
+                                .user(
+                                        aUser()
+                                                .toBuilder()
+                                                .distinguishedName("joefrazier")
+                                                .build())
+                                .build(),
+                        aStaff()
+                                .toBuilder()
+                                .user(
+                                        aUser()
+                                                .toBuilder()
+                                                .distinguishedName("georgeforeman")
+                                                .build())
+                                .build()
+                ));
+        when(ldapUserBatchLookup.usersNoRolesByUsername(any()))
+                .thenReturn(Map.of("joefrazier", NDeliusUser.builder().mail("joefrazier@service.com").build()));
+
+        var staffDetailsList = staffService.getStaffDetailsByUsernames(Set.of("joefrazier", "georgeforeman"));
+
+        assertThat(staffDetailsList).extracting(StaffDetails::getEmail).containsExactlyInAnyOrder("joefrazier@service.com", null);
+        verify(ldapRepository, never()).getDeliusUserNoRoles(any());
+    }
+
     @Test
     public void willReturnStaffIfFoundWithoutCreatingANewOne() {
         when(staffRepository
@@ -33,8 +33,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.digital.delius.util.EntityHelper.aBorough;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aDistrict;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aLocalDeliveryUnit;
 import static uk.gov.justice.digital.delius.util.EntityHelper.aProbationArea;
@@ -59,6 +61,8 @@ public class TeamServiceTest {
     private TelemetryClient telemetryClient;
     @Mock
     private StaffService staffService;
+    @Mock
+    private OrganisationHierarchyService organisationHierarchyService;
     @Captor
     private ArgumentCaptor<StaffTeam> staffTeamArgumentCaptor;
     @Captor
@@ -74,7 +78,7 @@ public class TeamServiceTest {
 
     @BeforeEach
     public void setup() {
-        teamService = new TeamService(teamRepository, localDeliveryUnitRepository, districtRepository, boroughRepository, staffTeamRepository, probationAreaRepository, telemetryClient, staffService);
+        teamService = new TeamService(teamRepository, localDeliveryUnitRepository, districtRepository, boroughRepository, staffTeamRepository, probationAreaRepository, telemetryClient, staffService, organisationHierarchyService);
     }
 
     @Test
@@ -229,8 +233,13 @@ public class TeamServiceTest {
                     .code("Z01")
                     .build();
             when(probationAreaRepository.findAllWithNomsCDECodeExcludeOut()).thenReturn(List.of(probationAreaWithTeamAlready, probationAreaWithMissingTeam));
+            when(organisationHierarchyService.current()).thenReturn(OrganisationHierarchy.of(List.of(probationAreaWithTeamAlready
+                    .toBuilder()
+                    .boroughs(List.of(aBorough().toBuilder()
+                            .districts(List.of(aDistrict().toBuilder().teams(List.of(aTeam("A01POM"))).build()))
+                            .build()))
+                    .build())));
 
-            when(teamRepository.findByCode("A01POM")).thenReturn(Optional.of(EntityHelper.aTeam("A01POM")));
             when(teamRepository.findByCode("Z01POM")).thenReturn(Optional.empty());
             when(districtRepository.findByCode("Z01POM")).thenReturn(Optional.empty());
             when(boroughRepository.findByCode("Z01POM")).thenReturn(Optional.empty());
@@ -256,6 +265,23 @@ public class TeamServiceTest {
             assertThat(newTeam.getUnpaidWorkTeam()).isEqualTo("N");
         }
 
+        @Test
+        @DisplayName("Will only check the database for teams missing from the organisation hierarchy")
+        void willOnlyCheckTheDatabaseForTeamsMissingFromTheHierarchy() {
+            teamService.createMissingPrisonOffenderManagerTeams();
+
+            verify(teamRepository, never()).findByCode("A01POM");
+            verify(teamRepository).findByCode("Z01POM");
+        }
+
+        @Test
+        @DisplayName("Will reload the organisation hierarchy once the new teams are committed")
+        void willRefreshTheHierarchy() {
+            teamService.createMissingPrisonOffenderManagerTeams();
+
+            verify(organisationHierarchyService).refreshAfterCommit();
+        }
+
         @Test
         @DisplayName("Will create any district, ldu and borough for new teams")
         void willCreateTheDistrictLDUAndBorough() {
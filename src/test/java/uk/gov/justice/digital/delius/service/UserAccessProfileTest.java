@@ -0,0 +1,65 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.justice.digital.delius.jpa.national.entity.Exclusion;
+import uk.gov.justice.digital.delius.jpa.national.entity.Restriction;
+import uk.gov.justice.digital.delius.jpa.national.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserAccessProfileTest {
+
+    @Test
+    void excludedOnlyFromOffendersWithActiveExclusions() {
+        final var profile = UserAccessProfile.of(User
+                .builder()
+                .exclusions(List.of(
+                        Exclusion.builder().offenderId(3L).build(),
+                        Exclusion.builder().offenderId(1L).exclusionEnd(LocalDateTime.now().plusDays(1)).build(),
+                        Exclusion.builder().offenderId(2L).exclusionEnd(LocalDateTime.now().minusDays(1)).build()))
+                .build());
+
+        assertThat(profile.isExcludedFrom(1L)).isTrue();
+        assertThat(profile.isExcludedFrom(2L)).isFalse();
+        assertThat(profile.isExcludedFrom(3L)).isTrue();
+        assertThat(profile.isExcludedFrom(4L)).isFalse();
+    }
+
+    @Test
+    void restrictionThatEndsWhileCachedStopsApplying() throws InterruptedException {
+        final var profile = UserAccessProfile.of(User
+                .builder()
+                .restrictions(List.of(Restriction.builder().offenderId(1L).restrictionEnd(LocalDateTime.now().plusNanos(50_000_000)).build()))
+                .build());
+
+        assertThat(profile.isRestrictedUserFor(1L)).isTrue();
+        Thread.sleep(100);
+        assertThat(profile.isRestrictedUserFor(1L)).isFalse();
+    }
+
+    @Test
+    void longestLastingEntryWinsWhenOffenderListedMoreThanOnce() {
+        final var profile = UserAccessProfile.of(User
+                .builder()
+                .restrictions(List.of(
+                        Restriction.builder().offenderId(1L).restrictionEnd(LocalDateTime.now().minusDays(1)).build(),
+                        Restriction.builder().offenderId(1L).build(),
+                        Restriction.builder().offenderId(2L).restrictionEnd(LocalDateTime.now().minusDays(2)).build(),
+                        Restriction.builder().offenderId(2L).restrictionEnd(LocalDateTime.now().plusDays(1)).build()))
+                .build());
+
+        assertThat(profile.isRestrictedUserFor(1L)).isTrue();
+        assertThat(profile.isRestrictedUserFor(2L)).isTrue();
+    }
+
+    @Test
+    void userWithoutExclusionsOrRestrictions() {
+        final var profile = UserAccessProfile.of(User.builder().build());
+
+        assertThat(profile.isExcludedFrom(1L)).isFalse();
+        assertThat(profile.isRestrictedUserFor(1L)).isFalse();
+    }
+}
@@ -16,8 +16,8 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
-import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.atMostOnce;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -56,12 +56,12 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(false, RESTRICTION_MESSAGE, false, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
+        when(offenderService.getOffenderLimitedAccessByCrn(CRN)).thenReturn(Optional.of(offender));
         when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet());
 
-        verify(offenderService, atMost(2)).getOffenderByCrn(CRN);
+        verify(offenderService, times(1)).getOffenderLimitedAccessByCrn(CRN);
         verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
     }
 
@@ -70,14 +70,14 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(false, RESTRICTION_MESSAGE, true, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
+        when(offenderService.getOffenderLimitedAccessByCrn(CRN)).thenReturn(Optional.of(offender));
         when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         assertThatExceptionOfType(AccessDeniedException.class)
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(EXCLUSION_MESSAGE);
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
+        verify(offenderService, atMostOnce()).getOffenderLimitedAccessByCrn(CRN);
         verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
     }
 
@@ -93,19 +93,19 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(false, RESTRICTION_MESSAGE, true, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
+        when(offenderService.getOffenderLimitedAccessByCrn(CRN)).thenReturn(Optional.of(offender));
         when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         userAccessService.checkExclusionsAndRestrictions(CRN, Set.of(new SimpleGrantedAuthority(SCOPE_IGNORE_EXCLUSIONS)));
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
+        verify(offenderService, atMostOnce()).getOffenderLimitedAccessByCrn(CRN);
         verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
     }
 
     @Test
     public void givenOffenderIsRestricted_andNoUser_thenAccessDenied(){
         when(currentUserSupplier.username()).thenReturn(Optional.empty());
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
+        when(offenderService.getOffenderLimitedAccessByCrn(CRN)).thenReturn(Optional.of(offender));
         when(offender.getCurrentRestriction()).thenReturn(true);
         when(offender.getRestrictionMessage()).thenReturn(RESTRICTION_MESSAGE);
         when(offender.getExclusionMessage()).thenReturn(EXCLUSION_MESSAGE);
@@ -114,7 +114,7 @@ class UserAccessServiceTest {
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(RESTRICTION_MESSAGE);
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
+        verify(offenderService, atMostOnce()).getOffenderLimitedAccessByCrn(CRN);
         verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
     }
 
@@ -123,14 +123,14 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(true, RESTRICTION_MESSAGE, false, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
+        when(offenderService.getOffenderLimitedAccessByCrn(CRN)).thenReturn(Optional.of(offender));
         when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         assertThatExceptionOfType(AccessDeniedException.class)
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(RESTRICTION_MESSAGE);
 
-        verify(offenderService, atMost(2)).getOffenderByCrn(CRN);
+        verify(offenderService, times(1)).getOffenderLimitedAccessByCrn(CRN);
         verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
     }
 
@@ -145,12 +145,12 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(true, RESTRICTION_MESSAGE, false, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
+        when(offenderService.getOffenderLimitedAccessByCrn(CRN)).thenReturn(Optional.of(offender));
         when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         userAccessService.checkExclusionsAndRestrictions(CRN, Set.of(new SimpleGrantedAuthority(SCOPE_IGNORE_RESTRICTIONS)));
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
+        verify(offenderService, atMostOnce()).getOffenderLimitedAccessByCrn(CRN);
         verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
     }
 
@@ -159,14 +159,14 @@ class UserAccessServiceTest {
         final var accessLimitation = new AccessLimitation(true, RESTRICTION_MESSAGE, true, EXCLUSION_MESSAGE);
 
         when(currentUserSupplier.username()).thenReturn(Optional.of(USER_NAME));
-        when(offenderService.getOffenderByCrn(CRN)).thenReturn(Optional.of(offender));
+        when(offenderService.getOffenderLimitedAccessByCrn(CRN)).thenReturn(Optional.of(offender));
         when(userService.accessLimitationOf(USER_NAME, offender)).thenReturn(accessLimitation);
 
         assertThatExceptionOfType(AccessDeniedException.class)
             .isThrownBy(() -> userAccessService.checkExclusionsAndRestrictions(CRN, Collections.emptySet()))
             .withMessage(EXCLUSION_MESSAGE);
 
-        verify(offenderService, atMostOnce()).getOffenderByCrn(CRN);
+        verify(offenderService, atMostOnce()).getOffenderLimitedAccessByCrn(CRN);
         verifyNoMoreInteractions(offenderService, userService, currentUserSupplier, offender);
     }
 }
\ No newline at end of file
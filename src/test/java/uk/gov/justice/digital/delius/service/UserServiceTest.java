@@ -52,6 +52,13 @@ public class UserServiceTest {
         userService = new UserService(userRepositoryWrapper, ldapRepository, telemetryClient);
     }
 
+    @Test
+    public void evictingAccessProfileEvictsTheCachedProfile() {
+        userService.evictAccessProfile("Micky");
+
+        verify(userRepositoryWrapper).evictAccessProfile("Micky");
+    }
+
     @Test
     public void exclusionListNotCheckedWhenNotExcludedForAnyone() {
         userService.accessLimitationOf("Micky", OffenderDetail
@@ -62,7 +69,7 @@ public class UserServiceTest {
                 .restrictionMessage("How dare you - you are restricted")
                 .build());
 
-        verify(userRepositoryWrapper, never()).getUser(Mockito.any());
+        verify(userRepositoryWrapper, never()).getAccessProfile(Mockito.any());
     }
 
 
@@ -94,13 +101,13 @@ public class UserServiceTest {
 
     @Test
     public void exclusionListCheckedWhenExcludedForSomeone() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .exclusions(ImmutableList.of(Exclusion
                         .builder()
                         .offenderId(2L)
                         .build()))
-                .build());
+                .build()));
         userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(true)
@@ -110,18 +117,18 @@ public class UserServiceTest {
                 .offenderId(1L)
                 .build());
 
-        verify(userRepositoryWrapper).getUser("Micky");
+        verify(userRepositoryWrapper).getAccessProfile("Micky");
     }
 
     @Test
     public void exclusionUnsetWhenUserNotInExclusionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .exclusions(ImmutableList.of(Exclusion
                         .builder()
                         .offenderId(2L)
                         .build()))
-                .build());
+                .build()));
         final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(true)
@@ -136,13 +143,13 @@ public class UserServiceTest {
 
     @Test
     public void exclusionSetWhenUserIsInExclusionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .exclusions(ImmutableList.of(Exclusion
                         .builder()
                         .offenderId(1L)
                         .build()))
-                .build());
+                .build()));
         final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(true)
@@ -157,13 +164,13 @@ public class UserServiceTest {
 
     @Test
     public void exclusionMessageReturnedWhenUserIsInExclusionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .exclusions(ImmutableList.of(Exclusion
                         .builder()
                         .offenderId(1L)
                         .build()))
-                .build());
+                .build()));
         final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(true)
@@ -187,7 +194,7 @@ public class UserServiceTest {
                 .restrictionMessage("How dare you - you are restricted")
                 .build());
 
-        verify(userRepositoryWrapper, never()).getUser(Mockito.any());
+        verify(userRepositoryWrapper, never()).getAccessProfile(Mockito.any());
     }
 
 
@@ -219,13 +226,13 @@ public class UserServiceTest {
 
     @Test
     public void restrictedListCheckedWhenRestrictedToSomeone() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .restrictions(ImmutableList.of(Restriction
                         .builder()
                         .offenderId(1L)
                         .build()))
-                .build());
+                .build()));
         userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(false)
@@ -235,18 +242,18 @@ public class UserServiceTest {
                 .offenderId(1L)
                 .build());
 
-        verify(userRepositoryWrapper).getUser("Micky");
+        verify(userRepositoryWrapper).getAccessProfile("Micky");
     }
 
     @Test
     public void restrictedUnsetWhenUserInRestrictionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .restrictions(ImmutableList.of(Restriction
                         .builder()
                         .offenderId(1L)
                         .build()))
-                .build());
+                .build()));
         final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(false)
@@ -261,13 +268,13 @@ public class UserServiceTest {
 
     @Test
     public void restrictedSetWhenUserIsNotInRestrictionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .restrictions(ImmutableList.of(Restriction
                         .builder()
                         .offenderId(2L)
                         .build()))
-                .build());
+                .build()));
         final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(false)
@@ -282,13 +289,13 @@ public class UserServiceTest {
 
     @Test
     public void restrictedMessageReturnedWhenUserIsNotInRestrictionList() {
-        when(userRepositoryWrapper.getUser(any())).thenReturn(User
+        when(userRepositoryWrapper.getAccessProfile(any())).thenReturn(UserAccessProfile.of(User
                 .builder()
                 .restrictions(ImmutableList.of(Restriction
                         .builder()
                         .offenderId(2L)
                         .build()))
-                .build());
+                .build()));
         final var accessLimitation = userService.accessLimitationOf("Micky", OffenderDetail
                 .builder()
                 .currentExclusion(false)
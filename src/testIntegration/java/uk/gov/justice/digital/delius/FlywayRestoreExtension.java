@@ -6,10 +6,14 @@ import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import uk.gov.justice.digital.delius.service.ReferenceDataCacheService;
 
 public class FlywayRestoreExtension implements AfterAllCallback, BeforeEachCallback {
     private static Flyway flyway;
+    private static ReferenceDataCacheService referenceDataCacheService;
+    private static CacheManager cacheManager;
     private static Logger logger = LoggerFactory.getLogger(FlywayRestoreExtension.class);
 
     @Override
@@ -17,6 +21,9 @@ public class FlywayRestoreExtension implements AfterAllCallback, BeforeEachCallb
         logger.info("Cleaning database ..");
         flyway.clean();
         flyway.migrate();
+        // anything held in memory may have come from the data that has just been thrown away
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        referenceDataCacheService.evictAll();
         logger.info("Cleaning database done");
     }
 
@@ -26,6 +33,8 @@ public class FlywayRestoreExtension implements AfterAllCallback, BeforeEachCallb
         // deal with Nested classes
         if (applicationContext.containsBean("flyway")) {
             flyway = applicationContext.getBean(Flyway.class);
+            referenceDataCacheService = applicationContext.getBean(ReferenceDataCacheService.class);
+            cacheManager = applicationContext.getBean(CacheManager.class);
         }
     }
 
@@ -0,0 +1,81 @@
+package uk.gov.justice.digital.delius;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the statements Hibernate prepares for each table. A JDBC batch is prepared once however many rows it holds
+ * so the count is the number of round trips rather than the number of rows written. For selects the widest select
+ * list seen for each table is kept too, so tests can check how many columns a fetch plan reads.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final Pattern WRITE = Pattern.compile("^\\s*(insert\\s+into|update|delete\\s+from)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SELECT = Pattern.compile("^\\s*select\\s+(.*?)\\s+from\\s+(\\w+)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern COLUMN_ALIAS = Pattern.compile("\\s+as\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Map<String, AtomicInteger> COUNTS = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> WIDEST_SELECTS = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        final var write = WRITE.matcher(sql);
+        if (write.find()) {
+            increment(keyOf(write.group(1).split("\\s+")[0], write.group(2)));
+        }
+        final var select = SELECT.matcher(sql);
+        if (select.find()) {
+            final var key = keyOf("select", select.group(2));
+            increment(key);
+            WIDEST_SELECTS.merge(key, (int) COLUMN_ALIAS.matcher(select.group(1)).results().count(), Math::max);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        COUNTS.clear();
+        WIDEST_SELECTS.clear();
+    }
+
+    public static int inserts(String table) {
+        return countOf("insert", table);
+    }
+
+    public static int updates(String table) {
+        return countOf("update", table);
+    }
+
+    public static int deletes(String table) {
+        return countOf("delete", table);
+    }
+
+    public static int selects(String table) {
+        return countOf("select", table);
+    }
+
+    public static int selects() {
+        return COUNTS.entrySet().stream().filter(count -> count.getKey().startsWith("SELECT ")).mapToInt(count -> count.getValue().get()).sum();
+    }
+
+    /**
+     * The number of columns in the widest select list read from the table
+     */
+    public static int widestSelect(String table) {
+        return WIDEST_SELECTS.getOrDefault(keyOf("select", table), 0);
+    }
+
+    private static void increment(String key) {
+        COUNTS.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static int countOf(String operation, String table) {
+        return COUNTS.getOrDefault(keyOf(operation, table), new AtomicInteger()).get();
+    }
+
+    private static String keyOf(String operation, String table) {
+        return (operation + " " + table).toUpperCase(Locale.ROOT);
+    }
+}
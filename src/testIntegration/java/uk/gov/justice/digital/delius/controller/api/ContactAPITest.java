@@ -15,6 +15,7 @@ import uk.gov.justice.digital.delius.jwt.Jwt;
 import uk.gov.justice.digital.delius.user.UserData;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
@@ -57,6 +58,66 @@ public class ContactAPITest {
         assertThat(contacts).extracting("contactId").contains(2502743375L); // PLus millions of others, but we're testing that e2e stands up and the details are covered in the unit test
     }
 
+    @Test
+    public void canPageThroughContactsByCrnUsingKeyset() {
+        final Contact[] firstPage = given()
+                .when()
+                .header("Authorization", aValidToken())
+                .queryParam("limit", 2)
+                .get("/offenders/crn/X320741/contacts")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(Contact[].class);
+
+        assertThat(firstPage).hasSize(2);
+        final var lastContact = firstPage[1];
+
+        final Contact[] secondPage = given()
+                .when()
+                .header("Authorization", aValidToken())
+                .queryParam("limit", 2)
+                .queryParam("afterContactDate", lastContact.getContactDate().toString())
+                .queryParam("afterContactId", lastContact.getContactId())
+                .get("/offenders/crn/X320741/contacts")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(Contact[].class);
+
+        assertThat(secondPage).isNotEmpty();
+        assertThat(secondPage).extracting("contactId").doesNotContainAnyElementsOf(List.of(firstPage[0].getContactId(), lastContact.getContactId()));
+        assertThat(secondPage[0].getContactDate()).isAfterOrEqualTo(lastContact.getContactDate());
+    }
+
+    @Test
+    public void canStreamAllContactsByCrn() {
+        final Contact[] contacts = given()
+                .when()
+                .header("Authorization", aValidToken())
+                .get("/offenders/crn/X320741/contacts")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(Contact[].class);
+
+        final var lines = given()
+                .when()
+                .header("Authorization", aValidToken())
+                .get("/offenders/crn/X320741/contacts/stream")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString()
+                .split("\n");
+
+        assertThat(lines).hasSize(contacts.length);
+    }
+
     @Test
     public void contactsByCrnMustHaveValidJwt() {
         given()
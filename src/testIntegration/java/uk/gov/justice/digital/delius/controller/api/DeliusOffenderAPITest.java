@@ -32,7 +32,9 @@ import uk.gov.justice.digital.delius.jpa.national.entity.User;
 import uk.gov.justice.digital.delius.jpa.national.repository.UserRepository;
 import uk.gov.justice.digital.delius.jpa.standard.entity.Offender;
 import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderAddress;
+import uk.gov.justice.digital.delius.jpa.standard.entity.OffenderPrimaryIdentifiers;
 import uk.gov.justice.digital.delius.jpa.standard.entity.StandardReference;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderPrimaryIdentifiersRepository;
 import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
 import uk.gov.justice.digital.delius.jwt.Jwt;
 import uk.gov.justice.digital.delius.user.UserData;
@@ -47,11 +49,13 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 import static io.restassured.RestAssured.when;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static uk.gov.justice.digital.delius.OffenderHelper.anOffender;
@@ -71,6 +75,9 @@ public class DeliusOffenderAPITest {
     @MockBean
     private OffenderRepository offenderRepository;
 
+    @MockBean
+    private OffenderPrimaryIdentifiersRepository offenderPrimaryIdentifiersRepository;
+
     @MockBean
     private UserRepository userRepository;
 
@@ -328,7 +335,7 @@ public class DeliusOffenderAPITest {
 
     @Test
     public void canListOffenderDocumentsByOffenderId() throws IOException {
-        Mockito.when(offenderRepository.findByOffenderId(eq(1L))).thenReturn(Optional.of(anOffender()));
+        Mockito.when(offenderPrimaryIdentifiersRepository.findById(eq(1L))).thenReturn(Optional.of(anOffenderPrimaryIdentifiers()));
 
 
         DocumentMeta[] documentList = given()
@@ -348,7 +355,7 @@ public class DeliusOffenderAPITest {
 
     @Test
     public void canListOffenderDocumentsByNomsNumber() throws IOException {
-        Mockito.when(offenderRepository.findByNomsNumber(eq("A12345"))).thenReturn(Optional.of(anOffender()));
+        Mockito.when(offenderPrimaryIdentifiersRepository.findByNomsNumber(eq("A12345"))).thenReturn(Optional.of(anOffenderPrimaryIdentifiers()));
 
         DocumentMeta[] documentList = given()
                 .header("Authorization", aValidToken())
@@ -407,7 +414,7 @@ public class DeliusOffenderAPITest {
 
     @Test
     public void canGetOffenderDocumentDetailsByOffenderIdAndDocumentId() throws IOException {
-        Mockito.when(offenderRepository.findByOffenderId(eq(1L))).thenReturn(Optional.of(anOffender()));
+        Mockito.when(offenderPrimaryIdentifiersRepository.findById(eq(1L))).thenReturn(Optional.of(anOffenderPrimaryIdentifiers()));
 
 
         DocumentMeta documentMeta = given()
@@ -427,7 +434,7 @@ public class DeliusOffenderAPITest {
 
     @Test
     public void canGetOffenderDocumentDetailsByOffenderNomsNumberAndDocumentId() throws IOException {
-        Mockito.when(offenderRepository.findByNomsNumber(eq("A12345"))).thenReturn(Optional.of(anOffender()));
+        Mockito.when(offenderPrimaryIdentifiersRepository.findByNomsNumber(eq("A12345"))).thenReturn(Optional.of(anOffenderPrimaryIdentifiers()));
 
 
         DocumentMeta documentMeta = given()
@@ -535,6 +542,69 @@ public class DeliusOffenderAPITest {
                 Integer.valueOf(6), Integer.valueOf(7), Integer.valueOf(8), Integer.valueOf(9), Integer.valueOf(10));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void canRetrieveOffenderIdsAfterAnOffenderId() {
+        Mockito.when(offenderRepository.listOffenderIdsAfter(eq(5L), eq(3))).thenReturn(LongStream.rangeClosed(6, 8).mapToObj(BigDecimal::valueOf).collect(Collectors.toList()));
+
+        Map<?, ?> ids =
+                given()
+                        .header("Authorization", aValidToken())
+                        .when()
+                        .queryParams("afterOffenderId", 5, "limit", 3)
+                        .get("/offenders/offenderIds/after")
+                        .then()
+                        .statusCode(200)
+                        .extract().body().as(Map.class);
+
+        final var offenderIds = (List<Integer>) ids.get("offenderIds");
+
+        assertThat(offenderIds).containsExactly(Integer.valueOf(6), Integer.valueOf(7), Integer.valueOf(8));
+    }
+
+    @Test
+    public void offenderIdsAfterTheLastOffenderIdGivesNotFound() {
+        Mockito.when(offenderRepository.listOffenderIdsAfter(eq(10L), eq(5))).thenReturn(List.of());
+
+        given()
+                .header("Authorization", aValidToken())
+                .when()
+                .queryParams("afterOffenderId", 10)
+                .get("/offenders/offenderIds/after")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    public void offenderIdsAfterWithALimitOutOfRangeGivesBadRequest() {
+        List.of(0, -1, 10001).forEach(limit ->
+                given()
+                        .header("Authorization", aValidToken())
+                        .when()
+                        .queryParams("afterOffenderId", 5, "limit", limit)
+                        .get("/offenders/offenderIds/after")
+                        .then()
+                        .statusCode(400));
+
+        Mockito.verify(offenderRepository, Mockito.never()).listOffenderIdsAfter(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    public void canStreamAllOffenderIdsAsNewlineDelimitedJson() {
+        Mockito.when(offenderRepository.streamOffenderIds()).thenReturn(Stream.of(1L, 2L, 3L));
+
+        final var body = given()
+                .header("Authorization", aValidToken())
+                .when()
+                .get("/offenders/offenderIds/stream")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract().body().asString();
+
+        assertThat(body).isEqualTo("1\n2\n3\n");
+    }
+
     @Test
     public void offenderCountProvidesCount() {
         Count count = given()
@@ -751,4 +821,13 @@ public class DeliusOffenderAPITest {
         assertThat(offenderManagers).hasSize(1);
     }
 
+
+    private OffenderPrimaryIdentifiers anOffenderPrimaryIdentifiers() {
+        return OffenderPrimaryIdentifiers.builder()
+                .offenderId(1L)
+                .crn("crn123")
+                .nomsNumber("A12345")
+                .softDeleted(0L)
+                .build();
+    }
 }
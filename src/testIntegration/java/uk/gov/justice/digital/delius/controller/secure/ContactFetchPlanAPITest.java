@@ -0,0 +1,148 @@
+package uk.gov.justice.digital.delius.controller.secure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import uk.gov.justice.digital.delius.FlywayRestoreExtension;
+import uk.gov.justice.digital.delius.SqlStatementCounter;
+import uk.gov.justice.digital.delius.jwt.Jwt;
+import uk.gov.justice.digital.delius.user.UserData;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each contact view should read its contacts in a single select however long the contact history is, and should
+ * only read the columns it serialises
+ */
+@ExtendWith({SpringExtension.class, FlywayRestoreExtension.class})
+public class ContactFetchPlanAPITest extends IntegrationTestBase {
+    private static final String CONTACTS_PATH = "/offenders/nomsNumber/G9542VP/contacts";
+    private static final String ATTENDANCES_PATH = "/offenders/crn/X320741/convictions/2500295343/attendancesFilter";
+    private static final String APPOINTMENTS_PATH = "/offenders/crn/X320741/appointments";
+    private static final long SEED_CONTACT_ID = 2502719240L;
+    private static final long SYNTHETIC_CONTACT_ID_START = 3000000000L;
+    private static final int SYNTHETIC_CONTACTS = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Jwt jwt;
+
+    @BeforeEach
+    public void setup() {
+        super.setup();
+        jdbcTemplate.update("DELETE FROM CONTACT WHERE CONTACT_ID > ?", SYNTHETIC_CONTACT_ID_START);
+    }
+
+    @Test
+    void listingContactsTakesTheSameStatementsHoweverLongTheHistory() {
+        final var selectsForSeedData = selectsToRead(CONTACTS_PATH);
+
+        addSyntheticContactHistory();
+        final var selectsForLargeHistory = selectsToRead(CONTACTS_PATH);
+
+        assertThat(selectsForLargeHistory).isEqualTo(selectsForSeedData);
+        assertThat(SqlStatementCounter.selects("CONTACT")).isEqualTo(1);
+    }
+
+    @Test
+    void listingAttendancesTakesTheSameStatementsHoweverLongTheHistory() {
+        final var selectsForSeedData = selectsToRead(ATTENDANCES_PATH);
+
+        addSyntheticContactHistory();
+        final var selectsForLargeHistory = selectsToRead(ATTENDANCES_PATH);
+
+        assertThat(selectsForLargeHistory).isEqualTo(selectsForSeedData);
+        assertThat(SqlStatementCounter.selects("CONTACT")).isEqualTo(1);
+    }
+
+    @Test
+    void listingAppointmentsTakesTheSameStatementsHoweverLongTheHistory() {
+        final var selectsForSeedData = selectsToRead(this::getAppointments);
+
+        addSyntheticContactHistory();
+        final var selectsForLargeHistory = selectsToRead(this::getAppointments);
+
+        assertThat(selectsForLargeHistory).isEqualTo(selectsForSeedData);
+        assertThat(SqlStatementCounter.selects("CONTACT")).isEqualTo(1);
+    }
+
+    @Test
+    void attendancesReadANarrowerRowThanContacts() {
+        addSyntheticContactHistory();
+
+        selectsToRead(CONTACTS_PATH);
+        final var contactColumns = SqlStatementCounter.widestSelect("CONTACT");
+        selectsToRead(ATTENDANCES_PATH);
+        final var attendanceColumns = SqlStatementCounter.widestSelect("CONTACT");
+
+        assertThat(attendanceColumns).isPositive().isLessThan(contactColumns);
+    }
+
+    @Test
+    void contactsAreReadWithoutTheirEvents() {
+        addSyntheticContactHistory();
+
+        selectsToRead(CONTACTS_PATH);
+
+        assertThat(SqlStatementCounter.selects("EVENT")).isEqualTo(0);
+    }
+
+    /*
+     * The first request warms the reference data caches so the count is for a request made once the service is running
+     */
+    private int selectsToRead(String path) {
+        return selectsToRead(() -> get(path));
+    }
+
+    private int selectsToRead(Runnable request) {
+        request.run();
+        SqlStatementCounter.reset();
+        request.run();
+        return SqlStatementCounter.selects();
+    }
+
+    private void get(String path) {
+        given()
+                .auth()
+                .oauth2(tokenWithRoleCommunity())
+                .when()
+                .get(path)
+                .then()
+                .statusCode(200);
+    }
+
+    private void getAppointments() {
+        given()
+                .basePath("/api")
+                .auth()
+                .oauth2(jwt.buildToken(UserData.builder().distinguishedName(UUID.randomUUID().toString()).uid("bobby.davro").build()))
+                .when()
+                .get(APPOINTMENTS_PATH)
+                .then()
+                .statusCode(200);
+    }
+
+    private void addSyntheticContactHistory() {
+        // copies of a seeded attendance contact, one for each of the preceding days
+        jdbcTemplate.update("INSERT INTO CONTACT (CONTACT_ID, CONTACT_DATE, OFFENDER_ID, NOTES, VISOR_CONTACT, STAFF_ID, TEAM_ID, " +
+                        "SOFT_DELETED, VISOR_EXPORTED, PARTITION_AREA_ID, OFFICE_LOCATION_ID, ROW_VERSION, ALERT_ACTIVE, ATTENDED, " +
+                        "CREATED_DATETIME, COMPLIED, LAST_UPDATED_DATETIME, EVENT_ID, CONTACT_TYPE_ID, PROVIDER_TEAM_ID, " +
+                        "CONTACT_OUTCOME_TYPE_ID, CREATED_BY_USER_ID, LAST_UPDATED_USER_ID, TRUST_PROVIDER_FLAG, STAFF_EMPLOYEE_ID, " +
+                        "PROBATION_AREA_ID, TRUST_PROVIDER_TEAM_ID, ENFORCEMENT) " +
+                        "SELECT ? + X, DATEADD('DAY', -X, CONTACT_DATE), OFFENDER_ID, NOTES, VISOR_CONTACT, STAFF_ID, TEAM_ID, " +
+                        "SOFT_DELETED, VISOR_EXPORTED, PARTITION_AREA_ID, OFFICE_LOCATION_ID, ROW_VERSION, ALERT_ACTIVE, ATTENDED, " +
+                        "CREATED_DATETIME, COMPLIED, LAST_UPDATED_DATETIME, EVENT_ID, CONTACT_TYPE_ID, PROVIDER_TEAM_ID, " +
+                        "CONTACT_OUTCOME_TYPE_ID, CREATED_BY_USER_ID, LAST_UPDATED_USER_ID, TRUST_PROVIDER_FLAG, STAFF_EMPLOYEE_ID, " +
+                        "PROBATION_AREA_ID, TRUST_PROVIDER_TEAM_ID, ENFORCEMENT " +
+                        "FROM CONTACT, SYSTEM_RANGE(1, ?) WHERE CONTACT_ID = ?",
+                SYNTHETIC_CONTACT_ID_START, SYNTHETIC_CONTACTS, SEED_CONTACT_ID);
+    }
+}
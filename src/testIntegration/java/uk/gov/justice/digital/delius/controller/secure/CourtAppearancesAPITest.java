@@ -66,6 +66,118 @@ public class CourtAppearancesAPITest extends IntegrationTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("Tests for Court Appearance keyset paging")
+    class AppearanceKeyset {
+
+        @Test
+        public void canLimitCourtAppearancesUntilDate() {
+            var result = given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("untilDate", "2019-09-15")
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(CourtAppearanceMinimalWrapper.class);
+            assertThat(result.getCourtAppearances()).extracting("courtAppearanceId").containsExactly(2500316926L);
+        }
+
+        @Test
+        public void canPageThroughCourtAppearances() {
+            var firstPage = given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("limit", 1)
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(CourtAppearanceMinimalWrapper.class);
+            assertThat(firstPage.getCourtAppearances()).extracting("courtAppearanceId").containsExactly(2500316926L);
+
+            var last = firstPage.getCourtAppearances().get(0);
+            var secondPage = given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("fromDate", "2019-09-04")
+                .param("afterAppearanceDate", last.getAppearanceDate().toString())
+                .param("afterCourtAppearanceId", last.getCourtAppearanceId())
+                .param("limit", 1)
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .as(CourtAppearanceMinimalWrapper.class);
+            assertThat(secondPage.getCourtAppearances()).extracting("courtAppearanceId").containsExactly(2500319107L);
+        }
+
+        @Test
+        public void invalidLimitIsRejected() {
+            given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("limit", 0)
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(400);
+        }
+
+        @Test
+        public void limitAboveTheMaximumIsRejected() {
+            given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("limit", 10001)
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(400);
+        }
+
+        @Test
+        public void afterCourtAppearanceIdWithoutAfterAppearanceDateIsRejected() {
+            given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .param("afterCourtAppearanceId", 2500316926L)
+                .param("limit", 10)
+                .when()
+                .get("/courtAppearances")
+                .then()
+                .statusCode(400);
+        }
+
+        @Test
+        public void canStreamCourtAppearances() {
+            final var lines = given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .param("fromDate", "2019-09-04")
+                .when()
+                .get("/courtAppearances/stream")
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString()
+                .split("\n");
+
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).contains("2500316926");
+            assertThat(lines[1]).contains("2500319107");
+        }
+    }
+
     @Nested
     @DisplayName("Tests for Court Appearance by CRN")
     class AppearancesByCrn {
@@ -11,6 +11,7 @@ import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import uk.gov.justice.digital.delius.FlywayRestoreExtension;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDates;
 import uk.gov.justice.digital.delius.data.api.CreateCustodyKeyDate;
 import uk.gov.justice.digital.delius.data.api.CustodyKeyDate;
 import uk.gov.justice.digital.delius.data.api.KeyValue;
@@ -988,6 +989,90 @@ public class CustodyKeyDatesAPITest extends IntegrationTestBase {
         }
     }
 
+    @Nested
+    class PostAllKeyDatesForManyBookings {
+        @Test
+        void withoutUpdateRoleAccessWillBeDenied() {
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY"))
+                    .contentType("application/json")
+                    .body(writeValueAsString(List.of(aBooking(NOMS_NUMBER, PRISON_BOOKING_NUMBER))))
+                    .when()
+                    .post("offenders/custody/keyDates")
+                    .then()
+                    .statusCode(403);
+        }
+
+        @Test
+        void eachBookingHasItsOwnResultAndContact() {
+            final var results = given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY_CUSTODY_UPDATE"))
+                    .contentType("application/json")
+                    .body(writeValueAsString(List.of(
+                            aBooking(NOMS_NUMBER, PRISON_BOOKING_NUMBER),
+                            aBooking("Z9999ZZ", PRISON_BOOKING_NUMBER),
+                            aBooking(NOMS_NUMBER, "Z99999"))))
+                    .when()
+                    .post("offenders/custody/keyDates")
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .body()
+                    .jsonPath();
+
+            assertThat(results.getList("status", Integer.class)).containsExactly(200, 404, 404);
+            assertThat(results.getString("[0].custody.keyDates.conditionalReleaseDate")).isEqualTo("2030-01-01");
+            assertThat(results.getString("[1].message")).isEqualTo("Offender with NOMS number Z9999ZZ not found");
+            assertThat(results.getString("[2].message")).isEqualTo("Conviction with bookingNumber Z99999 not found for offender with NOMS number G9542VP");
+
+            final var contacts = jdbcTemplate.query(
+                    "SELECT * from CONTACT where OFFENDER_ID = ?",
+                    List.of(OFFENDER_ID).toArray(),
+                    new ColumnMapRowMapper());
+            assertThat(contacts).hasSize(1);
+            assertThat(contacts.get(0).get("NOTES").toString()).contains("Conditional Release Date: 01/01/2030");
+        }
+
+        @Test
+        void replacingTheSameDatesAgainChangesNothing() {
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY_CUSTODY_UPDATE"))
+                    .contentType("application/json")
+                    .body(writeValueAsString(List.of(aBooking(NOMS_NUMBER, PRISON_BOOKING_NUMBER), aBooking(NOMS_NUMBER, PRISON_BOOKING_NUMBER))))
+                    .when()
+                    .post("offenders/custody/keyDates")
+                    .then()
+                    .statusCode(200);
+
+            final var contacts = jdbcTemplate.query(
+                    "SELECT * from CONTACT where OFFENDER_ID = ?",
+                    List.of(OFFENDER_ID).toArray(),
+                    new ColumnMapRowMapper());
+            assertThat(contacts).hasSize(1);
+        }
+
+        @Test
+        void incompleteBookingsAreRejected() {
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY_CUSTODY_UPDATE"))
+                    .contentType("application/json")
+                    .body(writeValueAsString(List.of(BookingCustodyKeyDates.builder().nomsNumber(NOMS_NUMBER).build())))
+                    .when()
+                    .post("offenders/custody/keyDates")
+                    .then()
+                    .statusCode(400);
+        }
+
+        private BookingCustodyKeyDates aBooking(String nomsNumber, String bookingNumber) {
+            return BookingCustodyKeyDates
+                    .builder()
+                    .nomsNumber(nomsNumber)
+                    .bookingNumber(bookingNumber)
+                    .keyDates(ReplaceCustodyKeyDates.builder().conditionalReleaseDate(LocalDate.of(2030, 1, 1)).build())
+                    .build();
+        }
+    }
+
     private LocalDate toLocalDate(Object columnValue) {
         return ((Timestamp)columnValue).toLocalDateTime().toLocalDate();
     }
@@ -7,6 +7,7 @@ import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import uk.gov.justice.digital.delius.FlywayRestoreExtension;
+import uk.gov.justice.digital.delius.SqlStatementCounter;
 import uk.gov.justice.digital.delius.data.api.IDs;
 import uk.gov.justice.digital.delius.data.api.UpdateOffenderNomsNumber;
 
@@ -24,6 +25,7 @@ public class CustodyUpdateNomsNumberAPITest extends IntegrationTestBase {
     public void updateNomsNumber() {
         final var token = createJwt("ROLE_COMMUNITY_CUSTODY_UPDATE", "ROLE_COMMUNITY");
         // Given Offender with CRN = X320741 has NOMS_NUMBER = G9542VP
+        SqlStatementCounter.reset();
 
         // When I assign NOMS_NUMBER = G9542VP to Offender with CRN = CRN11
         final var iDs = given()
@@ -42,6 +44,11 @@ public class CustodyUpdateNomsNumberAPITest extends IntegrationTestBase {
         // The Offender with now have the NOMS_NUMBER assigned
         assertThat(iDs.getNomsNumber()).isEqualTo("G9542VP");
 
+        // AND the previous owner is flushed on its own before the new owner so write batching cannot reorder the
+        // updates and break the NOMS_NUMBER unique constraint
+        assertThat(SqlStatementCounter.updates("OFFENDER")).isEqualTo(2);
+        assertThat(SqlStatementCounter.inserts("ADDITIONAL_IDENTIFIER")).isEqualTo(2);
+
         // AND previous owner of NOMS number will have their NOMS number moved to an additional identifier
         final var additionalIdentifier = jdbcTemplate.query(
                 "SELECT ad.IDENTIFIER, o.NOMS_NUMBER, srl.CODE_VALUE from ADDITIONAL_IDENTIFIER ad, OFFENDER o, R_STANDARD_REFERENCE_LIST srl  where o.CRN = ? and o.OFFENDER_ID = ad.OFFENDER_ID and ad.IDENTIFIER_NAME_ID = srl.STANDARD_REFERENCE_LIST_ID order by ad.CREATED_DATETIME desc ",
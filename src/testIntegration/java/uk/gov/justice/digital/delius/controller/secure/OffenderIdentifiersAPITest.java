@@ -1,6 +1,9 @@
 package uk.gov.justice.digital.delius.controller.secure;
 
 import org.junit.jupiter.api.Test;
+import uk.gov.justice.digital.delius.data.api.OffenderIdentifiersSearch;
+
+import java.util.Set;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
@@ -69,4 +72,37 @@ public class OffenderIdentifiersAPITest extends IntegrationTestBase {
                 .body("additionalIdentifiers[1].value", is("X123456"));
     }
 
+    @Test
+    public void canSearchForManyOffenderIdentifiersAtOnce() {
+        given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType(APPLICATION_JSON_VALUE)
+                .body(OffenderIdentifiersSearch
+                        .builder()
+                        .crns(Set.of(CRN, "X999999"))
+                        .nomsNumbers(Set.of(NOMS_NUMBER.toLowerCase()))
+                        .offenderIds(Set.of(Long.valueOf(OFFENDER_ID)))
+                        .build())
+                .when()
+                .post("/offenders/identifiers/search")
+                .then()
+                .statusCode(200)
+                .body("crns.size()", is(1))
+                .body("crns." + CRN + ".offenderId", is(Long.valueOf(OFFENDER_ID)))
+                .body("crns." + CRN + ".nomsNumber", is(NOMS_NUMBER))
+                .body("nomsNumbers." + NOMS_NUMBER.toLowerCase() + ".crn", is(CRN))
+                .body("offenderIds.'" + OFFENDER_ID + "'.crn", is(CRN));
+    }
+
+    @Test
+    public void searchMustHaveCommunityRole() {
+        given()
+                .auth().oauth2(createJwt("ROLE_BANANAS"))
+                .contentType(APPLICATION_JSON_VALUE)
+                .body(OffenderIdentifiersSearch.builder().crns(Set.of(CRN)).build())
+                .when()
+                .post("/offenders/identifiers/search")
+                .then()
+                .statusCode(403);
+    }
 }
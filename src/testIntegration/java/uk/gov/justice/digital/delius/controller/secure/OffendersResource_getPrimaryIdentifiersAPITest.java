@@ -5,10 +5,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.justice.digital.delius.data.api.PrimaryIdentifiersSlice;
+
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -357,4 +361,69 @@ public class OffendersResource_getPrimaryIdentifiersAPITest extends IntegrationT
                     .body(String.format("content[%d].crn", TOTAL_NUMBER_NON_DELETED_OF_OFFENDERS - 1), is("X440890"));
         }
     }
+
+    @Nested
+    class Slices {
+        @Test
+        @DisplayName("Can walk through all offenders a slice at a time")
+        void canWalkThroughAllOffenders() {
+            final var offenderIds = new ArrayList<Long>();
+            String continuationToken = null;
+            do {
+                final var request = given()
+                        .auth()
+                        .oauth2(tokenWithRoleCommunity())
+                        .contentType(APPLICATION_JSON_VALUE)
+                        .param("size", 7);
+                if (continuationToken != null) {
+                    request.param("continuationToken", continuationToken);
+                }
+                final var slice = request
+                        .when()
+                        .get("/offenders/primaryIdentifiers/slice")
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .body()
+                        .as(PrimaryIdentifiersSlice.class);
+                slice.getContent().forEach(identifiers -> offenderIds.add(identifiers.getOffenderId()));
+                continuationToken = slice.getContinuationToken();
+            } while (continuationToken != null);
+
+            assertThat(offenderIds).hasSize(TOTAL_NUMBER_NON_DELETED_OF_OFFENDERS).isSorted().doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("Last slice has no continuation token")
+        void lastSliceHasNoContinuationToken() {
+            given()
+                    .auth()
+                    .oauth2(tokenWithRoleCommunity())
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .param("size", TOTAL_NUMBER_NON_DELETED_OF_OFFENDERS)
+                    .when()
+                    .get("/offenders/primaryIdentifiers/slice")
+                    .then()
+                    .statusCode(200)
+                    .body("content.size()", is(TOTAL_NUMBER_NON_DELETED_OF_OFFENDERS))
+                    .body("continuationToken", nullValue());
+        }
+
+        @Test
+        @DisplayName("Filters are applied to slices")
+        void filtersAreApplied() {
+            given()
+                    .auth()
+                    .oauth2(tokenWithRoleCommunity())
+                    .contentType(APPLICATION_JSON_VALUE)
+                    .param("activeDate", "2018-02-03")
+                    .when()
+                    .get("/offenders/primaryIdentifiers/slice")
+                    .then()
+                    .statusCode(200)
+                    .body("content.size()", is(1))
+                    .body("content[0].crn", is("X320741"))
+                    .body("continuationToken", nullValue());
+        }
+    }
 }
@@ -101,6 +101,59 @@ public class ReferenceDataAPITest extends IntegrationTestBase {
 
     }
 
+    @Nested
+    class ReferenceDataCaches {
+        @Test
+        public void mustHaveCommunityAdminRole() {
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY"))
+                    .when()
+                    .delete("/referenceData/caches")
+                    .then()
+                    .statusCode(403);
+        }
+
+        @Test
+        public void willReturnStatisticsForEachCache() {
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY_ADMIN"))
+                    .when()
+                    .get("/referenceData/caches")
+                    .then()
+                    .statusCode(200)
+                    .body("find { it.name == 'standardReferences' }.hitCount", notNullValue())
+                    .body("find { it.name == 'contactTypes' }.missCount", notNullValue());
+        }
+
+        @Test
+        public void canEvictAllCaches() {
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY_ADMIN"))
+                    .when()
+                    .delete("/referenceData/caches")
+                    .then()
+                    .statusCode(200);
+
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY_ADMIN"))
+                    .when()
+                    .get("/referenceData/caches")
+                    .then()
+                    .statusCode(200)
+                    .body("find { it.name == 'standardReferences' }.size", is(0));
+        }
+
+        @Test
+        public void willGet404ForUnknownCache() {
+            given()
+                    .auth().oauth2(createJwt("ROLE_COMMUNITY_ADMIN"))
+                    .when()
+                    .delete("/referenceData/caches/{name}", "bananas")
+                    .then()
+                    .statusCode(404);
+        }
+    }
+
     @Nested
     class ProbationAreas {
         private static final String ACTIVE_PROBATION_AREA = "N02";
@@ -0,0 +1,36 @@
+package uk.gov.justice.digital.delius.controller.secure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The SQL run for a request is reported against the endpoint that handled it
+ */
+public class SqlStatementMetricsAPITest extends IntegrationTestBase {
+    private static final String ENDPOINT = "OffendersResource.getOffenderSummaryByCrn";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void statementsAndRowsAreReportedForTheEndpoint() {
+        given()
+                .auth().oauth2(tokenWithRoleCommunity())
+                .contentType("application/json")
+                .when()
+                .get("/offenders/crn/X320741")
+                .then()
+                .statusCode(200);
+
+        final var statements = meterRegistry.get("sql.request.statements").tag("endpoint", ENDPOINT).summary();
+        final var rows = meterRegistry.get("sql.request.rows").tag("endpoint", ENDPOINT).summary();
+
+        assertThat(statements.count()).isGreaterThanOrEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThan(0);
+        assertThat(rows.totalAmount()).isGreaterThan(0);
+    }
+}
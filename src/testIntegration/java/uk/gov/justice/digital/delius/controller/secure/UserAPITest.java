@@ -1,6 +1,8 @@
 package uk.gov.justice.digital.delius.controller.secure;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.annotation.DirtiesContext;
 import uk.gov.justice.digital.delius.controller.advice.ErrorResponse;
 import uk.gov.justice.digital.delius.data.api.UserDetails;
@@ -8,8 +10,38 @@ import uk.gov.justice.digital.delius.data.api.UserRole;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.justice.digital.delius.config.CacheConfig.USER_ACCESS_PROFILES;
 
 public class UserAPITest extends IntegrationTestBase {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void evictAccessProfile_removesTheCachedProfile() {
+        cacheManager.getCache(USER_ACCESS_PROFILES).put("bernard.beaks", "cached profile");
+
+        given()
+            .auth()
+            .oauth2(createJwt("ROLE_COMMUNITY_ADMIN"))
+            .when()
+            .delete("/users/Bernard.Beaks/accessProfile")
+            .then()
+            .statusCode(200);
+
+        assertThat(cacheManager.getCache(USER_ACCESS_PROFILES).get("bernard.beaks")).isNull();
+    }
+
+    @Test
+    public void evictAccessProfile_requiresAdminRole() {
+        given()
+            .auth()
+            .oauth2(createJwt("ROLE_COMMUNITY_USERS"))
+            .when()
+            .delete("/users/bernard.beaks/accessProfile")
+            .then()
+            .statusCode(403);
+    }
+
     @Test
     public void usersDetails_success_role_community_users() {
         final var userDetails = given()
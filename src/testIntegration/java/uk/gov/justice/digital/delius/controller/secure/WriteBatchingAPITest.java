@@ -0,0 +1,159 @@
+package uk.gov.justice.digital.delius.controller.secure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import uk.gov.justice.digital.delius.FlywayRestoreExtension;
+import uk.gov.justice.digital.delius.SqlStatementCounter;
+import uk.gov.justice.digital.delius.config.SqlStatementRecording;
+import uk.gov.justice.digital.delius.data.api.BookingCustodyKeyDates;
+import uk.gov.justice.digital.delius.data.api.ReplaceCustodyKeyDates;
+import uk.gov.justice.digital.delius.service.CustodyKeyDatesBulkService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writing many rows to a table should cost one round trip for the table rather than one for each row
+ */
+@ExtendWith({SpringExtension.class, FlywayRestoreExtension.class})
+public class WriteBatchingAPITest extends IntegrationTestBase {
+    private static final String OFFENDER_ID = "2500343964";
+    private static final String NOMS_NUMBER = "G9542VP";
+    private static final String PRISON_BOOKING_NUMBER = "V74111";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustodyKeyDatesBulkService custodyKeyDatesBulkService;
+
+    @BeforeEach
+    public void setup() {
+        super.setup();
+        //noinspection SqlWithoutWhere
+        jdbcTemplate.execute("DELETE FROM KEY_DATE");
+        //noinspection SqlWithoutWhere
+        jdbcTemplate.execute("DELETE FROM CONTACT");
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void newKeyDatesAreInsertedTogether() {
+        replaceKeyDates(allKeyDatesOn(LocalDate.of(2030, 1, 1)));
+
+        assertThat(keyDateCount()).isEqualTo(7);
+        assertThat(SqlStatementCounter.inserts("KEY_DATE")).isEqualTo(1);
+        assertThat(SqlStatementCounter.inserts("CONTACT")).isEqualTo(1);
+    }
+
+    @Test
+    void changedKeyDatesAreUpdatedTogether() {
+        replaceKeyDates(allKeyDatesOn(LocalDate.of(2030, 1, 1)));
+        SqlStatementCounter.reset();
+
+        replaceKeyDates(allKeyDatesOn(LocalDate.of(2031, 1, 1)));
+
+        assertThat(SqlStatementCounter.updates("KEY_DATE")).isEqualTo(1);
+        assertThat(SqlStatementCounter.inserts("KEY_DATE")).isEqualTo(0);
+    }
+
+    @Test
+    void removedKeyDatesAreDeletedTogether() {
+        replaceKeyDates(allKeyDatesOn(LocalDate.of(2030, 1, 1)));
+        SqlStatementCounter.reset();
+
+        replaceKeyDates(ReplaceCustodyKeyDates.builder().build());
+
+        assertThat(keyDateCount()).isEqualTo(0);
+        assertThat(SqlStatementCounter.deletes("KEY_DATE")).isEqualTo(1);
+    }
+
+    @Test
+    void contactsForManyBookingsAreInsertedTogether() {
+        replaceKeyDates(
+                allKeyDatesOn(LocalDate.of(2030, 1, 1)),
+                allKeyDatesOn(LocalDate.of(2031, 1, 1)),
+                allKeyDatesOn(LocalDate.of(2032, 1, 1)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CONTACT WHERE OFFENDER_ID = ?", Integer.class, OFFENDER_ID)).isEqualTo(3);
+        assertThat(SqlStatementCounter.inserts("CONTACT")).isEqualTo(1);
+        assertThat(SqlStatementCounter.inserts("KEY_DATE")).isEqualTo(1);
+    }
+
+    @Test
+    void notificationsForManyBookingsAreInsertedTogether() {
+        // notifications are only written for private sector probation areas interested in the offender
+        jdbcTemplate.update("UPDATE PROBATION_AREA SET PRIVATE = 1 WHERE PROBATION_AREA_ID IN " +
+                "(SELECT PROBATION_AREA_ID FROM OFFENDER_MANAGER WHERE OFFENDER_ID = ? AND ACTIVE_FLAG = 1)", OFFENDER_ID);
+        //noinspection SqlWithoutWhere
+        jdbcTemplate.execute("DELETE FROM SPG_NOTIFICATION");
+
+        // the notifications are written with JDBC rather than Hibernate so are counted by the instrumented data source
+        final var recording = SqlStatementRecording.start();
+        try {
+            custodyKeyDatesBulkService.replaceCustodyKeyDates(List.of(
+                    bookingOf(allKeyDatesOn(LocalDate.of(2030, 1, 1))),
+                    bookingOf(allKeyDatesOn(LocalDate.of(2031, 1, 1))),
+                    bookingOf(allKeyDatesOn(LocalDate.of(2032, 1, 1)))));
+        } finally {
+            SqlStatementRecording.stop();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SPG_NOTIFICATION WHERE OFFENDER_ID = ?", Integer.class, OFFENDER_ID)).isGreaterThanOrEqualTo(21);
+        assertThat(recording.statementsRunAtLeast(1)
+                .entrySet()
+                .stream()
+                .filter(execution -> execution.getKey().toUpperCase().startsWith("INSERT INTO SPG_NOTIFICATION"))
+                .map(Map.Entry::getValue)
+                .collect(toList())).containsExactly(1L);
+    }
+
+    private void replaceKeyDates(ReplaceCustodyKeyDates... keyDatesForEachBooking) {
+        given()
+                .auth().oauth2(createJwt("ROLE_COMMUNITY_CUSTODY_UPDATE"))
+                .contentType("application/json")
+                .body(writeValueAsString(List.of(keyDatesForEachBooking)
+                        .stream()
+                        .map(this::bookingOf)
+                        .collect(toList())))
+                .when()
+                .post("offenders/custody/keyDates")
+                .then()
+                .statusCode(200);
+    }
+
+    private BookingCustodyKeyDates bookingOf(ReplaceCustodyKeyDates keyDates) {
+        return BookingCustodyKeyDates
+                .builder()
+                .nomsNumber(NOMS_NUMBER)
+                .bookingNumber(PRISON_BOOKING_NUMBER)
+                .keyDates(keyDates)
+                .build();
+    }
+
+    private ReplaceCustodyKeyDates allKeyDatesOn(LocalDate date) {
+        return ReplaceCustodyKeyDates
+                .builder()
+                .conditionalReleaseDate(date)
+                .licenceExpiryDate(date)
+                .hdcEligibilityDate(date)
+                .paroleEligibilityDate(date)
+                .sentenceExpiryDate(date)
+                .expectedReleaseDate(date)
+                .postSentenceSupervisionEndDate(date)
+                .build();
+    }
+
+    private Integer keyDateCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM KEY_DATE", Integer.class);
+    }
+}
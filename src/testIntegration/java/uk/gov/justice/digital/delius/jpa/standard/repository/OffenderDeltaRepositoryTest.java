@@ -0,0 +1,84 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.OffenderDeltaHelper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("dev-schema")
+public class OffenderDeltaRepositoryTest {
+
+    @Autowired
+    private OffenderDeltaRepository offenderDeltaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.execute("delete from OFFENDER_DELTA");
+        OffenderDeltaHelper.insert(List.of(OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(5), "CREATED")), jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("claiming deltas changes their version so an earlier copy can no longer be saved")
+    void markAsInProgress_changesVersion() {
+        final var earlierCopy = offenderDeltaRepository.findById(10L).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> offenderDeltaRepository.markAsInProgress(List.of(10L), LocalDateTime.now()));
+
+        assertThat(offenderDeltaRepository.findById(10L).orElseThrow().getLastUpdatedDateTime()).isAfter(earlierCopy.getLastUpdatedDateTime());
+        earlierCopy.setStatus("DELIVERED");
+        assertThatThrownBy(() -> offenderDeltaRepository.save(earlierCopy))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("failing deltas changes their version so an earlier copy can no longer be saved")
+    void markAsFailed_changesVersion() {
+        final var earlierCopy = offenderDeltaRepository.findById(10L).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> offenderDeltaRepository.markAsFailed(List.of(10L), LocalDateTime.now()));
+
+        assertThat(offenderDeltaRepository.findById(10L).orElseThrow().getLastUpdatedDateTime()).isAfter(earlierCopy.getLastUpdatedDateTime());
+        earlierCopy.setStatus("DELIVERED");
+        assertThatThrownBy(() -> offenderDeltaRepository.save(earlierCopy))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("releasing deltas changes their version so an earlier copy can no longer be saved")
+    void markAsCreated_changesVersion() {
+        jdbcTemplate.update("update OFFENDER_DELTA set STATUS = 'INPROGRESS' where OFFENDER_DELTA_ID = 10");
+        final var earlierCopy = offenderDeltaRepository.findById(10L).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> offenderDeltaRepository.markAsCreated(List.of(10L), LocalDateTime.now()));
+
+        final var released = offenderDeltaRepository.findById(10L).orElseThrow();
+        assertThat(released.getStatus()).isEqualTo("CREATED");
+        assertThat(released.getLastUpdatedDateTime()).isAfter(earlierCopy.getLastUpdatedDateTime());
+        earlierCopy.setStatus("DELIVERED");
+        assertThatThrownBy(() -> offenderDeltaRepository.save(earlierCopy))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.justice.digital.delius.jpa.standard.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.SqlStatementCounter;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
+import uk.gov.justice.digital.delius.service.InterestedCRCCache;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("dev-seed")
+public class SpgNotificationHelperRepositoryTest {
+    // CRN40 has both an active offender manager and an active prison offender manager
+    private static final long OFFENDER_ID = 40L;
+
+    @Autowired
+    private SpgNotificationHelperRepository spgNotificationHelperRepository;
+
+    @Autowired
+    private InterestedCRCCache interestedCRCCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    public void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("the areas of the offender's managers that are private sector are interested")
+    public void privateSectorAreasOfTheOffendersManagersAreInterested() {
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            jdbcTemplate.update("UPDATE PROBATION_AREA SET PRIVATE = 1 WHERE PROBATION_AREA_ID IN " +
+                    "(SELECT PROBATION_AREA_ID FROM OFFENDER_MANAGER WHERE OFFENDER_ID = ? AND ACTIVE_FLAG = 1)", OFFENDER_ID);
+            final var privateAreaIds = jdbcTemplate.queryForList("SELECT PROBATION_AREA_ID FROM PROBATION_AREA WHERE PRIVATE = 1 AND PROBATION_AREA_ID IN " +
+                    "(SELECT PROBATION_AREA_ID FROM OFFENDER_MANAGER WHERE OFFENDER_ID = ? AND ACTIVE_FLAG = 1 " +
+                    "UNION SELECT PROBATION_AREA_ID FROM PRISON_OFFENDER_MANAGER WHERE OFFENDER_ID = ? AND ACTIVE_FLAG = 1)", Long.class, OFFENDER_ID, OFFENDER_ID);
+
+            final var interested = spgNotificationHelperRepository.getInterestedCRCs(String.valueOf(OFFENDER_ID));
+
+            assertThat(privateAreaIds).isNotEmpty();
+            assertThat(interested.stream().map(ProbationArea::getProbationAreaId).collect(toList())).containsExactlyInAnyOrderElementsOf(privateAreaIds);
+            assertThat(interested).allSatisfy(area -> assertThat(area.getCode()).isNotBlank());
+        });
+        assertThat(procedureInvocations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the procedure is only invoked once for each offender in a transaction")
+    public void procedureIsInvokedOnceForEachOffenderInATransaction() {
+        transaction.executeWithoutResult(status -> {
+            interestedCRCCache.interestedIn(OFFENDER_ID);
+            interestedCRCCache.interestedIn(OFFENDER_ID);
+            interestedCRCCache.interestedIn(OFFENDER_ID);
+        });
+        assertThat(procedureInvocations()).isEqualTo(1);
+
+        transaction.executeWithoutResult(status -> interestedCRCCache.interestedIn(OFFENDER_ID));
+        assertThat(procedureInvocations()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("the procedure is invoked again after the offender's managers have changed")
+    public void procedureIsInvokedAgainAfterInvalidation() {
+        transaction.executeWithoutResult(status -> {
+            interestedCRCCache.interestedIn(OFFENDER_ID);
+            interestedCRCCache.invalidate(OFFENDER_ID);
+            interestedCRCCache.interestedIn(OFFENDER_ID);
+        });
+        assertThat(procedureInvocations()).isEqualTo(2);
+    }
+
+    /*
+     * The H2 stand in for the procedure is a table function so each invocation is a select from it
+     */
+    private static int procedureInvocations() {
+        return SqlStatementCounter.selects("GET_INTERESTED_CRCS");
+    }
+}
@@ -3,20 +3,29 @@ package uk.gov.justice.digital.delius.ldap.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.ldap.NameNotFoundException;
 import org.springframework.test.annotation.DirtiesContext;
 import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusRole;
+import uk.gov.justice.digital.delius.ldap.repository.entity.NDeliusUser;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
 import static org.springframework.test.annotation.DirtiesContext.MethodMode.AFTER_METHOD;
+import static uk.gov.justice.digital.delius.config.CacheConfig.LDAP_USERS;
+import static uk.gov.justice.digital.delius.config.CacheConfig.LDAP_USERS_BY_EMAIL;
 
 @SpringBootTest(webEnvironment = NONE)
 public class LdapRepositoryTest {
     @Autowired
     private LdapRepository ldapRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Test
     public void shouldFindEmailAddressForUser() {
         assertThat(ldapRepository.getEmail("SheilaHancockNPS"))
@@ -58,6 +67,42 @@ public class LdapRepositoryTest {
         assertThat(deliusUser.getRoles()).isNull();
     }
 
+    @Test
+    public void shouldReturnAllUsersFoundInOneSearch() {
+        var deliusUsers = ldapRepository.getDeliusUsersNoRoles(List.of("JimSnowLdap", "SheilaHancockNPS", "NotAUserInLdap"));
+
+        assertThat(deliusUsers).extracting(NDeliusUser::getCn).containsExactlyInAnyOrder("JimSnowLdap", "SheilaHancockNPS");
+        assertThat(deliusUsers).extracting(NDeliusUser::getRoles).containsOnlyNulls();
+    }
+
+    @Test
+    public void shouldOnlyCacheEmailSearchesThatFindUsers() {
+        final var usersByEmail = cacheManager.getCache(LDAP_USERS_BY_EMAIL);
+        usersByEmail.clear();
+
+        ldapRepository.getDeliusUserByEmail("missing");
+        final var deliusUsers = ldapRepository.getDeliusUserByEmail("Sheila.Hancock@justice.gov.uk");
+
+        assertThat(usersByEmail.get("missing")).isNull();
+        assertThat(usersByEmail.get("sheila.hancock@justice.gov.uk").get()).isEqualTo(deliusUsers);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = AFTER_METHOD)
+    public void shouldCacheUserUntilARoleIsAdded() {
+        final var users = cacheManager.getCache(LDAP_USERS);
+        users.clear();
+
+        var deliusUser = ldapRepository.getDeliusUser("bernard.beaks").get();
+
+        assertThat(users.get("bernard.beaks").get()).isEqualTo(deliusUser);
+        assertThat(ldapRepository.getDeliusUser("Bernard.Beaks")).containsSame(deliusUser);
+
+        ldapRepository.addRole("bernard.beaks", "CWBT001");
+
+        assertThat(users.get("bernard.beaks")).isNull();
+    }
+
     @Test
     @DirtiesContext(methodMode = AFTER_METHOD)
     public void shouldBeAbleToAddARole() {
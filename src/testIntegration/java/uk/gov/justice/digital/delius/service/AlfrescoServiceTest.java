@@ -8,13 +8,19 @@ import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebCl
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import uk.gov.justice.digital.delius.config.AlfrescoConfig;
 import uk.gov.justice.digital.delius.controller.wiremock.AlfrescoExtension;
 import uk.gov.justice.digital.delius.controller.wiremock.AlfrescoMockServer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest(classes = {AlfrescoConfig.class, AlfrescoService.class},
 properties = {
@@ -35,6 +41,23 @@ public class AlfrescoServiceTest {
         assertThat(alfrescoService.getDocument("123", "NOT_T1234").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    public void shouldBeNotFoundIfDocumentDetailsAreNotFound() {
+        AlfrescoExtension.alfrescoMockServer.stubDetailsFailure("123", 404);
+        AlfrescoExtension.alfrescoMockServer.stubFetchDocument("123", new byte[]{'a', 'b', 'c'});
+
+        assertThat(alfrescoService.getDocument("123", "T1234").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void shouldPropagateFailureToReadDocumentDetails() {
+        AlfrescoExtension.alfrescoMockServer.stubDetailsFailure("123", 500);
+        AlfrescoExtension.alfrescoMockServer.stubFetchDocument("123", new byte[]{'a', 'b', 'c'});
+
+        assertThatThrownBy(() -> alfrescoService.getDocument("123", "T1234"))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+    }
+
     @Test
     public void shouldReturnResourceWhenFound() throws IOException {
         AlfrescoExtension.alfrescoMockServer.stubDetailsSuccess("123", "T1234", "document.pdf");
@@ -43,8 +66,26 @@ public class AlfrescoServiceTest {
         final var response = alfrescoService.getDocument("123", "T1234");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody().contentLength()).isEqualTo(3);
+        assertThat(bodyOf(response)).isEqualTo(new byte[]{'a', 'b', 'c'});
         assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"document.pdf\"");
     }
 
+    @Test
+    public void shouldPassRangeThroughToAlfresco() throws IOException {
+        AlfrescoExtension.alfrescoMockServer.stubDetailsSuccess("123", "T1234", "document.pdf");
+        AlfrescoExtension.alfrescoMockServer.stubFetchDocumentRange("123", "bytes=1-2", "bytes 1-2/3", new byte[]{'b', 'c'});
+
+        final var response = alfrescoService.getDocument("123", "T1234", Optional.of("bytes=1-2"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1-2/3");
+        assertThat(bodyOf(response)).isEqualTo(new byte[]{'b', 'c'});
+    }
+
+    private byte[] bodyOf(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        final var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
 }
@@ -328,4 +328,98 @@ class OffenderDeltaServiceTest {
 
         assertThat(offenderDeltaService.lockNextFailedUpdate()).isEmpty();
     }
+
+    @Test
+    @DisplayName("can lock a batch of offender updates oldest first")
+    void lockNextUpdates_locksOldestDeltas() {
+        final var oldest = OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(3), "CREATED").toBuilder().sourceRecordId(1L).build();
+        final var middle = OffenderDeltaHelper.anOffenderDelta(11L, LocalDateTime.now().minusMinutes(2), "CREATED").toBuilder().sourceRecordId(2L).build();
+        final var newest = OffenderDeltaHelper.anOffenderDelta(12L, LocalDateTime.now().minusMinutes(1), "CREATED").toBuilder().sourceRecordId(3L).build();
+        OffenderDeltaHelper.insert(List.of(newest, oldest, middle), jdbcTemplate);
+
+        final var offenderUpdates = offenderDeltaService.lockNextUpdates(2);
+
+        assertThat(offenderUpdates).extracting("offenderDeltaId").containsExactly(10L, 11L);
+        assertThat(offenderUpdates).extracting("status").containsOnly("INPROGRESS");
+        assertThat(offenderUpdates).extracting("failedUpdate").containsOnly(false);
+    }
+
+    @Test
+    @DisplayName("will not return a batch of offender updates after they have been locked once")
+    void lockNextUpdates_lockedUpdatesAreUnavailable() {
+        OffenderDeltaHelper.insert(OffenderDeltaHelper.someDeltas(LocalDateTime.now(), 5L), jdbcTemplate);
+
+        assertThat(offenderDeltaService.lockNextUpdates(3)).hasSize(3);
+        assertThat(offenderDeltaService.lockNextUpdates(3)).hasSize(2);
+        assertThat(offenderDeltaService.lockNextUpdates(3)).isEmpty();
+        assertThat(offenderDeltaService.lockNextUpdate()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("will delete duplicates both inside and outside of the locked batch")
+    void lockNextUpdates_willDeleteDuplicateRecords() {
+        final LocalDateTime lastUpdatedDateTime = LocalDateTime.now().minusMinutes(1);
+        final var leadRecord = OffenderDeltaHelper.anOffenderDelta(10L, lastUpdatedDateTime.minusMinutes(2), "CREATED");
+        final var duplicateInBatch = OffenderDeltaHelper.anOffenderDelta(11L, lastUpdatedDateTime.minusMinutes(1), "CREATED");
+        final var otherRecord = OffenderDeltaHelper.anOffenderDelta(12L, lastUpdatedDateTime.minusMinutes(1), "CREATED").toBuilder().sourceTable("ALIAS").build();
+        final var duplicateOutsideBatch = OffenderDeltaHelper.anOffenderDelta(13L, lastUpdatedDateTime, "CREATED");
+        OffenderDeltaHelper.insert(List.of(leadRecord, duplicateInBatch, otherRecord, duplicateOutsideBatch), jdbcTemplate);
+
+        final var offenderUpdates = offenderDeltaService.lockNextUpdates(3);
+
+        assertThat(offenderUpdates).extracting("offenderDeltaId").containsExactlyInAnyOrder(10L, 12L);
+        assertThat(jdbcTemplate.queryForList("SELECT OFFENDER_DELTA_ID FROM OFFENDER_DELTA", Long.class)).containsExactlyInAnyOrder(10L, 12L);
+    }
+
+    @Test
+    @DisplayName("will update the status and last updated date time of all locked offender updates")
+    void lockNextUpdates_updatesStatus() {
+        final var delta = OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(1), "CREATED");
+        OffenderDeltaHelper.insert(List.of(delta), jdbcTemplate);
+        final var timeBeforeUpdate = LocalDateTime.now().withNano(0);
+
+        offenderDeltaService.lockNextUpdates(10);
+
+        final var row = jdbcTemplate.queryForMap("SELECT * from OFFENDER_DELTA where OFFENDER_DELTA_ID = ?", 10L);
+        assertThat(row.get("STATUS")).isEqualTo("INPROGRESS");
+        assertThat(toLocalDateTime(row.get("LAST_UPDATED_DATETIME"))).isAfterOrEqualTo(timeBeforeUpdate);
+    }
+
+    @Test
+    @DisplayName("will only lock failed updates that were last updated over 10 minutes ago")
+    void lockNextFailedUpdates_locksFailedDeltas() {
+        final var failed = OffenderDeltaHelper.anOffenderDelta(10L, LocalDateTime.now().minusMinutes(IN_PROGRESS_IS_FAILED_AFTER_MINUTES + 1), "INPROGRESS");
+        final var inProgress = OffenderDeltaHelper.anOffenderDelta(11L, LocalDateTime.now().minusMinutes(IN_PROGRESS_IS_FAILED_AFTER_MINUTES - 1), "INPROGRESS");
+        OffenderDeltaHelper.insert(List.of(failed, inProgress), jdbcTemplate);
+
+        final var offenderUpdates = offenderDeltaService.lockNextFailedUpdates(10);
+
+        assertThat(offenderUpdates).extracting("offenderDeltaId").containsExactly(10L);
+        assertThat(offenderUpdates).extracting("failedUpdate").containsOnly(true);
+        assertThat(offenderDeltaService.lockNextFailedUpdates(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("can delete and mark as failed many offender updates at once")
+    void deleteDeltasAndMarkAsFailed() {
+        OffenderDeltaHelper.insert(OffenderDeltaHelper.someDeltas(LocalDateTime.now(), 4L), jdbcTemplate);
+
+        offenderDeltaService.deleteDeltas(List.of(1001L, 1002L, 9999L));
+        offenderDeltaService.markAsFailed(List.of(1003L));
+
+        assertThat(jdbcTemplate.queryForList("SELECT OFFENDER_DELTA_ID FROM OFFENDER_DELTA", Long.class)).containsExactlyInAnyOrder(1003L, 1004L);
+        assertThat(jdbcTemplate.queryForObject("SELECT STATUS FROM OFFENDER_DELTA WHERE OFFENDER_DELTA_ID = 1003", String.class)).isEqualTo("FAILED");
+    }
+
+    @Test
+    @DisplayName("released offender updates are locked again as new updates")
+    void releasedDeltasAreLockedAgain() {
+        OffenderDeltaHelper.insert(OffenderDeltaHelper.someDeltas(LocalDateTime.now(), 2L), jdbcTemplate);
+        assertThat(offenderDeltaService.lockNextUpdates(10)).extracting("offenderDeltaId").containsExactlyInAnyOrder(1001L, 1002L);
+
+        offenderDeltaService.releaseDeltas(List.of(1002L));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT STATUS FROM OFFENDER_DELTA WHERE OFFENDER_DELTA_ID = 1002", String.class)).isEqualTo("CREATED");
+        assertThat(jdbcTemplate.queryForObject("SELECT STATUS FROM OFFENDER_DELTA WHERE OFFENDER_DELTA_ID = 1001", String.class)).isEqualTo("INPROGRESS");
+    }
 }
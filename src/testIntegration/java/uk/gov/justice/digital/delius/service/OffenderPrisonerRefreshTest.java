@@ -0,0 +1,100 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.justice.digital.delius.FlywayRestoreExtension;
+import uk.gov.justice.digital.delius.SqlStatementCounter;
+import uk.gov.justice.digital.delius.jpa.standard.repository.OffenderRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Refreshing an offender's prisoner numbers should only write the rows that have changed
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("dev-seed")
+@ExtendWith(FlywayRestoreExtension.class)
+class OffenderPrisonerRefreshTest {
+    private static final long OFFENDER_ID = 2500343964L;
+
+    @Autowired
+    private OffenderPrisonerService offenderPrisonerService;
+
+    @Autowired
+    private OffenderRepository offenderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        // bring the seeded rows in line with the offender's events first
+        refresh();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("refreshing when nothing has changed writes nothing")
+    void noChangeRefreshWritesNothing() {
+        final var before = prisonerNumbers();
+
+        refresh();
+
+        assertThat(prisonerNumbers()).isNotEmpty().isEqualTo(before);
+        assertThat(SqlStatementCounter.inserts("OFFENDER_PRISONER")).isEqualTo(0);
+        assertThat(SqlStatementCounter.updates("OFFENDER_PRISONER")).isEqualTo(0);
+        assertThat(SqlStatementCounter.deletes("OFFENDER_PRISONER")).isEqualTo(0);
+        assertThat(SqlStatementCounter.updates("OFFENDER")).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("only prisoner numbers no longer on any event are deleted")
+    void onlyVanishedPrisonerNumbersAreDeleted() {
+        final var before = prisonerNumbers();
+        jdbcTemplate.update("INSERT INTO OFFENDER_PRISONER (OFFENDER_ID, PRISONER_NUMBER, ROW_VERSION, PARTITION_AREA_ID) VALUES (?, 'Z99999', 1, 0)", OFFENDER_ID);
+
+        refresh();
+
+        assertThat(prisonerNumbers()).isEqualTo(before);
+        assertThat(SqlStatementCounter.deletes("OFFENDER_PRISONER")).isEqualTo(1);
+        assertThat(SqlStatementCounter.inserts("OFFENDER_PRISONER")).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("only prisoner numbers not already recorded are inserted")
+    void onlyNewPrisonerNumbersAreInserted() {
+        final var before = prisonerNumbers();
+        jdbcTemplate.update("DELETE FROM OFFENDER_PRISONER WHERE OFFENDER_ID = ? AND PRISONER_NUMBER = ?", OFFENDER_ID, before.get(0));
+
+        refresh();
+
+        assertThat(prisonerNumbers()).isEqualTo(before);
+        assertThat(SqlStatementCounter.inserts("OFFENDER_PRISONER")).isEqualTo(1);
+        assertThat(SqlStatementCounter.deletes("OFFENDER_PRISONER")).isEqualTo(0);
+    }
+
+    private void refresh() {
+        transaction.executeWithoutResult(status ->
+                offenderPrisonerService.refreshOffenderPrisonersFor(offenderRepository.findByOffenderId(OFFENDER_ID).orElseThrow()));
+    }
+
+    private List<String> prisonerNumbers() {
+        return jdbcTemplate.queryForList("SELECT PRISONER_NUMBER FROM OFFENDER_PRISONER WHERE OFFENDER_ID = ? ORDER BY PRISONER_NUMBER", String.class, OFFENDER_ID);
+    }
+}
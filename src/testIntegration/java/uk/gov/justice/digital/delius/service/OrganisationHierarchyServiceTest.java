@@ -0,0 +1,120 @@
+package uk.gov.justice.digital.delius.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.justice.digital.delius.FlywayRestoreExtension;
+import uk.gov.justice.digital.delius.data.api.KeyValue;
+import uk.gov.justice.digital.delius.data.api.LocalDeliveryUnit;
+import uk.gov.justice.digital.delius.data.api.ProbationAreaWithLocalDeliveryUnits;
+import uk.gov.justice.digital.delius.data.api.Team;
+import uk.gov.justice.digital.delius.jpa.filters.ProbationAreaFilter;
+import uk.gov.justice.digital.delius.jpa.standard.entity.District;
+import uk.gov.justice.digital.delius.jpa.standard.entity.ProbationArea;
+import uk.gov.justice.digital.delius.jpa.standard.repository.ProbationAreaRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the in-memory hierarchy gives the same answers as walking the probation area, borough, district and team
+ * associations did before it was introduced.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("dev-seed")
+@ExtendWith(FlywayRestoreExtension.class)
+class OrganisationHierarchyServiceTest {
+
+    @Autowired
+    private OrganisationHierarchyService organisationHierarchyService;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ProbationAreaRepository probationAreaRepository;
+
+    @Test
+    @Transactional
+    @DisplayName("local delivery units and their teams match those found by walking the repositories")
+    void localDeliveryUnitsAndTeamsMatchTheRepositoryWalk() {
+        final var probationAreas = probationAreaRepository.findAll();
+        assertThat(probationAreas.stream().flatMap(this::selectableLdusOf).flatMap(ldu -> ldu.getTeams().stream())).isNotEmpty();
+
+        probationAreas.forEach(probationArea -> {
+            assertThat(referenceDataService.getLocalDeliveryUnitsForProbationArea(probationArea.getCode()).getContent())
+                    .as("LDUs of %s", probationArea.getCode())
+                    .containsExactlyInAnyOrderElementsOf(selectableLdusOf(probationArea)
+                            .map(ldu -> new KeyValue(ldu.getCode(), ldu.getDescription()))
+                            .collect(toList()));
+
+            selectableLdusOf(probationArea).map(District::getCode).distinct().forEach(lduCode ->
+                    assertThat(referenceDataService.getTeamsForLocalDeliveryUnit(probationArea.getCode(), lduCode).getContent())
+                            .as("teams of %s in %s", lduCode, probationArea.getCode())
+                            .containsExactlyInAnyOrderElementsOf(selectableLdusOf(probationArea)
+                                    .filter(ldu -> ldu.getCode().equals(lduCode))
+                                    .flatMap(ldu -> ldu.getTeams().stream())
+                                    .map(team -> new KeyValue(team.getCode(), team.getDescription()))
+                                    .collect(toList())));
+        });
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("probation areas with their local delivery units match those found by walking the repositories")
+    void probationAreasWithLocalDeliveryUnitsMatchTheRepositoryWalk() {
+        List.of(true, false).forEach(restrictActive ->
+                assertThat(referenceDataService.getProbationAreasAndLocalDeliveryUnits(restrictActive))
+                        .as("restrictActive %s", restrictActive)
+                        .isNotEmpty()
+                        .usingRecursiveComparison()
+                        .ignoringCollectionOrder()
+                        .isEqualTo(probationAreasWithLocalDeliveryUnitsOf(restrictActive)));
+    }
+
+    @Test
+    @DisplayName("teams created by this service are in the hierarchy as soon as they are committed")
+    void createdTeamsAreAddedToTheHierarchy() {
+        final var before = organisationHierarchyService.current();
+
+        final var createdTeamCodes = teamService.createMissingPrisonOffenderManagerTeams().stream().map(Team::getCode).collect(toList());
+
+        assertThat(createdTeamCodes).isNotEmpty().noneMatch(before::hasTeam);
+        assertThat(createdTeamCodes).allMatch(organisationHierarchyService.current()::hasTeam);
+        assertThat(teamService.createMissingPrisonOffenderManagerTeams()).isEmpty();
+    }
+
+    private Stream<District> selectableLdusOf(ProbationArea probationArea) {
+        return probationArea.getBoroughs().stream()
+                .flatMap(borough -> borough.getDistricts().stream())
+                .filter(district -> "Y".equals(district.getSelectable()));
+    }
+
+    private List<ProbationAreaWithLocalDeliveryUnits> probationAreasWithLocalDeliveryUnitsOf(boolean restrictActive) {
+        final var filter = ProbationAreaFilter.builder().restrictActive(restrictActive).excludeEstablishments(true).build();
+        return probationAreaRepository.findAll(filter).stream()
+                .map(probationArea -> ProbationAreaWithLocalDeliveryUnits.builder()
+                        .code(probationArea.getCode())
+                        .description(probationArea.getDescription())
+                        .localDeliveryUnits(probationArea.getBoroughs().stream()
+                                .flatMap(borough -> borough.getDistricts().stream())
+                                .filter(district -> "Y".equals(district.getSelectable())
+                                        || district.getCode().endsWith("UAT")
+                                        || district.getCode().endsWith("UNA")
+                                        || district.getCode().endsWith("IAV"))
+                                .map(ldu -> LocalDeliveryUnit.builder().localDeliveryUnitId(ldu.getDistrictId()).code(ldu.getCode()).description(ldu.getDescription()).build())
+                                .collect(toList()))
+                        .build())
+                .collect(toList());
+    }
+}